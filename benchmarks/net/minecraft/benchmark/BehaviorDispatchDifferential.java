@@ -0,0 +1,105 @@
+package net.minecraft.benchmark;
+
+import com.google.common.collect.Lists;
+import java.io.IOException;
+import java.util.List;
+import net.minecraft.core.BlockPosition;
+import net.minecraft.server.level.WorldServer;
+import net.minecraft.world.entity.EntityInsentient;
+import net.minecraft.world.entity.EntityLiving;
+import net.minecraft.world.entity.EntityTypes;
+import net.minecraft.world.entity.ai.BehaviorController;
+import net.minecraft.world.level.ChunkCoordIntPair;
+import net.minecraft.world.level.levelgen.HeightMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class BehaviorDispatchDifferential {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final int SPREAD = 16;
+    private static final EntityTypes<?>[] TYPES = new EntityTypes[]{EntityTypes.VILLAGER, EntityTypes.VILLAGER, EntityTypes.VILLAGER, EntityTypes.PIGLIN, EntityTypes.HOGLIN, EntityTypes.GOAT};
+    private final WorldServer level;
+    private final List<EntityInsentient> mobs = Lists.newArrayList();
+    private int mismatches;
+
+    private BehaviorDispatchDifferential(WorldServer level) {
+        this.level = level;
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("brain.indexedDispatch", "true");
+        int i = args.length > 0 ? Integer.parseInt(args[0]) : 96;
+        int j = args.length > 1 ? Integer.parseInt(args[1]) : 600;
+        BenchmarkServer benchmarkServer = BenchmarkServer.start();
+        if (!BehaviorController.INDEXED_DISPATCH) {
+            benchmarkServer.stop();
+            throw new IllegalStateException("Indexed behavior dispatch could not be enabled");
+        } else {
+            int k;
+            long l;
+            try {
+                BehaviorDispatchDifferential behaviorDispatchDifferential = new BehaviorDispatchDifferential(benchmarkServer.overworld());
+                behaviorDispatchDifferential.spawnMobs(i);
+
+                for(int m = 0; m < j; ++m) {
+                    behaviorDispatchDifferential.level.doTick(() -> {
+                        return true;
+                    });
+                    behaviorDispatchDifferential.compare(m);
+                }
+
+                k = behaviorDispatchDifferential.mismatches;
+                l = behaviorDispatchDifferential.countSkipped();
+            } finally {
+                benchmarkServer.stop();
+            }
+
+            if (k > 0) {
+                LOGGER.error("Indexed dispatch skipped {} behaviors whose entry memories were satisfied", k);
+                System.exit(1);
+            } else {
+                LOGGER.info("Indexed dispatch agrees with the full loop, {} entry checks skipped", l);
+            }
+
+        }
+    }
+
+    private void spawnMobs(int count) {
+        BlockPosition blockPos = this.level.getSpawn();
+        ChunkCoordIntPair chunkPos = new ChunkCoordIntPair(blockPos);
+        this.level.setForceLoaded(chunkPos.x, chunkPos.z, true);
+
+        for(int i = 0; i < count; ++i) {
+            EntityInsentient mob = (EntityInsentient)TYPES[i % TYPES.length].create(this.level);
+            BlockPosition blockPos2 = this.level.getHighestBlockYAt(HeightMap.Type.MOTION_BLOCKING_NO_LEAVES, blockPos.offset(i % SPREAD - SPREAD / 2, 0, i / SPREAD % SPREAD - SPREAD / 2));
+            mob.setPosition((double)blockPos2.getX() + 0.5D, (double)blockPos2.getY(), (double)blockPos2.getZ() + 0.5D);
+            this.level.addEntity(mob);
+            this.mobs.add(mob);
+        }
+
+    }
+
+    private void compare(int tick) {
+        for(EntityInsentient mob : this.mobs) {
+            if (!mob.isRemoved()) {
+                BehaviorController<EntityLiving> brain = (BehaviorController<EntityLiving>)mob.getBehaviorController();
+                int i = brain.countInconsistentSkips(mob);
+                if (i > 0) {
+                    this.mismatches += i;
+                    LOGGER.warn("{} would skip {} startable behaviors after tick {}", mob, i, tick);
+                }
+            }
+        }
+
+    }
+
+    private long countSkipped() {
+        long l = 0L;
+
+        for(EntityInsentient mob : this.mobs) {
+            l += (long)mob.getBehaviorController().getSkippedBehaviors();
+        }
+
+        return l;
+    }
+}
@@ -0,0 +1,157 @@
+package net.minecraft.benchmark;
+
+import com.mojang.authlib.GameProfile;
+import com.mojang.authlib.GameProfileRepository;
+import com.mojang.authlib.minecraft.MinecraftSessionService;
+import com.mojang.serialization.Lifecycle;
+import java.io.IOException;
+import java.net.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import net.minecraft.SharedConstants;
+import net.minecraft.SystemReport;
+import net.minecraft.SystemUtils;
+import net.minecraft.commands.CommandDispatcher;
+import net.minecraft.core.IRegistry;
+import net.minecraft.core.IRegistryCustom;
+import net.minecraft.server.DataPackResources;
+import net.minecraft.server.DispenserRegistry;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.WorldServer;
+import net.minecraft.server.level.progress.WorldLoadListenerLogger;
+import net.minecraft.server.packs.EnumResourcePackType;
+import net.minecraft.server.packs.repository.ResourcePackRepository;
+import net.minecraft.server.packs.repository.ResourcePackSourceVanilla;
+import net.minecraft.server.players.PlayerList;
+import net.minecraft.server.players.UserCache;
+import net.minecraft.util.datafix.DataConverterRegistry;
+import net.minecraft.world.EnumDifficulty;
+import net.minecraft.world.level.DataPackConfiguration;
+import net.minecraft.world.level.EnumGamemode;
+import net.minecraft.world.level.GameRules;
+import net.minecraft.world.level.WorldSettings;
+import net.minecraft.world.level.dimension.DimensionManager;
+import net.minecraft.world.level.levelgen.GeneratorSettings;
+import net.minecraft.world.level.storage.Convertable;
+import net.minecraft.world.level.storage.WorldDataServer;
+
+public class BenchmarkServer extends MinecraftServer {
+    public static final long SEED = 4669281470625063393L;
+    private static final GameRules BENCHMARK_GAME_RULES = SystemUtils.make(new GameRules(), (gameRules) -> {
+        gameRules.get(GameRules.RULE_DOMOBSPAWNING).set(false, (MinecraftServer)null);
+        gameRules.get(GameRules.RULE_WEATHER_CYCLE).set(false, (MinecraftServer)null);
+        gameRules.get(GameRules.RULE_DAYLIGHT).set(false, (MinecraftServer)null);
+    });
+    private static final WorldSettings BENCHMARK_SETTINGS = new WorldSettings("Benchmark Level", EnumGamemode.CREATIVE, false, EnumDifficulty.PEACEFUL, true, BENCHMARK_GAME_RULES, DataPackConfiguration.DEFAULT);
+    private final ResourcePackRepository packRepository;
+
+    private BenchmarkServer(Thread serverThread, Convertable.ConversionSession session, ResourcePackRepository dataPackManager, DataPackResources serverResourceManager, IRegistryCustom.Dimension registryManager) {
+        super(serverThread, registryManager, session, new WorldDataServer(BENCHMARK_SETTINGS, new GeneratorSettings(SEED, false, false, GeneratorSettings.withOverworld(registryManager.registryOrThrow(IRegistry.DIMENSION_TYPE_REGISTRY), DimensionManager.defaultDimensions(registryManager, SEED), GeneratorSettings.makeDefaultOverworld(registryManager, SEED))), Lifecycle.stable()), dataPackManager, Proxy.NO_PROXY, DataConverterRegistry.getDataFixer(), serverResourceManager, (MinecraftSessionService)null, (GameProfileRepository)null, (UserCache)null, WorldLoadListenerLogger::new);
+        this.packRepository = dataPackManager;
+    }
+
+    public static void bootstrap() {
+        SharedConstants.tryDetectVersion();
+        DispenserRegistry.init();
+    }
+
+    public static BenchmarkServer start() throws IOException {
+        bootstrap();
+        Path path = Files.createTempDirectory("benchmark");
+        IRegistryCustom.Dimension registryHolder = IRegistryCustom.builtin();
+        Convertable.ConversionSession levelStorageAccess = Convertable.createDefault(path).createAccess("world");
+        ResourcePackRepository packRepository = new ResourcePackRepository(EnumResourcePackType.SERVER_DATA, new ResourcePackSourceVanilla());
+        MinecraftServer.configurePackRepository(packRepository, DataPackConfiguration.DEFAULT, true);
+
+        DataPackResources serverResources;
+        try {
+            serverResources = DataPackResources.loadResources(packRepository.openAllSelected(), registryHolder, CommandDispatcher.ServerType.INTEGRATED, 2, SystemUtils.backgroundExecutor(), Runnable::run).get();
+        } catch (InterruptedException | ExecutionException var6) {
+            packRepository.close();
+            throw new IOException("Failed to load vanilla data pack", var6);
+        }
+
+        serverResources.updateGlobals();
+        BenchmarkServer benchmarkServer = new BenchmarkServer(Thread.currentThread(), levelStorageAccess, packRepository, serverResources, registryHolder);
+        benchmarkServer.init();
+        return benchmarkServer;
+    }
+
+    @Override
+    public boolean init() {
+        this.setPlayerList(new PlayerList(this, this.registryHolder, this.playerDataStorage, 1) {
+        });
+        this.loadWorld();
+        WorldServer serverLevel = this.overworld();
+        serverLevel.setWeatherParameters(20000000, 20000000, false, false);
+        return true;
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        this.packRepository.close();
+    }
+
+    @Override
+    public SystemReport fillServerSystemReport(SystemReport details) {
+        details.setDetail("Type", "Benchmark server");
+        return details;
+    }
+
+    @Override
+    public boolean isHardcore() {
+        return false;
+    }
+
+    @Override
+    public int getOperatorUserPermissionLevel() {
+        return 0;
+    }
+
+    @Override
+    public int getFunctionCompilationLevel() {
+        return 4;
+    }
+
+    @Override
+    public boolean shouldRconBroadcast() {
+        return false;
+    }
+
+    @Override
+    public boolean isDedicatedServer() {
+        return false;
+    }
+
+    @Override
+    public int getRateLimitPacketsPerSecond() {
+        return 0;
+    }
+
+    @Override
+    public boolean isEpollEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean getEnableCommandBlock() {
+        return false;
+    }
+
+    @Override
+    public boolean isPublished() {
+        return false;
+    }
+
+    @Override
+    public boolean shouldBroadcastCommands() {
+        return false;
+    }
+
+    @Override
+    public boolean isSingleplayerOwner(GameProfile profile) {
+        return false;
+    }
+}
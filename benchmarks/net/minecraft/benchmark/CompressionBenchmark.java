@@ -0,0 +1,94 @@
+package net.minecraft.benchmark;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import net.minecraft.core.BlockPosition;
+import net.minecraft.nbt.NBTCompressedStreamTools;
+import net.minecraft.server.level.WorldServer;
+import net.minecraft.util.compression.Compression;
+import net.minecraft.util.compression.CompressionProvider;
+import net.minecraft.util.compression.Compressor;
+import net.minecraft.util.compression.Decompressor;
+import net.minecraft.world.level.chunk.storage.ChunkRegionLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressionBenchmark {
+    @Param({"java"})
+    public String provider;
+    @Param({"1", "6"})
+    public int level;
+    private Compressor compressor;
+    private Decompressor decompressor;
+    private ByteBuf input;
+    private ByteBuf compressed;
+    private ByteBuf output;
+
+    @Setup
+    public void setup() throws IOException {
+        CompressionProvider compressionProvider = Compression.getProvider(this.provider);
+        if (compressionProvider == null) {
+            throw new IllegalArgumentException("Unknown compression provider " + this.provider);
+        } else {
+            this.compressor = compressionProvider.createCompressor(this.level);
+            this.decompressor = compressionProvider.createDecompressor();
+            this.input = Unpooled.directBuffer();
+            BenchmarkServer benchmarkServer = BenchmarkServer.start();
+
+            try {
+                WorldServer serverLevel = benchmarkServer.overworld();
+                BlockPosition blockPos = serverLevel.getSpawn();
+                NBTCompressedStreamTools.write(ChunkRegionLoader.saveChunk(serverLevel, serverLevel.getChunk(blockPos.getX() >> 4, blockPos.getZ() >> 4)), new ByteBufOutputStream(this.input));
+            } finally {
+                benchmarkServer.stop();
+            }
+
+            this.compressed = Unpooled.directBuffer();
+            this.compressor.compress(this.input.duplicate(), this.compressed);
+            this.output = Unpooled.directBuffer(this.input.readableBytes());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.compressor.end();
+        this.decompressor.end();
+        this.input.release();
+        this.compressed.release();
+        this.output.release();
+    }
+
+    @Benchmark
+    public int compress() {
+        this.output.clear();
+        this.compressor.compress(this.input.duplicate(), this.output);
+        return this.output.readableBytes();
+    }
+
+    @Benchmark
+    public int decompress() throws DataFormatException {
+        this.output.clear();
+        this.decompressor.decompress(this.compressed.duplicate(), this.output, this.input.readableBytes());
+        return this.output.readableBytes();
+    }
+}
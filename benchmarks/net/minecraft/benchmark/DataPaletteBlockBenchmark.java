@@ -0,0 +1,73 @@
+package net.minecraft.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.IBlockData;
+import net.minecraft.world.level.chunk.DataPaletteBlock;
+import net.minecraft.world.level.chunk.PalettedContainer$Strategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataPaletteBlockBenchmark {
+    @Param({"1", "4", "16", "64", "512"})
+    public int paletteSize;
+    private IBlockData[] states;
+    private int[] positions;
+    private DataPaletteBlock<IBlockData> container;
+
+    @Setup
+    public void setup() {
+        BenchmarkServer.bootstrap();
+        Random random = new Random(0L);
+        this.states = new IBlockData[this.paletteSize];
+
+        for(int i = 0; i < this.paletteSize; ++i) {
+            this.states[i] = Block.BLOCK_STATE_REGISTRY.fromId(i + 1);
+        }
+
+        this.container = new DataPaletteBlock<>(Block.BLOCK_STATE_REGISTRY, Blocks.AIR.getBlockData(), PalettedContainer$Strategy.SECTION_STATES);
+        this.positions = new int[4096];
+
+        for(int j = 0; j < 4096; ++j) {
+            this.positions[j] = random.nextInt(4096);
+            this.container.set(j & 15, j >> 8 & 15, j >> 4 & 15, this.states[random.nextInt(this.paletteSize)]);
+        }
+
+    }
+
+    @Benchmark
+    public void set() {
+        for(int i = 0; i < 4096; ++i) {
+            int j = this.positions[i];
+            this.container.set(j & 15, j >> 8 & 15, j >> 4 & 15, this.states[i % this.paletteSize]);
+        }
+
+    }
+
+    @Benchmark
+    public void get(Blackhole blackhole) {
+        for(int i = 0; i < 4096; ++i) {
+            int j = this.positions[i];
+            blackhole.consume(this.container.get(j & 15, j >> 8 & 15, j >> 4 & 15));
+        }
+
+    }
+}
@@ -0,0 +1,89 @@
+package net.minecraft.benchmark;
+
+import com.google.common.collect.Lists;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.core.BlockPosition;
+import net.minecraft.server.level.WorldServer;
+import net.minecraft.world.entity.EntityTypes;
+import net.minecraft.world.entity.animal.EntityCow;
+import net.minecraft.world.level.GameRules;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.levelgen.HeightMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityCollisionBenchmark {
+    private static final int PEN_SIZE = 6;
+    @Param({"64", "256"})
+    public int mobs;
+    private BenchmarkServer server;
+    private final List<EntityCow> pen = Lists.newArrayList();
+
+    @Setup
+    public void setup() throws IOException {
+        this.server = BenchmarkServer.start();
+        WorldServer serverLevel = this.server.overworld();
+        serverLevel.getGameRules().get(GameRules.RULE_MAX_ENTITY_CRAMMING).set(0, this.server);
+        BlockPosition blockPos = serverLevel.getHighestBlockYAt(HeightMap.Type.MOTION_BLOCKING, serverLevel.getSpawn()).above(8);
+
+        for(int i = -1; i <= PEN_SIZE; ++i) {
+            for(int j = -1; j <= PEN_SIZE; ++j) {
+                boolean bl = i == -1 || j == -1 || i == PEN_SIZE || j == PEN_SIZE;
+
+                for(int k = -1; k <= 2; ++k) {
+                    if (k == -1 || bl) {
+                        serverLevel.setTypeAndData(blockPos.offset(i, k, j), Blocks.STONE.getBlockData(), 2);
+                    } else {
+                        serverLevel.setTypeAndData(blockPos.offset(i, k, j), Blocks.AIR.getBlockData(), 2);
+                    }
+                }
+            }
+        }
+
+        for(int l = 0; l < this.mobs; ++l) {
+            EntityCow cow = EntityTypes.COW.create(serverLevel);
+            cow.setNoAI(true);
+            cow.setPosition((double)blockPos.getX() + 0.5D + (double)(l % PEN_SIZE), (double)blockPos.getY(), (double)blockPos.getZ() + 0.5D + (double)(l / PEN_SIZE % PEN_SIZE));
+            serverLevel.addEntity(cow);
+            this.pen.add(cow);
+        }
+
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.server.stop();
+    }
+
+    @Benchmark
+    public int tickPen() {
+        int i = 0;
+
+        for(EntityCow cow : this.pen) {
+            cow.movementTick();
+            if (cow.isOnGround()) {
+                ++i;
+            }
+        }
+
+        return i;
+    }
+}
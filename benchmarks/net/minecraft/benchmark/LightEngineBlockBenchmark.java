@@ -0,0 +1,106 @@
+package net.minecraft.benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import net.minecraft.core.BlockPosition;
+import net.minecraft.core.SectionPosition;
+import net.minecraft.server.level.ChunkProviderServer;
+import net.minecraft.server.level.WorldServer;
+import net.minecraft.world.level.ChunkCoordIntPair;
+import net.minecraft.world.level.IBlockAccess;
+import net.minecraft.world.level.chunk.ILightAccess;
+import net.minecraft.world.level.levelgen.HeightMap;
+import net.minecraft.world.level.lighting.LightEngineBlock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LightEngineBlockBenchmark {
+    private static final int RADIUS = 2;
+    @Param({"1", "16"})
+    public int sources;
+    private BenchmarkServer server;
+    private LightEngineBlock engine;
+    private BlockPosition[] positions;
+
+    @Setup
+    public void setup() throws IOException {
+        this.server = BenchmarkServer.start();
+        WorldServer serverLevel = this.server.overworld();
+        ChunkProviderServer serverChunkCache = serverLevel.getChunkSource();
+        this.engine = new LightEngineBlock(new ILightAccess() {
+            @Nullable
+            @Override
+            public IBlockAccess getChunkForLighting(int chunkX, int chunkZ) {
+                return serverChunkCache.getChunkForLighting(chunkX, chunkZ);
+            }
+
+            @Override
+            public IBlockAccess getWorld() {
+                return serverLevel;
+            }
+        });
+        BlockPosition blockPos = serverLevel.getSpawn();
+        ChunkCoordIntPair chunkPos = new ChunkCoordIntPair(blockPos);
+
+        for(int i = -RADIUS; i <= RADIUS; ++i) {
+            for(int j = -RADIUS; j <= RADIUS; ++j) {
+                ChunkCoordIntPair chunkPos2 = new ChunkCoordIntPair(chunkPos.x + i, chunkPos.z + j);
+
+                for(int k = serverLevel.getMinSection(); k < serverLevel.getMaxSection(); ++k) {
+                    this.engine.updateSectionStatus(SectionPosition.of(chunkPos2.x, k, chunkPos2.z), false);
+                }
+
+                this.engine.enableLightSources(chunkPos2, true);
+            }
+        }
+
+        this.engine.runUpdates(Integer.MAX_VALUE, true, true);
+        Random random = new Random(0L);
+        this.positions = new BlockPosition[this.sources];
+
+        for(int l = 0; l < this.sources; ++l) {
+            int m = chunkPos.getMinBlockX() + random.nextInt(16);
+            int n = chunkPos.getMinBlockZ() + random.nextInt(16);
+            this.positions[l] = serverLevel.getHighestBlockYAt(HeightMap.Type.MOTION_BLOCKING, new BlockPosition(m, 0, n));
+        }
+
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.server.stop();
+    }
+
+    @Benchmark
+    public void propagate() {
+        for(BlockPosition blockPos : this.positions) {
+            this.engine.onBlockEmissionIncrease(blockPos, 15);
+        }
+
+        this.engine.runUpdates(Integer.MAX_VALUE, true, true);
+
+        for(BlockPosition blockPos2 : this.positions) {
+            this.engine.checkBlock(blockPos2);
+        }
+
+        this.engine.runUpdates(Integer.MAX_VALUE, true, true);
+    }
+}
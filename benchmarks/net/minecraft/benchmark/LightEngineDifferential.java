@@ -0,0 +1,159 @@
+package net.minecraft.benchmark;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import javax.annotation.Nullable;
+import net.minecraft.core.BlockPosition;
+import net.minecraft.core.SectionPosition;
+import net.minecraft.server.level.ChunkProviderServer;
+import net.minecraft.server.level.WorldServer;
+import net.minecraft.world.level.ChunkCoordIntPair;
+import net.minecraft.world.level.EnumSkyBlock;
+import net.minecraft.world.level.IBlockAccess;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.IBlockData;
+import net.minecraft.world.level.chunk.Chunk;
+import net.minecraft.world.level.chunk.ChunkSection;
+import net.minecraft.world.level.chunk.ILightAccess;
+import net.minecraft.world.level.chunk.NibbleArray;
+import net.minecraft.world.level.levelgen.HeightMap;
+import net.minecraft.world.level.lighting.LightEngine;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class LightEngineDifferential {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final int RADIUS = 4;
+    private static final int EDITS = 256;
+    private final IBlockData[] editStates = new IBlockData[]{Blocks.AIR.getBlockData(), Blocks.STONE.getBlockData(), Blocks.GLOWSTONE.getBlockData(), Blocks.TORCH.getBlockData(), Blocks.OAK_LEAVES.getBlockData(), Blocks.WATER.getBlockData(), Blocks.SMOOTH_STONE_SLAB.getBlockData()};
+    private final WorldServer level;
+    private final ChunkCoordIntPair center;
+    private final LightEngine vanilla;
+    private final LightEngine flat;
+    private int mismatches;
+
+    private LightEngineDifferential(WorldServer level) {
+        this.level = level;
+        this.center = new ChunkCoordIntPair(level.getSpawn());
+        ChunkProviderServer serverChunkCache = level.getChunkSource();
+        ILightAccess lightChunkGetter = new ILightAccess() {
+            @Nullable
+            @Override
+            public IBlockAccess getChunkForLighting(int chunkX, int chunkZ) {
+                return serverChunkCache.getChunkForLighting(chunkX, chunkZ);
+            }
+
+            @Override
+            public IBlockAccess getWorld() {
+                return level;
+            }
+        };
+        boolean bl = level.getDimensionManager().hasSkyLight();
+        this.vanilla = new LightEngine(lightChunkGetter, true, bl, false);
+        this.flat = new LightEngine(lightChunkGetter, true, bl, true);
+    }
+
+    public static void main(String[] args) throws IOException {
+        BenchmarkServer benchmarkServer = BenchmarkServer.start();
+        int i;
+
+        try {
+            LightEngineDifferential lightEngineDifferential = new LightEngineDifferential(benchmarkServer.overworld());
+            lightEngineDifferential.lightChunks();
+            lightEngineDifferential.compare("initial lighting");
+            lightEngineDifferential.editBlocks(args.length > 0 ? Long.parseLong(args[0]) : 0L);
+            lightEngineDifferential.compare("block edits");
+            i = lightEngineDifferential.mismatches;
+        } finally {
+            benchmarkServer.stop();
+        }
+
+        if (i > 0) {
+            LOGGER.error("Light engines disagree on {} sections", i);
+            System.exit(1);
+        } else {
+            LOGGER.info("Light engines agree");
+        }
+
+    }
+
+    private void lightChunks() {
+        for(int i = -RADIUS; i <= RADIUS; ++i) {
+            for(int j = -RADIUS; j <= RADIUS; ++j) {
+                Chunk levelChunk = this.level.getChunk(this.center.x + i, this.center.z + j);
+                ChunkCoordIntPair chunkPos = levelChunk.getPos();
+                ChunkSection[] levelChunkSections = levelChunk.getSections();
+
+                for(int k = 0; k < levelChunkSections.length; ++k) {
+                    if (!levelChunkSections[k].hasOnlyAir()) {
+                        SectionPosition sectionPos = SectionPosition.of(chunkPos, this.level.getSectionYFromSectionIndex(k));
+                        this.vanilla.updateSectionStatus(sectionPos, false);
+                        this.flat.updateSectionStatus(sectionPos, false);
+                    }
+                }
+
+                this.vanilla.enableLightSources(chunkPos, true);
+                this.flat.enableLightSources(chunkPos, true);
+                levelChunk.getLights().forEach((pos) -> {
+                    this.vanilla.onBlockEmissionIncrease(pos, levelChunk.getLightEmission(pos));
+                    this.flat.onBlockEmissionIncrease(pos, levelChunk.getLightEmission(pos));
+                });
+            }
+        }
+
+        this.runUpdates();
+    }
+
+    private void editBlocks(long seed) {
+        Random random = new Random(seed);
+        int i = (RADIUS - 1) * 16;
+
+        for(int j = 0; j < EDITS; ++j) {
+            int k = this.center.getMinBlockX() + random.nextInt(i * 2) - i;
+            int l = this.center.getMinBlockZ() + random.nextInt(i * 2) - i;
+            BlockPosition blockPos = this.level.getHighestBlockYAt(HeightMap.Type.MOTION_BLOCKING, new BlockPosition(k, 0, l)).below(random.nextInt(4));
+            this.level.setTypeAndData(blockPos, this.editStates[random.nextInt(this.editStates.length)], 2);
+            this.vanilla.checkBlock(blockPos);
+            this.flat.checkBlock(blockPos);
+            if (random.nextInt(8) == 0) {
+                this.runUpdates();
+            }
+        }
+
+        this.runUpdates();
+    }
+
+    private void runUpdates() {
+        while(this.vanilla.hasLightWork()) {
+            this.vanilla.runUpdates(Integer.MAX_VALUE, true, true);
+        }
+
+        while(this.flat.hasLightWork()) {
+            this.flat.runUpdates(Integer.MAX_VALUE, true, true);
+        }
+
+    }
+
+    private void compare(String stage) {
+        int i = this.mismatches;
+
+        for(EnumSkyBlock lightLayer : EnumSkyBlock.values()) {
+            for(int j = 1 - RADIUS; j < RADIUS; ++j) {
+                for(int k = 1 - RADIUS; k < RADIUS; ++k) {
+                    for(int l = this.vanilla.getMinLightSection(); l < this.vanilla.getMaxLightSection(); ++l) {
+                        SectionPosition sectionPos = SectionPosition.of(this.center.x + j, l, this.center.z + k);
+                        NibbleArray dataLayer = this.vanilla.getLayerListener(lightLayer).getDataLayerData(sectionPos);
+                        NibbleArray dataLayer2 = this.flat.getLayerListener(lightLayer).getDataLayerData(sectionPos);
+                        if (!Arrays.equals(dataLayer == null ? null : dataLayer.asBytes(), dataLayer2 == null ? null : dataLayer2.asBytes())) {
+                            ++this.mismatches;
+                            LOGGER.warn("{} light differs in section {} after {}", lightLayer, sectionPos, stage);
+                        }
+                    }
+                }
+            }
+        }
+
+        LOGGER.info("Compared {} with {} mismatching sections", stage, this.mismatches - i);
+    }
+}
@@ -0,0 +1,61 @@
+package net.minecraft.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.core.BlockPosition;
+import net.minecraft.nbt.NBTCompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.server.level.WorldServer;
+import net.minecraft.world.level.chunk.storage.ChunkRegionLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NBTCompressedStreamToolsBenchmark {
+    private NBTTagCompound chunkTag;
+    private byte[] compressed;
+
+    @Setup
+    public void setup() throws IOException {
+        BenchmarkServer benchmarkServer = BenchmarkServer.start();
+
+        try {
+            WorldServer serverLevel = benchmarkServer.overworld();
+            BlockPosition blockPos = serverLevel.getSpawn();
+            this.chunkTag = ChunkRegionLoader.saveChunk(serverLevel, serverLevel.getChunk(blockPos.getX() >> 4, blockPos.getZ() >> 4));
+        } finally {
+            benchmarkServer.stop();
+        }
+
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        NBTCompressedStreamTools.writeCompressed(this.chunkTag, byteArrayOutputStream);
+        this.compressed = byteArrayOutputStream.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(this.compressed.length);
+        NBTCompressedStreamTools.writeCompressed(this.chunkTag, byteArrayOutputStream);
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    @Benchmark
+    public NBTTagCompound read() throws IOException {
+        return NBTCompressedStreamTools.readCompressed(new ByteArrayInputStream(this.compressed));
+    }
+}
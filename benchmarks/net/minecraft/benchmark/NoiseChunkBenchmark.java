@@ -0,0 +1,59 @@
+package net.minecraft.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.core.IRegistry;
+import net.minecraft.server.level.WorldServer;
+import net.minecraft.world.level.ChunkCoordIntPair;
+import net.minecraft.world.level.biome.BiomeBase;
+import net.minecraft.world.level.chunk.ChunkConverter;
+import net.minecraft.world.level.chunk.ChunkGenerator;
+import net.minecraft.world.level.chunk.IChunkAccess;
+import net.minecraft.world.level.chunk.ProtoChunk;
+import net.minecraft.world.level.levelgen.blending.Blender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NoiseChunkBenchmark {
+    private BenchmarkServer server;
+    private WorldServer level;
+    private ChunkGenerator generator;
+    private IRegistry<BiomeBase> biomes;
+    private int index;
+
+    @Setup
+    public void setup() throws IOException {
+        this.server = BenchmarkServer.start();
+        this.level = this.server.overworld();
+        this.generator = this.level.getChunkSource().getChunkGenerator();
+        this.biomes = this.level.registryAccess().registryOrThrow(IRegistry.BIOME_REGISTRY);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.server.stop();
+    }
+
+    @Benchmark
+    public IChunkAccess fillFromNoise() {
+        int i = this.index++;
+        ChunkCoordIntPair chunkPos = new ChunkCoordIntPair(1000 + (i & 15), 1000 + (i >> 4 & 15));
+        ProtoChunk protoChunk = new ProtoChunk(chunkPos, ChunkConverter.EMPTY, this.level, this.biomes, null);
+        return this.generator.fillFromNoise(Runnable::run, Blender.empty(), this.level.getStructureManager(), protoChunk).join();
+    }
+}
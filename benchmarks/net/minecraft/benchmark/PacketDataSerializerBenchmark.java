@@ -0,0 +1,70 @@
+package net.minecraft.benchmark;
+
+import io.netty.buffer.Unpooled;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.network.PacketDataSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketDataSerializerBenchmark {
+    private static final int COUNT = 1024;
+    @Param({"1", "2", "3", "5"})
+    public int bytes;
+    private int[] values;
+    private PacketDataSerializer buf;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0L);
+        this.values = new int[1024];
+        int i = this.bytes >= 5 ? 0 : 1 << 7 * (this.bytes - 1);
+        int j = this.bytes >= 5 ? Integer.MAX_VALUE : (1 << 7 * this.bytes) - i;
+
+        for(int k = 0; k < 1024; ++k) {
+            this.values[k] = this.bytes >= 5 ? -1 - random.nextInt(j) : i + random.nextInt(j);
+        }
+
+        this.buf = new PacketDataSerializer(Unpooled.buffer(5120));
+    }
+
+    @Benchmark
+    public void writeVarInt() {
+        this.buf.clear();
+
+        for(int i : this.values) {
+            this.buf.writeVarInt(i);
+        }
+
+    }
+
+    @Benchmark
+    public void readVarInt(Blackhole blackhole) {
+        this.buf.clear();
+
+        for(int i : this.values) {
+            this.buf.writeVarInt(i);
+        }
+
+        for(int j = 0; j < 1024; ++j) {
+            blackhole.consume(this.buf.readVarInt());
+        }
+
+    }
+}
@@ -0,0 +1,77 @@
+package net.minecraft.benchmark;
+
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.core.BlockPosition;
+import net.minecraft.server.level.WorldServer;
+import net.minecraft.world.entity.EntityTypes;
+import net.minecraft.world.entity.monster.EntityZombie;
+import net.minecraft.world.level.ChunkCache;
+import net.minecraft.world.level.levelgen.HeightMap;
+import net.minecraft.world.level.pathfinder.PathEntity;
+import net.minecraft.world.level.pathfinder.Pathfinder;
+import net.minecraft.world.level.pathfinder.PathfinderNormal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathfinderBenchmark {
+    private static final int[][] DIRECTIONS = new int[][]{{1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}, {0, -1}, {1, -1}};
+    @Param({"16", "32"})
+    public int distance;
+    private BenchmarkServer server;
+    private EntityZombie mob;
+    private ChunkCache region;
+    private Pathfinder pathFinder;
+    private Set<BlockPosition>[] targets;
+    private int index;
+
+    @Setup
+    public void setup() throws IOException {
+        this.server = BenchmarkServer.start();
+        WorldServer serverLevel = this.server.overworld();
+        BlockPosition blockPos = serverLevel.getHighestBlockYAt(HeightMap.Type.MOTION_BLOCKING_NO_LEAVES, serverLevel.getSpawn());
+        this.mob = EntityTypes.ZOMBIE.create(serverLevel);
+        this.mob.setPosition((double)blockPos.getX() + 0.5D, (double)blockPos.getY(), (double)blockPos.getZ() + 0.5D);
+        int i = this.distance + 16;
+        this.region = new ChunkCache(serverLevel, blockPos.offset(-i, -i, -i), blockPos.offset(i, i, i));
+        PathfinderNormal walkNodeEvaluator = new PathfinderNormal();
+        walkNodeEvaluator.setCanPassDoors(true);
+        this.pathFinder = new Pathfinder(walkNodeEvaluator, this.distance * 16);
+        this.targets = new Set[DIRECTIONS.length];
+
+        for(int j = 0; j < DIRECTIONS.length; ++j) {
+            BlockPosition blockPos2 = blockPos.offset(DIRECTIONS[j][0] * this.distance, 0, DIRECTIONS[j][1] * this.distance);
+            this.targets[j] = ImmutableSet.of(serverLevel.getHighestBlockYAt(HeightMap.Type.MOTION_BLOCKING_NO_LEAVES, blockPos2));
+        }
+
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.server.stop();
+    }
+
+    @Benchmark
+    public PathEntity findPath() {
+        Set<BlockPosition> set = this.targets[this.index++ & 7];
+        return this.pathFinder.findPath(this.region, this.mob, set, (float)this.distance * 1.5F, 1, 1.0F);
+    }
+}
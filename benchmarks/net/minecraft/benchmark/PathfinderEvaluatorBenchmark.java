@@ -0,0 +1,139 @@
+package net.minecraft.benchmark;
+
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.core.BlockPosition;
+import net.minecraft.server.level.WorldServer;
+import net.minecraft.world.entity.EntityInsentient;
+import net.minecraft.world.entity.EntityTypes;
+import net.minecraft.world.level.ChunkCache;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.IBlockData;
+import net.minecraft.world.level.pathfinder.PathEntity;
+import net.minecraft.world.level.pathfinder.Pathfinder;
+import net.minecraft.world.level.pathfinder.PathfinderAbstract;
+import net.minecraft.world.level.pathfinder.PathfinderFlying;
+import net.minecraft.world.level.pathfinder.PathfinderNormal;
+import net.minecraft.world.level.pathfinder.PathfinderWater;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathfinderEvaluatorBenchmark {
+    private static final int[][] DIRECTIONS = new int[][]{{1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}, {0, -1}, {1, -1}};
+    private static final int HEIGHT = 200;
+    private static final int DEPTH = 8;
+    private static final int DISTANCE = 16;
+    private static final int SIZE = DISTANCE + 8;
+    @Param({"walk", "swim", "fly"})
+    public String evaluator;
+    private BenchmarkServer server;
+    private EntityInsentient mob;
+    private ChunkCache region;
+    private Pathfinder pathFinder;
+    private Set<BlockPosition>[] targets;
+    private int index;
+
+    @Setup
+    public void setup() throws IOException {
+        this.server = BenchmarkServer.start();
+        WorldServer serverLevel = this.server.overworld();
+        BlockPosition blockPos = serverLevel.getSpawn();
+        PathfinderAbstract nodeEvaluator;
+        IBlockData blockState;
+        int i;
+        if ("walk".equals(this.evaluator)) {
+            this.mob = EntityTypes.ZOMBIE.create(serverLevel);
+            nodeEvaluator = new PathfinderNormal();
+            blockState = Blocks.AIR.getBlockData();
+            i = 0;
+        } else if ("swim".equals(this.evaluator)) {
+            this.mob = EntityTypes.DOLPHIN.create(serverLevel);
+            nodeEvaluator = new PathfinderWater(false);
+            blockState = Blocks.WATER.getBlockData();
+            i = DEPTH / 2;
+        } else {
+            if (!"fly".equals(this.evaluator)) {
+                throw new IllegalArgumentException("Unknown evaluator " + this.evaluator);
+            }
+
+            this.mob = EntityTypes.BEE.create(serverLevel);
+            nodeEvaluator = new PathfinderFlying();
+            blockState = Blocks.AIR.getBlockData();
+            i = DEPTH / 2;
+        }
+
+        BlockPosition blockPos2 = new BlockPosition(blockPos.getX(), HEIGHT, blockPos.getZ());
+        this.buildTerrain(serverLevel, blockPos2, blockState);
+        this.mob.setPosition((double)blockPos2.getX() + 0.5D, (double)(blockPos2.getY() + i), (double)blockPos2.getZ() + 0.5D);
+        int j = SIZE + 16;
+        this.region = new ChunkCache(serverLevel, blockPos2.offset(-j, -j, -j), blockPos2.offset(j, j, j));
+        nodeEvaluator.setCanPassDoors(true);
+        this.pathFinder = new Pathfinder(nodeEvaluator, DISTANCE * 16);
+        this.targets = new Set[DIRECTIONS.length];
+
+        for(int k = 0; k < DIRECTIONS.length; ++k) {
+            this.targets[k] = ImmutableSet.of(blockPos2.offset(DIRECTIONS[k][0] * DISTANCE, i, DIRECTIONS[k][1] * DISTANCE));
+        }
+
+    }
+
+    private void buildTerrain(WorldServer serverLevel, BlockPosition origin, IBlockData fill) {
+        Random random = new Random(42L);
+
+        for(int i = -SIZE; i <= SIZE; ++i) {
+            for(int j = -SIZE; j <= SIZE; ++j) {
+                serverLevel.setTypeAndData(origin.offset(i, -1, j), Blocks.STONE.getBlockData(), 2);
+                int k = this.isReserved(i, j) || random.nextInt(6) != 0 ? 0 : 1 + random.nextInt(DEPTH);
+
+                for(int l = 0; l < DEPTH; ++l) {
+                    serverLevel.setTypeAndData(origin.offset(i, l, j), l < k ? Blocks.STONE.getBlockData() : fill, 2);
+                }
+            }
+        }
+
+    }
+
+    private boolean isReserved(int x, int z) {
+        if (Math.abs(x) <= 1 && Math.abs(z) <= 1) {
+            return true;
+        } else {
+            for(int[] is : DIRECTIONS) {
+                if (Math.abs(x - is[0] * DISTANCE) <= 1 && Math.abs(z - is[1] * DISTANCE) <= 1) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.server.stop();
+    }
+
+    @Benchmark
+    public PathEntity findPath() {
+        Set<BlockPosition> set = this.targets[this.index++ & 7];
+        return this.pathFinder.findPath(this.region, this.mob, set, (float)DISTANCE * 1.5F, 1, 1.0F);
+    }
+}
@@ -0,0 +1,103 @@
+package net.minecraft.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.core.BlockPosition;
+import net.minecraft.server.level.WorldServer;
+import net.minecraft.world.level.GameRules;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.IBlockData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedstoneWireBenchmark {
+    private static final int HEIGHT = 200;
+    private static final int SIZE = 24;
+    @Param({"false", "true"})
+    public boolean networks;
+    @Param({"line", "grid", "staircase"})
+    public String contraption;
+    private BenchmarkServer server;
+    private WorldServer level;
+    private BlockPosition source;
+
+    @Setup
+    public void setup() throws IOException {
+        this.server = BenchmarkServer.start();
+        this.level = this.server.overworld();
+        this.level.getGameRules().get(GameRules.RULE_REDSTONE_WIRE_NETWORKS).set(this.networks, this.server);
+        BlockPosition blockPos = this.level.getSpawn();
+        BlockPosition blockPos2 = new BlockPosition(blockPos.getX(), HEIGHT, blockPos.getZ());
+        if ("line".equals(this.contraption)) {
+            this.buildLine(blockPos2);
+        } else if ("grid".equals(this.contraption)) {
+            this.buildGrid(blockPos2);
+        } else {
+            if (!"staircase".equals(this.contraption)) {
+                throw new IllegalArgumentException("Unknown contraption " + this.contraption);
+            }
+
+            this.buildStaircase(blockPos2);
+        }
+
+        this.source = blockPos2.west();
+    }
+
+    private void buildLine(BlockPosition origin) {
+        for(int i = 0; i < SIZE * 4; ++i) {
+            this.placeWire(origin.east(i));
+        }
+
+    }
+
+    private void buildGrid(BlockPosition origin) {
+        for(int i = 0; i < SIZE; ++i) {
+            for(int j = 0; j < SIZE; ++j) {
+                this.placeWire(origin.offset(i, 0, j));
+            }
+        }
+
+    }
+
+    private void buildStaircase(BlockPosition origin) {
+        for(int i = 0; i < SIZE; ++i) {
+            int j = i < SIZE / 2 ? i : SIZE - i;
+            this.placeWire(origin.offset(i, j, 0));
+            this.placeWire(origin.offset(i, j, 1));
+        }
+
+    }
+
+    private void placeWire(BlockPosition pos) {
+        this.level.setTypeAndData(pos.below(), Blocks.STONE.getBlockData(), 2);
+        this.level.setTypeAndData(pos, Blocks.REDSTONE_WIRE.getBlockData(), 3);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.server.stop();
+    }
+
+    @Benchmark
+    public IBlockData toggleSource() {
+        this.level.setTypeAndData(this.source, Blocks.REDSTONE_BLOCK.getBlockData(), 3);
+        this.level.setTypeAndData(this.source, Blocks.AIR.getBlockData(), 3);
+        return this.level.getType(this.source.east());
+    }
+}
@@ -0,0 +1,63 @@
+package net.minecraft.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.minecraft.core.BlockPosition;
+import net.minecraft.world.level.BlockAccessAir;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.IBlockData;
+import net.minecraft.world.phys.shapes.OperatorBoolean;
+import net.minecraft.world.phys.shapes.VoxelShape;
+import net.minecraft.world.phys.shapes.VoxelShapes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VoxelShapesBenchmark {
+    private VoxelShape[] shapes;
+    private VoxelShape entityBox;
+
+    @Setup
+    public void setup() {
+        BenchmarkServer.bootstrap();
+        IBlockData[] blockStates = new IBlockData[]{Blocks.STONE.getBlockData(), Blocks.OAK_STAIRS.getBlockData(), Blocks.OAK_FENCE.getBlockData(), Blocks.SMOOTH_STONE_SLAB.getBlockData(), Blocks.HOPPER.getBlockData(), Blocks.CAULDRON.getBlockData(), Blocks.ANVIL.getBlockData(), Blocks.SCAFFOLDING.getBlockData()};
+        this.shapes = new VoxelShape[blockStates.length];
+
+        for(int i = 0; i < blockStates.length; ++i) {
+            this.shapes[i] = blockStates[i].getShape(BlockAccessAir.INSTANCE, BlockPosition.ZERO);
+        }
+
+        this.entityBox = VoxelShapes.box(0.2D, 0.5D, 0.2D, 0.8D, 2.3D, 0.8D);
+    }
+
+    @Benchmark
+    public void joinIsNotEmptyShapes(Blackhole blackhole) {
+        for(VoxelShape voxelShape : this.shapes) {
+            for(VoxelShape voxelShape2 : this.shapes) {
+                blackhole.consume(VoxelShapes.joinIsNotEmpty(voxelShape, voxelShape2, OperatorBoolean.ONLY_FIRST));
+            }
+        }
+
+    }
+
+    @Benchmark
+    public void joinIsNotEmptyEntity(Blackhole blackhole) {
+        for(VoxelShape voxelShape : this.shapes) {
+            blackhole.consume(VoxelShapes.joinIsNotEmpty(voxelShape, this.entityBox, OperatorBoolean.AND));
+        }
+
+    }
+}
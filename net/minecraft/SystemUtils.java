@@ -71,6 +71,10 @@ public class SystemUtils {
     private static final ExecutorService BOOTSTRAP_EXECUTOR = makeExecutor("Bootstrap");
     private static final ExecutorService BACKGROUND_EXECUTOR = makeExecutor("Main");
     private static final ExecutorService IO_POOL = makeIoExecutor();
+    private static final ExecutorService COMPRESSION_EXECUTOR = makeExecutor("Compression");
+    private static final ExecutorService DIMENSION_EXECUTOR = makeDimensionExecutor();
+    private static final ExecutorService PATHFINDING_EXECUTOR = makeExecutor("Pathfinding", Integer.getInteger("pathfinding.threads", 0));
+    private static final ExecutorService CHUNK_SAVE_EXECUTOR = makeExecutor("ChunkSave", Integer.getInteger("chunk.serializationThreads", 2));
     public static LongSupplier timeSource = System::nanoTime;
     public static final UUID NIL_UUID = new UUID(0L, 0L);
     public static final FileSystemProvider ZIP_FILE_SYSTEM_PROVIDER = FileSystemProvider.installedProviders().stream().filter((fileSystemProvider) -> {
@@ -106,7 +110,10 @@ public class SystemUtils {
     }
 
     private static ExecutorService makeExecutor(String name) {
-        int i = MathHelper.clamp(Runtime.getRuntime().availableProcessors() - 1, 1, getMaxThreads());
+        return makeExecutor(name, MathHelper.clamp(Runtime.getRuntime().availableProcessors() - 1, 1, getMaxThreads()));
+    }
+
+    private static ExecutorService makeExecutor(String name, int i) {
         ExecutorService executorService;
         if (i <= 0) {
             executorService = MoreExecutors.newDirectExecutorService();
@@ -162,9 +169,29 @@ public class SystemUtils {
         return IO_POOL;
     }
 
+    public static ExecutorService compressionExecutor() {
+        return COMPRESSION_EXECUTOR;
+    }
+
+    public static ExecutorService dimensionExecutor() {
+        return DIMENSION_EXECUTOR;
+    }
+
+    public static ExecutorService pathfindingExecutor() {
+        return PATHFINDING_EXECUTOR;
+    }
+
+    public static ExecutorService chunkSaveExecutor() {
+        return CHUNK_SAVE_EXECUTOR;
+    }
+
     public static void shutdownExecutors() {
         shutdownExecutor(BACKGROUND_EXECUTOR);
         shutdownExecutor(IO_POOL);
+        shutdownExecutor(COMPRESSION_EXECUTOR);
+        shutdownExecutor(DIMENSION_EXECUTOR);
+        shutdownExecutor(PATHFINDING_EXECUTOR);
+        shutdownExecutor(CHUNK_SAVE_EXECUTOR);
     }
 
     private static void shutdownExecutor(ExecutorService service) {
@@ -183,6 +210,16 @@ public class SystemUtils {
 
     }
 
+    private static ExecutorService makeDimensionExecutor() {
+        return Executors.newCachedThreadPool((runnable) -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("Dimension-Worker-" + WORKER_COUNT.getAndIncrement());
+            thread.setDaemon(true);
+            thread.setUncaughtExceptionHandler(SystemUtils::onThreadException);
+            return thread;
+        });
+    }
+
     private static ExecutorService makeIoExecutor() {
         return Executors.newCachedThreadPool((runnable) -> {
             Thread thread = new Thread(runnable);
@@ -71,7 +71,13 @@ public class AdvancementRewards {
 
         MinecraftServer minecraftServer = player.server;
         this.function.get(minecraftServer.getFunctionData()).ifPresent((commandFunction) -> {
-            minecraftServer.getFunctionData().execute(commandFunction, player.getCommandListener().withSuppressedOutput().withPermission(2));
+            Runnable runnable = () -> {
+                minecraftServer.getFunctionData().execute(commandFunction, player.getCommandListener().withSuppressedOutput().withPermission(2));
+            };
+            if (!minecraftServer.deferWhileTickingInParallel(runnable)) {
+                runnable.run();
+            }
+
         });
     }
 
@@ -99,6 +99,7 @@ import net.minecraft.server.commands.CommandWhitelist;
 import net.minecraft.server.commands.CommandWorldBorder;
 import net.minecraft.server.commands.CommandXp;
 import net.minecraft.server.commands.JfrCommand;
+import net.minecraft.server.commands.TickTimingsCommand;
 import net.minecraft.server.commands.data.CommandData;
 import net.minecraft.server.level.EntityPlayer;
 import net.minecraft.util.profiling.jfr.JvmProfiler;
@@ -165,6 +166,7 @@ public class CommandDispatcher {
         CommandTeamMsg.register(this.dispatcher);
         CommandTeleport.register(this.dispatcher);
         CommandTellRaw.register(this.dispatcher);
+        TickTimingsCommand.register(this.dispatcher);
         CommandTime.register(this.dispatcher);
         CommandTitle.register(this.dispatcher);
         CommandTrigger.register(this.dispatcher);
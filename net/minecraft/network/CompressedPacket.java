@@ -0,0 +1,101 @@
+package net.minecraft.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.util.AbstractReferenceCounted;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import net.minecraft.network.protocol.EnumProtocolDirection;
+import net.minecraft.network.protocol.Packet;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class CompressedPacket extends AbstractReferenceCounted {
+    private static final Logger LOGGER = LogManager.getLogger();
+    static final AtomicLong BYTES_SAVED = new AtomicLong();
+    private final Packet<?> packet;
+    private final EnumProtocol protocol;
+    @Nullable
+    private ByteBuf data;
+    private int threshold = -1;
+    private int uncompressedSize;
+    private boolean failed;
+
+    public CompressedPacket(Packet<?> packet) {
+        this.packet = packet;
+        this.protocol = EnumProtocol.getProtocolForPacket(packet);
+    }
+
+    public static long getBytesSaved() {
+        return BYTES_SAVED.get();
+    }
+
+    public Packet<?> getPacket() {
+        return this.packet;
+    }
+
+    public EnumProtocol getProtocol() {
+        return this.protocol;
+    }
+
+    @Nullable
+    synchronized ByteBuf retainCompressed(PacketCompressor compressor) {
+        if (this.failed) {
+            return null;
+        } else {
+            if (this.data == null) {
+                Integer integer = this.protocol.getPacketId(EnumProtocolDirection.CLIENTBOUND, this.packet);
+                if (integer == null) {
+                    this.failed = true;
+                    return null;
+                }
+
+                ByteBuf byteBuf = ByteBufAllocator.DEFAULT.buffer();
+                ByteBuf byteBuf2 = ByteBufAllocator.DEFAULT.buffer();
+
+                try {
+                    PacketDataSerializer friendlyByteBuf = new PacketDataSerializer(byteBuf);
+                    friendlyByteBuf.writeVarInt(integer);
+                    this.packet.write(friendlyByteBuf);
+                    this.uncompressedSize = byteBuf.readableBytes();
+                    if (this.uncompressedSize > 8388608) {
+                        throw new IllegalArgumentException("Packet too big (is " + this.uncompressedSize + ", should be less than 8388608): " + this.packet);
+                    }
+
+                    compressor.compress(byteBuf, byteBuf2);
+                    this.threshold = compressor.getThreshold();
+                    this.data = byteBuf2;
+                } catch (Throwable var9) {
+                    LOGGER.error("Failed to encode broadcast packet {}", this.packet, var9);
+                    byteBuf2.release();
+                    this.failed = true;
+                    return null;
+                } finally {
+                    byteBuf.release();
+                }
+            } else {
+                if (this.threshold != compressor.getThreshold()) {
+                    return null;
+                }
+
+                BYTES_SAVED.addAndGet((long)this.uncompressedSize);
+            }
+
+            return this.data.retainedDuplicate();
+        }
+    }
+
+    @Override
+    protected synchronized void deallocate() {
+        if (this.data != null) {
+            this.data.release();
+            this.data = null;
+        }
+
+    }
+
+    @Override
+    public CompressedPacket touch(Object hint) {
+        return this;
+    }
+}
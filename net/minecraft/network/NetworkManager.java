@@ -3,6 +3,7 @@ package net.minecraft.network;
 import com.google.common.collect.Queues;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelException;
 import io.netty.channel.ChannelFuture;
@@ -173,6 +174,42 @@ public class NetworkManager extends SimpleChannelInboundHandler<Packet<?>> {
 
     }
 
+    public void send(CompressedPacket packet) {
+        if (this.isConnected() && this.getCurrentProtocol() == packet.getProtocol()) {
+            this.flushQueue();
+            ++this.sentPackets;
+            packet.retain();
+            if (this.channel.eventLoop().inEventLoop()) {
+                this.doSendPacket(packet);
+            } else {
+                this.channel.eventLoop().execute(() -> {
+                    this.doSendPacket(packet);
+                });
+            }
+        } else {
+            this.send(packet.getPacket(), (GenericFutureListener<? extends Future<? super Void>>)null);
+        }
+
+    }
+
+    private void doSendPacket(CompressedPacket packet) {
+        try {
+            ChannelHandlerContext channelHandlerContext = this.channel.pipeline().context("compress");
+            ByteBuf byteBuf = channelHandlerContext != null && channelHandlerContext.handler() instanceof PacketCompressor ? packet.retainCompressed((PacketCompressor)channelHandlerContext.handler()) : null;
+            ChannelFuture channelFuture;
+            if (byteBuf != null) {
+                channelFuture = channelHandlerContext.writeAndFlush(byteBuf);
+            } else {
+                channelFuture = this.channel.writeAndFlush(packet.getPacket());
+            }
+
+            channelFuture.addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+        } finally {
+            packet.release();
+        }
+
+    }
+
     private void sendPacket(Packet<?> packet, @Nullable GenericFutureListener<? extends Future<? super Void>> callback) {
         EnumProtocol connectionProtocol = EnumProtocol.getProtocolForPacket(packet);
         EnumProtocol connectionProtocol2 = this.getCurrentProtocol();
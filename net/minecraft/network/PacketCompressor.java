@@ -3,41 +3,49 @@ package net.minecraft.network;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
-import java.util.zip.Deflater;
+import java.util.concurrent.atomic.AtomicLong;
+import net.minecraft.util.compression.Compression;
+import net.minecraft.util.compression.Compressor;
 
 public class PacketCompressor extends MessageToByteEncoder<ByteBuf> {
-    private final byte[] encodeBuf = new byte[8192];
-    private final Deflater deflater;
+    static final AtomicLong COMPRESSION_NANOS = new AtomicLong();
+    private final Compressor compressor;
     private int threshold;
 
     public PacketCompressor(int compressionThreshold) {
         this.threshold = compressionThreshold;
-        this.deflater = new Deflater();
+        this.compressor = Compression.createNetworkCompressor();
     }
 
     protected void encode(ChannelHandlerContext channelHandlerContext, ByteBuf byteBuf, ByteBuf byteBuf2) {
+        this.compress(byteBuf, byteBuf2);
+    }
+
+    void compress(ByteBuf byteBuf, ByteBuf byteBuf2) {
         int i = byteBuf.readableBytes();
         PacketDataSerializer friendlyByteBuf = new PacketDataSerializer(byteBuf2);
         if (i < this.threshold) {
             friendlyByteBuf.writeVarInt(0);
             friendlyByteBuf.writeBytes(byteBuf);
         } else {
-            byte[] bs = new byte[i];
-            byteBuf.readBytes(bs);
-            friendlyByteBuf.writeVarInt(bs.length);
-            this.deflater.setInput(bs, 0, i);
-            this.deflater.finish();
-
-            while(!this.deflater.finished()) {
-                int j = this.deflater.deflate(this.encodeBuf);
-                friendlyByteBuf.writeBytes(this.encodeBuf, 0, j);
-            }
-
-            this.deflater.reset();
+            long l = System.nanoTime();
+            friendlyByteBuf.writeVarInt(i);
+            this.compressor.compress(byteBuf, byteBuf2);
+            COMPRESSION_NANOS.addAndGet(System.nanoTime() - l);
         }
 
     }
 
+    @Override
+    public void handlerRemoved(ChannelHandlerContext channelHandlerContext) throws Exception {
+        super.handlerRemoved(channelHandlerContext);
+        this.compressor.end();
+    }
+
+    public static long getCompressionNanos() {
+        return COMPRESSION_NANOS.get();
+    }
+
     public int getThreshold() {
         return this.threshold;
     }
@@ -1,24 +1,25 @@
 package net.minecraft.network;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.handler.codec.DecoderException;
 import java.util.List;
-import java.util.zip.Inflater;
+import java.util.zip.DataFormatException;
+import net.minecraft.util.compression.Compression;
+import net.minecraft.util.compression.Decompressor;
 
 public class PacketDecompressor extends ByteToMessageDecoder {
     public static final int MAXIMUM_COMPRESSED_LENGTH = 2097152;
     public static final int MAXIMUM_UNCOMPRESSED_LENGTH = 8388608;
-    private final Inflater inflater;
+    private final Decompressor decompressor;
     private int threshold;
     private boolean validateDecompressed;
 
     public PacketDecompressor(int compressionThreshold, boolean rejectsBadPackets) {
         this.threshold = compressionThreshold;
         this.validateDecompressed = rejectsBadPackets;
-        this.inflater = new Inflater();
+        this.decompressor = Compression.createDecompressor();
     }
 
     protected void decode(ChannelHandlerContext channelHandlerContext, ByteBuf byteBuf, List<Object> list) throws Exception {
@@ -38,17 +39,26 @@ public class PacketDecompressor extends ByteToMessageDecoder {
                     }
                 }
 
-                byte[] bs = new byte[friendlyByteBuf.readableBytes()];
-                friendlyByteBuf.readBytes(bs);
-                this.inflater.setInput(bs);
-                byte[] cs = new byte[i];
-                this.inflater.inflate(cs);
-                list.add(Unpooled.wrappedBuffer(cs));
-                this.inflater.reset();
+                ByteBuf byteBuf2 = channelHandlerContext.alloc().buffer(i);
+
+                try {
+                    this.decompressor.decompress(friendlyByteBuf, byteBuf2, i);
+                } catch (DataFormatException var8) {
+                    byteBuf2.release();
+                    this.decompressor.reset();
+                    throw new DecoderException("Badly compressed packet", var8);
+                }
+
+                list.add(byteBuf2);
             }
         }
     }
 
+    @Override
+    protected void handlerRemoved0(ChannelHandlerContext channelHandlerContext) throws Exception {
+        this.decompressor.end();
+    }
+
     public void setThreshold(int compressionThreshold, boolean rejectsBadPackets) {
         this.threshold = compressionThreshold;
         this.validateDecompressed = rejectsBadPackets;
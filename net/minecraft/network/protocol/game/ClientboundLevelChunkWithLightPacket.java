@@ -1,5 +1,6 @@
 package net.minecraft.network.protocol.game;
 
+import io.netty.buffer.Unpooled;
 import java.util.BitSet;
 import javax.annotation.Nullable;
 import net.minecraft.network.PacketDataSerializer;
@@ -11,8 +12,12 @@ import net.minecraft.world.level.lighting.LightEngine;
 public class ClientboundLevelChunkWithLightPacket implements Packet<PacketListenerPlayOut> {
     private final int x;
     private final int z;
-    private final ClientboundLevelChunkPacketData chunkData;
-    private final ClientboundLightUpdatePacketData lightData;
+    @Nullable
+    private ClientboundLevelChunkPacketData chunkData;
+    @Nullable
+    private ClientboundLightUpdatePacketData lightData;
+    @Nullable
+    private volatile byte[] encoded;
 
     public ClientboundLevelChunkWithLightPacket(Chunk chunk, LightEngine lightProvider, @Nullable BitSet skyBits, @Nullable BitSet blockBits, boolean nonEdge) {
         ChunkCoordIntPair chunkPos = chunk.getPos();
@@ -31,10 +36,26 @@ public class ClientboundLevelChunkWithLightPacket implements Packet<PacketListen
 
     @Override
     public void write(PacketDataSerializer buf) {
-        buf.writeInt(this.x);
-        buf.writeInt(this.z);
-        this.chunkData.write(buf);
-        this.lightData.write(buf);
+        byte[] bs = this.encoded;
+        if (bs == null) {
+            synchronized(this) {
+                bs = this.encoded;
+                if (bs == null) {
+                    PacketDataSerializer friendlyByteBuf = new PacketDataSerializer(Unpooled.buffer());
+                    friendlyByteBuf.writeInt(this.x);
+                    friendlyByteBuf.writeInt(this.z);
+                    this.chunkData.write(friendlyByteBuf);
+                    this.lightData.write(friendlyByteBuf);
+                    bs = new byte[friendlyByteBuf.readableBytes()];
+                    friendlyByteBuf.readBytes(bs);
+                    this.encoded = bs;
+                    this.chunkData = null;
+                    this.lightData = null;
+                }
+            }
+        }
+
+        buf.writeBytes(bs);
     }
 
     @Override
@@ -50,10 +71,12 @@ public class ClientboundLevelChunkWithLightPacket implements Packet<PacketListen
         return this.z;
     }
 
+    @Nullable
     public ClientboundLevelChunkPacketData getChunkData() {
         return this.chunkData;
     }
 
+    @Nullable
     public ClientboundLightUpdatePacketData getLightData() {
         return this.lightData;
     }
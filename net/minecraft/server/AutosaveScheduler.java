@@ -0,0 +1,127 @@
+package net.minecraft.server;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Queues;
+import java.util.List;
+import java.util.Queue;
+import java.util.function.BooleanSupplier;
+import net.minecraft.SystemUtils;
+import net.minecraft.server.level.EntityPlayer;
+import net.minecraft.server.level.WorldServer;
+import net.minecraft.util.profiling.metrics.EnumMetricCategory;
+import net.minecraft.util.profiling.metrics.IProfilerMeasured;
+import net.minecraft.util.profiling.metrics.MetricSampler;
+import net.minecraft.util.profiling.metrics.MetricsRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class AutosaveScheduler implements IProfilerMeasured {
+    private static final Logger LOGGER = LogManager.getLogger();
+    public static final int BUDGET_MS = Integer.getInteger("autosave.budgetMs", 0);
+    private final MinecraftServer server;
+    private final long budgetNanos;
+    private final Queue<EntityPlayer> pendingPlayers = Queues.newArrayDeque();
+    private final List<WorldServer> pendingLevels = Lists.newArrayList();
+    private boolean running;
+    private long startTime;
+    private int ticks;
+
+    public AutosaveScheduler(MinecraftServer server, int budgetMillis) {
+        this.server = server;
+        this.budgetNanos = (long)budgetMillis * 1000000L;
+        MetricsRegistry.INSTANCE.add(this);
+    }
+
+    public boolean isEnabled() {
+        return this.budgetNanos > 0L;
+    }
+
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    public void start() {
+        if (this.running) {
+            LOGGER.warn("Autosave did not finish within {} ticks, continuing previous cycle", this.ticks);
+        } else {
+            LOGGER.debug("Autosave started");
+            this.running = true;
+            this.startTime = SystemUtils.getMonotonicMillis();
+            this.ticks = 0;
+            this.pendingPlayers.addAll(this.server.getPlayerList().getPlayers());
+
+            for(WorldServer serverLevel : this.server.getWorlds()) {
+                serverLevel.startIncrementalSave();
+                this.pendingLevels.add(serverLevel);
+            }
+
+        }
+    }
+
+    public void tick() {
+        long l = SystemUtils.getMonotonicNanos() + this.budgetNanos;
+        BooleanSupplier booleanSupplier = () -> {
+            return SystemUtils.getMonotonicNanos() < l;
+        };
+        ++this.ticks;
+
+        EntityPlayer serverPlayer;
+        while(booleanSupplier.getAsBoolean() && (serverPlayer = this.pendingPlayers.poll()) != null) {
+            if (!serverPlayer.hasDisconnected()) {
+                this.server.getPlayerList().savePlayerFile(serverPlayer);
+            }
+        }
+
+        if (this.pendingPlayers.isEmpty()) {
+            this.pendingLevels.removeIf((serverLevel) -> {
+                return serverLevel.saveIncrementally(booleanSupplier);
+            });
+            if (this.pendingLevels.isEmpty()) {
+                this.server.saveWorldData();
+                this.running = false;
+                LOGGER.debug("Autosave finished in {} ms over {} ticks", SystemUtils.getMonotonicMillis() - this.startTime, this.ticks);
+            }
+        }
+
+    }
+
+    public int getPlayerBacklog() {
+        return this.pendingPlayers.size();
+    }
+
+    public int getDataBacklog() {
+        int i = 0;
+
+        for(WorldServer serverLevel : this.pendingLevels) {
+            i += serverLevel.getIncrementalSaveDataBacklog();
+        }
+
+        return i;
+    }
+
+    public int getChunkBacklog() {
+        int i = 0;
+
+        for(WorldServer serverLevel : this.pendingLevels) {
+            i += serverLevel.getChunkSource().chunkMap.getIncrementalSaveBacklog();
+        }
+
+        return i;
+    }
+
+    public int getPoiBacklog() {
+        int i = 0;
+
+        for(WorldServer serverLevel : this.server.getWorlds()) {
+            i += serverLevel.getChunkSource().chunkMap.getPoiSaveBacklog();
+        }
+
+        return i;
+    }
+
+    @Override
+    public List<MetricSampler> profiledMetrics() {
+        return ImmutableList.of(MetricSampler.create("autosave-backlog-players", EnumMetricCategory.SAVING, this, AutosaveScheduler::getPlayerBacklog), MetricSampler.create("autosave-backlog-data", EnumMetricCategory.SAVING, this, AutosaveScheduler::getDataBacklog), MetricSampler.create("autosave-backlog-chunks", EnumMetricCategory.SAVING, this, AutosaveScheduler::getChunkBacklog), MetricSampler.create("autosave-backlog-poi", EnumMetricCategory.SAVING, this, AutosaveScheduler::getPoiBacklog));
+    }
+}
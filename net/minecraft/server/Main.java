@@ -13,6 +13,7 @@ import java.nio.file.Paths;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BooleanSupplier;
+import javax.annotation.Nullable;
 import joptsimple.OptionParser;
 import joptsimple.OptionSet;
 import joptsimple.OptionSpec;
@@ -45,6 +46,7 @@ import net.minecraft.util.worldupdate.WorldUpgrader;
 import net.minecraft.world.level.DataPackConfiguration;
 import net.minecraft.world.level.GameRules;
 import net.minecraft.world.level.WorldSettings;
+import net.minecraft.world.level.chunk.storage.RegionFileCompression;
 import net.minecraft.world.level.levelgen.GeneratorSettings;
 import net.minecraft.world.level.storage.Convertable;
 import net.minecraft.world.level.storage.SaveData;
@@ -76,6 +78,7 @@ public class Main {
         OptionSpec<String> optionSpec13 = optionParser.accepts("serverId").withRequiredArg();
         OptionSpec<Void> optionSpec14 = optionParser.accepts("jfrProfile");
         OptionSpec<String> optionSpec15 = optionParser.nonOptions();
+        OptionSpec<String> optionSpec16 = optionParser.accepts("recompress", "Rewrites every region file using the given region compression (" + String.join(", ", RegionFileCompression.getNames()) + ") and exits without starting the server").withRequiredArg();
 
         try {
             OptionSet optionSet = optionParser.parse(args);
@@ -173,6 +176,20 @@ public class Main {
                 }, worldData.getGeneratorSettings());
             }
 
+            if (optionSet.has(optionSpec16)) {
+                RegionFileCompression regionFileCompression = RegionFileCompression.fromName(optionSet.valueOf(optionSpec16));
+                if (regionFileCompression == null) {
+                    throw new IllegalArgumentException("Unknown region compression '" + optionSet.valueOf(optionSpec16) + "', expected one of " + RegionFileCompression.getNames());
+                }
+
+                forceUpgrade(levelStorageAccess, DataConverterRegistry.getDataFixer(), false, regionFileCompression, () -> {
+                    return true;
+                }, worldData.getGeneratorSettings());
+                packRepository.close();
+                levelStorageAccess.close();
+                return;
+            }
+
             levelStorageAccess.saveDataTag(registryHolder, worldData);
             SaveData worldData2 = worldData;
             final DedicatedServer dedicatedServer = MinecraftServer.spin((serverThread) -> {
@@ -203,8 +220,17 @@ public class Main {
     }
 
     public static void forceUpgrade(Convertable.ConversionSession session, DataFixer dataFixer, boolean eraseCache, BooleanSupplier continueCheck, GeneratorSettings generatorOptions) {
-        LOGGER.info("Forcing world upgrade!");
-        WorldUpgrader worldUpgrader = new WorldUpgrader(session, dataFixer, generatorOptions, eraseCache);
+        forceUpgrade(session, dataFixer, eraseCache, (RegionFileCompression)null, continueCheck, generatorOptions);
+    }
+
+    public static void forceUpgrade(Convertable.ConversionSession session, DataFixer dataFixer, boolean eraseCache, @Nullable RegionFileCompression recompress, BooleanSupplier continueCheck, GeneratorSettings generatorOptions) {
+        if (recompress != null) {
+            LOGGER.info("Forcing world recompression to {}!", recompress.getName());
+        } else {
+            LOGGER.info("Forcing world upgrade!");
+        }
+
+        WorldUpgrader worldUpgrader = new WorldUpgrader(session, dataFixer, generatorOptions, eraseCache, recompress);
         IChatBaseComponent component = null;
 
         while(!worldUpgrader.isFinished()) {
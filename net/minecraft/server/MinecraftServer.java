@@ -4,6 +4,7 @@ import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Queues;
 import com.google.common.collect.Sets;
 import com.mojang.authlib.GameProfile;
 import com.mojang.authlib.GameProfileRepository;
@@ -37,11 +38,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
 import java.util.Map.Entry;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BooleanSupplier;
@@ -76,6 +79,7 @@ import net.minecraft.server.bossevents.BossBattleCustomData;
 import net.minecraft.server.level.ChunkProviderServer;
 import net.minecraft.server.level.DemoPlayerInteractManager;
 import net.minecraft.server.level.EntityPlayer;
+import net.minecraft.server.level.LightEngineThreaded;
 import net.minecraft.server.level.PlayerInteractManager;
 import net.minecraft.server.level.TicketType;
 import net.minecraft.server.level.WorldProviderNormal;
@@ -100,11 +104,14 @@ import net.minecraft.util.MinecraftEncryption;
 import net.minecraft.util.ModCheck;
 import net.minecraft.util.NativeModuleLister;
 import net.minecraft.util.Unit;
+import net.minecraft.util.profiling.GameProfilerDisabled;
 import net.minecraft.util.profiling.GameProfilerFiller;
 import net.minecraft.util.profiling.GameProfilerTick;
 import net.minecraft.util.profiling.MethodProfilerResults;
 import net.minecraft.util.profiling.MethodProfilerResultsEmpty;
 import net.minecraft.util.profiling.MethodProfilerResultsField;
+import net.minecraft.util.profiling.TickPhase;
+import net.minecraft.util.profiling.TickPhaseTimings;
 import net.minecraft.util.profiling.jfr.JvmProfiler;
 import net.minecraft.util.profiling.jfr.callback.ProfiledDuration;
 import net.minecraft.util.profiling.metrics.profiling.IMetricsRecorder;
@@ -251,6 +258,12 @@ public abstract class MinecraftServer extends IAsyncTaskHandlerReentrant<TickTas
     private final DefinedStructureManager structureManager;
     protected SaveData worldData;
     private volatile boolean isSaving;
+    private final AutosaveScheduler autosaveScheduler = new AutosaveScheduler(this, AutosaveScheduler.BUDGET_MS);
+    public static final boolean PARALLEL_DIMENSIONS = Boolean.getBoolean("server.parallelDimensions");
+    private volatile boolean tickingDimensionsInParallel;
+    private final Queue<Runnable> crossDimensionTasks = Queues.newConcurrentLinkedQueue();
+    private final Set<WorldServer> levelsTickingOnWorkers = Sets.newConcurrentHashSet();
+    private final TickPhaseTimings tickPhaseTimings = new TickPhaseTimings("server");
 
     public static <S extends MinecraftServer> S spin(Function<Thread, S> serverFactory) {
         AtomicReference<S> atomicReference = new AtomicReference<>();
@@ -488,7 +501,7 @@ public abstract class MinecraftServer extends IAsyncTaskHandlerReentrant<TickTas
         this.nextTickTime = SystemUtils.getMonotonicMillis() + 10L;
         this.sleepForTick();
         worldGenerationProgressListener.stop();
-        serverChunkCache.getLightEngine().setTaskPerBatch(5);
+        serverChunkCache.getLightEngine().setTaskPerBatch(LightEngineThreaded.TASK_PER_BATCH);
         this.updateSpawnFlags();
     }
 
@@ -532,11 +545,7 @@ public abstract class MinecraftServer extends IAsyncTaskHandlerReentrant<TickTas
             bl = true;
         }
 
-        WorldServer serverLevel2 = this.overworld();
-        IWorldDataServer serverLevelData = this.worldData.overworldData();
-        serverLevelData.setWorldBorder(serverLevel2.getWorldBorder().createSettings());
-        this.worldData.setCustomBossEvents(this.getBossBattleCustomData().save());
-        this.storageSource.saveDataTag(this.registryHolder, this.worldData, this.getPlayerList().save());
+        this.saveWorldData();
         if (flush) {
             for(WorldServer serverLevel3 : this.getWorlds()) {
                 LOGGER.info("ThreadedAnvilChunkStorage ({}): All chunks are saved", (Object)serverLevel3.getChunkSource().chunkMap.getStorageName());
@@ -548,6 +557,14 @@ public abstract class MinecraftServer extends IAsyncTaskHandlerReentrant<TickTas
         return bl;
     }
 
+    void saveWorldData() {
+        WorldServer serverLevel = this.overworld();
+        IWorldDataServer serverLevelData = this.worldData.overworldData();
+        serverLevelData.setWorldBorder(serverLevel.getWorldBorder().createSettings());
+        this.worldData.setCustomBossEvents(this.getBossBattleCustomData().save());
+        this.storageSource.saveDataTag(this.registryHolder, this.worldData, this.getPlayerList().save());
+    }
+
     public boolean saveEverything(boolean suppressLogs, boolean flush, boolean force) {
         boolean var4;
         try {
@@ -737,7 +754,15 @@ public abstract class MinecraftServer extends IAsyncTaskHandlerReentrant<TickTas
     }
 
     private boolean pollTaskInternal() {
-        if (super.executeNext()) {
+        if (this.tickingDimensionsInParallel) {
+            for(WorldServer serverLevel : this.getWorlds()) {
+                if (!this.levelsTickingOnWorkers.contains(serverLevel) && serverLevel.getChunkSource().runTasks()) {
+                    return true;
+                }
+            }
+
+            return false;
+        } else if (super.executeNext()) {
             return true;
         } else {
             if (this.canSleepForTick()) {
@@ -820,11 +845,21 @@ public abstract class MinecraftServer extends IAsyncTaskHandlerReentrant<TickTas
         }
 
         if (this.tickCount % 6000 == 0) {
-            LOGGER.debug("Autosave started");
+            if (this.autosaveScheduler.isEnabled()) {
+                this.autosaveScheduler.start();
+            } else {
+                LOGGER.debug("Autosave started");
+                this.profiler.enter("save");
+                this.saveEverything(true, false, false);
+                this.profiler.exit();
+                LOGGER.debug("Autosave finished");
+            }
+        }
+
+        if (this.autosaveScheduler.isRunning()) {
             this.profiler.enter("save");
-            this.saveEverything(true, false, false);
+            this.autosaveScheduler.tick();
             this.profiler.exit();
-            LOGGER.debug("Autosave finished");
         }
 
         this.profiler.enter("tallying");
@@ -840,32 +875,26 @@ public abstract class MinecraftServer extends IAsyncTaskHandlerReentrant<TickTas
         this.getFunctionData().tick();
         this.profiler.exitEnter("levels");
 
-        for(WorldServer serverLevel : this.getWorlds()) {
-            this.profiler.push(() -> {
-                return serverLevel + " " + serverLevel.getDimensionKey().location();
-            });
-            if (this.tickCount % 20 == 0) {
-                this.profiler.enter("timeSync");
-                this.playerList.broadcastAll(new PacketPlayOutUpdateTime(serverLevel.getTime(), serverLevel.getDayTime(), serverLevel.getGameRules().getBoolean(GameRules.RULE_DAYLIGHT)), serverLevel.getDimensionKey());
+        if (PARALLEL_DIMENSIONS && this.levels.size() > 1) {
+            this.tickLevelsInParallel(shouldKeepTicking);
+        } else {
+            for(WorldServer serverLevel : this.getWorlds()) {
+                this.profiler.push(() -> {
+                    return serverLevel + " " + serverLevel.getDimensionKey().location();
+                });
+                this.broadcastTimeSync(serverLevel);
+                this.profiler.enter("tick");
+                this.tickLevel(serverLevel, shouldKeepTicking);
+                this.profiler.exit();
                 this.profiler.exit();
             }
-
-            this.profiler.enter("tick");
-
-            try {
-                serverLevel.doTick(shouldKeepTicking);
-            } catch (Throwable var6) {
-                CrashReport crashReport = CrashReport.forThrowable(var6, "Exception ticking world");
-                serverLevel.fillReportDetails(crashReport);
-                throw new ReportedException(crashReport);
-            }
-
-            this.profiler.exit();
-            this.profiler.exit();
         }
 
+        this.tickPhaseTimings.startTick();
         this.profiler.exitEnter("connection");
+        this.tickPhaseTimings.switchTo(TickPhase.PACKETS);
         this.getServerConnection().tick();
+        this.tickPhaseTimings.switchTo(TickPhase.OTHER);
         this.profiler.exitEnter("players");
         this.playerList.tick();
         if (SharedConstants.IS_RUNNING_IN_IDE) {
@@ -879,6 +908,113 @@ public abstract class MinecraftServer extends IAsyncTaskHandlerReentrant<TickTas
         }
 
         this.profiler.exit();
+        this.tickPhaseTimings.endTick();
+        JvmProfiler.INSTANCE.onTickPhases(this.tickPhaseTimings);
+    }
+
+    public TickPhaseTimings getTickPhaseTimings() {
+        return this.tickPhaseTimings;
+    }
+
+    private void broadcastTimeSync(WorldServer serverLevel) {
+        if (this.tickCount % 20 == 0) {
+            this.profiler.enter("timeSync");
+            this.playerList.broadcastAll(new PacketPlayOutUpdateTime(serverLevel.getTime(), serverLevel.getDayTime(), serverLevel.getGameRules().getBoolean(GameRules.RULE_DAYLIGHT)), serverLevel.getDimensionKey());
+            this.profiler.exit();
+        }
+
+    }
+
+    private void tickLevel(WorldServer serverLevel, BooleanSupplier shouldKeepTicking) {
+        long l = SystemUtils.getMonotonicNanos();
+
+        try {
+            serverLevel.doTick(shouldKeepTicking);
+        } catch (Throwable var6) {
+            CrashReport crashReport = CrashReport.forThrowable(var6, "Exception ticking world");
+            serverLevel.fillReportDetails(crashReport);
+            throw new ReportedException(crashReport);
+        }
+
+        serverLevel.recordTickTime(this.tickCount, SystemUtils.getMonotonicNanos() - l);
+    }
+
+    private void tickLevelsInParallel(BooleanSupplier shouldKeepTicking) {
+        List<CompletableFuture<Void>> list = Lists.newArrayList();
+
+        for(WorldServer serverLevel : this.getWorlds()) {
+            this.broadcastTimeSync(serverLevel);
+        }
+
+        this.tickingDimensionsInParallel = true;
+
+        try {
+            WorldServer serverLevel2 = this.overworld();
+
+            for(WorldServer serverLevel3 : this.getWorlds()) {
+                if (serverLevel3 != serverLevel2) {
+                    this.levelsTickingOnWorkers.add(serverLevel3);
+                    list.add(CompletableFuture.runAsync(() -> {
+                        serverLevel3.setOwnerThread(Thread.currentThread());
+
+                        try {
+                            this.tickLevel(serverLevel3, shouldKeepTicking);
+                        } finally {
+                            serverLevel3.setOwnerThread(this.serverThread);
+                            this.levelsTickingOnWorkers.remove(serverLevel3);
+                        }
+
+                    }, SystemUtils.dimensionExecutor()));
+                }
+            }
+
+            this.profiler.push(() -> {
+                return serverLevel2 + " " + serverLevel2.getDimensionKey().location();
+            });
+            this.profiler.enter("tick");
+            this.tickLevel(serverLevel2, shouldKeepTicking);
+            this.profiler.exit();
+            this.profiler.exitEnter("waitForDimensions");
+            CompletableFuture<Void> completableFuture = CompletableFuture.allOf(list.toArray(new CompletableFuture[0]));
+            this.awaitTasks(completableFuture::isDone);
+            completableFuture.join();
+            this.profiler.exit();
+        } catch (CompletionException var7) {
+            if (var7.getCause() instanceof ReportedException) {
+                throw (ReportedException)var7.getCause();
+            }
+
+            throw var7;
+        } finally {
+            this.tickingDimensionsInParallel = false;
+            this.levelsTickingOnWorkers.clear();
+        }
+
+        this.profiler.enter("crossDimension");
+
+        Runnable runnable;
+        while((runnable = this.crossDimensionTasks.poll()) != null) {
+            runnable.run();
+        }
+
+        this.profiler.exit();
+    }
+
+    public boolean isTickingDimensionsInParallel() {
+        return this.tickingDimensionsInParallel;
+    }
+
+    public void deferCrossDimension(Runnable task) {
+        this.crossDimensionTasks.add(task);
+    }
+
+    public boolean deferWhileTickingInParallel(Runnable task) {
+        if (this.tickingDimensionsInParallel) {
+            this.crossDimensionTasks.add(task);
+            return true;
+        } else {
+            return false;
+        }
     }
 
     public boolean getAllowNether() {
@@ -1434,7 +1570,7 @@ public abstract class MinecraftServer extends IAsyncTaskHandlerReentrant<TickTas
     }
 
     public GameProfilerFiller getMethodProfiler() {
-        return this.profiler;
+        return this.tickingDimensionsInParallel && Thread.currentThread() != this.serverThread ? GameProfilerDisabled.INSTANCE : this.profiler;
     }
 
     public abstract boolean isSingleplayerOwner(GameProfile profile);
@@ -4,6 +4,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import javax.annotation.Nullable;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.protocol.Packet;
@@ -17,6 +18,7 @@ import net.minecraft.world.scores.Scoreboard;
 import net.minecraft.world.scores.ScoreboardObjective;
 import net.minecraft.world.scores.ScoreboardScore;
 import net.minecraft.world.scores.ScoreboardTeam;
+import net.minecraft.world.scores.criteria.IScoreboardCriteria;
 
 public class ScoreboardServer extends Scoreboard {
     private final MinecraftServer server;
@@ -27,6 +29,33 @@ public class ScoreboardServer extends Scoreboard {
         this.server = server;
     }
 
+    @Override
+    public void getObjectivesForCriteria(IScoreboardCriteria criterion, String player, Consumer<ScoreboardScore> action) {
+        if (!this.server.deferWhileTickingInParallel(() -> {
+            super.getObjectivesForCriteria(criterion, player, action);
+        })) {
+            super.getObjectivesForCriteria(criterion, player, action);
+        }
+
+    }
+
+    @Override
+    public void resetPlayerScores(String playerName, @Nullable ScoreboardObjective objective) {
+        if (!this.server.deferWhileTickingInParallel(() -> {
+            super.resetPlayerScores(playerName, objective);
+        })) {
+            super.resetPlayerScores(playerName, objective);
+        }
+
+    }
+
+    @Override
+    public boolean removePlayerFromTeam(String playerName) {
+        return this.server.deferWhileTickingInParallel(() -> {
+            super.removePlayerFromTeam(playerName);
+        }) ? this.getPlayerTeam(playerName) != null : super.removePlayerFromTeam(playerName);
+    }
+
     @Override
     public void handleScoreChanged(ScoreboardScore score) {
         super.handleScoreChanged(score);
@@ -79,7 +108,11 @@ public class ScoreboardServer extends Scoreboard {
 
     @Override
     public boolean addPlayerToTeam(String playerName, ScoreboardTeam team) {
-        if (super.addPlayerToTeam(playerName, team)) {
+        if (this.server.deferWhileTickingInParallel(() -> {
+            this.addPlayerToTeam(playerName, team);
+        })) {
+            return true;
+        } else if (super.addPlayerToTeam(playerName, team)) {
             this.server.getPlayerList().sendAll(PacketPlayOutScoreboardTeam.createPlayerPacket(team, playerName, PacketPlayOutScoreboardTeam.Action.ADD));
             this.setDirty();
             return true;
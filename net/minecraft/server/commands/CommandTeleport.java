@@ -18,6 +18,7 @@ import net.minecraft.commands.arguments.coordinates.ArgumentVec3;
 import net.minecraft.commands.arguments.coordinates.IVectorPosition;
 import net.minecraft.commands.arguments.coordinates.VectorPosition;
 import net.minecraft.core.BlockPosition;
+import net.minecraft.network.chat.ChatComponentUtils;
 import net.minecraft.network.chat.ChatMessage;
 import net.minecraft.network.protocol.game.PacketPlayOutPosition;
 import net.minecraft.server.level.EntityPlayer;
@@ -124,10 +125,25 @@ public class CommandTeleport {
         return String.format(Locale.ROOT, "%f", d);
     }
 
+    private static void deferTeleport(CommandListenerWrapper source, Entity target, WorldServer world, double x, double y, double z, Set<PacketPlayOutPosition.EnumPlayerTeleportFlags> movementFlags, float yaw, float pitch, @Nullable CommandTeleport.LookAt facingLocation) {
+        source.getServer().deferCrossDimension(() -> {
+            if (!target.isRemoved()) {
+                try {
+                    performTeleport(source, target, world, x, y, z, movementFlags, yaw, pitch, facingLocation);
+                } catch (CommandSyntaxException var12) {
+                    source.sendFailureMessage(ChatComponentUtils.fromMessage(var12.getRawMessage()));
+                }
+            }
+
+        });
+    }
+
     private static void performTeleport(CommandListenerWrapper source, Entity target, WorldServer world, double x, double y, double z, Set<PacketPlayOutPosition.EnumPlayerTeleportFlags> movementFlags, float yaw, float pitch, @Nullable CommandTeleport.LookAt facingLocation) throws CommandSyntaxException {
         BlockPosition blockPos = new BlockPosition(x, y, z);
         if (!World.isInSpawnableBounds(blockPos)) {
             throw INVALID_POSITION.create();
+        } else if (world != target.level && source.getServer().isTickingDimensionsInParallel()) {
+            deferTeleport(source, target, world, x, y, z, movementFlags, yaw, pitch, facingLocation);
         } else {
             float f = MathHelper.wrapDegrees(yaw);
             float g = MathHelper.wrapDegrees(pitch);
@@ -0,0 +1,74 @@
+package net.minecraft.server.commands;
+
+import com.mojang.brigadier.CommandDispatcher;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import net.minecraft.commands.CommandListenerWrapper;
+import net.minecraft.commands.arguments.ArgumentDimension;
+import net.minecraft.network.chat.ChatComponentText;
+import net.minecraft.server.level.WorldServer;
+import net.minecraft.util.profiling.TickPhase;
+import net.minecraft.util.profiling.TickPhaseTimings;
+
+public class TickTimingsCommand {
+    private TickTimingsCommand() {
+    }
+
+    public static void register(CommandDispatcher<CommandListenerWrapper> dispatcher) {
+        dispatcher.register(net.minecraft.commands.CommandDispatcher.literal("ticktimings").requires((source) -> {
+            return source.hasPermission(3);
+        }).executes((context) -> {
+            return showAll(context.getSource());
+        }).then(net.minecraft.commands.CommandDispatcher.literal("tickers").executes((context) -> {
+            return showTickers(context.getSource(), context.getSource().getWorld());
+        }).then(net.minecraft.commands.CommandDispatcher.argument("dimension", ArgumentDimension.dimension()).executes((context) -> {
+            return showTickers(context.getSource(), ArgumentDimension.getDimension(context, "dimension"));
+        }))).then(net.minecraft.commands.CommandDispatcher.argument("dimension", ArgumentDimension.dimension()).executes((context) -> {
+            return show(context.getSource(), ArgumentDimension.getDimension(context, "dimension").getTickPhaseTimings());
+        })));
+    }
+
+    private static int showTickers(CommandListenerWrapper source, WorldServer level) {
+        Object2IntMap<String> object2IntMap = new Object2IntOpenHashMap<>();
+        Object2IntMap<String> object2IntMap2 = new Object2IntOpenHashMap<>();
+        level.countBlockEntityTickers(object2IntMap, object2IntMap2);
+        source.sendMessage(new ChatComponentText(String.format("%s block entity tickers (active/sleeping):", level.getDimensionKey().location())), false);
+        Set<String> set = new TreeSet<>(object2IntMap.keySet());
+        set.addAll(object2IntMap2.keySet());
+
+        for(String string : set) {
+            source.sendMessage(new ChatComponentText(String.format("  %s: %d / %d", string, object2IntMap.getInt(string), object2IntMap2.getInt(string))), false);
+        }
+
+        return set.size();
+    }
+
+    private static int showAll(CommandListenerWrapper source) {
+        int i = show(source, source.getServer().getTickPhaseTimings());
+
+        for(WorldServer serverLevel : source.getServer().getWorlds()) {
+            i += show(source, serverLevel.getTickPhaseTimings());
+        }
+
+        return i;
+    }
+
+    private static int show(CommandListenerWrapper source, TickPhaseTimings timings) {
+        source.sendMessage(new ChatComponentText(String.format("%s (last %d ticks, ms avg/p50/p90/p99):", timings.getName(), TickPhaseTimings.SAMPLES)), false);
+        int i = 0;
+
+        for(TickPhase tickPhase : TickPhase.values()) {
+            double d = timings.getAverageMillis(tickPhase);
+            if (d > 0.0D) {
+                Map<Integer, Double> map = timings.getPercentiles(tickPhase);
+                source.sendMessage(new ChatComponentText(String.format("  %s: %.3f / %.3f / %.3f / %.3f", tickPhase.getName(), d, map.getOrDefault(50, 0.0D) / 1000000.0D, map.getOrDefault(90, 0.0D) / 1000000.0D, map.getOrDefault(99, 0.0D) / 1000000.0D)), false);
+                ++i;
+            }
+        }
+
+        return i;
+    }
+}
@@ -23,6 +23,8 @@ import net.minecraft.network.protocol.Packet;
 import net.minecraft.server.level.progress.WorldLoadListener;
 import net.minecraft.util.VisibleForDebug;
 import net.minecraft.util.profiling.GameProfilerFiller;
+import net.minecraft.util.profiling.TickPhase;
+import net.minecraft.util.profiling.TickPhaseTimings;
 import net.minecraft.util.thread.IAsyncTaskHandler;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.ai.village.poi.VillagePlace;
@@ -52,7 +54,7 @@ public class ChunkProviderServer extends IChunkProvider {
     public static final List<ChunkStatus> CHUNK_STATUSES = ChunkStatus.getStatusList();
     private final ChunkMapDistance distanceManager;
     final WorldServer level;
-    public final Thread mainThread;
+    public Thread mainThread;
     final LightEngineThreaded lightEngine;
     public final ChunkProviderServer.MainThreadExecutor mainThreadProcessor;
     public final PlayerChunkMap chunkMap;
@@ -302,6 +304,15 @@ public class ChunkProviderServer extends IChunkProvider {
         this.chunkMap.save(flush);
     }
 
+    public void startIncrementalSave() {
+        this.tickDistanceManager();
+        this.chunkMap.startIncrementalSave();
+    }
+
+    public boolean saveIncrementally(BooleanSupplier shouldKeepTicking) {
+        return this.chunkMap.saveIncrementally(shouldKeepTicking);
+    }
+
     @Override
     public void close() throws IOException {
         this.save(true);
@@ -336,9 +347,12 @@ public class ChunkProviderServer extends IChunkProvider {
             int i = this.level.getGameRules().getInt(GameRules.RULE_RANDOMTICKING);
             boolean bl2 = levelData.getTime() % 400L == 0L;
             profilerFiller.enter("naturalSpawnCount");
+            TickPhaseTimings tickPhaseTimings = this.level.getTickPhaseTimings();
+            TickPhase tickPhase = tickPhaseTimings.switchTo(TickPhase.SPAWNING);
             int j = this.distanceManager.getNaturalSpawnChunkCount();
             NaturalSpawner.SpawnState spawnState = NaturalSpawner.createState(j, this.level.getAllEntities(), this::getFullChunk, new LocalMobCapCalculator(this.chunkMap));
             this.lastSpawnState = spawnState;
+            tickPhaseTimings.switchTo(tickPhase);
             profilerFiller.exitEnter("filteringLoadedChunks");
             List<ServerChunkCache$ChunkAndHolder> list = Lists.newArrayListWithCapacity(j);
 
@@ -352,14 +366,15 @@ public class ChunkProviderServer extends IChunkProvider {
             profilerFiller.exitEnter("spawnAndTick");
             boolean bl3 = this.level.getGameRules().getBoolean(GameRules.RULE_DOMOBSPAWNING);
             Collections.shuffle(list);
-
             for(ServerChunkCache$ChunkAndHolder chunkAndHolder : list) {
                 Chunk levelChunk2 = chunkAndHolder.chunk;
                 ChunkCoordIntPair chunkPos = levelChunk2.getPos();
                 if (this.level.isPositionEntityTicking(chunkPos) && this.chunkMap.anyPlayerCloseEnoughForSpawning(chunkPos)) {
                     levelChunk2.incrementInhabitedTime(m);
                     if (bl3 && (this.spawnEnemies || this.spawnFriendlies) && this.level.getWorldBorder().isInBounds(chunkPos)) {
+                        tickPhaseTimings.switchTo(TickPhase.SPAWNING);
                         NaturalSpawner.spawnForChunk(this.level, levelChunk2, spawnState, this.spawnFriendlies, this.spawnEnemies, bl2);
+                        tickPhaseTimings.switchTo(tickPhase);
                     }
 
                     if (this.level.shouldTickBlocksAt(chunkPos.pair())) {
@@ -370,7 +385,9 @@ public class ChunkProviderServer extends IChunkProvider {
 
             profilerFiller.exitEnter("customSpawners");
             if (bl3) {
+                tickPhaseTimings.switchTo(TickPhase.SPAWNING);
                 this.level.doMobSpawning(this.spawnEnemies, this.spawnFriendlies);
+                tickPhaseTimings.switchTo(tickPhase);
             }
 
             profilerFiller.exitEnter("broadcast");
@@ -423,6 +440,7 @@ public class ChunkProviderServer extends IChunkProvider {
     @Override
     public void onLightUpdate(EnumSkyBlock type, SectionPosition pos) {
         this.mainThreadProcessor.execute(() -> {
+            this.chunkMap.invalidateChunkPacket(pos.chunk());
             PlayerChunk chunkHolder = this.getChunk(pos.chunk().pair());
             if (chunkHolder != null) {
                 chunkHolder.sectionLightChanged(type, pos.y());
@@ -708,6 +708,10 @@ public class EntityPlayer extends EntityHuman {
     @Nullable
     @Override
     public Entity changeDimension(WorldServer destination) {
+        if (this.deferDimensionChange(destination)) {
+            return null;
+        }
+
         this.isChangingDimension = true;
         WorldServer serverLevel = this.getWorldServer();
         ResourceKey<World> resourceKey = serverLevel.getDimensionKey();
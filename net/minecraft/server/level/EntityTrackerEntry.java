@@ -85,11 +85,13 @@ public class EntityTrackerEntry {
                 Integer integer = ItemWorldMap.getMapId(itemStack);
                 WorldMap mapItemSavedData = ItemWorldMap.getSavedData(integer, this.level);
                 if (mapItemSavedData != null) {
-                    for(EntityPlayer serverPlayer : this.level.getPlayers()) {
-                        mapItemSavedData.tickCarriedBy(serverPlayer, itemStack);
-                        Packet<?> packet = mapItemSavedData.getUpdatePacket(integer, serverPlayer);
-                        if (packet != null) {
-                            serverPlayer.connection.sendPacket(packet);
+                    synchronized(mapItemSavedData) {
+                        for(EntityPlayer serverPlayer : this.level.getPlayers()) {
+                            mapItemSavedData.tickCarriedBy(serverPlayer, itemStack);
+                            Packet<?> packet = mapItemSavedData.getUpdatePacket(integer, serverPlayer);
+                            if (packet != null) {
+                                serverPlayer.connection.sendPacket(packet);
+                            }
                         }
                     }
                 }
@@ -1,20 +1,33 @@
 package net.minecraft.server.level;
 
+import com.google.common.collect.ImmutableList;
 import com.mojang.datafixers.util.Pair;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectList;
 import it.unimi.dsi.fastutil.objects.ObjectListIterator;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.IntSupplier;
 import javax.annotation.Nullable;
 import net.minecraft.SystemUtils;
 import net.minecraft.core.BlockPosition;
 import net.minecraft.core.SectionPosition;
+import net.minecraft.util.profiling.metrics.EnumMetricCategory;
+import net.minecraft.util.profiling.metrics.IProfilerMeasured;
+import net.minecraft.util.profiling.metrics.MetricSampler;
+import net.minecraft.util.profiling.metrics.MetricsRegistry;
 import net.minecraft.util.thread.Mailbox;
 import net.minecraft.util.thread.ThreadedMailbox;
 import net.minecraft.world.level.ChunkCoordIntPair;
 import net.minecraft.world.level.EnumSkyBlock;
+import net.minecraft.world.level.IWorldHeightAccess;
 import net.minecraft.world.level.chunk.ChunkSection;
 import net.minecraft.world.level.chunk.IChunkAccess;
 import net.minecraft.world.level.chunk.ILightAccess;
@@ -23,20 +36,41 @@ import net.minecraft.world.level.lighting.LightEngine;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-public class LightEngineThreaded extends LightEngine implements AutoCloseable {
+public class LightEngineThreaded extends LightEngine implements AutoCloseable, IProfilerMeasured {
     private static final Logger LOGGER = LogManager.getLogger();
+    public static final int TASK_PER_BATCH = Integer.getInteger("light.taskPerBatch", 5);
     private final ThreadedMailbox<Runnable> taskMailbox;
     private final ObjectList<Pair<LightEngineThreaded.Update, Runnable>> lightTasks = new ObjectArrayList<>();
     private final PlayerChunkMap chunkMap;
     private final Mailbox<ChunkTaskQueueSorter.Message<Runnable>> sorterMailbox;
-    private volatile int taskPerBatch = 5;
+    private volatile int taskPerBatch = TASK_PER_BATCH;
     private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final LightRegionScheduler regionScheduler;
+    private volatile int queuedTasks;
+    private final AtomicLong batchNanos = new AtomicLong();
+    private final AtomicInteger batches = new AtomicInteger();
 
     public LightEngineThreaded(ILightAccess chunkProvider, PlayerChunkMap chunkStorage, boolean hasBlockLight, ThreadedMailbox<Runnable> processor, Mailbox<ChunkTaskQueueSorter.Message<Runnable>> executor) {
         super(chunkProvider, true, hasBlockLight);
         this.chunkMap = chunkStorage;
         this.sorterMailbox = executor;
         this.taskMailbox = processor;
+        this.regionScheduler = new LightRegionScheduler(SystemUtils.backgroundExecutor(), LightRegionScheduler.PARALLELISM);
+        MetricsRegistry.INSTANCE.add(this);
+    }
+
+    @Override
+    public List<MetricSampler> profiledMetrics() {
+        String string = this.chunkMap.level.getDimensionKey().location().toString();
+        return ImmutableList.of(MetricSampler.create(string + "-light-tasks-queued", EnumMetricCategory.LIGHTING, this, (lightEngine) -> {
+            return (double)lightEngine.queuedTasks;
+        }), MetricSampler.builder(string + "-light-batch-ms", EnumMetricCategory.LIGHTING, (lightEngine) -> {
+            int i = lightEngine.batches.get();
+            return i == 0 ? 0.0D : (double)lightEngine.batchNanos.get() / (double)i / 1000000.0D;
+        }, this).withBeforeTick((lightEngine) -> {
+            lightEngine.batchNanos.set(0L);
+            lightEngine.batches.set(0);
+        }).build(), MetricSampler.create(string + "-light-regions-queued", EnumMetricCategory.LIGHTING, this.regionScheduler, LightRegionScheduler::getQueuedJobs), MetricSampler.builder(string + "-light-region-ms", EnumMetricCategory.LIGHTING, LightRegionScheduler::getAverageJobMillis, this.regionScheduler).withBeforeTick(LightRegionScheduler::resetTimings).build());
     }
 
     @Override
@@ -122,6 +156,7 @@ public class LightEngineThreaded extends LightEngine implements AutoCloseable {
     private void addTask(int x, int z, IntSupplier completedLevelSupplier, LightEngineThreaded.Update stage, Runnable task) {
         this.sorterMailbox.tell(ChunkTaskQueueSorter.message(() -> {
             this.lightTasks.add(Pair.of(stage, task));
+            this.queuedTasks = this.lightTasks.size();
             if (this.lightTasks.size() >= this.taskPerBatch) {
                 this.runUpdate();
             }
@@ -143,27 +178,50 @@ public class LightEngineThreaded extends LightEngine implements AutoCloseable {
     public CompletableFuture<IChunkAccess> lightChunk(IChunkAccess chunk, boolean excludeBlocks) {
         ChunkCoordIntPair chunkPos = chunk.getPos();
         chunk.setLightCorrect(false);
-        this.addTask(chunkPos.x, chunkPos.z, LightEngineThreaded.Update.PRE_UPDATE, SystemUtils.name(() -> {
-            ChunkSection[] levelChunkSections = chunk.getSections();
+        if (this.regionScheduler.isEnabled()) {
+            CompletableFuture<LightEngineThreaded.ChunkLightSources> completableFuture = this.regionScheduler.submit(chunkPos, () -> {
+                return LightEngineThreaded.ChunkLightSources.scan(chunk, excludeBlocks, this.levelHeightAccessor);
+            });
+            this.addTask(chunkPos.x, chunkPos.z, LightEngineThreaded.Update.PRE_UPDATE, SystemUtils.name(() -> {
+                LightEngineThreaded.ChunkLightSources chunkLightSources = completableFuture.join();
 
-            for(int i = 0; i < chunk.getSectionsCount(); ++i) {
-                ChunkSection levelChunkSection = levelChunkSections[i];
-                if (!levelChunkSection.hasOnlyAir()) {
-                    int j = this.levelHeightAccessor.getSectionYFromSectionIndex(i);
-                    super.updateSectionStatus(SectionPosition.of(chunkPos, j), false);
+                for(int i = 0; i < chunkLightSources.sections.size(); ++i) {
+                    super.updateSectionStatus(SectionPosition.of(chunkPos, chunkLightSources.sections.getInt(i)), false);
                 }
-            }
 
-            super.enableLightSources(chunkPos, true);
-            if (!excludeBlocks) {
-                chunk.getLights().forEach((pos) -> {
-                    super.onBlockEmissionIncrease(pos, chunk.getLightEmission(pos));
-                });
-            }
+                super.enableLightSources(chunkPos, true);
+
+                for(int j = 0; j < chunkLightSources.lights.size(); ++j) {
+                    super.onBlockEmissionIncrease(BlockPosition.fromLong(chunkLightSources.lights.getLong(j)), chunkLightSources.emissions.getInt(j));
+                }
+
+            }, () -> {
+                return "lightChunk " + chunkPos + " " + excludeBlocks;
+            }));
+        } else {
+            this.addTask(chunkPos.x, chunkPos.z, LightEngineThreaded.Update.PRE_UPDATE, SystemUtils.name(() -> {
+                ChunkSection[] levelChunkSections = chunk.getSections();
+
+                for(int i = 0; i < chunk.getSectionsCount(); ++i) {
+                    ChunkSection levelChunkSection = levelChunkSections[i];
+                    if (!levelChunkSection.hasOnlyAir()) {
+                        int j = this.levelHeightAccessor.getSectionYFromSectionIndex(i);
+                        super.updateSectionStatus(SectionPosition.of(chunkPos, j), false);
+                    }
+                }
+
+                super.enableLightSources(chunkPos, true);
+                if (!excludeBlocks) {
+                    chunk.getLights().forEach((pos) -> {
+                        super.onBlockEmissionIncrease(pos, chunk.getLightEmission(pos));
+                    });
+                }
+
+            }, () -> {
+                return "lightChunk " + chunkPos + " " + excludeBlocks;
+            }));
+        }
 
-        }, () -> {
-            return "lightChunk " + chunkPos + " " + excludeBlocks;
-        }));
         return CompletableFuture.supplyAsync(() -> {
             chunk.setLightCorrect(true);
             super.retainData(chunkPos, false);
@@ -185,6 +243,7 @@ public class LightEngineThreaded extends LightEngine implements AutoCloseable {
     }
 
     private void runUpdate() {
+        long l = SystemUtils.getMonotonicNanos();
         int i = Math.min(this.lightTasks.size(), this.taskPerBatch);
         ObjectListIterator<Pair<LightEngineThreaded.Update, Runnable>> objectListIterator = this.lightTasks.iterator();
 
@@ -208,12 +267,41 @@ public class LightEngineThreaded extends LightEngine implements AutoCloseable {
             objectListIterator.remove();
         }
 
+        this.queuedTasks = this.lightTasks.size();
+        this.batchNanos.addAndGet(SystemUtils.getMonotonicNanos() - l);
+        this.batches.incrementAndGet();
     }
 
     public void setTaskPerBatch(int taskBatchSize) {
         this.taskPerBatch = taskBatchSize;
     }
 
+    static class ChunkLightSources {
+        final IntList sections = new IntArrayList();
+        final LongList lights = new LongArrayList();
+        final IntList emissions = new IntArrayList();
+
+        static LightEngineThreaded.ChunkLightSources scan(IChunkAccess chunk, boolean excludeBlocks, IWorldHeightAccess world) {
+            LightEngineThreaded.ChunkLightSources chunkLightSources = new LightEngineThreaded.ChunkLightSources();
+            ChunkSection[] levelChunkSections = chunk.getSections();
+
+            for(int i = 0; i < chunk.getSectionsCount(); ++i) {
+                if (!levelChunkSections[i].hasOnlyAir()) {
+                    chunkLightSources.sections.add(world.getSectionYFromSectionIndex(i));
+                }
+            }
+
+            if (!excludeBlocks) {
+                chunk.getLights().forEach((pos) -> {
+                    chunkLightSources.lights.add(pos.asLong());
+                    chunkLightSources.emissions.add(chunk.getLightEmission(pos));
+                });
+            }
+
+            return chunkLightSources;
+        }
+    }
+
     static enum Update {
         PRE_UPDATE,
         POST_UPDATE;
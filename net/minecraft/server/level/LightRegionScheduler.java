@@ -0,0 +1,90 @@
+package net.minecraft.server.level;
+
+import com.google.common.collect.Queues;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import net.minecraft.SystemUtils;
+import net.minecraft.world.level.ChunkCoordIntPair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class LightRegionScheduler {
+    private static final Logger LOGGER = LogManager.getLogger();
+    public static final int PARALLELISM = Integer.getInteger("light.parallelism", 0);
+    private final Executor executor;
+    private final int parallelism;
+    private final Queue<Runnable> pendingJobs = Queues.newArrayDeque();
+    private int runningJobs;
+    private final AtomicInteger queuedJobs = new AtomicInteger();
+    private final AtomicLong jobNanos = new AtomicLong();
+    private final AtomicInteger completedJobs = new AtomicInteger();
+
+    public LightRegionScheduler(Executor executor, int parallelism) {
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    public boolean isEnabled() {
+        return this.parallelism > 0;
+    }
+
+    public <T> CompletableFuture<T> submit(ChunkCoordIntPair pos, Supplier<T> task) {
+        CompletableFuture<T> completableFuture = new CompletableFuture<>();
+        this.queuedJobs.incrementAndGet();
+        Runnable runnable = () -> {
+            this.run(pos, task, completableFuture);
+        };
+        synchronized(this) {
+            this.pendingJobs.add(runnable);
+            this.dispatch();
+        }
+
+        return completableFuture;
+    }
+
+    private void dispatch() {
+        while(this.runningJobs < this.parallelism && !this.pendingJobs.isEmpty()) {
+            ++this.runningJobs;
+            this.executor.execute(this.pendingJobs.poll());
+        }
+
+    }
+
+    private <T> void run(ChunkCoordIntPair pos, Supplier<T> task, CompletableFuture<T> future) {
+        long l = SystemUtils.getMonotonicNanos();
+
+        try {
+            future.complete(task.get());
+        } catch (Throwable var10) {
+            LOGGER.error("Failed to run light task for {}", pos, var10);
+            future.completeExceptionally(var10);
+        } finally {
+            this.jobNanos.addAndGet(SystemUtils.getMonotonicNanos() - l);
+            this.completedJobs.incrementAndGet();
+            this.queuedJobs.decrementAndGet();
+            synchronized(this) {
+                --this.runningJobs;
+                this.dispatch();
+            }
+        }
+
+    }
+
+    public int getQueuedJobs() {
+        return this.queuedJobs.get();
+    }
+
+    public double getAverageJobMillis() {
+        int i = this.completedJobs.get();
+        return i == 0 ? 0.0D : (double)this.jobNanos.get() / (double)i / 1000000.0D;
+    }
+
+    public void resetTimings() {
+        this.completedJobs.set(0);
+        this.jobNanos.set(0L);
+    }
+}
@@ -23,9 +23,11 @@ import it.unimi.dsi.fastutil.longs.Long2ObjectMap.Entry;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
 import java.io.IOException;
 import java.io.Writer;
+import java.lang.ref.WeakReference;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -49,6 +51,7 @@ import net.minecraft.SystemUtils;
 import net.minecraft.core.IRegistry;
 import net.minecraft.core.SectionPosition;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.network.CompressedPacket;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientboundLevelChunkWithLightPacket;
 import net.minecraft.network.protocol.game.PacketDebug;
@@ -60,6 +63,10 @@ import net.minecraft.server.network.PlayerConnectionServer;
 import net.minecraft.util.CSVWriter;
 import net.minecraft.util.MathHelper;
 import net.minecraft.util.profiling.GameProfilerFiller;
+import net.minecraft.util.profiling.metrics.EnumMetricCategory;
+import net.minecraft.util.profiling.metrics.IProfilerMeasured;
+import net.minecraft.util.profiling.metrics.MetricSampler;
+import net.minecraft.util.profiling.metrics.MetricsRegistry;
 import net.minecraft.util.thread.IAsyncTaskHandler;
 import net.minecraft.util.thread.Mailbox;
 import net.minecraft.util.thread.ThreadedMailbox;
@@ -79,6 +86,7 @@ import net.minecraft.world.level.chunk.ILightAccess;
 import net.minecraft.world.level.chunk.ProtoChunk;
 import net.minecraft.world.level.chunk.ProtoChunkExtension;
 import net.minecraft.world.level.chunk.storage.ChunkRegionLoader;
+import net.minecraft.world.level.chunk.storage.ChunkStreamReader;
 import net.minecraft.world.level.chunk.storage.IChunkLoader;
 import net.minecraft.world.level.entity.ChunkStatusUpdateListener;
 import net.minecraft.world.level.levelgen.blending.BlendingData;
@@ -92,10 +100,13 @@ import org.apache.commons.lang3.mutable.MutableObject;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.PlayerProvider {
+public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.PlayerProvider, IProfilerMeasured {
     private static final byte CHUNK_TYPE_REPLACEABLE = -1;
     private static final byte CHUNK_TYPE_UNKNOWN = 0;
     private static final byte CHUNK_TYPE_FULL = 1;
+    private static final boolean ASYNC_CHUNK_SERIALIZATION = Boolean.getBoolean("chunk.asyncSerialization");
+    private static final int CHUNK_PACKET_CACHE_SIZE = Integer.getInteger("chunk.packetCacheSize", 64);
+    private static final boolean PRECOMPRESSED_BROADCASTS = Boolean.getBoolean("network.precompressedBroadcasts");
     private static final Logger LOGGER = LogManager.getLogger();
     private static final int CHUNK_SAVED_PER_TICK = 200;
     private static final int CHUNK_SAVED_EAGERLY_PER_TICK = 20;
@@ -129,6 +140,9 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.PlayerPr
     private final Long2ByteMap chunkTypeCache = new Long2ByteOpenHashMap();
     private final Queue<Runnable> unloadQueue = Queues.newConcurrentLinkedQueue();
     int viewDistance;
+    private long snapshotNanos;
+    private final Queue<PlayerChunk> incrementalSaveQueue = Queues.newArrayDeque();
+    private final Long2ObjectLinkedOpenHashMap<PlayerChunkMap.CachedChunkPacket> chunkPacketCache = new Long2ObjectLinkedOpenHashMap<>();
 
     public PlayerChunkMap(WorldServer world, Convertable.ConversionSession session, DataFixer dataFixer, DefinedStructureManager structureManager, Executor executor, IAsyncTaskHandler<Runnable> mainThreadExecutor, ILightAccess chunkProvider, ChunkGenerator chunkGenerator, WorldLoadListener worldGenerationProgressListener, ChunkStatusUpdateListener chunkStatusChangeListener, Supplier<WorldPersistentData> persistentStateManagerFactory, int viewDistance, boolean dsync) {
         super(session.getDimensionPath(world.getDimensionKey()).resolve("region"), dataFixer, dsync);
@@ -151,6 +165,17 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.PlayerPr
         this.overworldDataStorage = persistentStateManagerFactory;
         this.poiManager = new VillagePlace(path.resolve("poi"), dataFixer, dsync, world);
         this.setViewDistance(viewDistance);
+        MetricsRegistry.INSTANCE.add(this);
+    }
+
+    @Override
+    public List<MetricSampler> profiledMetrics() {
+        String string = this.level.getDimensionKey().location().toString();
+        return ImmutableList.of(MetricSampler.builder(string + "-chunk-save-snapshot-ms", EnumMetricCategory.SAVING, (chunkMap) -> {
+            return (double)chunkMap.snapshotNanos / 1000000.0D;
+        }, this).withBeforeTick((chunkMap) -> {
+            chunkMap.snapshotNanos = 0L;
+        }).build(), MetricSampler.create(string + "-chunk-save-pending", EnumMetricCategory.SAVING, this, PlayerChunkMap::getPendingSerializations));
     }
 
     protected ChunkGenerator generator() {
@@ -421,6 +446,38 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.PlayerPr
 
     }
 
+    protected void startIncrementalSave() {
+        this.incrementalSaveQueue.clear();
+        this.visibleChunkMap.values().stream().filter((chunkHolder) -> {
+            IChunkAccess chunkAccess = chunkHolder.getChunkSave().getNow((IChunkAccess)null);
+            return chunkHolder.hasBeenLoaded() && chunkAccess instanceof Chunk && chunkAccess.isNeedsSaving();
+        }).sorted(Comparator.comparingLong((chunkHolder) -> {
+            return chunkHolder.getChunkSave().getNow((IChunkAccess)null).getUnsavedSince();
+        })).forEach(this.incrementalSaveQueue::add);
+    }
+
+    protected boolean saveIncrementally(BooleanSupplier shouldKeepTicking) {
+        PlayerChunk chunkHolder;
+        while(shouldKeepTicking.getAsBoolean() && (chunkHolder = this.incrementalSaveQueue.poll()) != null) {
+            this.saveChunkIfNeeded(chunkHolder);
+        }
+
+        if (!this.incrementalSaveQueue.isEmpty()) {
+            return false;
+        } else {
+            this.poiManager.tick(shouldKeepTicking);
+            return this.poiManager.dirty.isEmpty();
+        }
+    }
+
+    public int getIncrementalSaveBacklog() {
+        return this.incrementalSaveQueue.size();
+    }
+
+    public int getPoiSaveBacklog() {
+        return this.poiManager.dirty.size();
+    }
+
     protected void unloadChunks(BooleanSupplier shouldKeepTicking) {
         GameProfilerFiller profilerFiller = this.level.getMethodProfiler();
         profilerFiller.enter("poi");
@@ -479,6 +536,7 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.PlayerPr
                     }
 
                     this.saveChunk(chunk);
+                    this.chunkPacketCache.remove(pos);
                     if (this.entitiesInLevel.remove(pos) && chunk instanceof Chunk) {
                         Chunk levelChunk = (Chunk)chunk;
                         this.level.unloadChunk(levelChunk);
@@ -511,7 +569,7 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.PlayerPr
     public CompletableFuture<Either<IChunkAccess, PlayerChunk.Failure>> schedule(PlayerChunk holder, ChunkStatus requiredStatus) {
         ChunkCoordIntPair chunkPos = holder.getPos();
         if (requiredStatus == ChunkStatus.EMPTY) {
-            return this.scheduleChunkLoad(chunkPos);
+            return this.scheduleChunkLoad(holder);
         } else {
             if (requiredStatus == ChunkStatus.LIGHT) {
                 this.distanceManager.addTicket(TicketType.LIGHT, chunkPos, 33 + ChunkStatus.getDistance(ChunkStatus.LIGHT), chunkPos);
@@ -530,31 +588,49 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.PlayerPr
         }
     }
 
-    private CompletableFuture<Either<IChunkAccess, PlayerChunk.Failure>> scheduleChunkLoad(ChunkCoordIntPair pos) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                this.level.getMethodProfiler().incrementCounter("chunkLoad");
-                NBTTagCompound compoundTag = this.readChunkData(pos);
-                if (compoundTag != null) {
-                    boolean bl = compoundTag.hasKeyOfType("Status", 8);
-                    if (bl) {
-                        IChunkAccess chunkAccess = ChunkRegionLoader.read(this.level, this.poiManager, pos, compoundTag);
-                        this.markPosition(pos, chunkAccess.getChunkStatus().getType());
-                        return Either.left(chunkAccess);
+    private CompletableFuture<Either<IChunkAccess, PlayerChunk.Failure>> scheduleChunkLoad(PlayerChunk holder) {
+        ChunkCoordIntPair pos = holder.getPos();
+        ChunkStreamReader chunkStreamReader = new ChunkStreamReader(this.level.registryAccess().registryOrThrow(IRegistry.BIOME_REGISTRY));
+        Executor executor = (runnable) -> {
+            this.worldgenMailbox.tell(ChunkTaskQueueSorter.message(holder, runnable));
+        };
+        return this.chunkScanner().scanChunk(pos, chunkStreamReader).thenApplyAsync((void_) -> {
+            chunkStreamReader.decode();
+            return chunkStreamReader;
+        }, executor).handleAsync((reader, throwable) -> {
+            this.level.getMethodProfiler().incrementCounter("chunkLoad");
+            if (throwable != null) {
+                LOGGER.error("Couldn't load chunk {}", pos, throwable);
+            } else {
+                try {
+                    NBTTagCompound compoundTag = reader.getResult();
+                    ChunkStreamReader chunkStreamReader2 = reader;
+                    if (compoundTag != null && !reader.canLoadDirectly()) {
+                        chunkStreamReader2 = null;
+                        compoundTag = this.upgradeChunkTag(this.level.getDimensionKey(), this.overworldDataStorage, compoundTag, this.generator.getTypeNameForDataFixer());
                     }
 
-                    LOGGER.error("Chunk file at {} is missing level data, skipping", (Object)pos);
-                }
-            } catch (ReportedException var5) {
-                Throwable throwable = var5.getCause();
-                if (!(throwable instanceof IOException)) {
-                    this.markPositionReplaceable(pos);
-                    throw var5;
-                }
+                    if (compoundTag != null) {
+                        boolean bl = compoundTag.hasKeyOfType("Status", 8);
+                        if (bl) {
+                            IChunkAccess chunkAccess = ChunkRegionLoader.read(this.level, this.poiManager, pos, compoundTag, chunkStreamReader2);
+                            this.markPosition(pos, chunkAccess.getChunkStatus().getType());
+                            return Either.left(chunkAccess);
+                        }
 
-                LOGGER.error("Couldn't load chunk {}", pos, throwable);
-            } catch (Exception var6) {
-                LOGGER.error("Couldn't load chunk {}", pos, var6);
+                        LOGGER.error("Chunk file at {} is missing level data, skipping", (Object)pos);
+                    }
+                } catch (ReportedException var7) {
+                    Throwable throwable2 = var7.getCause();
+                    if (!(throwable2 instanceof IOException)) {
+                        this.markPositionReplaceable(pos);
+                        throw var7;
+                    }
+
+                    LOGGER.error("Couldn't load chunk {}", pos, throwable2);
+                } catch (Exception var8) {
+                    LOGGER.error("Couldn't load chunk {}", pos, var8);
+                }
             }
 
             this.markPositionReplaceable(pos);
@@ -659,6 +735,7 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.PlayerPr
                     levelChunk.setLoaded(true);
                     levelChunk.registerAllBlockEntitiesAfterLevelLoad();
                     levelChunk.registerTickContainerInLevel(this.level);
+                    this.level.invalidatePathfindingCaches(chunkPos);
                 }
 
                 return levelChunk;
@@ -747,8 +824,20 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.PlayerPr
                 }
 
                 this.level.getMethodProfiler().incrementCounter("chunkSave");
-                NBTTagCompound compoundTag = ChunkRegionLoader.saveChunk(this.level, chunk);
-                this.write(chunkPos, compoundTag);
+                long l = SystemUtils.getMonotonicNanos();
+                Supplier<NBTTagCompound> supplier = ChunkRegionLoader.prepareSaveChunk(this.level, chunk);
+                this.snapshotNanos += SystemUtils.getMonotonicNanos() - l;
+                if (ASYNC_CHUNK_SERIALIZATION) {
+                    this.writeAsync(chunkPos, supplier).whenComplete((void_, throwable) -> {
+                        if (throwable != null) {
+                            LOGGER.error("Failed to save chunk {},{}", chunkPos.x, chunkPos.z, throwable);
+                        }
+
+                    });
+                } else {
+                    this.write(chunkPos, supplier.get());
+                }
+
                 this.markPosition(chunkPos, chunkStatus.getType());
                 return true;
             } catch (Exception var5) {
@@ -1149,9 +1238,31 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.PlayerPr
 
     }
 
+    private ClientboundLevelChunkWithLightPacket getChunkPacket(Chunk chunk) {
+        if (CHUNK_PACKET_CACHE_SIZE <= 0) {
+            return new ClientboundLevelChunkWithLightPacket(chunk, this.lightEngine, (BitSet)null, (BitSet)null, true);
+        } else {
+            long l = chunk.getPos().pair();
+            PlayerChunkMap.CachedChunkPacket cachedChunkPacket = this.chunkPacketCache.getAndMoveToLast(l);
+            if (cachedChunkPacket == null || cachedChunkPacket.chunk.get() != chunk || cachedChunkPacket.modificationCount != chunk.getModificationCount()) {
+                cachedChunkPacket = new PlayerChunkMap.CachedChunkPacket(chunk, new ClientboundLevelChunkWithLightPacket(chunk, this.lightEngine, (BitSet)null, (BitSet)null, true));
+                this.chunkPacketCache.putAndMoveToLast(l, cachedChunkPacket);
+                if (this.chunkPacketCache.size() > CHUNK_PACKET_CACHE_SIZE) {
+                    this.chunkPacketCache.removeFirst();
+                }
+            }
+
+            return cachedChunkPacket.packet;
+        }
+    }
+
+    public void invalidateChunkPacket(ChunkCoordIntPair pos) {
+        this.chunkPacketCache.remove(pos.pair());
+    }
+
     private void playerLoadedChunk(EntityPlayer player, MutableObject<ClientboundLevelChunkWithLightPacket> cachedDataPacket, Chunk chunk) {
         if (cachedDataPacket.getValue() == null) {
-            cachedDataPacket.setValue(new ClientboundLevelChunkWithLightPacket(chunk, this.lightEngine, (BitSet)null, (BitSet)null, true));
+            cachedDataPacket.setValue(this.getChunkPacket(chunk));
         }
 
         player.trackChunk(chunk.getPos(), cachedDataPacket.getValue());
@@ -1222,6 +1333,18 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.PlayerPr
         }
     }
 
+    static class CachedChunkPacket {
+        final WeakReference<Chunk> chunk;
+        final int modificationCount;
+        final ClientboundLevelChunkWithLightPacket packet;
+
+        CachedChunkPacket(Chunk chunk, ClientboundLevelChunkWithLightPacket packet) {
+            this.chunk = new WeakReference<>(chunk);
+            this.modificationCount = chunk.getModificationCount();
+            this.packet = packet;
+        }
+    }
+
     public class EntityTracker {
         final EntityTrackerEntry serverEntity;
         final Entity entity;
@@ -1251,8 +1374,20 @@ public class PlayerChunkMap extends IChunkLoader implements PlayerChunk.PlayerPr
         }
 
         public void broadcast(Packet<?> packet) {
-            for(PlayerConnectionServer serverPlayerConnection : this.seenBy) {
-                serverPlayerConnection.sendPacket(packet);
+            if (PRECOMPRESSED_BROADCASTS && this.seenBy.size() > 1) {
+                CompressedPacket compressedPacket = new CompressedPacket(packet);
+
+                try {
+                    for(PlayerConnectionServer serverPlayerConnection : this.seenBy) {
+                        serverPlayerConnection.sendPacket(compressedPacket);
+                    }
+                } finally {
+                    compressedPacket.release();
+                }
+            } else {
+                for(PlayerConnectionServer serverPlayerConnection : this.seenBy) {
+                    serverPlayerConnection.sendPacket(packet);
+                }
             }
 
         }
@@ -1,7 +1,9 @@
 package net.minecraft.server.level;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Queues;
 import com.mojang.datafixers.DataFixer;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
@@ -20,6 +22,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Executor;
@@ -31,6 +34,7 @@ import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import net.minecraft.CrashReport;
+import net.minecraft.SystemUtils;
 import net.minecraft.core.BlockPosition;
 import net.minecraft.core.EnumDirection;
 import net.minecraft.core.IRegistry;
@@ -65,6 +69,13 @@ import net.minecraft.util.IProgressUpdate;
 import net.minecraft.util.MathHelper;
 import net.minecraft.util.Unit;
 import net.minecraft.util.profiling.GameProfilerFiller;
+import net.minecraft.util.profiling.TickPhase;
+import net.minecraft.util.profiling.TickPhaseTimings;
+import net.minecraft.util.profiling.jfr.JvmProfiler;
+import net.minecraft.util.profiling.metrics.EnumMetricCategory;
+import net.minecraft.util.profiling.metrics.IProfilerMeasured;
+import net.minecraft.util.profiling.metrics.MetricSampler;
+import net.minecraft.util.profiling.metrics.MetricsRegistry;
 import net.minecraft.world.DifficultyDamageScaler;
 import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.entity.Entity;
@@ -75,6 +86,9 @@ import net.minecraft.world.entity.EntityTypes;
 import net.minecraft.world.entity.EnumCreatureType;
 import net.minecraft.world.entity.ReputationHandler;
 import net.minecraft.world.entity.ai.navigation.NavigationAbstract;
+import net.minecraft.world.entity.ai.navigation.PathCache;
+import net.minecraft.world.entity.ai.navigation.PathfindingScheduler;
+import net.minecraft.world.entity.ai.sensing.SensorScheduler;
 import net.minecraft.world.entity.ai.village.ReputationEvent;
 import net.minecraft.world.entity.ai.village.poi.VillagePlace;
 import net.minecraft.world.entity.ai.village.poi.VillagePlaceType;
@@ -128,6 +142,7 @@ import net.minecraft.world.level.levelgen.structure.StructureStart;
 import net.minecraft.world.level.levelgen.structure.templatesystem.DefinedStructureManager;
 import net.minecraft.world.level.material.Fluid;
 import net.minecraft.world.level.material.FluidType;
+import net.minecraft.world.level.pathfinder.PathTypeCache;
 import net.minecraft.world.level.portal.PortalTravelAgent;
 import net.minecraft.world.level.saveddata.maps.PersistentIdCounts;
 import net.minecraft.world.level.saveddata.maps.WorldMap;
@@ -143,7 +158,7 @@ import net.minecraft.world.ticks.LevelTicks;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-public class WorldServer extends World implements GeneratorAccessSeed {
+public class WorldServer extends World implements GeneratorAccessSeed, IProfilerMeasured {
     public static final BlockPosition END_SPAWN_POINT = new BlockPosition(100, 50, 0);
     private static final int MIN_RAIN_DELAY_TIME = 12000;
     private static final int MAX_RAIN_DELAY_TIME = 180000;
@@ -163,6 +178,7 @@ public class WorldServer extends World implements GeneratorAccessSeed {
     final EntityTickList entityTickList = new EntityTickList();
     public final EntitySectionManagerPersistent<Entity> entityManager;
     public boolean noSave;
+    private final Queue<String> incrementalSaveData = Queues.newArrayDeque();
     private final SleepStatus sleepStatus;
     private int emptyTime;
     private final PortalTravelAgent portalForcer;
@@ -180,6 +196,13 @@ public class WorldServer extends World implements GeneratorAccessSeed {
     private final StructureManager structureFeatureManager;
     private final StructureCheck structureCheck;
     private final boolean tickTime;
+    private final long[] tickNanos = new long[100];
+    private final TickPhaseTimings tickPhaseTimings;
+    private final PathfindingScheduler pathfindingScheduler;
+    private final SensorScheduler sensorScheduler;
+    private final PathTypeCache pathTypeCache = new PathTypeCache();
+    private final PathCache pathCache = new PathCache();
+    private float averageTickTime;
 
     public WorldServer(MinecraftServer server, Executor workerExecutor, Convertable.ConversionSession session, IWorldDataServer properties, ResourceKey<World> worldKey, DimensionManager dimensionType, WorldLoadListener worldGenerationProgressListener, ChunkGenerator chunkGenerator, boolean debugWorld, long seed, List<MobSpawner> spawners, boolean shouldTickTime) {
         super(properties, worldKey, dimensionType, server::getMethodProfiler, false, debugWorld, seed);
@@ -217,6 +240,54 @@ public class WorldServer extends World implements GeneratorAccessSeed {
         }
 
         this.sleepStatus = new SleepStatus();
+        this.tickPhaseTimings = new TickPhaseTimings(worldKey.location().toString());
+        this.pathfindingScheduler = new PathfindingScheduler(worldKey.location().toString(), SystemUtils.pathfindingExecutor());
+        this.sensorScheduler = new SensorScheduler(worldKey.location().toString(), SensorScheduler.BUDGET_MS);
+        MetricsRegistry.INSTANCE.add(this);
+    }
+
+    @Override
+    public List<MetricSampler> profiledMetrics() {
+        String string = this.getDimensionKey().location().toString();
+        return ImmutableList.of(MetricSampler.create(string + "-tick-ms", EnumMetricCategory.TICK_LOOP, this, WorldServer::getAverageTickTime), MetricSampler.create(string + "-block-entity-tickers-active", EnumMetricCategory.TICK_LOOP, this, World::getActiveBlockEntityTickerCount), MetricSampler.create(string + "-block-entity-tickers-sleeping", EnumMetricCategory.TICK_LOOP, this, World::getSleepingBlockEntityTickerCount), MetricSampler.builder(string + "-path-type-cache-hit-rate", EnumMetricCategory.PATH_FINDING, PathTypeCache::getHitRate, this.pathTypeCache).withBeforeTick(PathTypeCache::resetStats).build(), MetricSampler.builder(string + "-path-cache-hit-rate", EnumMetricCategory.PATH_FINDING, PathCache::getHitRate, this.pathCache).withBeforeTick(PathCache::resetStats).build());
+    }
+
+    public void recordTickTime(int tickCount, long nanos) {
+        this.tickNanos[tickCount % 100] = nanos;
+        this.averageTickTime = this.averageTickTime * 0.8F + (float)nanos / 1000000.0F * 0.19999999F;
+    }
+
+    public float getAverageTickTime() {
+        return this.averageTickTime;
+    }
+
+    public long[] getTickTimes() {
+        return this.tickNanos;
+    }
+
+    public TickPhaseTimings getTickPhaseTimings() {
+        return this.tickPhaseTimings;
+    }
+
+    public PathfindingScheduler getPathfindingScheduler() {
+        return this.pathfindingScheduler;
+    }
+
+    public SensorScheduler getSensorScheduler() {
+        return this.sensorScheduler;
+    }
+
+    public PathTypeCache getPathTypeCache() {
+        return this.pathTypeCache;
+    }
+
+    public PathCache getPathCache() {
+        return this.pathCache;
+    }
+
+    public void setOwnerThread(Thread thread) {
+        this.thread = thread;
+        this.chunkSource.mainThread = thread;
     }
 
     public void setWeatherParameters(int clearDuration, int rainDuration, boolean raining, boolean thundering) {
@@ -238,6 +309,7 @@ public class WorldServer extends World implements GeneratorAccessSeed {
 
     public void doTick(BooleanSupplier shouldKeepTicking) {
         GameProfilerFiller profilerFiller = this.getMethodProfiler();
+        this.tickPhaseTimings.startTick();
         this.handlingTick = true;
         profilerFiller.enter("world border");
         this.getWorldBorder().tick();
@@ -261,17 +333,21 @@ public class WorldServer extends World implements GeneratorAccessSeed {
         profilerFiller.exitEnter("tickPending");
         if (!this.isDebugWorld()) {
             long m = this.getTime();
+            this.tickPhaseTimings.switchTo(TickPhase.SCHEDULED_TICKS);
             profilerFiller.enter("blockTicks");
             this.blockTicks.tick(m, 65536, this::tickBlock);
             profilerFiller.exitEnter("fluidTicks");
             this.fluidTicks.tick(m, 65536, this::tickFluid);
             profilerFiller.exit();
+            this.tickPhaseTimings.switchTo(TickPhase.OTHER);
         }
 
         profilerFiller.exitEnter("raid");
         this.raids.tick();
         profilerFiller.exitEnter("chunkSource");
+        this.tickPhaseTimings.switchTo(TickPhase.CHUNKS);
         this.getChunkSource().tick(shouldKeepTicking);
+        this.tickPhaseTimings.switchTo(TickPhase.OTHER);
         profilerFiller.exitEnter("blockEvents");
         this.runBlockEvents();
         this.handlingTick = false;
@@ -282,6 +358,7 @@ public class WorldServer extends World implements GeneratorAccessSeed {
         }
 
         if (bl || this.emptyTime++ < 300) {
+            this.tickPhaseTimings.switchTo(TickPhase.ENTITIES);
             profilerFiller.enter("entities");
             if (this.dragonFight != null) {
                 profilerFiller.enter("dragonFight");
@@ -315,12 +392,16 @@ public class WorldServer extends World implements GeneratorAccessSeed {
                 }
             });
             profilerFiller.exit();
+            this.tickPhaseTimings.switchTo(TickPhase.BLOCK_ENTITIES);
             this.tickBlockEntities();
+            this.tickPhaseTimings.switchTo(TickPhase.OTHER);
         }
 
         profilerFiller.enter("entityManagement");
         this.entityManager.tick();
         profilerFiller.exit();
+        this.tickPhaseTimings.endTick();
+        JvmProfiler.INSTANCE.onTickPhases(this.tickPhaseTimings);
     }
 
     @Override
@@ -696,6 +777,36 @@ public class WorldServer extends World implements GeneratorAccessSeed {
         }
     }
 
+    public void startIncrementalSave() {
+        this.incrementalSaveData.clear();
+        if (!this.noSave) {
+            if (this.dragonFight != null) {
+                this.server.getSaveData().setEndDragonFightData(this.dragonFight.saveData());
+            }
+
+            this.incrementalSaveData.addAll(this.getChunkSource().getWorldPersistentData().getDirtyIds());
+            this.getChunkSource().startIncrementalSave();
+            this.entityManager.autoSave();
+        }
+    }
+
+    public boolean saveIncrementally(BooleanSupplier shouldKeepTicking) {
+        if (this.noSave) {
+            return true;
+        } else {
+            String string;
+            while(shouldKeepTicking.getAsBoolean() && (string = this.incrementalSaveData.poll()) != null) {
+                this.getChunkSource().getWorldPersistentData().save(string);
+            }
+
+            return this.incrementalSaveData.isEmpty() && this.getChunkSource().saveIncrementally(shouldKeepTicking);
+        }
+    }
+
+    public int getIncrementalSaveDataBacklog() {
+        return this.incrementalSaveData.size();
+    }
+
     private void saveLevelData() {
         if (this.dragonFight != null) {
             this.server.getSaveData().setEndDragonFightData(this.dragonFight.saveData());
@@ -798,6 +909,15 @@ public class WorldServer extends World implements GeneratorAccessSeed {
     public void unloadChunk(Chunk chunk) {
         chunk.clearAllBlockEntities();
         chunk.unregisterTickContainerFromLevel(this);
+        this.invalidatePathfindingCaches(chunk.getPos());
+    }
+
+    public void invalidatePathfindingCaches(ChunkCoordIntPair chunkPos) {
+        if (PathCache.ENABLED) {
+            this.pathTypeCache.invalidateChunk(chunkPos);
+            this.pathCache.invalidateChunk(chunkPos);
+        }
+
     }
 
     public void removePlayerImmediately(EntityPlayer player, Entity.RemovalReason reason) {
@@ -851,6 +971,15 @@ public class WorldServer extends World implements GeneratorAccessSeed {
     @Override
     public void notify(BlockPosition pos, IBlockData oldState, IBlockData newState, int flags) {
         this.getChunkSource().flagDirty(pos);
+        if (oldState != newState) {
+            if (PathCache.ENABLED) {
+                this.pathTypeCache.invalidate(pos);
+                this.pathCache.invalidate(pos);
+            }
+
+            this.pathfindingScheduler.invalidateSection(pos);
+        }
+
         VoxelShape voxelShape = oldState.getCollisionShape(this, pos);
         VoxelShape voxelShape2 = newState.getCollisionShape(this, pos);
         if (VoxelShapes.joinIsNotEmpty(voxelShape, voxelShape2, OperatorBoolean.NOT_SAME)) {
@@ -1047,7 +1176,13 @@ public class WorldServer extends World implements GeneratorAccessSeed {
 
     @Override
     public void setMapData(String id, WorldMap state) {
-        this.getMinecraftServer().overworld().getWorldPersistentData().set(id, state);
+        WorldPersistentData dimensionDataStorage = this.getMinecraftServer().overworld().getWorldPersistentData();
+        if (!this.getMinecraftServer().deferWhileTickingInParallel(() -> {
+            dimensionDataStorage.set(id, state);
+        })) {
+            dimensionDataStorage.set(id, state);
+        }
+
     }
 
     @Override
@@ -33,6 +33,7 @@ import net.minecraft.core.EnumDirection;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.nbt.NBTTagString;
+import net.minecraft.network.CompressedPacket;
 import net.minecraft.network.NetworkManager;
 import net.minecraft.network.chat.ChatComponentText;
 import net.minecraft.network.chat.ChatMessage;
@@ -1082,6 +1083,11 @@ public class PlayerConnection implements PlayerConnectionServer, PacketListenerP
         this.send(packet, (GenericFutureListener<? extends Future<? super Void>>)null);
     }
 
+    @Override
+    public void sendPacket(CompressedPacket packet) {
+        this.connection.send(packet);
+    }
+
     public void send(Packet<?> packet, @Nullable GenericFutureListener<? extends Future<? super Void>> listener) {
         try {
             this.connection.send(packet, listener);
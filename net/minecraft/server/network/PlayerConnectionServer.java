@@ -1,5 +1,6 @@
 package net.minecraft.server.network;
 
+import net.minecraft.network.CompressedPacket;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.server.level.EntityPlayer;
 
@@ -7,4 +8,6 @@ public interface PlayerConnectionServer {
     EntityPlayer getPlayer();
 
     void sendPacket(Packet<?> packet);
+
+    void sendPacket(CompressedPacket packet);
 }
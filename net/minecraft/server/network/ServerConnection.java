@@ -1,5 +1,6 @@
 package net.minecraft.server.network;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.netty.bootstrap.ServerBootstrap;
@@ -33,8 +34,10 @@ import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 import net.minecraft.CrashReport;
 import net.minecraft.ReportedException;
+import net.minecraft.network.CompressedPacket;
 import net.minecraft.network.NetworkManager;
 import net.minecraft.network.NetworkManagerServer;
+import net.minecraft.network.PacketCompressor;
 import net.minecraft.network.PacketDecoder;
 import net.minecraft.network.PacketEncoder;
 import net.minecraft.network.PacketPrepender;
@@ -45,10 +48,14 @@ import net.minecraft.network.protocol.EnumProtocolDirection;
 import net.minecraft.network.protocol.game.PacketPlayOutKickDisconnect;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.LazyInitVar;
+import net.minecraft.util.profiling.metrics.EnumMetricCategory;
+import net.minecraft.util.profiling.metrics.IProfilerMeasured;
+import net.minecraft.util.profiling.metrics.MetricSampler;
+import net.minecraft.util.profiling.metrics.MetricsRegistry;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-public class ServerConnection {
+public class ServerConnection implements IProfilerMeasured {
     private static final Logger LOGGER = LogManager.getLogger();
     public static final LazyInitVar<NioEventLoopGroup> SERVER_EVENT_GROUP = new LazyInitVar<>(() -> {
         return new NioEventLoopGroup(0, (new ThreadFactoryBuilder()).setNameFormat("Netty Server IO #%d").setDaemon(true).build());
@@ -60,10 +67,26 @@ public class ServerConnection {
     public volatile boolean running;
     private final List<ChannelFuture> channels = Collections.synchronizedList(Lists.newArrayList());
     final List<NetworkManager> connections = Collections.synchronizedList(Lists.newArrayList());
+    private long lastCompressionNanos;
+    private long lastBytesSaved;
 
     public ServerConnection(MinecraftServer server) {
         this.server = server;
         this.running = true;
+        MetricsRegistry.INSTANCE.add(this);
+    }
+
+    @Override
+    public List<MetricSampler> profiledMetrics() {
+        return ImmutableList.of(MetricSampler.builder("network-compression-ms", EnumMetricCategory.NETWORK, (connection) -> {
+            return (double)(PacketCompressor.getCompressionNanos() - connection.lastCompressionNanos) / 1000000.0D;
+        }, this).withBeforeTick((connection) -> {
+            connection.lastCompressionNanos = PacketCompressor.getCompressionNanos();
+        }).build(), MetricSampler.builder("network-broadcast-bytes-saved", EnumMetricCategory.NETWORK, (connection) -> {
+            return (double)(CompressedPacket.getBytesSaved() - connection.lastBytesSaved);
+        }, this).withBeforeTick((connection) -> {
+            connection.lastBytesSaved = CompressedPacket.getBytesSaved();
+        }).build());
     }
 
     public void startTcpServerListener(@Nullable InetAddress address, int port) throws IOException {
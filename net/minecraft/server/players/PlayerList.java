@@ -305,7 +305,7 @@ public abstract class PlayerList {
         return compoundTag2;
     }
 
-    protected void savePlayerFile(EntityPlayer player) {
+    public void savePlayerFile(EntityPlayer player) {
         this.playerIo.save(player);
         StatisticManagerServer serverStatsCounter = this.stats.get(player.getUniqueID());
         if (serverStatsCounter != null) {
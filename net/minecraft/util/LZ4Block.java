@@ -0,0 +1,191 @@
+package net.minecraft.util;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+public class LZ4Block {
+    private static final int MIN_MATCH = 4;
+    private static final int LAST_LITERALS = 5;
+    private static final int MF_LIMIT = 12;
+    private static final int MAX_DISTANCE = 65535;
+    private static final int RUN_MASK = 15;
+    public static final int HASH_TABLE_SIZE = 4096;
+
+    public static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    public static int compress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int[] hashTable) {
+        int i = srcOff + srcLen;
+        int j = dstOff;
+        int k = srcOff;
+        if (srcLen >= 13) {
+            int l = i - 5;
+            int m = i - 12;
+            Arrays.fill(hashTable, -1);
+            int n = srcOff;
+
+            while(n < m) {
+                int o = readInt(src, n);
+                int p = hash(o);
+                int q = hashTable[p];
+                hashTable[p] = n;
+                if (q >= 0 && n - q <= 65535 && readInt(src, q) == o) {
+                    while(n > k && q > srcOff && src[n - 1] == src[q - 1]) {
+                        --n;
+                        --q;
+                    }
+
+                    int r = 4;
+
+                    while(n + r < l && src[n + r] == src[q + r]) {
+                        ++r;
+                    }
+
+                    j = writeSequence(src, k, n - k, n - q, r, dst, j);
+                    n += r;
+                    k = n;
+                    if (n < m) {
+                        hashTable[hash(readInt(src, n - 2))] = n - 2;
+                    }
+                } else {
+                    n += 1 + (n - k >> 6);
+                }
+            }
+        }
+
+        return writeLastLiterals(src, k, i - k, dst, j) - dstOff;
+    }
+
+    public static void decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) throws IOException {
+        int i = srcOff;
+        int j = srcOff + srcLen;
+        int k = dstOff;
+        int l = dstOff + dstLen;
+
+        while(i < j) {
+            int m = src[i++] & 255;
+            int n = m >>> 4;
+            if (n == 15) {
+                int o;
+                do {
+                    if (i >= j) {
+                        throw new IOException("Malformed LZ4 block: truncated literal length");
+                    }
+
+                    o = src[i++] & 255;
+                    n += o;
+                } while(o == 255);
+            }
+
+            if (n > j - i || n > l - k) {
+                throw new IOException("Malformed LZ4 block: literals out of bounds");
+            }
+
+            System.arraycopy(src, i, dst, k, n);
+            i += n;
+            k += n;
+            if (i == j) {
+                break;
+            }
+
+            if (j - i < 2) {
+                throw new IOException("Malformed LZ4 block: truncated match offset");
+            }
+
+            int p = src[i++] & 255 | (src[i++] & 255) << 8;
+            int q = k - p;
+            if (p == 0 || q < dstOff) {
+                throw new IOException("Malformed LZ4 block: invalid match offset " + p);
+            }
+
+            int r = m & 15;
+            if (r == 15) {
+                int s;
+                do {
+                    if (i >= j) {
+                        throw new IOException("Malformed LZ4 block: truncated match length");
+                    }
+
+                    s = src[i++] & 255;
+                    r += s;
+                } while(s == 255);
+            }
+
+            r += 4;
+            if (r > l - k) {
+                throw new IOException("Malformed LZ4 block: match out of bounds");
+            }
+
+            if (p >= r) {
+                System.arraycopy(dst, q, dst, k, r);
+            } else {
+                for(int t = 0; t < r; ++t) {
+                    dst[k + t] = dst[q + t];
+                }
+            }
+
+            k += r;
+        }
+
+        if (k != l) {
+            throw new IOException("Malformed LZ4 block: expected " + dstLen + " bytes but got " + (k - dstOff));
+        }
+    }
+
+    private static int writeSequence(byte[] src, int literalOff, int literalLen, int offset, int matchLen, byte[] dst, int dstOff) {
+        int i = dstOff++;
+        int j;
+        if (literalLen >= 15) {
+            j = 240;
+            dstOff = writeLength(literalLen - 15, dst, dstOff);
+        } else {
+            j = literalLen << 4;
+        }
+
+        System.arraycopy(src, literalOff, dst, dstOff, literalLen);
+        dstOff += literalLen;
+        dst[dstOff++] = (byte)offset;
+        dst[dstOff++] = (byte)(offset >>> 8);
+        int k = matchLen - 4;
+        if (k >= 15) {
+            j |= 15;
+            dstOff = writeLength(k - 15, dst, dstOff);
+        } else {
+            j |= k;
+        }
+
+        dst[i] = (byte)j;
+        return dstOff;
+    }
+
+    private static int writeLastLiterals(byte[] src, int literalOff, int literalLen, byte[] dst, int dstOff) {
+        if (literalLen >= 15) {
+            dst[dstOff++] = (byte)240;
+            dstOff = writeLength(literalLen - 15, dst, dstOff);
+        } else {
+            dst[dstOff++] = (byte)(literalLen << 4);
+        }
+
+        System.arraycopy(src, literalOff, dst, dstOff, literalLen);
+        return dstOff + literalLen;
+    }
+
+    private static int writeLength(int length, byte[] dst, int dstOff) {
+        while(length >= 255) {
+            dst[dstOff++] = -1;
+            length -= 255;
+        }
+
+        dst[dstOff++] = (byte)length;
+        return dstOff;
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return bytes[offset] & 255 | (bytes[offset + 1] & 255) << 8 | (bytes[offset + 2] & 255) << 16 | (bytes[offset + 3] & 255) << 24;
+    }
+
+    private static int hash(int value) {
+        return value * -1640531535 >>> 20;
+    }
+}
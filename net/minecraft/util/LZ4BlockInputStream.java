@@ -0,0 +1,117 @@
+package net.minecraft.util;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+public class LZ4BlockInputStream extends FilterInputStream {
+    private static final int MAX_BLOCK_SIZE = 16777216;
+    private final byte[] header = new byte[8];
+    private byte[] buffer = new byte[0];
+    private byte[] compressedBuffer = new byte[0];
+    private int position;
+    private int limit;
+    private boolean finished;
+
+    public LZ4BlockInputStream(InputStream inputStream) {
+        super(inputStream);
+    }
+
+    @Override
+    public int read() throws IOException {
+        return this.position == this.limit && !this.readBlock() ? -1 : this.buffer[this.position++] & 255;
+    }
+
+    @Override
+    public int read(byte[] bs, int i, int j) throws IOException {
+        if (j == 0) {
+            return 0;
+        } else if (this.position == this.limit && !this.readBlock()) {
+            return -1;
+        } else {
+            int k = Math.min(j, this.limit - this.position);
+            System.arraycopy(this.buffer, this.position, bs, i, k);
+            this.position += k;
+            return k;
+        }
+    }
+
+    @Override
+    public long skip(long l) throws IOException {
+        long m = 0L;
+
+        while(m < l && (this.position < this.limit || this.readBlock())) {
+            int i = (int)Math.min(l - m, (long)(this.limit - this.position));
+            this.position += i;
+            m += (long)i;
+        }
+
+        return m;
+    }
+
+    @Override
+    public int available() {
+        return this.limit - this.position;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private boolean readBlock() throws IOException {
+        while(!this.finished) {
+            this.readFully(this.header, 0, 4);
+            int i = readInt(this.header, 0);
+            if (i == 0) {
+                this.finished = true;
+                return false;
+            }
+
+            this.readFully(this.header, 4, 4);
+            int j = readInt(this.header, 4);
+            if (i < 0 || i > 16777216 || j <= 0 || j > i) {
+                throw new IOException("Malformed LZ4 stream: invalid block header " + i + "/" + j);
+            }
+
+            if (this.buffer.length < i) {
+                this.buffer = new byte[i];
+            }
+
+            if (j == i) {
+                this.readFully(this.buffer, 0, i);
+            } else {
+                if (this.compressedBuffer.length < j) {
+                    this.compressedBuffer = new byte[j];
+                }
+
+                this.readFully(this.compressedBuffer, 0, j);
+                LZ4Block.decompress(this.compressedBuffer, 0, j, this.buffer, 0, i);
+            }
+
+            this.position = 0;
+            this.limit = i;
+            return true;
+        }
+
+        return false;
+    }
+
+    private void readFully(byte[] bs, int i, int j) throws IOException {
+        while(j > 0) {
+            int k = this.in.read(bs, i, j);
+            if (k < 0) {
+                throw new EOFException("Unexpected end of LZ4 stream");
+            }
+
+            i += k;
+            j -= k;
+        }
+
+    }
+
+    private static int readInt(byte[] bs, int i) {
+        return (bs[i] & 255) << 24 | (bs[i + 1] & 255) << 16 | (bs[i + 2] & 255) << 8 | bs[i + 3] & 255;
+    }
+}
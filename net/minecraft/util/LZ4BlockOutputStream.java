@@ -0,0 +1,96 @@
+package net.minecraft.util;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class LZ4BlockOutputStream extends FilterOutputStream {
+    private static final int DEFAULT_BLOCK_SIZE = 65536;
+    private final byte[] buffer;
+    private final byte[] compressedBuffer;
+    private final int[] hashTable = new int[4096];
+    private int count;
+    private boolean closed;
+
+    public LZ4BlockOutputStream(OutputStream outputStream) {
+        this(outputStream, 65536);
+    }
+
+    public LZ4BlockOutputStream(OutputStream outputStream, int blockSize) {
+        super(outputStream);
+        this.buffer = new byte[blockSize];
+        this.compressedBuffer = new byte[8 + LZ4Block.maxCompressedLength(blockSize)];
+    }
+
+    @Override
+    public void write(int i) throws IOException {
+        if (this.count == this.buffer.length) {
+            this.writeBlock();
+        }
+
+        this.buffer[this.count++] = (byte)i;
+    }
+
+    @Override
+    public void write(byte[] bs, int i, int j) throws IOException {
+        while(j > 0) {
+            if (this.count == this.buffer.length) {
+                this.writeBlock();
+            }
+
+            int k = Math.min(j, this.buffer.length - this.count);
+            System.arraycopy(bs, i, this.buffer, this.count, k);
+            this.count += k;
+            i += k;
+            j -= k;
+        }
+
+    }
+
+    private void writeBlock() throws IOException {
+        if (this.count > 0) {
+            int i = LZ4Block.compress(this.buffer, 0, this.count, this.compressedBuffer, 8, this.hashTable);
+            if (i < this.count) {
+                writeInt(this.compressedBuffer, 0, this.count);
+                writeInt(this.compressedBuffer, 4, i);
+                this.out.write(this.compressedBuffer, 0, 8 + i);
+            } else {
+                writeInt(this.compressedBuffer, 0, this.count);
+                writeInt(this.compressedBuffer, 4, this.count);
+                this.out.write(this.compressedBuffer, 0, 8);
+                this.out.write(this.buffer, 0, this.count);
+            }
+
+            this.count = 0;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.writeBlock();
+        this.out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!this.closed) {
+            this.closed = true;
+
+            try {
+                this.writeBlock();
+                writeInt(this.compressedBuffer, 0, 0);
+                this.out.write(this.compressedBuffer, 0, 4);
+            } finally {
+                this.out.close();
+            }
+
+        }
+    }
+
+    private static void writeInt(byte[] bs, int i, int j) {
+        bs[i] = (byte)(j >>> 24);
+        bs[i + 1] = (byte)(j >>> 16);
+        bs[i + 2] = (byte)(j >>> 8);
+        bs[i + 3] = (byte)j;
+    }
+}
@@ -0,0 +1,61 @@
+package net.minecraft.util.compression;
+
+import com.google.common.collect.Maps;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.zip.Deflater;
+import javax.annotation.Nullable;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class Compression {
+    private static final Logger LOGGER = LogManager.getLogger();
+    public static final int NETWORK_LEVEL = Integer.getInteger("network.compressionLevel", Deflater.DEFAULT_COMPRESSION);
+    public static final int STORAGE_LEVEL = Integer.getInteger("region.compressionLevel", Deflater.DEFAULT_COMPRESSION);
+    private static final Map<String, CompressionProvider> PROVIDERS = loadProviders();
+    private static final CompressionProvider PROVIDER = getConfiguredProvider();
+
+    private static Map<String, CompressionProvider> loadProviders() {
+        Map<String, CompressionProvider> map = Maps.newLinkedHashMap();
+        CompressionProvider compressionProvider = new JavaZipCompressionProvider();
+        map.put(compressionProvider.getName(), compressionProvider);
+
+        for(CompressionProvider compressionProvider2 : ServiceLoader.load(CompressionProvider.class)) {
+            map.putIfAbsent(compressionProvider2.getName(), compressionProvider2);
+        }
+
+        return map;
+    }
+
+    private static CompressionProvider getConfiguredProvider() {
+        String string = System.getProperty("compression.provider", "java");
+        CompressionProvider compressionProvider = PROVIDERS.get(string);
+        if (compressionProvider == null) {
+            LOGGER.error("Unknown {} property value '{}'. Should be one of {}.", "compression.provider", string, PROVIDERS.keySet());
+            return PROVIDERS.get("java");
+        } else {
+            return compressionProvider;
+        }
+    }
+
+    public static CompressionProvider getProvider() {
+        return PROVIDER;
+    }
+
+    @Nullable
+    public static CompressionProvider getProvider(String name) {
+        return PROVIDERS.get(name);
+    }
+
+    public static Compressor createNetworkCompressor() {
+        return PROVIDER.createCompressor(NETWORK_LEVEL);
+    }
+
+    public static Compressor createStorageCompressor() {
+        return PROVIDER.createCompressor(STORAGE_LEVEL);
+    }
+
+    public static Decompressor createDecompressor() {
+        return PROVIDER.createDecompressor();
+    }
+}
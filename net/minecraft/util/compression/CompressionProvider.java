@@ -0,0 +1,9 @@
+package net.minecraft.util.compression;
+
+public interface CompressionProvider {
+    String getName();
+
+    Compressor createCompressor(int level);
+
+    Decompressor createDecompressor();
+}
@@ -0,0 +1,34 @@
+package net.minecraft.util.compression;
+
+import io.netty.buffer.ByteBuf;
+import java.nio.ByteBuffer;
+
+public interface Compressor {
+    void setInput(ByteBuffer input);
+
+    void finish();
+
+    boolean finished();
+
+    boolean needsInput();
+
+    int compress(ByteBuffer output);
+
+    void reset();
+
+    void end();
+
+    default void compress(ByteBuf input, ByteBuf output) {
+        this.setInput(input.nioBuffer());
+        this.finish();
+
+        while(!this.finished()) {
+            output.ensureWritable(8192);
+            int i = output.writerIndex();
+            output.writerIndex(i + this.compress(output.nioBuffer(i, output.writableBytes())));
+        }
+
+        input.skipBytes(input.readableBytes());
+        this.reset();
+    }
+}
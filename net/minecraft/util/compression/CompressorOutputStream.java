@@ -0,0 +1,67 @@
+package net.minecraft.util.compression;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+public class CompressorOutputStream extends FilterOutputStream {
+    private final Compressor compressor;
+    private final ByteBuffer buffer = ByteBuffer.allocate(8192);
+    private final byte[] singleByte = new byte[1];
+    private boolean closed;
+
+    public CompressorOutputStream(OutputStream out, Compressor compressor) {
+        super(out);
+        this.compressor = compressor;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        this.singleByte[0] = (byte)b;
+        this.write(this.singleByte, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bs, int off, int len) throws IOException {
+        if (this.closed) {
+            throw new IOException("Stream closed");
+        } else if (len > 0) {
+            this.compressor.setInput(ByteBuffer.wrap(bs, off, len));
+
+            while(!this.compressor.needsInput()) {
+                this.drain();
+            }
+
+        }
+    }
+
+    private void drain() throws IOException {
+        this.buffer.clear();
+        int i = this.compressor.compress(this.buffer);
+        if (i > 0) {
+            this.out.write(this.buffer.array(), 0, i);
+        }
+
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!this.closed) {
+            this.closed = true;
+
+            try {
+                this.compressor.finish();
+
+                while(!this.compressor.finished()) {
+                    this.drain();
+                }
+
+                this.out.close();
+            } finally {
+                this.compressor.end();
+            }
+        }
+
+    }
+}
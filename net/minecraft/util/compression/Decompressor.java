@@ -0,0 +1,49 @@
+package net.minecraft.util.compression;
+
+import io.netty.buffer.ByteBuf;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+
+public interface Decompressor {
+    void setInput(ByteBuffer input);
+
+    int decompress(ByteBuffer output) throws DataFormatException;
+
+    boolean finished();
+
+    boolean needsInput();
+
+    void reset();
+
+    void end();
+
+    default void decompress(ByteBuf input, ByteBuf output, int size) throws DataFormatException {
+        this.setInput(input.nioBuffer());
+        output.ensureWritable(size);
+        int i = output.writerIndex();
+        ByteBuffer byteBuffer = output.nioBuffer(i, size);
+        int j = 0;
+
+        while(byteBuffer.hasRemaining() && !this.finished()) {
+            int k = this.decompress(byteBuffer);
+            if (k == 0) {
+                break;
+            }
+
+            j += k;
+        }
+
+        if (j == size && !this.finished() && this.decompress(ByteBuffer.allocate(1)) > 0) {
+            ++j;
+        }
+
+        boolean bl = this.finished();
+        this.reset();
+        if (j == size && bl) {
+            output.writerIndex(i + size);
+            input.skipBytes(input.readableBytes());
+        } else {
+            throw new DataFormatException("Decompressed " + j + " bytes" + (bl ? "" : " from an unfinished stream") + ", expected " + size);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package net.minecraft.util.compression;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.ZipException;
+
+public class DecompressorInputStream extends FilterInputStream {
+    private final Decompressor decompressor;
+    private final byte[] buffer = new byte[8192];
+    private final byte[] singleByte = new byte[1];
+    private boolean closed;
+
+    public DecompressorInputStream(InputStream in, Decompressor decompressor) {
+        super(in);
+        this.decompressor = decompressor;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return this.read(this.singleByte, 0, 1) == -1 ? -1 : this.singleByte[0] & 255;
+    }
+
+    @Override
+    public int read(byte[] bs, int off, int len) throws IOException {
+        if (this.closed) {
+            throw new IOException("Stream closed");
+        } else if (len == 0) {
+            return 0;
+        } else {
+            try {
+                int i;
+                while((i = this.decompressor.decompress(ByteBuffer.wrap(bs, off, len))) == 0) {
+                    if (this.decompressor.finished()) {
+                        return -1;
+                    }
+
+                    if (!this.decompressor.needsInput()) {
+                        throw new ZipException("Compressed stream requires unsupported preset dictionary");
+                    }
+
+                    this.fill();
+                }
+
+                return i;
+            } catch (DataFormatException var5) {
+                String string = var5.getMessage();
+                throw new ZipException(string != null ? string : "Invalid compressed data format");
+            }
+        }
+    }
+
+    private void fill() throws IOException {
+        int i = this.in.read(this.buffer, 0, this.buffer.length);
+        if (i == -1) {
+            throw new EOFException("Unexpected end of compressed stream");
+        } else {
+            this.decompressor.setInput(ByteBuffer.wrap(this.buffer, 0, i));
+        }
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] bs = new byte[(int)Math.min(n, 512L)];
+        long l = 0L;
+
+        while(l < n) {
+            int i = this.read(bs, 0, (int)Math.min((long)bs.length, n - l));
+            if (i == -1) {
+                break;
+            }
+
+            l += (long)i;
+        }
+
+        return l;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return this.closed || this.decompressor.finished() ? 0 : 1;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!this.closed) {
+            this.closed = true;
+
+            try {
+                this.in.close();
+            } finally {
+                this.decompressor.end();
+            }
+        }
+
+    }
+}
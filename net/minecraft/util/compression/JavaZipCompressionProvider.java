@@ -0,0 +1,106 @@
+package net.minecraft.util.compression;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+public class JavaZipCompressionProvider implements CompressionProvider {
+    public static final String NAME = "java";
+
+    @Override
+    public String getName() {
+        return "java";
+    }
+
+    @Override
+    public Compressor createCompressor(int level) {
+        return new JavaZipCompressionProvider.DeflaterCompressor(new Deflater(level));
+    }
+
+    @Override
+    public Decompressor createDecompressor() {
+        return new JavaZipCompressionProvider.InflaterDecompressor(new Inflater());
+    }
+
+    static class DeflaterCompressor implements Compressor {
+        private final Deflater deflater;
+
+        DeflaterCompressor(Deflater deflater) {
+            this.deflater = deflater;
+        }
+
+        @Override
+        public void setInput(ByteBuffer input) {
+            this.deflater.setInput(input);
+        }
+
+        @Override
+        public void finish() {
+            this.deflater.finish();
+        }
+
+        @Override
+        public boolean finished() {
+            return this.deflater.finished();
+        }
+
+        @Override
+        public boolean needsInput() {
+            return this.deflater.needsInput();
+        }
+
+        @Override
+        public int compress(ByteBuffer output) {
+            return this.deflater.deflate(output);
+        }
+
+        @Override
+        public void reset() {
+            this.deflater.reset();
+        }
+
+        @Override
+        public void end() {
+            this.deflater.end();
+        }
+    }
+
+    static class InflaterDecompressor implements Decompressor {
+        private final Inflater inflater;
+
+        InflaterDecompressor(Inflater inflater) {
+            this.inflater = inflater;
+        }
+
+        @Override
+        public void setInput(ByteBuffer input) {
+            this.inflater.setInput(input);
+        }
+
+        @Override
+        public int decompress(ByteBuffer output) throws DataFormatException {
+            return this.inflater.inflate(output);
+        }
+
+        @Override
+        public boolean finished() {
+            return this.inflater.finished();
+        }
+
+        @Override
+        public boolean needsInput() {
+            return this.inflater.needsInput();
+        }
+
+        @Override
+        public void reset() {
+            this.inflater.reset();
+        }
+
+        @Override
+        public void end() {
+            this.inflater.end();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package net.minecraft.util.profiling;
+
+public enum TickPhase {
+    SCHEDULED_TICKS("scheduledTicks"),
+    CHUNKS("chunks"),
+    SPAWNING("spawning"),
+    ENTITIES("entities"),
+    BLOCK_ENTITIES("blockEntities"),
+    PACKETS("packets"),
+    OTHER("other");
+
+    private final String name;
+
+    private TickPhase(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+}
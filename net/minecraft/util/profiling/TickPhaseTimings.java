@@ -0,0 +1,74 @@
+package net.minecraft.util.profiling;
+
+import java.util.Arrays;
+import java.util.Map;
+import net.minecraft.SystemUtils;
+import net.minecraft.util.profiling.jfr.Percentiles;
+
+public class TickPhaseTimings {
+    public static final int SAMPLES = 100;
+    private static final TickPhase[] PHASES = TickPhase.values();
+    private final String name;
+    private final long[] current = new long[PHASES.length];
+    private final long[][] samples = new long[PHASES.length][SAMPLES];
+    private TickPhase phase = TickPhase.OTHER;
+    private long phaseStart;
+    private int tickCount;
+
+    public TickPhaseTimings(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public void startTick() {
+        this.phase = TickPhase.OTHER;
+        this.phaseStart = SystemUtils.getMonotonicNanos();
+    }
+
+    public TickPhase switchTo(TickPhase phase) {
+        long l = SystemUtils.getMonotonicNanos();
+        TickPhase tickPhase = this.phase;
+        this.current[tickPhase.ordinal()] += l - this.phaseStart;
+        this.phase = phase;
+        this.phaseStart = l;
+        return tickPhase;
+    }
+
+    public void endTick() {
+        this.switchTo(TickPhase.OTHER);
+        int i = this.tickCount % SAMPLES;
+
+        for(int j = 0; j < PHASES.length; ++j) {
+            this.samples[j][i] = this.current[j];
+            this.current[j] = 0L;
+        }
+
+        ++this.tickCount;
+    }
+
+    public long[] getSamples(TickPhase phase) {
+        return Arrays.copyOf(this.samples[phase.ordinal()], Math.min(this.tickCount, SAMPLES));
+    }
+
+    public double getAverageMillis(TickPhase phase) {
+        long[] ls = this.getSamples(phase);
+        if (ls.length == 0) {
+            return 0.0D;
+        } else {
+            long l = 0L;
+
+            for(long m : ls) {
+                l += m;
+            }
+
+            return (double)l / (double)ls.length / 1000000.0D;
+        }
+    }
+
+    public Map<Integer, Double> getPercentiles(TickPhase phase) {
+        return Percentiles.evaluate(this.getSamples(phase));
+    }
+}
@@ -28,12 +28,15 @@ import jdk.jfr.RecordingState;
 import net.minecraft.SharedConstants;
 import net.minecraft.SystemUtils;
 import net.minecraft.resources.ResourceKey;
+import net.minecraft.util.profiling.TickPhase;
+import net.minecraft.util.profiling.TickPhaseTimings;
 import net.minecraft.util.profiling.jfr.callback.ProfiledDuration;
 import net.minecraft.util.profiling.jfr.event.ChunkGenerationEvent;
 import net.minecraft.util.profiling.jfr.event.NetworkSummaryEvent;
 import net.minecraft.util.profiling.jfr.event.PacketReceivedEvent;
 import net.minecraft.util.profiling.jfr.event.PacketSentEvent;
 import net.minecraft.util.profiling.jfr.event.ServerTickTimeEvent;
+import net.minecraft.util.profiling.jfr.event.TickPhaseEvent;
 import net.minecraft.util.profiling.jfr.event.WorldLoadFinishedEvent;
 import net.minecraft.world.level.ChunkCoordIntPair;
 import net.minecraft.world.level.World;
@@ -46,7 +49,7 @@ public class JfrProfiler implements JvmProfiler {
     public static final String WORLD_GEN_CATEGORY = "World Generation";
     public static final String TICK_CATEGORY = "Ticking";
     public static final String NETWORK_CATEGORY = "Network";
-    private static final List<Class<? extends Event>> CUSTOM_EVENTS = List.of(ChunkGenerationEvent.class, PacketReceivedEvent.class, PacketSentEvent.class, NetworkSummaryEvent.class, ServerTickTimeEvent.class, WorldLoadFinishedEvent.class);
+    private static final List<Class<? extends Event>> CUSTOM_EVENTS = List.of(ChunkGenerationEvent.class, PacketReceivedEvent.class, PacketSentEvent.class, NetworkSummaryEvent.class, ServerTickTimeEvent.class, TickPhaseEvent.class, WorldLoadFinishedEvent.class);
     private static final String FLIGHT_RECORDER_CONFIG = "/flightrecorder-config.jfc";
     private static final DateTimeFormatter DATE_TIME_FORMATTER = (new DateTimeFormatterBuilder()).appendPattern("yyyy-MM-dd-HHmmss").toFormatter().withZone(ZoneId.systemDefault());
     private static final JfrProfiler INSTANCE = new JfrProfiler();
@@ -54,12 +57,21 @@ public class JfrProfiler implements JvmProfiler {
     Recording recording;
     private float currentAverageTickTime;
     private final Map<String, NetworkSummaryEvent.SumAggregation> networkTrafficByAddress = new ConcurrentHashMap<>();
+    private final Map<String, TickPhaseTimings> tickPhaseTimings = new ConcurrentHashMap<>();
 
     private JfrProfiler() {
         CUSTOM_EVENTS.forEach(FlightRecorder::register);
         FlightRecorder.addPeriodicEvent(ServerTickTimeEvent.class, () -> {
             (new ServerTickTimeEvent(this.currentAverageTickTime)).commit();
         });
+        FlightRecorder.addPeriodicEvent(TickPhaseEvent.class, () -> {
+            for(TickPhaseTimings tickPhaseTimings : this.tickPhaseTimings.values()) {
+                for(TickPhase tickPhase : TickPhase.values()) {
+                    (new TickPhaseEvent(tickPhaseTimings, tickPhase)).commit();
+                }
+            }
+
+        });
         FlightRecorder.addPeriodicEvent(NetworkSummaryEvent.class, () -> {
             Iterator<NetworkSummaryEvent.SumAggregation> iterator = this.networkTrafficByAddress.values().iterator();
 
@@ -113,6 +125,7 @@ public class JfrProfiler implements JvmProfiler {
             throw new IllegalStateException("Not currently profiling");
         } else {
             this.networkTrafficByAddress.clear();
+            this.tickPhaseTimings.clear();
             Path path = this.recording.getDestination();
             this.recording.stop();
             return path;
@@ -185,6 +198,14 @@ public class JfrProfiler implements JvmProfiler {
 
     }
 
+    @Override
+    public void onTickPhases(TickPhaseTimings timings) {
+        if (TickPhaseEvent.TYPE.isEnabled()) {
+            this.tickPhaseTimings.putIfAbsent(timings.getName(), timings);
+        }
+
+    }
+
     @Override
     public void onPacketReceived(int protocolId, int packetId, SocketAddress remoteAddress, int bytes) {
         if (PacketReceivedEvent.TYPE.isEnabled()) {
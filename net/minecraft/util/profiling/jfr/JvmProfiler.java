@@ -4,6 +4,7 @@ import java.net.SocketAddress;
 import java.nio.file.Path;
 import javax.annotation.Nullable;
 import net.minecraft.resources.ResourceKey;
+import net.minecraft.util.profiling.TickPhaseTimings;
 import net.minecraft.util.profiling.jfr.callback.ProfiledDuration;
 import net.minecraft.world.level.ChunkCoordIntPair;
 import net.minecraft.world.level.World;
@@ -23,6 +24,8 @@ public interface JvmProfiler {
 
     void onServerTick(float tickTime);
 
+    void onTickPhases(TickPhaseTimings timings);
+
     void onPacketReceived(int protocolId, int packetId, SocketAddress remoteAddress, int bytes);
 
     void onPacketSent(int protocolId, int packetId, SocketAddress remoteAddress, int bytes);
@@ -71,6 +74,10 @@ public interface JvmProfiler {
         public void onServerTick(float tickTime) {
         }
 
+        @Override
+        public void onTickPhases(TickPhaseTimings timings) {
+        }
+
         @Override
         public ProfiledDuration onWorldLoadedStarted() {
             return noOpCommit;
@@ -0,0 +1,69 @@
+package net.minecraft.util.profiling.jfr.event;
+
+import java.util.Map;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import net.minecraft.obfuscate.DontObfuscate;
+import net.minecraft.util.profiling.TickPhase;
+import net.minecraft.util.profiling.TickPhaseTimings;
+
+@Name("minecraft.TickPhase")
+@Label("Tick Phase Time")
+@Category({"Minecraft", "Ticking"})
+@StackTrace(false)
+@Period("1 s")
+@DontObfuscate
+public class TickPhaseEvent extends Event {
+    public static final String EVENT_NAME = "minecraft.TickPhase";
+    public static final EventType TYPE = EventType.getEventType(TickPhaseEvent.class);
+    @Name("source")
+    @Label("Source")
+    public final String source;
+    @Name("phase")
+    @Label("Phase")
+    public final String phase;
+    @Name("averageDuration")
+    @Label("Average Phase Duration")
+    @Timespan
+    public final long averageDurationNanos;
+    @Name("p50Duration")
+    @Label("Median Phase Duration")
+    @Timespan
+    public final long p50DurationNanos;
+    @Name("p90Duration")
+    @Label("90th Percentile Phase Duration")
+    @Timespan
+    public final long p90DurationNanos;
+    @Name("p99Duration")
+    @Label("99th Percentile Phase Duration")
+    @Timespan
+    public final long p99DurationNanos;
+
+    public TickPhaseEvent(TickPhaseTimings timings, TickPhase phase) {
+        Map<Integer, Double> map = timings.getPercentiles(phase);
+        this.source = timings.getName();
+        this.phase = phase.getName();
+        this.averageDurationNanos = (long)(timings.getAverageMillis(phase) * 1000000.0D);
+        this.p50DurationNanos = map.getOrDefault(50, 0.0D).longValue();
+        this.p90DurationNanos = map.getOrDefault(90, 0.0D).longValue();
+        this.p99DurationNanos = map.getOrDefault(99, 0.0D).longValue();
+    }
+
+    public static class Fields {
+        public static final String SOURCE = "source";
+        public static final String PHASE = "phase";
+        public static final String AVERAGE_DURATION = "averageDuration";
+        public static final String P50_DURATION = "p50Duration";
+        public static final String P90_DURATION = "p90Duration";
+        public static final String P99_DURATION = "p99Duration";
+
+        private Fields() {
+        }
+    }
+}
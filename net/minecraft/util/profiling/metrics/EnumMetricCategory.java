@@ -8,6 +8,9 @@ public enum EnumMetricCategory {
     JVM("jvm"),
     CHUNK_RENDERING("chunk rendering"),
     CHUNK_RENDERING_DISPATCHING("chunk rendering dispatching"),
+    SAVING("saving"),
+    NETWORK("network"),
+    LIGHTING("lighting"),
     CPU("cpu");
 
     private final String description;
@@ -10,17 +10,25 @@ import com.mojang.datafixers.DataFixer;
 import it.unimi.dsi.fastutil.objects.Object2FloatMap;
 import it.unimi.dsi.fastutil.objects.Object2FloatMaps;
 import it.unimi.dsi.fastutil.objects.Object2FloatOpenCustomHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.concurrent.ThreadFactory;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import javax.annotation.Nullable;
 import net.minecraft.ReportedException;
 import net.minecraft.SharedConstants;
 import net.minecraft.SystemUtils;
+import net.minecraft.nbt.NBTCompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.chat.ChatMessage;
 import net.minecraft.network.chat.IChatBaseComponent;
@@ -30,6 +38,7 @@ import net.minecraft.world.level.World;
 import net.minecraft.world.level.chunk.ChunkGenerator;
 import net.minecraft.world.level.chunk.storage.IChunkLoader;
 import net.minecraft.world.level.chunk.storage.RegionFile;
+import net.minecraft.world.level.chunk.storage.RegionFileCompression;
 import net.minecraft.world.level.levelgen.GeneratorSettings;
 import net.minecraft.world.level.storage.Convertable;
 import net.minecraft.world.level.storage.WorldPersistentData;
@@ -41,6 +50,8 @@ public class WorldUpgrader {
     private static final ThreadFactory THREAD_FACTORY = (new ThreadFactoryBuilder()).setDaemon(true).build();
     private final GeneratorSettings worldGenSettings;
     private final boolean eraseCache;
+    @Nullable
+    private final RegionFileCompression recompress;
     private final Convertable.ConversionSession levelStorage;
     private final Thread thread;
     private final DataFixer dataFixer;
@@ -56,8 +67,13 @@ public class WorldUpgrader {
     private final WorldPersistentData overworldDataStorage;
 
     public WorldUpgrader(Convertable.ConversionSession session, DataFixer dataFixer, GeneratorSettings generatorOptions, boolean eraseCache) {
+        this(session, dataFixer, generatorOptions, eraseCache, (RegionFileCompression)null);
+    }
+
+    public WorldUpgrader(Convertable.ConversionSession session, DataFixer dataFixer, GeneratorSettings generatorOptions, boolean eraseCache, @Nullable RegionFileCompression recompress) {
         this.worldGenSettings = generatorOptions;
         this.eraseCache = eraseCache;
+        this.recompress = recompress;
         this.dataFixer = dataFixer;
         this.levelStorage = session;
         this.overworldDataStorage = new WorldPersistentData(this.levelStorage.getDimensionPath(World.OVERWORLD).resolve("data").toFile(), dataFixer);
@@ -81,6 +97,137 @@ public class WorldUpgrader {
     }
 
     private void work() {
+        if (this.recompress != null) {
+            this.recompressRegions(this.recompress);
+        } else {
+            this.upgradeChunks();
+        }
+
+    }
+
+    private void recompressRegions(RegionFileCompression version) {
+        this.totalChunks = 0;
+        ImmutableSet<ResourceKey<World>> immutableSet = this.worldGenSettings.levels();
+        Object2IntMap<ResourceKey<World>> object2IntMap = new Object2IntOpenHashMap<>();
+
+        for(ResourceKey<World> resourceKey : immutableSet) {
+            int i = this.getAllChunkPos(resourceKey).size();
+            object2IntMap.put(resourceKey, i);
+            this.totalChunks += i;
+        }
+
+        if (this.totalChunks == 0) {
+            this.finished = true;
+        } else {
+            long l = SystemUtils.getMonotonicMillis();
+            this.status = new ChatMessage("optimizeWorld.stage.upgrading");
+            float f = 0.0F;
+
+            for(ResourceKey<World> resourceKey2 : immutableSet) {
+                Path path = this.levelStorage.getDimensionPath(resourceKey2).resolve("region");
+                File[] files = path.toFile().listFiles((directory, name) -> {
+                    return name.endsWith(".mca");
+                });
+                int j = object2IntMap.getInt(resourceKey2);
+                int k = this.converted;
+                if (files != null) {
+                    for(File file : files) {
+                        if (!this.running) {
+                            break;
+                        }
+
+                        Matcher matcher = REGEX.matcher(file.getName());
+                        if (matcher.matches()) {
+                            try {
+                                this.recompressRegion(file.toPath(), path, Integer.parseInt(matcher.group(1)) << 5, Integer.parseInt(matcher.group(2)) << 5, version);
+                            } catch (IOException var15) {
+                                LOGGER.error("Error recompressing region file {}", file, var15);
+                            }
+
+                            float g = j == 0 ? 1.0F : (float)(this.converted + this.skipped - k) / (float)j;
+                            this.progressMap.put(resourceKey2, g);
+                            this.progress = f + g * (float)j / (float)this.totalChunks;
+                        }
+                    }
+                }
+
+                f += (float)j / (float)this.totalChunks;
+            }
+
+            this.status = new ChatMessage("optimizeWorld.stage.finished");
+            l = SystemUtils.getMonotonicMillis() - l;
+            LOGGER.info("World recompression finished after {} ms", (long)l);
+            this.finished = true;
+        }
+    }
+
+    private void recompressRegion(Path file, Path directory, int x, int z, RegionFileCompression version) throws IOException {
+        Path path = directory.resolve("recompress");
+        Files.createDirectories(path);
+        Path path2 = path.resolve(file.getFileName());
+        Files.deleteIfExists(path2);
+        RegionFile regionFile = new RegionFile(file, directory, false);
+
+        try {
+            RegionFile regionFile2 = new RegionFile(path2, path, version, false);
+
+            try {
+                for(int i = 0; i < 32; ++i) {
+                    for(int j = 0; j < 32; ++j) {
+                        ChunkCoordIntPair chunkPos = new ChunkCoordIntPair(x + i, z + j);
+                        if (regionFile.doesChunkExist(chunkPos)) {
+                            NBTTagCompound compoundTag = null;
+
+                            try {
+                                DataInputStream dataInputStream = regionFile.getChunkDataInputStream(chunkPos);
+                                if (dataInputStream != null) {
+                                    try {
+                                        compoundTag = NBTCompressedStreamTools.read(dataInputStream);
+                                    } finally {
+                                        dataInputStream.close();
+                                    }
+                                }
+                            } catch (IOException var23) {
+                                LOGGER.error("Error reading chunk {}", chunkPos, var23);
+                            }
+
+                            if (compoundTag != null) {
+                                DataOutputStream dataOutputStream = regionFile2.getChunkDataOutputStream(chunkPos);
+
+                                try {
+                                    NBTCompressedStreamTools.write(compoundTag, dataOutputStream);
+                                } finally {
+                                    dataOutputStream.close();
+                                }
+
+                                ++this.converted;
+                            } else {
+                                ++this.skipped;
+                            }
+                        }
+                    }
+                }
+            } finally {
+                regionFile2.close();
+            }
+        } finally {
+            regionFile.close();
+        }
+
+        Files.move(path2, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        File[] files = path.toFile().listFiles((directoryx, name) -> {
+            return name.endsWith(".mcc");
+        });
+        if (files != null) {
+            for(File file2 : files) {
+                Files.move(file2.toPath(), directory.resolve(file2.getName()), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        Files.deleteIfExists(path);
+    }
+
+    private void upgradeChunks() {
         this.totalChunks = 0;
         Builder<ResourceKey<World>, ListIterator<ChunkCoordIntPair>> builder = ImmutableMap.builder();
         ImmutableSet<ResourceKey<World>> immutableSet = this.worldGenSettings.levels();
@@ -26,6 +26,10 @@ public interface IInventory extends Clearable {
 
     void update();
 
+    default long getModificationCount() {
+        return -1L;
+    }
+
     boolean stillValid(EntityHuman player);
 
     default void startOpen(EntityHuman player) {
@@ -62,6 +62,13 @@ public class InventoryLargeChest implements IInventory {
         this.container2.update();
     }
 
+    @Override
+    public long getModificationCount() {
+        long l = this.container1.getModificationCount();
+        long m = this.container2.getModificationCount();
+        return l >= 0L && m >= 0L ? l << 32 | m : -1L;
+    }
+
     @Override
     public boolean stillValid(EntityHuman player) {
         return this.container1.stillValid(player) && this.container2.stillValid(player);
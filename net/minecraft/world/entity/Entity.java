@@ -71,6 +71,7 @@ import net.minecraft.world.entity.vehicle.EntityBoat;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.enchantment.EnchantmentManager;
 import net.minecraft.world.item.enchantment.EnchantmentProtection;
+import net.minecraft.world.level.BlockCollisions;
 import net.minecraft.world.level.ChunkCoordIntPair;
 import net.minecraft.world.level.Explosion;
 import net.minecraft.world.level.GameRules;
@@ -286,6 +287,7 @@ public abstract class Entity implements INamableTileEntity, EntityAccess, IComma
         return this.packetCoordinates;
     }
 
+    @Override
     public EntityTypes<?> getEntityType() {
         return this.type;
     }
@@ -779,28 +781,75 @@ public abstract class Entity implements INamableTileEntity, EntityAccess, IComma
 
     private Vec3D collide(Vec3D movement) {
         AxisAlignedBB aABB = this.getBoundingBox();
-        List<VoxelShape> list = this.level.getEntityCollisions(this, aABB.expandTowards(movement));
-        Vec3D vec3 = movement.lengthSqr() == 0.0D ? movement : collideBoundingBox(this, movement, aABB, this.level, list);
-        boolean bl = movement.x != vec3.x;
-        boolean bl2 = movement.y != vec3.y;
-        boolean bl3 = movement.z != vec3.z;
-        boolean bl4 = this.onGround || bl2 && movement.y < 0.0D;
-        if (this.maxUpStep > 0.0F && bl4 && (bl || bl3)) {
-            Vec3D vec32 = collideBoundingBox(this, new Vec3D(movement.x, (double)this.maxUpStep, movement.z), aABB, this.level, list);
-            Vec3D vec33 = collideBoundingBox(this, new Vec3D(0.0D, (double)this.maxUpStep, 0.0D), aABB.expandTowards(movement.x, 0.0D, movement.z), this.level, list);
-            if (vec33.y < (double)this.maxUpStep) {
-                Vec3D vec34 = collideBoundingBox(this, new Vec3D(movement.x, 0.0D, movement.z), aABB.move(vec33), this.level, list).add(vec33);
-                if (vec34.horizontalDistanceSqr() > vec32.horizontalDistanceSqr()) {
-                    vec32 = vec34;
+        EntityCollisionBuffers entityCollisionBuffers = EntityCollisionBuffers.get();
+        List<VoxelShape> list = entityCollisionBuffers.entityShapes;
+        List<VoxelShape> list2 = entityCollisionBuffers.shapes;
+
+        try {
+            this.collectEntityCollisions(aABB.expandTowards(movement), entityCollisionBuffers.collisionCandidates, list);
+            Vec3D vec3 = movement.lengthSqr() == 0.0D ? movement : collideBoundingBox(this, movement, aABB, this.level, list, list2);
+            boolean bl = movement.x != vec3.x;
+            boolean bl2 = movement.y != vec3.y;
+            boolean bl3 = movement.z != vec3.z;
+            boolean bl4 = this.onGround || bl2 && movement.y < 0.0D;
+            if (this.maxUpStep > 0.0F && bl4 && (bl || bl3)) {
+                Vec3D vec32 = collideBoundingBox(this, new Vec3D(movement.x, (double)this.maxUpStep, movement.z), aABB, this.level, list, list2);
+                Vec3D vec33 = collideBoundingBox(this, new Vec3D(0.0D, (double)this.maxUpStep, 0.0D), aABB.expandTowards(movement.x, 0.0D, movement.z), this.level, list, list2);
+                if (vec33.y < (double)this.maxUpStep) {
+                    Vec3D vec34 = collideBoundingBox(this, new Vec3D(movement.x, 0.0D, movement.z), aABB.move(vec33), this.level, list, list2).add(vec33);
+                    if (vec34.horizontalDistanceSqr() > vec32.horizontalDistanceSqr()) {
+                        vec32 = vec34;
+                    }
+                }
+
+                if (vec32.horizontalDistanceSqr() > vec3.horizontalDistanceSqr()) {
+                    return vec32.add(collideBoundingBox(this, new Vec3D(0.0D, -vec32.y + movement.y, 0.0D), aABB.move(vec32), this.level, list, list2));
                 }
             }
 
-            if (vec32.horizontalDistanceSqr() > vec3.horizontalDistanceSqr()) {
-                return vec32.add(collideBoundingBox(this, new Vec3D(0.0D, -vec32.y + movement.y, 0.0D), aABB.move(vec32), this.level, list));
+            return vec3;
+        } finally {
+            list.clear();
+        }
+    }
+
+    private void collectEntityCollisions(AxisAlignedBB box, List<Entity> candidates, List<VoxelShape> shapes) {
+        if (!(box.getSize() < 1.0E-7D)) {
+            try {
+                this.level.getEntities(this, box.inflate(1.0E-7D), IEntitySelector.NO_SPECTATORS, candidates);
+
+                for(int i = 0; i < candidates.size(); ++i) {
+                    Entity entity = candidates.get(i);
+                    if (this.canCollideWith(entity)) {
+                        shapes.add(VoxelShapes.create(entity.getBoundingBox()));
+                    }
+                }
+            } finally {
+                candidates.clear();
             }
+
         }
+    }
+
+    private static Vec3D collideBoundingBox(Entity entity, Vec3D movement, AxisAlignedBB entityBoundingBox, World world, List<VoxelShape> collisions, List<VoxelShape> shapes) {
+        try {
+            shapes.addAll(collisions);
+            AxisAlignedBB aABB = entityBoundingBox.expandTowards(movement);
+            WorldBorder worldBorder = world.getWorldBorder();
+            if (worldBorder.isInsideCloseToBorder(entity, aABB)) {
+                shapes.add(worldBorder.getCollisionShape());
+            }
+
+            BlockCollisions blockCollisions = new BlockCollisions(world, entity, aABB);
+
+            while(blockCollisions.hasNext()) {
+                shapes.add(blockCollisions.next());
+            }
 
-        return vec3;
+            return collideWithShapes(movement, entityBoundingBox, shapes);
+        } finally {
+            shapes.clear();
+        }
     }
 
     public static Vec3D collideBoundingBox(@Nullable Entity entity, Vec3D movement, AxisAlignedBB entityBoundingBox, World world, List<VoxelShape> collisions) {
@@ -2228,9 +2277,27 @@ public abstract class Entity implements INamableTileEntity, EntityAccess, IComma
         this.portalEntrancePos = original.portalEntrancePos;
     }
 
+    protected boolean deferDimensionChange(WorldServer destination) {
+        MinecraftServer minecraftServer = this.getMinecraftServer();
+        if (minecraftServer != null && minecraftServer.isTickingDimensionsInParallel()) {
+            World level = this.level;
+            minecraftServer.deferCrossDimension(() -> {
+                if (!this.isRemoved() && this.level == level) {
+                    this.changeDimension(destination);
+                }
+
+            });
+            return true;
+        } else {
+            return false;
+        }
+    }
+
     @Nullable
     public Entity changeDimension(WorldServer destination) {
-        if (this.level instanceof WorldServer && !this.isRemoved()) {
+        if (this.deferDimensionChange(destination)) {
+            return null;
+        } else if (this.level instanceof WorldServer && !this.isRemoved()) {
             this.level.getMethodProfiler().enter("changeDimension");
             this.decouple();
             this.level.getMethodProfiler().enter("reposition");
@@ -2511,6 +2578,7 @@ public abstract class Entity implements INamableTileEntity, EntityAccess, IComma
 
     public final void setBoundingBox(AxisAlignedBB boundingBox) {
         this.bb = boundingBox;
+        this.levelCallback.onBoundingBoxChange();
     }
 
     protected float getHeadHeight(EntityPose pose, EntitySize dimensions) {
@@ -0,0 +1,20 @@
+package net.minecraft.world.entity;
+
+import com.google.common.collect.Lists;
+import java.util.List;
+import net.minecraft.world.phys.shapes.VoxelShape;
+
+final class EntityCollisionBuffers {
+    private static final ThreadLocal<EntityCollisionBuffers> BUFFERS = ThreadLocal.withInitial(EntityCollisionBuffers::new);
+    final List<Entity> collisionCandidates = Lists.newArrayList();
+    final List<Entity> pushCandidates = Lists.newArrayList();
+    final List<VoxelShape> entityShapes = Lists.newArrayList();
+    final List<VoxelShape> shapes = Lists.newArrayList();
+
+    private EntityCollisionBuffers() {
+    }
+
+    static EntityCollisionBuffers get() {
+        return BUFFERS.get();
+    }
+}
@@ -2592,27 +2592,46 @@ public abstract class EntityLiving extends Entity {
     }
 
     protected void collideNearby() {
-        List<Entity> list = this.level.getEntities(this, this.getBoundingBox(), IEntitySelector.pushableBy(this));
-        if (!list.isEmpty()) {
-            int i = this.level.getGameRules().getInt(GameRules.RULE_MAX_ENTITY_CRAMMING);
-            if (i > 0 && list.size() > i - 1 && this.random.nextInt(4) == 0) {
-                int j = 0;
+        List<Entity> list = EntityCollisionBuffers.get().pushCandidates;
 
-                for(int k = 0; k < list.size(); ++k) {
-                    if (!list.get(k).isPassenger()) {
-                        ++j;
-                    }
-                }
+        try {
+            this.level.getEntities(this, this.getBoundingBox(), IEntitySelector.NO_SPECTATORS, list);
+            int i = 0;
 
-                if (j > i - 1) {
-                    this.damageEntity(DamageSource.CRAMMING, 6.0F);
+            for(int j = 0; j < list.size(); ++j) {
+                Entity entity = list.get(j);
+                if (IEntitySelector.isPushableBy(this, entity)) {
+                    list.set(i++, entity);
                 }
             }
 
-            for(int l = 0; l < list.size(); ++l) {
-                Entity entity = list.get(l);
-                this.doPush(entity);
+            while(list.size() > i) {
+                list.remove(list.size() - 1);
+            }
+
+            if (!list.isEmpty()) {
+                int k = this.level.getGameRules().getInt(GameRules.RULE_MAX_ENTITY_CRAMMING);
+                if (k > 0 && list.size() > k - 1 && this.random.nextInt(4) == 0) {
+                    int l = 0;
+
+                    for(int m = 0; m < list.size(); ++m) {
+                        if (!list.get(m).isPassenger()) {
+                            ++l;
+                        }
+                    }
+
+                    if (l > k - 1) {
+                        this.damageEntity(DamageSource.CRAMMING, 6.0F);
+                    }
+                }
+
+                for(int n = 0; n < list.size(); ++n) {
+                    Entity entity2 = list.get(n);
+                    this.doPush(entity2);
+                }
             }
+        } finally {
+            list.clear();
         }
 
     }
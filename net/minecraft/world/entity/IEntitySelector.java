@@ -41,25 +41,35 @@ public final class IEntitySelector {
         ScoreboardTeamBase team = entity.getScoreboardTeam();
         ScoreboardTeamBase.EnumTeamPush collisionRule = team == null ? ScoreboardTeamBase.EnumTeamPush.ALWAYS : team.getCollisionRule();
         return (Predicate<Entity>)(collisionRule == ScoreboardTeamBase.EnumTeamPush.NEVER ? Predicates.alwaysFalse() : NO_SPECTATORS.and((entityx) -> {
-            if (!entityx.isCollidable()) {
+            return canPush(entity, team, collisionRule, entityx);
+        }));
+    }
+
+    public static boolean isPushableBy(Entity entity, Entity target) {
+        ScoreboardTeamBase team = entity.getScoreboardTeam();
+        ScoreboardTeamBase.EnumTeamPush collisionRule = team == null ? ScoreboardTeamBase.EnumTeamPush.ALWAYS : team.getCollisionRule();
+        return collisionRule != ScoreboardTeamBase.EnumTeamPush.NEVER && NO_SPECTATORS.test(target) && canPush(entity, team, collisionRule, target);
+    }
+
+    private static boolean canPush(Entity entity, @Nullable ScoreboardTeamBase team, ScoreboardTeamBase.EnumTeamPush collisionRule, Entity target) {
+        if (!target.isCollidable()) {
+            return false;
+        } else if (!entity.level.isClientSide || target instanceof EntityHuman && ((EntityHuman)target).isLocalPlayer()) {
+            ScoreboardTeamBase team2 = target.getScoreboardTeam();
+            ScoreboardTeamBase.EnumTeamPush collisionRule2 = team2 == null ? ScoreboardTeamBase.EnumTeamPush.ALWAYS : team2.getCollisionRule();
+            if (collisionRule2 == ScoreboardTeamBase.EnumTeamPush.NEVER) {
                 return false;
-            } else if (!entity.level.isClientSide || entityx instanceof EntityHuman && ((EntityHuman)entityx).isLocalPlayer()) {
-                ScoreboardTeamBase team2 = entityx.getScoreboardTeam();
-                ScoreboardTeamBase.EnumTeamPush collisionRule2 = team2 == null ? ScoreboardTeamBase.EnumTeamPush.ALWAYS : team2.getCollisionRule();
-                if (collisionRule2 == ScoreboardTeamBase.EnumTeamPush.NEVER) {
+            } else {
+                boolean bl = team != null && team.isAlly(team2);
+                if ((collisionRule == ScoreboardTeamBase.EnumTeamPush.PUSH_OWN_TEAM || collisionRule2 == ScoreboardTeamBase.EnumTeamPush.PUSH_OWN_TEAM) && bl) {
                     return false;
                 } else {
-                    boolean bl = team != null && team.isAlly(team2);
-                    if ((collisionRule == ScoreboardTeamBase.EnumTeamPush.PUSH_OWN_TEAM || collisionRule2 == ScoreboardTeamBase.EnumTeamPush.PUSH_OWN_TEAM) && bl) {
-                        return false;
-                    } else {
-                        return collisionRule != ScoreboardTeamBase.EnumTeamPush.PUSH_OTHER_TEAMS && collisionRule2 != ScoreboardTeamBase.EnumTeamPush.PUSH_OTHER_TEAMS || bl;
-                    }
+                    return collisionRule != ScoreboardTeamBase.EnumTeamPush.PUSH_OTHER_TEAMS && collisionRule2 != ScoreboardTeamBase.EnumTeamPush.PUSH_OTHER_TEAMS || bl;
                 }
-            } else {
-                return false;
             }
-        }));
+        } else {
+            return false;
+        }
     }
 
     public static Predicate<Entity> notRiding(Entity entity) {
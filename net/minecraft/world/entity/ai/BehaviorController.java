@@ -14,11 +14,14 @@ import com.mojang.serialization.DynamicOps;
 import com.mojang.serialization.MapCodec;
 import com.mojang.serialization.MapLike;
 import com.mojang.serialization.RecordBuilder;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
 import java.util.Set;
 import java.util.Map.Entry;
 import java.util.function.Supplier;
@@ -34,6 +37,7 @@ import net.minecraft.world.entity.ai.memory.ExpirableMemory;
 import net.minecraft.world.entity.ai.memory.MemoryModuleType;
 import net.minecraft.world.entity.ai.memory.MemoryStatus;
 import net.minecraft.world.entity.ai.sensing.Sensor;
+import net.minecraft.world.entity.ai.sensing.SensorScheduler;
 import net.minecraft.world.entity.ai.sensing.SensorType;
 import net.minecraft.world.entity.schedule.Activity;
 import net.minecraft.world.entity.schedule.Schedule;
@@ -43,6 +47,8 @@ import org.apache.logging.log4j.Logger;
 
 public class BehaviorController<E extends EntityLiving> {
     static final Logger LOGGER = LogManager.getLogger();
+    private static final Random RANDOM = new Random();
+    public static final boolean INDEXED_DISPATCH = Boolean.getBoolean("brain.indexedDispatch");
     private final Supplier<Codec<BehaviorController<E>>> codec;
     private static final int SCHEDULE_UPDATE_DELAY = 20;
     private final Map<MemoryModuleType<?>, Optional<? extends ExpirableMemory<?>>> memories = Maps.newHashMap();
@@ -55,6 +61,10 @@ public class BehaviorController<E extends EntityLiving> {
     private final Set<Activity> activeActivities = Sets.newHashSet();
     private Activity defaultActivity = Activity.IDLE;
     private long lastScheduleUpdate = -9999L;
+    private final Object2LongMap<MemoryModuleType<?>> memoryChanges = new Object2LongOpenHashMap<>();
+    private final Map<Behavior<? super E>, BehaviorController.BlockedBehavior> blockedBehaviors = Maps.newIdentityHashMap();
+    private long memoryChangeCount;
+    private int skippedBehaviors;
 
     public static <E extends EntityLiving> BehaviorController.Provider<E> provider(Collection<? extends MemoryModuleType<?>> memoryModules, Collection<? extends SensorType<? extends Sensor<? super E>>> sensors) {
         return new BehaviorController.Provider<>(memoryModules, sensors);
@@ -117,6 +127,14 @@ public class BehaviorController<E extends EntityLiving> {
             this.sensors.put(sensorType, sensorType.create());
         }
 
+        if (SensorScheduler.isEnabled()) {
+            int i = RANDOM.nextInt(20);
+
+            for(Sensor<? super E> sensor : this.sensors.values()) {
+                sensor.alignTo(i);
+            }
+        }
+
         for(Sensor<? super E> sensor : this.sensors.values()) {
             for(MemoryModuleType<?> memoryModuleType2 : sensor.requires()) {
                 this.memories.put(memoryModuleType2, Optional.empty());
@@ -164,7 +182,10 @@ public class BehaviorController<E extends EntityLiving> {
             if (memory.isPresent() && this.isEmptyCollection(memory.get().getValue())) {
                 this.removeMemory(type);
             } else {
-                this.memories.put(type, memory);
+                Optional<? extends ExpirableMemory<?>> optional = this.memories.put(type, memory);
+                if (optional.isPresent() != memory.isPresent()) {
+                    this.memoryChanges.put(type, ++this.memoryChangeCount);
+                }
             }
         }
 
@@ -347,6 +368,7 @@ public class BehaviorController<E extends EntityLiving> {
     @VisibleForTesting
     public void removeAllBehaviors() {
         this.availableBehaviorsByPriority.clear();
+        this.blockedBehaviors.clear();
     }
 
     public boolean isActive(Activity activity) {
@@ -374,8 +396,16 @@ public class BehaviorController<E extends EntityLiving> {
     }
 
     private void tickSensors(WorldServer world, E entity) {
-        for(Sensor<? super E> sensor : this.sensors.values()) {
-            sensor.tick(world, entity);
+        if (SensorScheduler.isEnabled()) {
+            SensorScheduler sensorScheduler = world.getSensorScheduler();
+
+            for(Entry<SensorType<? extends Sensor<? super E>>, Sensor<? super E>> entry : this.sensors.entrySet()) {
+                sensorScheduler.tick(world, entity, entry.getKey(), entry.getValue());
+            }
+        } else {
+            for(Sensor<? super E> sensor : this.sensors.values()) {
+                sensor.tick(world, entity);
+            }
         }
 
     }
@@ -411,7 +441,11 @@ public class BehaviorController<E extends EntityLiving> {
                 if (this.activeActivities.contains(activity)) {
                     for(Behavior<? super E> behavior : entry.getValue()) {
                         if (behavior.getStatus() == Behavior.Status.STOPPED) {
-                            behavior.tryStart(world, entity, l);
+                            if (INDEXED_DISPATCH) {
+                                this.tryStartIndexed(world, entity, behavior, l);
+                            } else {
+                                behavior.tryStart(world, entity, l);
+                            }
                         }
                     }
                 }
@@ -420,6 +454,50 @@ public class BehaviorController<E extends EntityLiving> {
 
     }
 
+    private void tryStartIndexed(WorldServer world, E entity, Behavior<? super E> behavior, long time) {
+        BehaviorController.BlockedBehavior blockedBehavior = this.blockedBehaviors.get(behavior);
+        if (blockedBehavior != null && !this.hasChangedSince(blockedBehavior)) {
+            ++this.skippedBehaviors;
+        } else {
+            MemoryModuleType<?> memoryModuleType = behavior.getMissingMemory(entity);
+            if (memoryModuleType == null) {
+                if (blockedBehavior != null) {
+                    this.blockedBehaviors.remove(behavior);
+                }
+
+                behavior.tryStartWithMemories(world, entity, time);
+            } else if (blockedBehavior == null) {
+                this.blockedBehaviors.put(behavior, new BehaviorController.BlockedBehavior(memoryModuleType, this.memoryChangeCount));
+            } else {
+                blockedBehavior.memory = memoryModuleType;
+                blockedBehavior.since = this.memoryChangeCount;
+            }
+
+        }
+    }
+
+    private boolean hasChangedSince(BehaviorController.BlockedBehavior blockedBehavior) {
+        return this.memoryChanges.getLong(blockedBehavior.memory) > blockedBehavior.since;
+    }
+
+    @VisibleForTesting
+    public int countInconsistentSkips(E entity) {
+        int i = 0;
+
+        for(Entry<Behavior<? super E>, BehaviorController.BlockedBehavior> entry : this.blockedBehaviors.entrySet()) {
+            if (!this.hasChangedSince(entry.getValue()) && entry.getKey().getMissingMemory(entity) == null) {
+                ++i;
+            }
+        }
+
+        return i;
+    }
+
+    @VisibleForTesting
+    public int getSkippedBehaviors() {
+        return this.skippedBehaviors;
+    }
+
     private void tickEachRunningBehavior(WorldServer world, E entity) {
         long l = world.getTime();
 
@@ -460,6 +538,16 @@ public class BehaviorController<E extends EntityLiving> {
         return builder.build();
     }
 
+    static final class BlockedBehavior {
+        MemoryModuleType<?> memory;
+        long since;
+
+        BlockedBehavior(MemoryModuleType<?> memory, long since) {
+            this.memory = memory;
+            this.since = since;
+        }
+    }
+
     static final class MemoryValue<U> {
         private final MemoryModuleType<U> type;
         private final Optional<? extends ExpirableMemory<U>> value;
@@ -2,6 +2,7 @@ package net.minecraft.world.entity.ai.behavior;
 
 import java.util.Map;
 import java.util.Map.Entry;
+import javax.annotation.Nullable;
 import net.minecraft.server.level.WorldServer;
 import net.minecraft.world.entity.EntityLiving;
 import net.minecraft.world.entity.ai.memory.MemoryModuleType;
@@ -34,7 +35,11 @@ public abstract class Behavior<E extends EntityLiving> {
     }
 
     public final boolean tryStart(WorldServer world, E entity, long time) {
-        if (this.hasRequiredMemories(entity) && this.checkExtraStartConditions(world, entity)) {
+        return this.hasRequiredMemories(entity) && this.tryStartWithMemories(world, entity, time);
+    }
+
+    public final boolean tryStartWithMemories(WorldServer world, E entity, long time) {
+        if (this.checkExtraStartConditions(world, entity)) {
             this.status = Behavior.Status.RUNNING;
             int i = this.minDuration + world.getRandom().nextInt(this.maxDuration + 1 - this.minDuration);
             this.endTimestamp = time + (long)i;
@@ -86,15 +91,20 @@ public abstract class Behavior<E extends EntityLiving> {
     }
 
     private boolean hasRequiredMemories(E entity) {
+        return this.getMissingMemory(entity) == null;
+    }
+
+    @Nullable
+    public MemoryModuleType<?> getMissingMemory(E entity) {
         for(Entry<MemoryModuleType<?>, MemoryStatus> entry : this.entryCondition.entrySet()) {
             MemoryModuleType<?> memoryModuleType = entry.getKey();
             MemoryStatus memoryStatus = entry.getValue();
             if (!entity.getBehaviorController().checkMemory(memoryModuleType, memoryStatus)) {
-                return false;
+                return memoryModuleType;
             }
         }
 
-        return true;
+        return null;
     }
 
     public static enum Status {
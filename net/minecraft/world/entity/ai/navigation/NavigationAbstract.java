@@ -2,6 +2,9 @@ package net.minecraft.world.entity.ai.navigation;
 
 import com.google.common.collect.ImmutableSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
@@ -9,22 +12,28 @@ import net.minecraft.SystemUtils;
 import net.minecraft.core.BaseBlockPosition;
 import net.minecraft.core.BlockPosition;
 import net.minecraft.network.protocol.game.PacketDebug;
+import net.minecraft.server.level.WorldServer;
 import net.minecraft.tags.TagsBlock;
 import net.minecraft.util.MathHelper;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityInsentient;
 import net.minecraft.world.entity.ai.attributes.GenericAttributes;
 import net.minecraft.world.level.ChunkCache;
+import net.minecraft.world.level.ChunkCacheSnapshot;
 import net.minecraft.world.level.World;
 import net.minecraft.world.level.block.state.IBlockData;
 import net.minecraft.world.level.pathfinder.PathEntity;
 import net.minecraft.world.level.pathfinder.PathPoint;
 import net.minecraft.world.level.pathfinder.Pathfinder;
 import net.minecraft.world.level.pathfinder.PathfinderAbstract;
+import net.minecraft.world.level.pathfinder.PathfinderMobState;
 import net.minecraft.world.level.pathfinder.PathfinderNormal;
 import net.minecraft.world.phys.Vec3D;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 public abstract class NavigationAbstract {
+    private static final Logger LOGGER = LogManager.getLogger();
     private static final int MAX_TIME_RECOMPUTE = 20;
     protected final EntityInsentient mob;
     protected final World level;
@@ -47,13 +56,20 @@ public abstract class NavigationAbstract {
     private int reachRange;
     private float maxVisitedNodesMultiplier = 1.0F;
     public final Pathfinder pathFinder;
+    private final PathfinderMobState mobState;
     private boolean isStuck;
+    @Nullable
+    private NavigationAbstract.PathRequest pendingPath;
+    @Nullable
+    private CompletableFuture<PathEntity> runningSearch;
+    private boolean deferPathfinding;
 
     public NavigationAbstract(EntityInsentient mob, World world) {
         this.mob = mob;
         this.level = world;
         int i = MathHelper.floor(mob.getAttributeValue(GenericAttributes.FOLLOW_RANGE) * 16.0D);
         this.pathFinder = this.createPathFinder(i);
+        this.mobState = PathfinderMobState.of(mob);
     }
 
     public void resetMaxVisitedNodesMultiplier() {
@@ -81,7 +97,19 @@ public abstract class NavigationAbstract {
 
     public void recomputePath() {
         if (this.level.getTime() - this.timeLastRecompute > 20L) {
-            if (this.targetPos != null) {
+            if (this.targetPos != null && this.canDeferPathfinding()) {
+                PathEntity path = this.path;
+                this.path = null;
+                this.createPathDeferred(() -> {
+                    return this.createPath(this.targetPos, this.reachRange);
+                }, (Entity)null, this.speedModifier);
+                if (this.pendingPath != null) {
+                    this.path = path;
+                }
+
+                this.timeLastRecompute = this.level.getTime();
+                this.hasDelayedRecomputation = false;
+            } else if (this.targetPos != null) {
                 this.path = null;
                 this.path = this.createPath(this.targetPos, this.reachRange);
                 this.timeLastRecompute = this.level.getTime();
@@ -139,32 +167,164 @@ public abstract class NavigationAbstract {
         } else if (this.path != null && !this.path.isDone() && positions.contains(this.targetPos)) {
             return this.path;
         } else {
-            this.level.getMethodProfiler().enter("pathfind");
+            BlockPosition blockPos = this.mob.getChunkCoordinates();
+            PathCache.Key key = PathCache.ENABLED && this.level instanceof WorldServer ? new PathCache.Key(this.mob, this.pathFinder.nodeEvaluator, positions, distance, useHeadPos) : null;
+            PathEntity path = key != null ? this.findCachedPath(key, blockPos, distance) : null;
+            if (path != null) {
+                return path;
+            } else if (this.deferPathfinding) {
+                this.requestPath(positions, range, useHeadPos, distance, followRange, key);
+                return null;
+            } else {
+                if (this.runningSearch != null && !this.runningSearch.isDone()) {
+                    this.runningSearch.handle((result, throwable) -> {
+                        return null;
+                    }).join();
+                }
+
+                this.level.getMethodProfiler().enter("pathfind");
+                BlockPosition blockPos2 = useHeadPos ? blockPos.above() : blockPos;
+                int i = (int)(followRange + (float)range);
+                ChunkCache pathNavigationRegion = new ChunkCache(this.level, blockPos2.offset(-i, -i, -i), blockPos2.offset(i, i, i));
+                path = this.pathFinder.findPath(pathNavigationRegion, this.mobState, positions, followRange, distance, this.maxVisitedNodesMultiplier);
+                this.level.getMethodProfiler().exit();
+                if (path != null && path.getTarget() != null) {
+                    this.targetPos = path.getTarget();
+                    this.reachRange = distance;
+                    this.resetStuckTimeout();
+                    if (key != null) {
+                        this.storeCachedPath(key, path);
+                    }
+                }
+
+                return path;
+            }
+        }
+    }
+
+    @Nullable
+    private PathEntity findCachedPath(PathCache.Key key, BlockPosition start, int distance) {
+        PathEntity path = ((WorldServer)this.level).getPathCache().find(key, start, this.level.getTime());
+        if (path != null) {
+            this.targetPos = path.getTarget();
+            this.reachRange = distance;
+            this.resetStuckTimeout();
+        }
+
+        return path;
+    }
+
+    private void storeCachedPath(PathCache.Key key, PathEntity path) {
+        ((WorldServer)this.level).getPathCache().store(key, path, this.level.getTime());
+    }
+
+    private void requestPath(Set<BlockPosition> positions, int range, boolean useHeadPos, int distance, float followRange, @Nullable PathCache.Key key) {
+        if (this.pendingPath == null || !this.pendingPath.positions.equals(positions)) {
+            PathfindingScheduler pathfindingScheduler = ((WorldServer)this.level).getPathfindingScheduler();
+            if (this.pendingPath != null) {
+                pathfindingScheduler.onDiscarded();
+            }
+
             BlockPosition blockPos = useHeadPos ? this.mob.getChunkCoordinates().above() : this.mob.getChunkCoordinates();
             int i = (int)(followRange + (float)range);
-            ChunkCache pathNavigationRegion = new ChunkCache(this.level, blockPos.offset(-i, -i, -i), blockPos.offset(i, i, i));
-            PathEntity path = this.pathFinder.findPath(pathNavigationRegion, this.mob, positions, followRange, distance, this.maxVisitedNodesMultiplier);
-            this.level.getMethodProfiler().exit();
-            if (path != null && path.getTarget() != null) {
-                this.targetPos = path.getTarget();
-                this.reachRange = distance;
-                this.resetStuckTimeout();
+            ChunkCache pathNavigationRegion = new ChunkCacheSnapshot(this.level, blockPos.offset(-i, -i, -i), blockPos.offset(i, i, i), pathfindingScheduler);
+            PathfinderMobState pathfinderMobState = PathfinderMobState.snapshot(this.mob);
+            float f = this.maxVisitedNodesMultiplier;
+            this.runningSearch = pathfindingScheduler.submit(this.runningSearch, () -> {
+                return this.pathFinder.findPath(pathNavigationRegion, pathfinderMobState, positions, followRange, distance, f);
+            });
+            this.pendingPath = new NavigationAbstract.PathRequest(positions, distance, key, this.runningSearch);
+        }
+
+    }
+
+    private boolean createPathDeferred(Supplier<PathEntity> pathSupplier, @Nullable Entity target, double speed) {
+        this.deferPathfinding = true;
+
+        PathEntity path;
+        try {
+            path = pathSupplier.get();
+        } finally {
+            this.deferPathfinding = false;
+        }
+
+        if (path != null) {
+            return this.moveTo(path, speed);
+        } else if (this.pendingPath != null) {
+            this.pendingPath.setTarget(target, speed);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    protected void applyPendingPath() {
+        if (this.pendingPath != null && this.pendingPath.future.isDone()) {
+            NavigationAbstract.PathRequest pathRequest = this.pendingPath;
+            PathfindingScheduler pathfindingScheduler = ((WorldServer)this.level).getPathfindingScheduler();
+            this.pendingPath = null;
+
+            PathEntity path;
+            try {
+                path = pathRequest.future.join();
+            } catch (CompletionException var5) {
+                LOGGER.error("Failed to find path for {}", this.mob, var5.getCause());
+                path = null;
             }
 
-            return path;
+            if (pathRequest.isStale()) {
+                pathfindingScheduler.onDiscarded();
+                if (pathRequest.target.isAlive()) {
+                    this.moveTo(pathRequest.target, pathRequest.speed);
+                }
+            } else {
+                pathfindingScheduler.onApplied(pathRequest.submitTime);
+                if (path != null && path.getTarget() != null) {
+                    this.targetPos = path.getTarget();
+                    this.reachRange = pathRequest.distance;
+                    this.resetStuckTimeout();
+                    if (pathRequest.key != null) {
+                        this.storeCachedPath(pathRequest.key, path);
+                    }
+                }
+
+                this.moveTo(path, pathRequest.speed);
+            }
         }
+
+    }
+
+    private boolean canDeferPathfinding() {
+        return PathfindingScheduler.isEnabled() && this.level instanceof WorldServer;
+    }
+
+    private void discardPendingPath() {
+        if (this.pendingPath != null) {
+            ((WorldServer)this.level).getPathfindingScheduler().onDiscarded();
+            this.pendingPath = null;
+        }
+
     }
 
     public boolean moveTo(double x, double y, double z, double speed) {
-        return this.moveTo(this.createPath(x, y, z, 1), speed);
+        return this.canDeferPathfinding() ? this.createPathDeferred(() -> {
+            return this.createPath(x, y, z, 1);
+        }, (Entity)null, speed) : this.moveTo(this.createPath(x, y, z, 1), speed);
     }
 
     public boolean moveTo(Entity entity, double speed) {
-        PathEntity path = this.createPath(entity, 1);
-        return path != null && this.moveTo(path, speed);
+        if (this.canDeferPathfinding()) {
+            return this.createPathDeferred(() -> {
+                return this.createPath(entity, 1);
+            }, entity, speed);
+        } else {
+            PathEntity path = this.createPath(entity, 1);
+            return path != null && this.moveTo(path, speed);
+        }
     }
 
     public boolean moveTo(@Nullable PathEntity path, double speed) {
+        this.discardPendingPath();
         if (path == null) {
             this.path = null;
             return false;
@@ -197,11 +357,12 @@ public abstract class NavigationAbstract {
 
     public void tick() {
         ++this.tick;
+        this.applyPendingPath();
         if (this.hasDelayedRecomputation) {
             this.recomputePath();
         }
 
-        if (!this.isDone()) {
+        if (this.isFollowingPath()) {
             if (this.canUpdatePath()) {
                 this.followThePath();
             } else if (this.path != null && !this.path.isDone()) {
@@ -213,7 +374,7 @@ public abstract class NavigationAbstract {
             }
 
             PacketDebug.sendPathFindingPacket(this.level, this.mob, this.path, this.maxDistanceToWaypoint);
-            if (!this.isDone()) {
+            if (this.isFollowingPath()) {
                 Vec3D vec33 = this.path.getNextEntityPos(this.mob);
                 this.mob.getControllerMove().setWantedPosition(vec33.x, this.getGroundY(vec33), vec33.z, this.speedModifier);
             }
@@ -303,7 +464,11 @@ public abstract class NavigationAbstract {
     }
 
     public boolean isDone() {
-        return this.path == null || this.path.isDone();
+        return this.pendingPath == null && !this.isFollowingPath();
+    }
+
+    protected boolean isFollowingPath() {
+        return this.path != null && !this.path.isDone();
     }
 
     public boolean isInProgress() {
@@ -311,6 +476,7 @@ public abstract class NavigationAbstract {
     }
 
     public void stop() {
+        this.discardPendingPath();
         this.path = null;
     }
 
@@ -378,4 +544,35 @@ public abstract class NavigationAbstract {
     public boolean isStuck() {
         return this.isStuck;
     }
+
+    static class PathRequest {
+        final Set<BlockPosition> positions;
+        final int distance;
+        @Nullable
+        final PathCache.Key key;
+        final CompletableFuture<PathEntity> future;
+        final long submitTime = SystemUtils.getMonotonicNanos();
+        @Nullable
+        Entity target;
+        @Nullable
+        BlockPosition targetPos;
+        double speed;
+
+        PathRequest(Set<BlockPosition> positions, int distance, @Nullable PathCache.Key key, CompletableFuture<PathEntity> future) {
+            this.positions = positions;
+            this.distance = distance;
+            this.key = key;
+            this.future = future;
+        }
+
+        void setTarget(@Nullable Entity target, double speed) {
+            this.target = target;
+            this.targetPos = target != null ? target.getChunkCoordinates() : null;
+            this.speed = speed;
+        }
+
+        boolean isStale() {
+            return this.target != null && (!this.target.isAlive() || !this.target.getChunkCoordinates().closerThan(this.targetPos, 2.0D));
+        }
+    }
 }
@@ -41,11 +41,12 @@ public class NavigationFlying extends NavigationAbstract {
     @Override
     public void tick() {
         ++this.tick;
+        this.applyPendingPath();
         if (this.hasDelayedRecomputation) {
             this.recomputePath();
         }
 
-        if (!this.isDone()) {
+        if (this.isFollowingPath()) {
             if (this.canUpdatePath()) {
                 this.followThePath();
             } else if (this.path != null && !this.path.isDone()) {
@@ -56,7 +57,7 @@ public class NavigationFlying extends NavigationAbstract {
             }
 
             PacketDebug.sendPathFindingPacket(this.level, this.mob, this.path, this.maxDistanceToWaypoint);
-            if (!this.isDone()) {
+            if (this.isFollowingPath()) {
                 Vec3D vec32 = this.path.getNextEntityPos(this.mob);
                 this.mob.getControllerMove().setWantedPosition(vec32.x, vec32.y, vec32.z, this.speedModifier);
             }
@@ -0,0 +1,193 @@
+package net.minecraft.world.entity.ai.navigation;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import javax.annotation.Nullable;
+import net.minecraft.core.BlockPosition;
+import net.minecraft.world.entity.EntityInsentient;
+import net.minecraft.world.entity.EntityTypes;
+import net.minecraft.world.level.ChunkCoordIntPair;
+import net.minecraft.world.level.pathfinder.PathEntity;
+import net.minecraft.world.level.pathfinder.PathPoint;
+import net.minecraft.world.level.pathfinder.PathType;
+import net.minecraft.world.level.pathfinder.PathfinderAbstract;
+
+public class PathCache {
+    public static final boolean ENABLED = Boolean.getBoolean("pathfinding.cache");
+    private static final int MAX_ENTRIES = 64;
+    private static final int EXPIRY_TICKS = 40;
+    private final Map<PathCache.Key, PathCache.Entry> entries = Maps.newLinkedHashMap();
+    private int hits;
+    private int misses;
+
+    @Nullable
+    public PathEntity find(PathCache.Key key, BlockPosition start, long time) {
+        PathCache.Entry entry = this.entries.get(key);
+        if (entry != null) {
+            if (time - entry.time > (long)EXPIRY_TICKS) {
+                this.entries.remove(key);
+            } else {
+                List<PathPoint> list = entry.nodes;
+
+                for(int i = list.size() - 1; i >= 0; --i) {
+                    PathPoint node = list.get(i);
+                    if (node.y == start.getY() && Math.abs(node.x - start.getX()) + Math.abs(node.z - start.getZ()) <= 1) {
+                        ++this.hits;
+                        return new PathEntity(Lists.newArrayList(list.subList(i, list.size())), entry.target, true);
+                    }
+                }
+            }
+        }
+
+        ++this.misses;
+        return null;
+    }
+
+    public void store(PathCache.Key key, PathEntity path, long time) {
+        if (path.canReach() && path.getNodeCount() > 1) {
+            this.entries.remove(key);
+            if (this.entries.size() >= MAX_ENTRIES) {
+                Iterator<PathCache.Entry> iterator = this.entries.values().iterator();
+                iterator.next();
+                iterator.remove();
+            }
+
+            this.entries.put(key, new PathCache.Entry(Lists.newArrayList(path.nodes), path.getTarget(), time));
+        }
+
+    }
+
+    public void invalidate(BlockPosition pos) {
+        if (!this.entries.isEmpty()) {
+            this.entries.values().removeIf((entry) -> {
+                return entry.contains(pos);
+            });
+        }
+
+    }
+
+    public void invalidateChunk(ChunkCoordIntPair chunkPos) {
+        if (!this.entries.isEmpty()) {
+            this.entries.values().removeIf((entry) -> {
+                return entry.intersects(chunkPos);
+            });
+        }
+
+    }
+
+    public int getSize() {
+        return this.entries.size();
+    }
+
+    public double getHitRate() {
+        int i = this.hits + this.misses;
+        return i == 0 ? 0.0D : (double)this.hits / (double)i;
+    }
+
+    public void resetStats() {
+        this.hits = 0;
+        this.misses = 0;
+    }
+
+    static class Entry {
+        final List<PathPoint> nodes;
+        final BlockPosition target;
+        final long time;
+        private final int minX;
+        private final int minY;
+        private final int minZ;
+        private final int maxX;
+        private final int maxY;
+        private final int maxZ;
+
+        Entry(List<PathPoint> nodes, BlockPosition target, long time) {
+            this.nodes = nodes;
+            this.target = target;
+            this.time = time;
+            int i = Integer.MAX_VALUE;
+            int j = Integer.MAX_VALUE;
+            int k = Integer.MAX_VALUE;
+            int l = Integer.MIN_VALUE;
+            int m = Integer.MIN_VALUE;
+            int n = Integer.MIN_VALUE;
+
+            for(PathPoint node : nodes) {
+                i = Math.min(i, node.x);
+                j = Math.min(j, node.y);
+                k = Math.min(k, node.z);
+                l = Math.max(l, node.x);
+                m = Math.max(m, node.y);
+                n = Math.max(n, node.z);
+            }
+
+            this.minX = i - 2;
+            this.minY = j - 2;
+            this.minZ = k - 2;
+            this.maxX = l + 2;
+            this.maxY = m + 3;
+            this.maxZ = n + 2;
+        }
+
+        boolean contains(BlockPosition pos) {
+            return pos.getX() >= this.minX && pos.getX() <= this.maxX && pos.getY() >= this.minY && pos.getY() <= this.maxY && pos.getZ() >= this.minZ && pos.getZ() <= this.maxZ;
+        }
+
+        boolean intersects(ChunkCoordIntPair chunkPos) {
+            return chunkPos.getMaxBlockX() >= this.minX && chunkPos.getMinBlockX() <= this.maxX && chunkPos.getMaxBlockZ() >= this.minZ && chunkPos.getMinBlockZ() <= this.maxZ;
+        }
+    }
+
+    public static class Key {
+        private static final PathType[] PATH_TYPES = PathType.values();
+        private final EntityTypes<?> type;
+        private final float width;
+        private final float height;
+        private final Set<BlockPosition> targets;
+        private final int distance;
+        private final boolean canOpenDoors;
+        private final boolean canPassDoors;
+        private final boolean canFloat;
+        private final boolean useHeadPos;
+        private final float[] malus = new float[PATH_TYPES.length];
+
+        public Key(EntityInsentient mob, PathfinderAbstract nodeEvaluator, Set<BlockPosition> targets, int distance, boolean useHeadPos) {
+            this.type = mob.getEntityType();
+            this.width = mob.getWidth();
+            this.height = mob.getHeight();
+            this.targets = targets;
+            this.distance = distance;
+            this.canOpenDoors = nodeEvaluator.canOpenDoors();
+            this.canPassDoors = nodeEvaluator.canPassDoors();
+            this.canFloat = nodeEvaluator.canFloat();
+            this.useHeadPos = useHeadPos;
+
+            for(PathType blockPathTypes : PATH_TYPES) {
+                this.malus[blockPathTypes.ordinal()] = mob.getPathfindingMalus(blockPathTypes);
+            }
+
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            } else if (object != null && this.getClass() == object.getClass()) {
+                PathCache.Key key = (PathCache.Key)object;
+                return this.type == key.type && this.width == key.width && this.height == key.height && this.distance == key.distance && this.canOpenDoors == key.canOpenDoors && this.canPassDoors == key.canPassDoors && this.canFloat == key.canFloat && this.useHeadPos == key.useHeadPos && this.targets.equals(key.targets) && Arrays.equals(this.malus, key.malus);
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hash(this.type, this.width, this.height, this.targets, this.distance, this.canOpenDoors, this.canPassDoors, this.canFloat, this.useHeadPos) + Arrays.hashCode(this.malus);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package net.minecraft.world.entity.ai.navigation;
+
+import com.google.common.collect.ImmutableList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+import net.minecraft.SystemUtils;
+import net.minecraft.core.BlockPosition;
+import net.minecraft.core.SectionPosition;
+import net.minecraft.util.profiling.metrics.EnumMetricCategory;
+import net.minecraft.util.profiling.metrics.IProfilerMeasured;
+import net.minecraft.util.profiling.metrics.MetricSampler;
+import net.minecraft.util.profiling.metrics.MetricsRegistry;
+import net.minecraft.world.level.block.state.IBlockData;
+import net.minecraft.world.level.chunk.ChunkSection;
+import net.minecraft.world.level.chunk.DataPaletteBlock;
+import net.minecraft.world.level.pathfinder.PathEntity;
+
+public class PathfindingScheduler implements IProfilerMeasured {
+    public static final int THREADS = Integer.getInteger("pathfinding.threads", 0);
+    private final String name;
+    private final Executor executor;
+    private final AtomicInteger queuedRequests = new AtomicInteger();
+    private final Long2ObjectMap<DataPaletteBlock<IBlockData>> sectionCopies = new Long2ObjectOpenHashMap<>();
+    private long sectionCopiesTime;
+    private long latencyNanos;
+    private int completedRequests;
+    private int discardedRequests;
+
+    public PathfindingScheduler(String name, Executor executor) {
+        this.name = name;
+        this.executor = executor;
+        MetricsRegistry.INSTANCE.add(this);
+    }
+
+    public static boolean isEnabled() {
+        return THREADS > 0;
+    }
+
+    public CompletableFuture<PathEntity> submit(@Nullable CompletableFuture<?> previous, Supplier<PathEntity> task) {
+        this.queuedRequests.incrementAndGet();
+        Supplier<PathEntity> supplier = () -> {
+            PathEntity var1;
+            try {
+                var1 = task.get();
+            } finally {
+                this.queuedRequests.decrementAndGet();
+            }
+
+            return var1;
+        };
+        return previous != null && !previous.isDone() ? previous.handle((object, throwable) -> {
+            return null;
+        }).thenApplyAsync((object) -> {
+            return supplier.get();
+        }, this.executor) : CompletableFuture.supplyAsync(supplier, this.executor);
+    }
+
+    @Nullable
+    public DataPaletteBlock<IBlockData> getSectionCopy(ChunkSection section, long sectionPos, long time) {
+        if (this.sectionCopiesTime != time) {
+            this.sectionCopies.clear();
+            this.sectionCopiesTime = time;
+        }
+
+        if (section.hasOnlyAir()) {
+            return null;
+        } else {
+            DataPaletteBlock<IBlockData> palettedContainer = this.sectionCopies.get(sectionPos);
+            if (palettedContainer == null) {
+                palettedContainer = section.getBlocks().copy();
+                this.sectionCopies.put(sectionPos, palettedContainer);
+            }
+
+            return palettedContainer;
+        }
+    }
+
+    public void invalidateSection(BlockPosition pos) {
+        this.sectionCopies.remove(SectionPosition.asLong(pos));
+    }
+
+    public void onApplied(long submitTime) {
+        this.latencyNanos += SystemUtils.getMonotonicNanos() - submitTime;
+        ++this.completedRequests;
+    }
+
+    public void onDiscarded() {
+        ++this.discardedRequests;
+    }
+
+    public int getQueuedRequests() {
+        return this.queuedRequests.get();
+    }
+
+    public double getAverageLatencyMillis() {
+        return this.completedRequests == 0 ? 0.0D : (double)this.latencyNanos / (double)this.completedRequests / 1000000.0D;
+    }
+
+    public int getDiscardedRequests() {
+        return this.discardedRequests;
+    }
+
+    public void resetTimings() {
+        this.latencyNanos = 0L;
+        this.completedRequests = 0;
+        this.discardedRequests = 0;
+    }
+
+    @Override
+    public List<MetricSampler> profiledMetrics() {
+        return ImmutableList.of(MetricSampler.create(this.name + "-pathfinding-queue", EnumMetricCategory.PATH_FINDING, this, PathfindingScheduler::getQueuedRequests), MetricSampler.create(this.name + "-pathfinding-discarded", EnumMetricCategory.PATH_FINDING, this, PathfindingScheduler::getDiscardedRequests), MetricSampler.builder(this.name + "-pathfinding-latency-ms", EnumMetricCategory.PATH_FINDING, PathfindingScheduler::getAverageLatencyMillis, this).withBeforeTick(PathfindingScheduler::resetTimings).build());
+    }
+}
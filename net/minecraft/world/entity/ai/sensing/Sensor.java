@@ -37,6 +37,22 @@ public abstract class Sensor<E extends EntityLiving> {
 
     }
 
+    public final boolean isDue() {
+        return this.timeToTick <= 1L;
+    }
+
+    public final boolean isOverdue() {
+        return this.timeToTick <= (long)(1 - this.scanRate);
+    }
+
+    public final void defer() {
+        --this.timeToTick;
+    }
+
+    public final void alignTo(int offset) {
+        this.timeToTick = (long)(offset % this.scanRate);
+    }
+
     protected abstract void doTick(WorldServer world, E entity);
 
     public abstract Set<MemoryModuleType<?>> requires();
@@ -1,15 +1,18 @@
 package net.minecraft.world.entity.ai.sensing;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import net.minecraft.server.level.WorldServer;
+import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityInsentient;
 import net.minecraft.world.entity.ai.BehaviorController;
 import net.minecraft.world.entity.ai.memory.MemoryModuleType;
 import net.minecraft.world.entity.item.EntityItem;
+import net.minecraft.world.phys.AxisAlignedBB;
 
 public class SensorNearestItems extends Sensor<EntityInsentient> {
     private static final long XZ_RANGE = 8L;
@@ -24,9 +27,22 @@ public class SensorNearestItems extends Sensor<EntityInsentient> {
     @Override
     protected void doTick(WorldServer world, EntityInsentient entity) {
         BehaviorController<?> brain = entity.getBehaviorController();
-        List<EntityItem> list = world.getEntitiesOfClass(EntityItem.class, entity.getBoundingBox().grow(8.0D, 4.0D, 8.0D), (itemEntity) -> {
-            return true;
-        });
+        AxisAlignedBB aABB = entity.getBoundingBox().grow(8.0D, 4.0D, 8.0D);
+        List<EntityItem> list;
+        if (SensorScheduler.isEnabled()) {
+            list = Lists.newArrayList();
+
+            for(Entity entity2 : world.getSensorScheduler().getNearbyEntities(world, entity)) {
+                if (entity2 instanceof EntityItem && aABB.intersects(entity2.getBoundingBox())) {
+                    list.add((EntityItem)entity2);
+                }
+            }
+        } else {
+            list = world.getEntitiesOfClass(EntityItem.class, aABB, (itemEntity) -> {
+                return true;
+            });
+        }
+
         list.sort(Comparator.comparingDouble(entity::distanceToSqr));
         Optional<EntityItem> optional = list.stream().filter((itemEntity) -> {
             return entity.wantsToPickUp(itemEntity.getItemStack());
@@ -1,10 +1,12 @@
 package net.minecraft.world.entity.ai.sensing;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 import net.minecraft.server.level.WorldServer;
+import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityLiving;
 import net.minecraft.world.entity.ai.BehaviorController;
 import net.minecraft.world.entity.ai.memory.MemoryModuleType;
@@ -14,10 +16,22 @@ import net.minecraft.world.phys.AxisAlignedBB;
 public class SensorNearestLivingEntities extends Sensor<EntityLiving> {
     @Override
     protected void doTick(WorldServer world, EntityLiving entity) {
-        AxisAlignedBB aABB = entity.getBoundingBox().grow(16.0D, 16.0D, 16.0D);
-        List<EntityLiving> list = world.getEntitiesOfClass(EntityLiving.class, aABB, (e) -> {
-            return e != entity && e.isAlive();
-        });
+        List<EntityLiving> list;
+        if (SensorScheduler.isEnabled()) {
+            list = Lists.newArrayList();
+
+            for(Entity entity2 : world.getSensorScheduler().getNearbyEntities(world, entity)) {
+                if (entity2 instanceof EntityLiving && entity2.isAlive()) {
+                    list.add((EntityLiving)entity2);
+                }
+            }
+        } else {
+            AxisAlignedBB aABB = entity.getBoundingBox().grow(16.0D, 16.0D, 16.0D);
+            list = world.getEntitiesOfClass(EntityLiving.class, aABB, (e) -> {
+                return e != entity && e.isAlive();
+            });
+        }
+
         list.sort(Comparator.comparingDouble(entity::distanceToSqr));
         BehaviorController<?> brain = entity.getBehaviorController();
         brain.setMemory(MemoryModuleType.NEAREST_LIVING_ENTITIES, list);
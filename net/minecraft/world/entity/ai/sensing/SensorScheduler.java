@@ -0,0 +1,118 @@
+package net.minecraft.world.entity.ai.sensing;
+
+import com.google.common.collect.ImmutableList;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import java.util.List;
+import net.minecraft.SystemUtils;
+import net.minecraft.core.IRegistry;
+import net.minecraft.server.level.WorldServer;
+import net.minecraft.util.profiling.metrics.EnumMetricCategory;
+import net.minecraft.util.profiling.metrics.IProfilerMeasured;
+import net.minecraft.util.profiling.metrics.MetricSampler;
+import net.minecraft.util.profiling.metrics.MetricsRegistry;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityLiving;
+
+public class SensorScheduler implements IProfilerMeasured {
+    public static final int BUDGET_MS = Integer.getInteger("sensors.budgetMs", 0);
+    private static final double NEARBY_RANGE = 16.0D;
+    private final String name;
+    private final long budgetNanos;
+    private final Object2LongMap<SensorType<?>> sensorNanos = new Object2LongOpenHashMap<>();
+    private long currentTick = Long.MIN_VALUE;
+    private long tickNanos;
+    private int deferredSensors;
+    private Entity nearbyOwner;
+    private long nearbyTick;
+    private List<Entity> nearbyEntities;
+    private int nearbyQueries;
+    private int nearbyRequests;
+
+    public SensorScheduler(String name, int budgetMillis) {
+        this.name = name;
+        this.budgetNanos = (long)budgetMillis * 1000000L;
+        MetricsRegistry.INSTANCE.add(this);
+    }
+
+    public static boolean isEnabled() {
+        return BUDGET_MS > 0;
+    }
+
+    public <E extends EntityLiving> void tick(WorldServer world, E entity, SensorType<?> type, Sensor<? super E> sensor) {
+        if (!sensor.isDue()) {
+            sensor.tick(world, entity);
+        } else if (!sensor.isOverdue() && !this.hasBudget(world)) {
+            sensor.defer();
+            ++this.deferredSensors;
+        } else {
+            long l = SystemUtils.getMonotonicNanos();
+            sensor.tick(world, entity);
+            long m = SystemUtils.getMonotonicNanos() - l;
+            this.tickNanos += m;
+            this.sensorNanos.mergeLong(type, m, Long::sum);
+        }
+
+    }
+
+    private boolean hasBudget(WorldServer world) {
+        long l = world.getTime();
+        if (l != this.currentTick) {
+            this.currentTick = l;
+            this.tickNanos = 0L;
+        }
+
+        return this.tickNanos < this.budgetNanos;
+    }
+
+    public List<Entity> getNearbyEntities(WorldServer world, EntityLiving entity) {
+        ++this.nearbyRequests;
+        long l = world.getTime();
+        if (this.nearbyOwner != entity || this.nearbyTick != l) {
+            ++this.nearbyQueries;
+            this.nearbyOwner = entity;
+            this.nearbyTick = l;
+            this.nearbyEntities = world.getEntities(entity, entity.getBoundingBox().grow(NEARBY_RANGE, NEARBY_RANGE, NEARBY_RANGE), (e) -> {
+                return true;
+            });
+        }
+
+        return this.nearbyEntities;
+    }
+
+    public double getSensorMillis(SensorType<?> type) {
+        return (double)this.sensorNanos.getLong(type) / 1000000.0D;
+    }
+
+    public int getDeferredSensors() {
+        return this.deferredSensors;
+    }
+
+    public double getSharedQueryRate() {
+        return this.nearbyRequests == 0 ? 0.0D : 1.0D - (double)this.nearbyQueries / (double)this.nearbyRequests;
+    }
+
+    public void resetTimings() {
+        this.sensorNanos.clear();
+        this.deferredSensors = 0;
+        this.nearbyQueries = 0;
+        this.nearbyRequests = 0;
+        this.nearbyOwner = null;
+        this.nearbyEntities = null;
+    }
+
+    @Override
+    public List<MetricSampler> profiledMetrics() {
+        ImmutableList.Builder<MetricSampler> builder = ImmutableList.builder();
+        builder.add(MetricSampler.builder(this.name + "-sensors-deferred", EnumMetricCategory.TICK_LOOP, SensorScheduler::getDeferredSensors, this).withBeforeTick(SensorScheduler::resetTimings).build());
+        builder.add(MetricSampler.create(this.name + "-sensors-shared-query-rate", EnumMetricCategory.TICK_LOOP, this, SensorScheduler::getSharedQueryRate));
+
+        for(SensorType<?> sensorType : IRegistry.SENSOR_TYPE) {
+            builder.add(MetricSampler.create(this.name + "-sensor-" + IRegistry.SENSOR_TYPE.getKey(sensorType).getKey() + "-ms", EnumMetricCategory.TICK_LOOP, this, (scheduler) -> {
+                return scheduler.getSensorMillis(sensorType);
+            }));
+        }
+
+        return builder.build();
+    }
+}
@@ -278,13 +278,11 @@ public class EntityGoat extends EntityAnimal {
     }
 
     static class PathfinderGoat extends PathfinderNormal {
-        private final BlockPosition.MutableBlockPosition belowPos = new BlockPosition.MutableBlockPosition();
-
         @Override
         public PathType getBlockPathType(IBlockAccess world, int x, int y, int z) {
-            this.belowPos.set(x, y - 1, z);
-            PathType blockPathTypes = getBlockPathTypeRaw(world, this.belowPos);
-            return blockPathTypes == PathType.POWDER_SNOW ? PathType.BLOCKED : getBlockPathTypeStatic(world, this.belowPos.move(EnumDirection.UP));
+            BlockPosition.MutableBlockPosition mutableBlockPos = new BlockPosition.MutableBlockPosition(x, y - 1, z);
+            PathType blockPathTypes = getBlockPathTypeRaw(world, mutableBlockPos);
+            return blockPathTypes == PathType.POWDER_SNOW ? PathType.BLOCKED : getBlockPathTypeStatic(world, mutableBlockPos.move(EnumDirection.UP));
         }
     }
 }
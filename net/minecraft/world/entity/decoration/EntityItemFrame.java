@@ -250,8 +250,10 @@ public class EntityItemFrame extends EntityHanging {
         if (map.is(Items.FILLED_MAP)) {
             WorldMap mapItemSavedData = ItemWorldMap.getSavedMap(map, this.level);
             if (mapItemSavedData != null) {
-                mapItemSavedData.removedFromFrame(this.pos, this.getId());
-                mapItemSavedData.setDirty(true);
+                synchronized(mapItemSavedData) {
+                    mapItemSavedData.removedFromFrame(this.pos, this.getId());
+                    mapItemSavedData.setDirty(true);
+                }
             }
         }
 
@@ -71,7 +71,15 @@ public class EntityMinecartCommandBlock extends EntityMinecartAbstract {
     @Override
     public void activateMinecart(int x, int y, int z, boolean powered) {
         if (powered && this.tickCount - this.lastActivated >= 4) {
-            this.getCommandBlock().performCommand(this.level);
+            if (!this.level.getMinecraftServer().deferWhileTickingInParallel(() -> {
+                if (!this.isRemoved()) {
+                    this.getCommandBlock().performCommand(this.level);
+                }
+
+            })) {
+                this.getCommandBlock().performCommand(this.level);
+            }
+
             this.lastActivated = this.tickCount;
         }
 
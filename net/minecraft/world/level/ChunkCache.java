@@ -4,8 +4,10 @@ import java.util.List;
 import javax.annotation.Nullable;
 import net.minecraft.core.BlockPosition;
 import net.minecraft.core.SectionPosition;
+import net.minecraft.server.level.WorldServer;
 import net.minecraft.util.profiling.GameProfilerFiller;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.ai.navigation.PathCache;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.entity.TileEntity;
 import net.minecraft.world.level.block.state.IBlockData;
@@ -15,6 +17,7 @@ import net.minecraft.world.level.chunk.IChunkAccess;
 import net.minecraft.world.level.chunk.IChunkProvider;
 import net.minecraft.world.level.material.Fluid;
 import net.minecraft.world.level.material.FluidTypes;
+import net.minecraft.world.level.pathfinder.PathTypeCache;
 import net.minecraft.world.phys.AxisAlignedBB;
 import net.minecraft.world.phys.shapes.VoxelShape;
 
@@ -123,4 +126,29 @@ public class ChunkCache implements IBlockAccess, ICollisionAccess {
     public GameProfilerFiller getProfiler() {
         return this.level.getMethodProfiler();
     }
+
+    public boolean hasChunksAt(int minX, int minZ, int maxX, int maxZ) {
+        int i = SectionPosition.blockToSectionCoord(minX) - this.centerX;
+        int j = SectionPosition.blockToSectionCoord(minZ) - this.centerZ;
+        int k = SectionPosition.blockToSectionCoord(maxX) - this.centerX;
+        int l = SectionPosition.blockToSectionCoord(maxZ) - this.centerZ;
+        if (i >= 0 && j >= 0 && k < this.chunks.length && l < this.chunks[0].length) {
+            for(int m = i; m <= k; ++m) {
+                for(int n = j; n <= l; ++n) {
+                    if (this.chunks[m][n] == null) {
+                        return false;
+                    }
+                }
+            }
+
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    @Nullable
+    public PathTypeCache getPathTypeCache() {
+        return PathCache.ENABLED && this.level instanceof WorldServer ? ((WorldServer)this.level).getPathTypeCache() : null;
+    }
 }
@@ -0,0 +1,93 @@
+package net.minecraft.world.level;
+
+import javax.annotation.Nullable;
+import net.minecraft.core.BlockPosition;
+import net.minecraft.core.SectionPosition;
+import net.minecraft.util.profiling.GameProfilerDisabled;
+import net.minecraft.util.profiling.GameProfilerFiller;
+import net.minecraft.world.entity.ai.navigation.PathfindingScheduler;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.TileEntity;
+import net.minecraft.world.level.block.state.IBlockData;
+import net.minecraft.world.level.chunk.ChunkSection;
+import net.minecraft.world.level.chunk.DataPaletteBlock;
+import net.minecraft.world.level.chunk.IChunkAccess;
+import net.minecraft.world.level.material.Fluid;
+import net.minecraft.world.level.pathfinder.PathTypeCache;
+
+public class ChunkCacheSnapshot extends ChunkCache {
+    private static final IBlockData AIR = Blocks.AIR.getBlockData();
+    private final int minSection;
+    private final DataPaletteBlock<IBlockData>[][][] sections;
+
+    public ChunkCacheSnapshot(World world, BlockPosition minPos, BlockPosition maxPos, PathfindingScheduler scheduler) {
+        super(world, minPos, maxPos);
+        this.minSection = Math.max(SectionPosition.blockToSectionCoord(minPos.getY()), world.getMinSection());
+        int i = Math.min(SectionPosition.blockToSectionCoord(maxPos.getY()), world.getMaxSection() - 1);
+        int j = Math.max(i - this.minSection + 1, 0);
+        long l = world.getTime();
+        this.sections = new DataPaletteBlock[this.chunks.length][][];
+
+        for(int k = 0; k < this.chunks.length; ++k) {
+            this.sections[k] = new DataPaletteBlock[this.chunks[k].length][];
+
+            for(int m = 0; m < this.chunks[k].length; ++m) {
+                IChunkAccess chunkAccess = this.chunks[k][m];
+                if (chunkAccess != null) {
+                    DataPaletteBlock<IBlockData>[] palettedContainers = new DataPaletteBlock[j];
+
+                    for(int n = 0; n < j; ++n) {
+                        ChunkSection levelChunkSection = chunkAccess.getSection(chunkAccess.getSectionIndexFromSectionY(this.minSection + n));
+                        palettedContainers[n] = scheduler.getSectionCopy(levelChunkSection, SectionPosition.asLong(this.centerX + k, this.minSection + n, this.centerZ + m), l);
+                    }
+
+                    this.sections[k][m] = palettedContainers;
+                    this.chunks[k][m] = null;
+                }
+            }
+        }
+
+    }
+
+    @Override
+    public IBlockData getType(BlockPosition pos) {
+        int i = SectionPosition.blockToSectionCoord(pos.getX()) - this.centerX;
+        int j = SectionPosition.blockToSectionCoord(pos.getZ()) - this.centerZ;
+        int k = SectionPosition.blockToSectionCoord(pos.getY()) - this.minSection;
+        if (i >= 0 && i < this.sections.length && j >= 0 && j < this.sections[i].length) {
+            DataPaletteBlock<IBlockData>[] palettedContainers = this.sections[i][j];
+            if (palettedContainers != null && k >= 0 && k < palettedContainers.length && palettedContainers[k] != null) {
+                return palettedContainers[k].get(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15);
+            }
+        }
+
+        return AIR;
+    }
+
+    @Override
+    public Fluid getFluid(BlockPosition pos) {
+        return this.getType(pos).getFluid();
+    }
+
+    @Nullable
+    @Override
+    public TileEntity getTileEntity(BlockPosition pos) {
+        return null;
+    }
+
+    @Override
+    public IBlockAccess getChunkForCollisions(int chunkX, int chunkZ) {
+        return this;
+    }
+
+    @Override
+    public GameProfilerFiller getProfiler() {
+        return GameProfilerDisabled.INSTANCE;
+    }
+
+    @Nullable
+    @Override
+    public PathTypeCache getPathTypeCache() {
+        return null;
+    }
+}
@@ -78,6 +78,7 @@ public class GameRules {
     public static final GameRules.GameRuleKey<GameRules.GameRuleBoolean> RULE_FORGIVE_DEAD_PLAYERS = register("forgiveDeadPlayers", GameRules.GameRuleCategory.MOBS, GameRules.GameRuleBoolean.create(true));
     public static final GameRules.GameRuleKey<GameRules.GameRuleBoolean> RULE_UNIVERSAL_ANGER = register("universalAnger", GameRules.GameRuleCategory.MOBS, GameRules.GameRuleBoolean.create(false));
     public static final GameRules.GameRuleKey<GameRules.GameRuleInt> RULE_PLAYERS_SLEEPING_PERCENTAGE = register("playersSleepingPercentage", GameRules.GameRuleCategory.PLAYER, GameRules.GameRuleInt.create(100));
+    public static final GameRules.GameRuleKey<GameRules.GameRuleBoolean> RULE_REDSTONE_WIRE_NETWORKS = register("redstoneWireNetworks", GameRules.GameRuleCategory.UPDATES, GameRules.GameRuleBoolean.create(false));
     private final Map<GameRules.GameRuleKey<?>, GameRules.GameRuleValue<?>> rules;
 
     private static <T extends GameRules.GameRuleValue<T>> GameRules.GameRuleKey<T> register(String name, GameRules.GameRuleCategory category, GameRules.GameRuleDefinition<T> type) {
@@ -2,6 +2,7 @@ package net.minecraft.world.level;
 
 import com.google.common.collect.Lists;
 import com.mojang.serialization.Codec;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import java.io.IOException;
 import java.util.Iterator;
 import java.util.List;
@@ -50,6 +51,7 @@ import net.minecraft.world.level.chunk.Chunk;
 import net.minecraft.world.level.chunk.ChunkStatus;
 import net.minecraft.world.level.chunk.IChunkAccess;
 import net.minecraft.world.level.dimension.DimensionManager;
+import net.minecraft.world.level.entity.EntitySectionStorage;
 import net.minecraft.world.level.entity.EntityTypeTest;
 import net.minecraft.world.level.entity.IWorldEntityAccess;
 import net.minecraft.world.level.gameevent.GameEvent;
@@ -82,7 +84,7 @@ public abstract class World implements GeneratorAccess, AutoCloseable {
     protected final List<TickingBlockEntity> blockEntityTickers = Lists.newArrayList();
     private final List<TickingBlockEntity> pendingBlockEntityTickers = Lists.newArrayList();
     private boolean tickingBlockEntities;
-    public final Thread thread;
+    public Thread thread;
     private final boolean isDebug;
     private int skyDarken;
     protected int randValue = (new Random()).nextInt();
@@ -442,6 +444,37 @@ public abstract class World implements GeneratorAccess, AutoCloseable {
         profilerFiller.exit();
     }
 
+    public void countBlockEntityTickers(Object2IntMap<String> active, Object2IntMap<String> sleeping) {
+        for(TickingBlockEntity tickingBlockEntity : this.blockEntityTickers) {
+            if (!tickingBlockEntity.isRemoved()) {
+                (tickingBlockEntity.isSleeping() ? sleeping : active).mergeInt(tickingBlockEntity.getType(), 1, Integer::sum);
+            }
+        }
+
+        for(TickingBlockEntity tickingBlockEntity2 : this.pendingBlockEntityTickers) {
+            if (!tickingBlockEntity2.isRemoved()) {
+                (tickingBlockEntity2.isSleeping() ? sleeping : active).mergeInt(tickingBlockEntity2.getType(), 1, Integer::sum);
+            }
+        }
+
+    }
+
+    public int getActiveBlockEntityTickerCount() {
+        return this.blockEntityTickers.size() + this.pendingBlockEntityTickers.size() - this.getSleepingBlockEntityTickerCount();
+    }
+
+    public int getSleepingBlockEntityTickerCount() {
+        int i = 0;
+
+        for(TickingBlockEntity tickingBlockEntity : this.blockEntityTickers) {
+            if (tickingBlockEntity.isSleeping()) {
+                ++i;
+            }
+        }
+
+        return i;
+    }
+
     public <T extends Entity> void guardEntityTick(Consumer<T> tickConsumer, T entity) {
         try {
             tickConsumer.accept(entity);
@@ -550,10 +583,20 @@ public abstract class World implements GeneratorAccess, AutoCloseable {
         return this.getChunkAt(chunkX, chunkZ, ChunkStatus.FULL, false);
     }
 
+    @Nullable
+    public EntitySectionStorage<Entity>.Snapshot snapshotEntitySections(AxisAlignedBB box) {
+        return this.getEntities().snapshot(box);
+    }
+
     @Override
     public List<Entity> getEntities(@Nullable Entity except, AxisAlignedBB box, Predicate<? super Entity> predicate) {
-        this.getMethodProfiler().incrementCounter("getEntities");
         List<Entity> list = Lists.newArrayList();
+        this.getEntities(except, box, predicate, list);
+        return list;
+    }
+
+    public void getEntities(@Nullable Entity except, AxisAlignedBB box, Predicate<? super Entity> predicate, List<Entity> list) {
+        this.getMethodProfiler().incrementCounter("getEntities");
         this.getEntities().get(box, (entity) -> {
             if (entity != except && predicate.test(entity)) {
                 list.add(entity);
@@ -568,7 +611,6 @@ public abstract class World implements GeneratorAccess, AutoCloseable {
             }
 
         });
-        return list;
     }
 
     @Override
@@ -68,33 +68,41 @@ public class BlockCommand extends BlockTileEntity implements GameMasterBlock {
 
     @Override
     public void tickAlways(IBlockData state, WorldServer world, BlockPosition pos, Random random) {
-        TileEntity blockEntity = world.getTileEntity(pos);
-        if (blockEntity instanceof TileEntityCommand) {
-            TileEntityCommand commandBlockEntity = (TileEntityCommand)blockEntity;
-            CommandBlockListenerAbstract baseCommandBlock = commandBlockEntity.getCommandBlock();
-            boolean bl = !UtilColor.isNullOrEmpty(baseCommandBlock.getCommand());
-            TileEntityCommand.Type mode = commandBlockEntity.getMode();
-            boolean bl2 = commandBlockEntity.wasConditionMet();
-            if (mode == TileEntityCommand.Type.AUTO) {
-                commandBlockEntity.markConditionMet();
-                if (bl2) {
-                    this.execute(state, world, pos, baseCommandBlock, bl);
-                } else if (commandBlockEntity.isConditional()) {
-                    baseCommandBlock.setSuccessCount(0);
-                }
+        if (!world.getMinecraftServer().deferWhileTickingInParallel(() -> {
+            IBlockData blockState = world.getType(pos);
+            if (blockState.is(this)) {
+                this.tickAlways(blockState, world, pos, random);
+            }
 
-                if (commandBlockEntity.isPowered() || commandBlockEntity.isAutomatic()) {
-                    world.scheduleTick(pos, this, 1);
-                }
-            } else if (mode == TileEntityCommand.Type.REDSTONE) {
-                if (bl2) {
-                    this.execute(state, world, pos, baseCommandBlock, bl);
-                } else if (commandBlockEntity.isConditional()) {
-                    baseCommandBlock.setSuccessCount(0);
+        })) {
+            TileEntity blockEntity = world.getTileEntity(pos);
+            if (blockEntity instanceof TileEntityCommand) {
+                TileEntityCommand commandBlockEntity = (TileEntityCommand)blockEntity;
+                CommandBlockListenerAbstract baseCommandBlock = commandBlockEntity.getCommandBlock();
+                boolean bl = !UtilColor.isNullOrEmpty(baseCommandBlock.getCommand());
+                TileEntityCommand.Type mode = commandBlockEntity.getMode();
+                boolean bl2 = commandBlockEntity.wasConditionMet();
+                if (mode == TileEntityCommand.Type.AUTO) {
+                    commandBlockEntity.markConditionMet();
+                    if (bl2) {
+                        this.execute(state, world, pos, baseCommandBlock, bl);
+                    } else if (commandBlockEntity.isConditional()) {
+                        baseCommandBlock.setSuccessCount(0);
+                    }
+
+                    if (commandBlockEntity.isPowered() || commandBlockEntity.isAutomatic()) {
+                        world.scheduleTick(pos, this, 1);
+                    }
+                } else if (mode == TileEntityCommand.Type.REDSTONE) {
+                    if (bl2) {
+                        this.execute(state, world, pos, baseCommandBlock, bl);
+                    } else if (commandBlockEntity.isConditional()) {
+                        baseCommandBlock.setSuccessCount(0);
+                    }
                 }
-            }
 
-            world.updateAdjacentComparators(pos, this);
+                world.updateAdjacentComparators(pos, this);
+            }
         }
 
     }
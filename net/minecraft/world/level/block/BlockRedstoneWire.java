@@ -17,6 +17,7 @@ import net.minecraft.world.EnumHand;
 import net.minecraft.world.EnumInteractionResult;
 import net.minecraft.world.entity.player.EntityHuman;
 import net.minecraft.world.item.context.BlockActionContext;
+import net.minecraft.world.level.GameRules;
 import net.minecraft.world.level.GeneratorAccess;
 import net.minecraft.world.level.IBlockAccess;
 import net.minecraft.world.level.IWorldReader;
@@ -228,7 +229,9 @@ public class BlockRedstoneWire extends Block {
 
     private void updatePowerStrength(World world, BlockPosition pos, IBlockData state) {
         int i = this.calculateTargetStrength(world, pos);
-        if (state.get(POWER) != i) {
+        if (state.get(POWER) != i && useNetworks(world) && world.getType(pos) == state) {
+            (new RedstoneWireNetwork(this, world)).update(pos, state);
+        } else if (state.get(POWER) != i) {
             if (world.getType(pos) == state) {
                 world.setTypeAndData(pos, state.set(POWER, Integer.valueOf(i)), 2);
             }
@@ -247,10 +250,19 @@ public class BlockRedstoneWire extends Block {
 
     }
 
-    private int calculateTargetStrength(World world, BlockPosition pos) {
+    private static boolean useNetworks(World world) {
+        return world.getGameRules().getBoolean(GameRules.RULE_REDSTONE_WIRE_NETWORKS);
+    }
+
+    int getSourceSignal(World world, BlockPosition pos) {
         this.shouldSignal = false;
         int i = world.getBestNeighborSignal(pos);
         this.shouldSignal = true;
+        return i;
+    }
+
+    private int calculateTargetStrength(World world, BlockPosition pos) {
+        int i = this.getSourceSignal(world, pos);
         int j = 0;
         if (i < 15) {
             for(EnumDirection direction : EnumDirection.EnumDirectionLimit.HORIZONTAL) {
@@ -273,12 +285,20 @@ public class BlockRedstoneWire extends Block {
         return state.is(this) ? state.get(POWER) : 0;
     }
 
-    private void checkCornerChangeAt(World world, BlockPosition pos) {
+    private void checkCornerChangeAt(World world, BlockPosition pos, @Nullable Set<BlockPosition> updates) {
         if (world.getType(pos).is(this)) {
-            world.applyPhysics(pos, this);
+            if (updates != null) {
+                updates.add(pos);
 
-            for(EnumDirection direction : EnumDirection.values()) {
-                world.applyPhysics(pos.relative(direction), this);
+                for(EnumDirection direction : EnumDirection.values()) {
+                    updates.add(pos.relative(direction));
+                }
+            } else {
+                world.applyPhysics(pos, this);
+
+                for(EnumDirection direction2 : EnumDirection.values()) {
+                    world.applyPhysics(pos.relative(direction2), this);
+                }
             }
 
         }
@@ -313,16 +333,24 @@ public class BlockRedstoneWire extends Block {
     }
 
     private void updateNeighborsOfNeighboringWires(World world, BlockPosition pos) {
+        Set<BlockPosition> set = useNetworks(world) ? Sets.newLinkedHashSet() : null;
+
         for(EnumDirection direction : EnumDirection.EnumDirectionLimit.HORIZONTAL) {
-            this.checkCornerChangeAt(world, pos.relative(direction));
+            this.checkCornerChangeAt(world, pos.relative(direction), set);
         }
 
         for(EnumDirection direction2 : EnumDirection.EnumDirectionLimit.HORIZONTAL) {
             BlockPosition blockPos = pos.relative(direction2);
             if (world.getType(blockPos).isOccluding(world, blockPos)) {
-                this.checkCornerChangeAt(world, blockPos.above());
+                this.checkCornerChangeAt(world, blockPos.above(), set);
             } else {
-                this.checkCornerChangeAt(world, blockPos.below());
+                this.checkCornerChangeAt(world, blockPos.below(), set);
+            }
+        }
+
+        if (set != null) {
+            for(BlockPosition blockPos2 : set) {
+                world.applyPhysics(blockPos2, this);
             }
         }
 
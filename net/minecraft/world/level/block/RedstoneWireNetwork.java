@@ -0,0 +1,170 @@
+package net.minecraft.world.level.block;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import java.util.List;
+import java.util.Set;
+import net.minecraft.core.BlockPosition;
+import net.minecraft.core.EnumDirection;
+import net.minecraft.world.level.World;
+import net.minecraft.world.level.block.state.IBlockData;
+
+public class RedstoneWireNetwork {
+    private static final int MAX_POWER = 15;
+    private final BlockRedstoneWire wire;
+    private final World level;
+    private final List<BlockPosition> positions = Lists.newArrayList();
+    private final List<IBlockData> states = Lists.newArrayList();
+    private final List<IntList> readers = Lists.newArrayList();
+    private final Object2IntMap<BlockPosition> indices = new Object2IntOpenHashMap<>();
+
+    public RedstoneWireNetwork(BlockRedstoneWire wire, World world) {
+        this.wire = wire;
+        this.level = world;
+        this.indices.defaultReturnValue(-1);
+    }
+
+    public void update(BlockPosition pos, IBlockData state) {
+        this.collect(pos, state);
+        this.apply(this.calculatePower());
+    }
+
+    private int add(BlockPosition pos, IBlockData state) {
+        int i = this.indices.getInt(pos);
+        if (i < 0) {
+            i = this.positions.size();
+            this.positions.add(pos);
+            this.states.add(state);
+            this.readers.add(new IntArrayList(4));
+            this.indices.put(pos, i);
+        }
+
+        return i;
+    }
+
+    private void collect(BlockPosition pos, IBlockData state) {
+        this.add(pos, state);
+        List<BlockPosition> list = Lists.newArrayList();
+
+        for(int i = 0; i < this.positions.size(); ++i) {
+            BlockPosition blockPos = this.positions.get(i);
+            list.clear();
+            this.collectInputs(blockPos, list);
+
+            for(BlockPosition blockPos2 : list) {
+                this.readers.get(this.add(blockPos2, this.level.getType(blockPos2))).add(i);
+            }
+
+            for(EnumDirection direction : EnumDirection.EnumDirectionLimit.HORIZONTAL) {
+                for(int j = -1; j <= 1; ++j) {
+                    BlockPosition blockPos3 = blockPos.offset(direction.getAdjacentX(), j, direction.getAdjacentZ());
+                    if (!this.indices.containsKey(blockPos3)) {
+                        IBlockData blockState = this.level.getType(blockPos3);
+                        if (blockState.is(this.wire)) {
+                            list.clear();
+                            this.collectInputs(blockPos3, list);
+                            if (list.contains(blockPos)) {
+                                this.add(blockPos3, blockState);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+    }
+
+    private void collectInputs(BlockPosition pos, List<BlockPosition> inputs) {
+        BlockPosition blockPos = pos.above();
+        boolean bl = !this.level.getType(blockPos).isOccluding(this.level, blockPos);
+
+        for(EnumDirection direction : EnumDirection.EnumDirectionLimit.HORIZONTAL) {
+            BlockPosition blockPos2 = pos.relative(direction);
+            IBlockData blockState = this.level.getType(blockPos2);
+            if (blockState.is(this.wire)) {
+                inputs.add(blockPos2);
+            }
+
+            boolean bl2 = blockState.isOccluding(this.level, blockPos2);
+            BlockPosition blockPos3 = bl2 ? blockPos2.above() : blockPos2.below();
+            if ((!bl2 || bl) && this.level.getType(blockPos3).is(this.wire)) {
+                inputs.add(blockPos3);
+            }
+        }
+
+    }
+
+    private int[] calculatePower() {
+        int i = this.positions.size();
+        int[] is = new int[i];
+        IntList[] intLists = new IntList[MAX_POWER + 1];
+
+        for(int j = 0; j <= MAX_POWER; ++j) {
+            intLists[j] = new IntArrayList();
+        }
+
+        for(int k = 0; k < i; ++k) {
+            is[k] = this.wire.getSourceSignal(this.level, this.positions.get(k));
+            intLists[is[k]].add(k);
+        }
+
+        for(int l = MAX_POWER; l > 1; --l) {
+            IntList intList = intLists[l];
+
+            for(int m = 0; m < intList.size(); ++m) {
+                int n = intList.getInt(m);
+                if (is[n] == l) {
+                    IntList intList2 = this.readers.get(n);
+
+                    for(int o = 0; o < intList2.size(); ++o) {
+                        int p = intList2.getInt(o);
+                        if (is[p] < l - 1) {
+                            is[p] = l - 1;
+                            intLists[l - 1].add(p);
+                        }
+                    }
+                }
+            }
+        }
+
+        return is;
+    }
+
+    private void apply(int[] power) {
+        Set<BlockPosition> set = Sets.newLinkedHashSet();
+        boolean[] bls = new boolean[power.length];
+
+        for(int i = 0; i < power.length; ++i) {
+            bls[i] = this.states.get(i).get(BlockRedstoneWire.POWER) != power[i];
+        }
+
+        for(int j = 0; j < power.length; ++j) {
+            if (bls[j]) {
+                IBlockData blockState = this.states.get(j);
+                BlockPosition blockPos = this.positions.get(j);
+                if (this.level.getType(blockPos) == blockState) {
+                    this.level.setTypeAndData(blockPos, blockState.set(BlockRedstoneWire.POWER, Integer.valueOf(power[j])), 2);
+                }
+
+                set.add(blockPos);
+
+                for(EnumDirection direction : EnumDirection.values()) {
+                    BlockPosition blockPos2 = blockPos.relative(direction);
+                    int k = this.indices.getInt(blockPos2);
+                    if (k < 0 || bls[k]) {
+                        set.add(blockPos2);
+                    }
+                }
+            }
+        }
+
+        for(BlockPosition blockPos3 : set) {
+            this.level.applyPhysics(blockPos3, this.wire);
+        }
+
+    }
+}
@@ -10,4 +10,11 @@ public interface TickingBlockEntity {
     BlockPosition getPos();
 
     String getType();
+
+    default boolean isSleeping() {
+        return false;
+    }
+
+    default void tickAsleep() {
+    }
 }
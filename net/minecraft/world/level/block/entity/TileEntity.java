@@ -23,6 +23,7 @@ public abstract class TileEntity {
     protected final BlockPosition worldPosition;
     protected boolean remove;
     private IBlockData blockState;
+    private boolean tickerSleeping;
 
     public TileEntity(TileEntityTypes<?> type, BlockPosition pos, IBlockData state) {
         this.type = type;
@@ -127,11 +128,33 @@ public abstract class TileEntity {
 
     public void update() {
         if (this.level != null) {
+            this.wakeTicker();
             setChanged(this.level, this.worldPosition, this.blockState);
         }
 
     }
 
+    protected void sleepTicker() {
+        if (this.level != null && !this.level.isClientSide) {
+            this.tickerSleeping = true;
+            this.level.getChunkAtWorldCoords(this.worldPosition).sleepBlockEntityTicker(this.worldPosition);
+        }
+
+    }
+
+    public void tickAsleep() {
+    }
+
+    public void wakeTicker() {
+        if (this.tickerSleeping) {
+            this.tickerSleeping = false;
+            if (this.level != null) {
+                this.level.getChunkAtWorldCoords(this.worldPosition).wakeBlockEntityTicker(this.worldPosition);
+            }
+        }
+
+    }
+
     protected static void setChanged(World world, BlockPosition pos, IBlockData state) {
         world.blockEntityChanged(pos);
         if (!state.isAir()) {
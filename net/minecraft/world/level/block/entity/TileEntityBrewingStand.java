@@ -138,6 +138,10 @@ public class TileEntityBrewingStand extends TileEntityContainer implements IWorl
             world.setTypeAndData(pos, blockState, 2);
         }
 
+        if (blockEntity.brewTime == 0 && !isBrewable(blockEntity.items) && (blockEntity.fuel > 0 || !blockEntity.items.get(4).is(Items.BLAZE_POWDER))) {
+            blockEntity.sleepTicker();
+        }
+
     }
 
     private boolean[] getPotionBits() {
@@ -227,6 +231,7 @@ public class TileEntityBrewingStand extends TileEntityContainer implements IWorl
     public void setItem(int slot, ItemStack stack) {
         if (slot >= 0 && slot < this.items.size()) {
             this.items.set(slot, stack);
+            this.wakeTicker();
         }
 
     }
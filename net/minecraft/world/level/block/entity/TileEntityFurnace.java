@@ -289,6 +289,10 @@ public abstract class TileEntityFurnace extends TileEntityContainer implements I
             setChanged(world, pos, state);
         }
 
+        if (!blockEntity.isBurning() && blockEntity.cookingProgress == 0 && (blockEntity.items.get(0).isEmpty() || blockEntity.items.get(1).isEmpty())) {
+            blockEntity.sleepTicker();
+        }
+
     }
 
     private static boolean canBurn(@Nullable IRecipe<?> recipe, NonNullList<ItemStack> slots, int count) {
@@ -415,6 +419,7 @@ public abstract class TileEntityFurnace extends TileEntityContainer implements I
             stack.setCount(this.getMaxStackSize());
         }
 
+        this.wakeTicker();
         if (slot == 0 && !bl) {
             this.cookingTotalTime = getRecipeCookingTime(this.level, this.recipeType, this);
             this.cookingProgress = 0;
@@ -14,6 +14,7 @@ import net.minecraft.network.chat.IChatBaseComponent;
 import net.minecraft.world.ContainerUtil;
 import net.minecraft.world.IInventory;
 import net.minecraft.world.IInventoryHolder;
+import net.minecraft.world.InventoryLargeChest;
 import net.minecraft.world.IWorldInventory;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.IEntitySelector;
@@ -28,6 +29,7 @@ import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.BlockChest;
 import net.minecraft.world.level.block.BlockHopper;
 import net.minecraft.world.level.block.state.IBlockData;
+import net.minecraft.world.level.entity.EntitySectionStorage;
 import net.minecraft.world.phys.AxisAlignedBB;
 import net.minecraft.world.phys.shapes.OperatorBoolean;
 import net.minecraft.world.phys.shapes.VoxelShapes;
@@ -38,6 +40,16 @@ public class TileEntityHopper extends TileEntityLootable implements IHopper {
     private NonNullList<ItemStack> items = NonNullList.withSize(5, ItemStack.EMPTY);
     private int cooldownTime = -1;
     private long tickedGameTime;
+    @Nullable
+    private IInventory blockedTarget;
+    private long blockedTargetCount;
+    private long blockedTargetOwnCount;
+    @Nullable
+    private IInventory blockedSource;
+    private long blockedSourceCount;
+    private long blockedSourceOwnCount;
+    @Nullable
+    private EntitySectionStorage<Entity>.Snapshot emptyItemLookup;
 
     public TileEntityHopper(BlockPosition pos, IBlockData state) {
         super(TileEntityTypes.HOPPER, pos, state);
@@ -72,12 +84,14 @@ public class TileEntityHopper extends TileEntityLootable implements IHopper {
     @Override
     public ItemStack splitStack(int slot, int amount) {
         this.unpackLootTable((EntityHuman)null);
+        this.contentsChanged();
         return ContainerUtil.removeItem(this.getItems(), slot, amount);
     }
 
     @Override
     public void setItem(int slot, ItemStack stack) {
         this.unpackLootTable((EntityHuman)null);
+        this.contentsChanged();
         this.getItems().set(slot, stack);
         if (stack.getCount() > this.getMaxStackSize()) {
             stack.setCount(this.getMaxStackSize());
@@ -90,6 +104,11 @@ public class TileEntityHopper extends TileEntityLootable implements IHopper {
         return new ChatMessage("container.hopper");
     }
 
+    @Override
+    public void tickAsleep() {
+        this.tickedGameTime = this.level.getTime();
+    }
+
     public static void pushItemsTick(World world, BlockPosition pos, IBlockData state, TileEntityHopper blockEntity) {
         --blockEntity.cooldownTime;
         blockEntity.tickedGameTime = world.getTime();
@@ -98,6 +117,9 @@ public class TileEntityHopper extends TileEntityLootable implements IHopper {
             tryMoveItems(world, pos, state, blockEntity, () -> {
                 return suckInItems(world, blockEntity);
             });
+            if (!state.get(BlockHopper.ENABLED)) {
+                blockEntity.sleepTicker();
+            }
         }
 
     }
@@ -137,30 +159,44 @@ public class TileEntityHopper extends TileEntityLootable implements IHopper {
         return true;
     }
 
-    private static boolean ejectItems(World world, BlockPosition pos, IBlockData state, IInventory inventory) {
+    private static boolean ejectItems(World world, BlockPosition pos, IBlockData state, TileEntityHopper inventory) {
         IInventory container = getAttachedContainer(world, pos, state);
         if (container == null) {
             return false;
+        } else if (isUnchanged(inventory.blockedTarget, container, inventory.blockedTargetCount) && inventory.blockedTargetOwnCount == inventory.getModificationCount()) {
+            return false;
         } else {
             EnumDirection direction = state.get(BlockHopper.FACING).opposite();
-            if (isFullContainer(container, direction)) {
-                return false;
-            } else {
+            if (!isFullContainer(container, direction)) {
                 for(int i = 0; i < inventory.getSize(); ++i) {
                     if (!inventory.getItem(i).isEmpty()) {
                         ItemStack itemStack = inventory.getItem(i).cloneItemStack();
                         ItemStack itemStack2 = addItem(inventory, container, inventory.splitStack(i, 1), direction);
                         if (itemStack2.isEmpty()) {
                             container.update();
+                            inventory.blockedTarget = null;
                             return true;
                         }
 
                         inventory.setItem(i, itemStack);
                     }
                 }
-
-                return false;
             }
+
+            inventory.blockedTarget = container;
+            inventory.blockedTargetCount = container.getModificationCount();
+            inventory.blockedTargetOwnCount = inventory.getModificationCount();
+            return false;
+        }
+    }
+
+    private static boolean isUnchanged(@Nullable IInventory previous, IInventory current, long count) {
+        if (previous == null || count < 0L) {
+            return false;
+        } else if (previous != current && (!(previous instanceof InventoryLargeChest) || !(current instanceof InventoryLargeChest) || ((InventoryLargeChest)previous).container1 != ((InventoryLargeChest)current).container1 || ((InventoryLargeChest)previous).container2 != ((InventoryLargeChest)current).container2)) {
+            return false;
+        } else {
+            return current.getModificationCount() == count;
         }
     }
 
@@ -183,18 +219,38 @@ public class TileEntityHopper extends TileEntityLootable implements IHopper {
 
     public static boolean suckInItems(World world, IHopper hopper) {
         IInventory container = getSourceContainer(world, hopper);
+        TileEntityHopper hopperBlockEntity = hopper instanceof TileEntityHopper ? (TileEntityHopper)hopper : null;
         if (container != null) {
-            EnumDirection direction = EnumDirection.DOWN;
-            return isEmptyContainer(container, direction) ? false : getSlots(container, direction).anyMatch((slot) -> {
-                return tryTakeInItemFromSlot(hopper, container, slot, direction);
-            });
+            if (hopperBlockEntity != null && isUnchanged(hopperBlockEntity.blockedSource, container, hopperBlockEntity.blockedSourceCount) && hopperBlockEntity.blockedSourceOwnCount == hopperBlockEntity.getModificationCount()) {
+                return false;
+            } else {
+                EnumDirection direction = EnumDirection.DOWN;
+                boolean bl = isEmptyContainer(container, direction) ? false : getSlots(container, direction).anyMatch((slot) -> {
+                    return tryTakeInItemFromSlot(hopper, container, slot, direction);
+                });
+                if (hopperBlockEntity != null) {
+                    hopperBlockEntity.blockedSource = bl ? null : container;
+                    hopperBlockEntity.blockedSourceCount = container.getModificationCount();
+                    hopperBlockEntity.blockedSourceOwnCount = hopperBlockEntity.getModificationCount();
+                }
+
+                return bl;
+            }
+        } else if (hopperBlockEntity != null && hopperBlockEntity.emptyItemLookup != null && hopperBlockEntity.emptyItemLookup.isValid()) {
+            return false;
         } else {
-            for(EntityItem itemEntity : getItemsAtAndAbove(world, hopper)) {
+            List<EntityItem> list = getItemsAtAndAbove(world, hopper);
+
+            for(EntityItem itemEntity : list) {
                 if (addItem(hopper, itemEntity)) {
                     return true;
                 }
             }
 
+            if (hopperBlockEntity != null) {
+                hopperBlockEntity.emptyItemLookup = list.isEmpty() ? world.snapshotEntitySections(hopper.getSuckShape().getBoundingBox().move(hopper.getWorldX() - 0.5D, hopper.getWorldY() - 0.5D, hopper.getWorldZ() - 0.5D)) : null;
+            }
+
             return false;
         }
     }
@@ -28,6 +28,7 @@ public abstract class TileEntityLootable extends TileEntityContainer {
     @Nullable
     public MinecraftKey lootTable;
     public long lootTableSeed;
+    private int modificationCount;
 
     protected TileEntityLootable(TileEntityTypes<?> type, BlockPosition pos, IBlockData state) {
         super(type, pos, state);
@@ -113,6 +114,7 @@ public abstract class TileEntityLootable extends TileEntityContainer {
     @Override
     public ItemStack splitWithoutUpdate(int slot) {
         this.unpackLootTable((EntityHuman)null);
+        this.contentsChanged();
         return ContainerUtil.takeItem(this.getItems(), slot);
     }
 
@@ -138,9 +140,25 @@ public abstract class TileEntityLootable extends TileEntityContainer {
 
     @Override
     public void clear() {
+        this.contentsChanged();
         this.getItems().clear();
     }
 
+    @Override
+    public void update() {
+        this.contentsChanged();
+        super.update();
+    }
+
+    protected void contentsChanged() {
+        this.modificationCount = this.modificationCount + 1 & Integer.MAX_VALUE;
+    }
+
+    @Override
+    public long getModificationCount() {
+        return (long)this.modificationCount;
+    }
+
     protected abstract NonNullList<ItemStack> getItems();
 
     protected abstract void setItems(NonNullList<ItemStack> list);
@@ -126,7 +126,7 @@ public class Chunk extends IChunkAccess {
         }
 
         this.setLightCorrect(protoChunk.isLightCorrect());
-        this.unsaved = true;
+        this.setNeedsSaving(true);
     }
 
     @Override
@@ -268,7 +268,7 @@ public class Chunk extends IChunkAccess {
                         }
                     }
 
-                    this.unsaved = true;
+                    this.setNeedsSaving(true);
                     return blockState;
                 }
             }
@@ -611,6 +611,22 @@ public class Chunk extends IChunkAccess {
 
     }
 
+    public void sleepBlockEntityTicker(BlockPosition pos) {
+        Chunk.RebindableTickingBlockEntityWrapper rebindableTickingBlockEntityWrapper = this.tickersInLevel.get(pos);
+        if (rebindableTickingBlockEntityWrapper != null) {
+            rebindableTickingBlockEntityWrapper.sleeping = true;
+        }
+
+    }
+
+    public void wakeBlockEntityTicker(BlockPosition pos) {
+        Chunk.RebindableTickingBlockEntityWrapper rebindableTickingBlockEntityWrapper = this.tickersInLevel.get(pos);
+        if (rebindableTickingBlockEntityWrapper != null) {
+            rebindableTickingBlockEntityWrapper.sleeping = false;
+        }
+
+    }
+
     private <T extends TileEntity> TickingBlockEntity createTicker(T blockEntity, BlockEntityTicker<T> blockEntityTicker) {
         return new Chunk.BoundTickingBlockEntity<>(blockEntity, blockEntityTicker);
     }
@@ -664,6 +680,14 @@ public class Chunk extends IChunkAccess {
 
         }
 
+        @Override
+        public void tickAsleep() {
+            if (!this.blockEntity.isRemoved() && this.blockEntity.hasWorld() && Chunk.this.isTicking(this.blockEntity.getPosition())) {
+                this.blockEntity.tickAsleep();
+            }
+
+        }
+
         @Override
         public boolean isRemoved() {
             return this.blockEntity.isRemoved();
@@ -693,6 +717,7 @@ public class Chunk extends IChunkAccess {
 
     class RebindableTickingBlockEntityWrapper implements TickingBlockEntity {
         private TickingBlockEntity ticker;
+        boolean sleeping;
 
         RebindableTickingBlockEntityWrapper(TickingBlockEntity wrapped) {
             this.ticker = wrapped;
@@ -700,11 +725,22 @@ public class Chunk extends IChunkAccess {
 
         void rebind(TickingBlockEntity wrapped) {
             this.ticker = wrapped;
+            this.sleeping = false;
+        }
+
+        @Override
+        public boolean isSleeping() {
+            return this.sleeping;
         }
 
         @Override
         public void tick() {
-            this.ticker.tick();
+            if (this.sleeping) {
+                this.ticker.tickAsleep();
+            } else {
+                this.ticker.tick();
+            }
+
         }
 
         @Override
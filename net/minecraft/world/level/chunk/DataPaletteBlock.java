@@ -29,6 +29,7 @@ public class DataPaletteBlock<T> implements DataPaletteExpandable<T> {
     };
     public final Registry<T> registry;
     private volatile PalettedContainer$Data<T> data;
+    private volatile boolean shared;
     private final PalettedContainer$Strategy strategy;
     private final ThreadingDetector threadingDetector = new ThreadingDetector("PalettedContainer");
 
@@ -101,6 +102,7 @@ public class DataPaletteBlock<T> implements DataPaletteExpandable<T> {
     }
 
     private T getAndSet(int index, T value) {
+        this.unshare();
         int i = this.data.palette.idFor(value);
         int j = this.data.storage.getAndSet(index, i);
         return this.data.palette.valueFor(j);
@@ -118,6 +120,7 @@ public class DataPaletteBlock<T> implements DataPaletteExpandable<T> {
     }
 
     private void setBlockIndex(int index, T value) {
+        this.unshare();
         int i = this.data.palette.idFor(value);
         this.data.storage.set(index, i);
     }
@@ -144,6 +147,7 @@ public class DataPaletteBlock<T> implements DataPaletteExpandable<T> {
         this.acquire();
 
         try {
+            this.unshare();
             int i = buf.readByte();
             PalettedContainer$Data<T> data = this.createOrReuseData(this.data, i);
             data.palette.read(buf);
@@ -167,7 +171,10 @@ public class DataPaletteBlock<T> implements DataPaletteExpandable<T> {
     }
 
     private static <T> DataResult<DataPaletteBlock<T>> read(Registry<T> idList, PalettedContainer$Strategy provider, PalettedContainer$DiscData<T> serialized) {
-        List<T> list = serialized.paletteEntries();
+        return read(idList, provider, serialized.paletteEntries(), serialized.storage().map(LongStream::toArray));
+    }
+
+    public static <T> DataResult<DataPaletteBlock<T>> read(Registry<T> idList, PalettedContainer$Strategy provider, List<T> list, Optional<long[]> storage) {
         int i = provider.size();
         int j = provider.calculateBitsForSerialization(idList, list.size());
         PalettedContainer$Configuration<T> configuration = provider.getConfiguration(idList, j);
@@ -175,12 +182,11 @@ public class DataPaletteBlock<T> implements DataPaletteExpandable<T> {
         if (j == 0) {
             bitStorage = new ZeroBitStorage(i);
         } else {
-            Optional<LongStream> optional = serialized.storage();
-            if (optional.isEmpty()) {
+            if (storage.isEmpty()) {
                 return DataResult.error("Missing values for non-zero storage");
             }
 
-            long[] ls = optional.get().toArray();
+            long[] ls = storage.get();
 
             try {
                 if (configuration.factory() == PalettedContainer$Strategy.GLOBAL_PALETTE_FACTORY) {
@@ -262,6 +268,30 @@ public class DataPaletteBlock<T> implements DataPaletteExpandable<T> {
         return new DataPaletteBlock<>(this.registry, this.strategy, new PalettedContainer$Data<>(this.data.configuration(), this.data.storage().copy(), this.data.palette().copy()));
     }
 
+    public DataPaletteBlock<T> snapshot() {
+        this.acquire();
+
+        DataPaletteBlock<T> dataPaletteBlock;
+        try {
+            this.shared = true;
+            dataPaletteBlock = new DataPaletteBlock<>(this.registry, this.strategy, this.data);
+            dataPaletteBlock.shared = true;
+        } finally {
+            this.release();
+        }
+
+        return dataPaletteBlock;
+    }
+
+    private void unshare() {
+        if (this.shared) {
+            PalettedContainer$Data<T> data = this.data;
+            this.data = new PalettedContainer$Data<>(data.configuration(), data.storage().copy(), data.palette().copy());
+            this.shared = false;
+        }
+
+    }
+
     public void count(DataPaletteBlock.CountConsumer<T> counter) {
         if (this.data.palette.getSize() == 1) {
             counter.accept(this.data.palette.valueFor(0), this.data.storage.getSize());
@@ -19,6 +19,7 @@ import net.minecraft.CrashReport;
 import net.minecraft.CrashReportSystemDetails;
 import net.minecraft.ReportedException;
 import net.minecraft.SharedConstants;
+import net.minecraft.SystemUtils;
 import net.minecraft.core.BlockPosition;
 import net.minecraft.core.IRegistry;
 import net.minecraft.core.QuartPos;
@@ -55,6 +56,8 @@ public abstract class IChunkAccess implements IBlockAccess, BiomeManager.Provide
     private static final Logger LOGGER = LogManager.getLogger();
     protected final ShortList[] postProcessing;
     protected volatile boolean unsaved;
+    private long unsavedSince;
+    private int modificationCount;
     private volatile boolean isLightCorrect;
     protected final ChunkCoordIntPair chunkPos;
     private long inhabitedTime;
@@ -192,7 +195,7 @@ public abstract class IChunkAccess implements IBlockAccess, BiomeManager.Provide
     @Override
     public void setStartForFeature(StructureGenerator<?> structure, StructureStart<?> start) {
         this.structureStarts.put(structure, start);
-        this.unsaved = true;
+        this.setNeedsSaving(true);
     }
 
     public Map<StructureGenerator<?>, StructureStart<?>> getAllStarts() {
@@ -202,7 +205,7 @@ public abstract class IChunkAccess implements IBlockAccess, BiomeManager.Provide
     public void setAllStarts(Map<StructureGenerator<?>, StructureStart<?>> structureStarts) {
         this.structureStarts.clear();
         this.structureStarts.putAll(structureStarts);
-        this.unsaved = true;
+        this.setNeedsSaving(true);
     }
 
     @Override
@@ -217,7 +220,7 @@ public abstract class IChunkAccess implements IBlockAccess, BiomeManager.Provide
         this.structuresRefences.computeIfAbsent(structure, (structureFeature) -> {
             return new LongOpenHashSet();
         }).add(reference);
-        this.unsaved = true;
+        this.setNeedsSaving(true);
     }
 
     @Override
@@ -229,7 +232,7 @@ public abstract class IChunkAccess implements IBlockAccess, BiomeManager.Provide
     public void setAllReferences(Map<StructureGenerator<?>, LongSet> structureReferences) {
         this.structuresRefences.clear();
         this.structuresRefences.putAll(structureReferences);
-        this.unsaved = true;
+        this.setNeedsSaving(true);
     }
 
     public boolean isYSpaceEmpty(int lowerHeight, int upperHeight) {
@@ -251,6 +254,14 @@ public abstract class IChunkAccess implements IBlockAccess, BiomeManager.Provide
     }
 
     public void setNeedsSaving(boolean shouldSave) {
+        if (shouldSave) {
+            if (!this.unsaved) {
+                this.unsavedSince = SystemUtils.getMonotonicMillis();
+            }
+
+            ++this.modificationCount;
+        }
+
         this.unsaved = shouldSave;
     }
 
@@ -258,6 +269,14 @@ public abstract class IChunkAccess implements IBlockAccess, BiomeManager.Provide
         return this.unsaved;
     }
 
+    public long getUnsavedSince() {
+        return this.unsavedSince;
+    }
+
+    public int getModificationCount() {
+        return this.modificationCount;
+    }
+
     public abstract ChunkStatus getChunkStatus();
 
     public abstract void removeTileEntity(BlockPosition pos);
@@ -1,5 +1,6 @@
 package net.minecraft.world.level.chunk.storage;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.Dynamic;
@@ -8,10 +9,12 @@ import it.unimi.dsi.fastutil.longs.LongSet;
 import it.unimi.dsi.fastutil.shorts.ShortList;
 import java.util.Arrays;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Map.Entry;
+import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import net.minecraft.SharedConstants;
 import net.minecraft.core.BlockPosition;
@@ -70,6 +73,10 @@ public class ChunkRegionLoader {
     private static final String FLUID_TICKS_TAG = "fluid_ticks";
 
     public static ProtoChunk read(WorldServer world, VillagePlace poiStorage, ChunkCoordIntPair chunkPos, NBTTagCompound nbt) {
+        return read(world, poiStorage, chunkPos, nbt, (ChunkStreamReader)null);
+    }
+
+    public static ProtoChunk read(WorldServer world, VillagePlace poiStorage, ChunkCoordIntPair chunkPos, NBTTagCompound nbt, @Nullable ChunkStreamReader streamReader) {
         ChunkCoordIntPair chunkPos2 = new ChunkCoordIntPair(nbt.getInt("xPos"), nbt.getInt("zPos"));
         if (!Objects.equals(chunkPos, chunkPos2)) {
             LOGGER.error("Chunk file at {} is in the wrong location; relocating. (Expected {}, got {})", chunkPos, chunkPos, chunkPos2);
@@ -95,21 +102,27 @@ public class ChunkRegionLoader {
             int k = compoundTag.getByte("Y");
             int l = world.getSectionIndexFromSectionY(k);
             if (l >= 0 && l < levelChunkSections.length) {
-                DataPaletteBlock<IBlockData> palettedContainer;
-                if (compoundTag.hasKeyOfType("block_states", 10)) {
+                if (streamReader != null) {
+                    for(String string : streamReader.getErrors(j)) {
+                        logErrors(chunkPos, k, string);
+                    }
+                }
+
+                DataPaletteBlock<IBlockData> palettedContainer = streamReader != null ? streamReader.getBlockStates(j) : null;
+                if (palettedContainer == null && compoundTag.hasKeyOfType("block_states", 10)) {
                     palettedContainer = BLOCK_STATE_CODEC.parse(DynamicOpsNBT.INSTANCE, compoundTag.getCompound("block_states")).promotePartial((errorMessage) -> {
                         logErrors(chunkPos, k, errorMessage);
                     }).getOrThrow(false, LOGGER::error);
-                } else {
+                } else if (palettedContainer == null) {
                     palettedContainer = new DataPaletteBlock<>(Block.BLOCK_STATE_REGISTRY, Blocks.AIR.getBlockData(), PalettedContainer$Strategy.SECTION_STATES);
                 }
 
-                DataPaletteBlock<BiomeBase> palettedContainer3;
-                if (compoundTag.hasKeyOfType("biomes", 10)) {
+                DataPaletteBlock<BiomeBase> palettedContainer3 = streamReader != null ? streamReader.getBiomes(j) : null;
+                if (palettedContainer3 == null && compoundTag.hasKeyOfType("biomes", 10)) {
                     palettedContainer3 = codec.parse(DynamicOpsNBT.INSTANCE, compoundTag.getCompound("biomes")).promotePartial((errorMessage) -> {
                         logErrors(chunkPos, k, errorMessage);
                     }).getOrThrow(false, LOGGER::error);
-                } else {
+                } else if (palettedContainer3 == null) {
                     palettedContainer3 = new DataPaletteBlock<>(registry, registry.getOrThrow(Biomes.PLAINS), PalettedContainer$Strategy.SECTION_BIOMES);
                 }
 
@@ -256,6 +269,10 @@ public class ChunkRegionLoader {
     }
 
     public static NBTTagCompound saveChunk(WorldServer world, IChunkAccess chunk) {
+        return prepareSaveChunk(world, chunk).get();
+    }
+
+    public static Supplier<NBTTagCompound> prepareSaveChunk(WorldServer world, IChunkAccess chunk) {
         ChunkCoordIntPair chunkPos = chunk.getPos();
         NBTTagCompound compoundTag = new NBTTagCompound();
         compoundTag.setInt("DataVersion", SharedConstants.getCurrentVersion().getWorldVersion());
@@ -285,11 +302,11 @@ public class ChunkRegionLoader {
         }
 
         ChunkSection[] levelChunkSections = chunk.getSections();
-        NBTTagList listTag = new NBTTagList();
         LightEngine levelLightEngine = world.getChunkSource().getLightEngine();
         IRegistry<BiomeBase> registry = world.registryAccess().registryOrThrow(IRegistry.BIOME_REGISTRY);
         Codec<DataPaletteBlock<BiomeBase>> codec = makeBiomeCodec(registry);
         boolean bl = chunk.isLightCorrect();
+        List<Supplier<NBTTagCompound>> list = Lists.newArrayList();
 
         for(int i = levelLightEngine.getMinLightSection(); i < levelLightEngine.getMaxLightSection(); ++i) {
             int j = chunk.getSectionIndexFromSectionY(i);
@@ -297,48 +314,53 @@ public class ChunkRegionLoader {
             NibbleArray dataLayer = levelLightEngine.getLayerListener(EnumSkyBlock.BLOCK).getDataLayerData(SectionPosition.of(chunkPos, i));
             NibbleArray dataLayer2 = levelLightEngine.getLayerListener(EnumSkyBlock.SKY).getDataLayerData(SectionPosition.of(chunkPos, i));
             if (bl2 || dataLayer != null || dataLayer2 != null) {
-                NBTTagCompound compoundTag2 = new NBTTagCompound();
-                if (bl2) {
-                    ChunkSection levelChunkSection = levelChunkSections[j];
-                    compoundTag2.set("block_states", BLOCK_STATE_CODEC.encodeStart(DynamicOpsNBT.INSTANCE, levelChunkSection.getBlocks()).getOrThrow(false, LOGGER::error));
-                    compoundTag2.set("biomes", codec.encodeStart(DynamicOpsNBT.INSTANCE, levelChunkSection.getBiomes()).getOrThrow(false, LOGGER::error));
-                }
+                DataPaletteBlock<IBlockData> palettedContainer = bl2 ? levelChunkSections[j].getBlocks().snapshot() : null;
+                DataPaletteBlock<BiomeBase> palettedContainer2 = bl2 ? levelChunkSections[j].getBiomes().snapshot() : null;
+                byte[] bs = dataLayer != null && !dataLayer.isEmpty() ? dataLayer.copy().asBytes() : null;
+                byte[] cs = dataLayer2 != null && !dataLayer2.isEmpty() ? dataLayer2.copy().asBytes() : null;
+                byte b = (byte)i;
+                list.add(() -> {
+                    NBTTagCompound compoundTag2 = new NBTTagCompound();
+                    if (palettedContainer != null) {
+                        compoundTag2.set("block_states", BLOCK_STATE_CODEC.encodeStart(DynamicOpsNBT.INSTANCE, palettedContainer).getOrThrow(false, LOGGER::error));
+                        compoundTag2.set("biomes", codec.encodeStart(DynamicOpsNBT.INSTANCE, palettedContainer2).getOrThrow(false, LOGGER::error));
+                    }
 
-                if (dataLayer != null && !dataLayer.isEmpty()) {
-                    compoundTag2.setByteArray("BlockLight", dataLayer.asBytes());
-                }
+                    if (bs != null) {
+                        compoundTag2.setByteArray("BlockLight", bs);
+                    }
 
-                if (dataLayer2 != null && !dataLayer2.isEmpty()) {
-                    compoundTag2.setByteArray("SkyLight", dataLayer2.asBytes());
-                }
+                    if (cs != null) {
+                        compoundTag2.setByteArray("SkyLight", cs);
+                    }
 
-                if (!compoundTag2.isEmpty()) {
-                    compoundTag2.setByte("Y", (byte)i);
-                    listTag.add(compoundTag2);
-                }
+                    if (!compoundTag2.isEmpty()) {
+                        compoundTag2.setByte("Y", b);
+                        return compoundTag2;
+                    } else {
+                        return null;
+                    }
+                });
             }
         }
 
-        compoundTag.set("sections", listTag);
         if (bl) {
             compoundTag.setBoolean("isLightOn", true);
         }
 
-        NBTTagList listTag2 = new NBTTagList();
+        List<NBTTagCompound> list2 = Lists.newArrayList();
 
         for(BlockPosition blockPos : chunk.getBlockEntitiesPos()) {
             NBTTagCompound compoundTag3 = chunk.getBlockEntityNbtForSaving(blockPos);
             if (compoundTag3 != null) {
-                listTag2.add(compoundTag3);
+                list2.add(compoundTag3);
             }
         }
 
-        compoundTag.set("block_entities", listTag2);
+        List<NBTTagCompound> list3 = null;
         if (chunk.getChunkStatus().getType() == ChunkStatus.Type.PROTOCHUNK) {
             ProtoChunk protoChunk = (ProtoChunk)chunk;
-            NBTTagList listTag3 = new NBTTagList();
-            listTag3.addAll(protoChunk.getEntities());
-            compoundTag.set("entities", listTag3);
+            list3 = List.copyOf(protoChunk.getEntities());
             compoundTag.set("Lights", packOffsets(protoChunk.getPackedLights()));
             NBTTagCompound compoundTag4 = new NBTTagCompound();
 
@@ -352,23 +374,61 @@ public class ChunkRegionLoader {
             compoundTag.set("CarvingMasks", compoundTag4);
         }
 
-        saveTicks(world, compoundTag, chunk.getTicksForSerialization());
+        long l = world.getWorldData().getTime();
+        ChunkAccess$TicksToSave ticksToSave = chunk.getTicksForSerialization();
+        ChunkAccess$TicksToSave ticksToSave2 = new ChunkAccess$TicksToSave(ticksToSave.blocks().snapshot(), ticksToSave.fluids().snapshot());
         compoundTag.set("PostProcessing", packOffsets(chunk.getPostProcessing()));
-        NBTTagCompound compoundTag5 = new NBTTagCompound();
+        Map<HeightMap.Type, long[]> map = Maps.newEnumMap(HeightMap.Type.class);
 
         for(Entry<HeightMap.Type, HeightMap> entry : chunk.getHeightmaps()) {
             if (chunk.getChunkStatus().heightmapsAfter().contains(entry.getKey())) {
-                compoundTag5.set(entry.getKey().getSerializationKey(), new NBTTagLongArray(entry.getValue().getRawData()));
+                map.put(entry.getKey(), (long[])entry.getValue().getRawData().clone());
             }
         }
 
-        compoundTag.set("Heightmaps", compoundTag5);
-        compoundTag.set("structures", packStructureData(StructurePieceSerializationContext.fromLevel(world), chunkPos, chunk.getAllStarts(), chunk.getAllReferences()));
-        return compoundTag;
+        StructurePieceSerializationContext structurePieceSerializationContext = StructurePieceSerializationContext.fromLevel(world);
+        Map<StructureGenerator<?>, StructureStart<?>> map2 = Map.copyOf(chunk.getAllStarts());
+        Map<StructureGenerator<?>, LongSet> map3 = Maps.newHashMap();
+
+        for(Entry<StructureGenerator<?>, LongSet> entry2 : chunk.getAllReferences().entrySet()) {
+            map3.put(entry2.getKey(), new LongOpenHashSet(entry2.getValue()));
+        }
+
+        List<NBTTagCompound> list4 = list3;
+        return () -> {
+            NBTTagList listTag = new NBTTagList();
+
+            for(Supplier<NBTTagCompound> supplier : list) {
+                NBTTagCompound compoundTag2 = supplier.get();
+                if (compoundTag2 != null) {
+                    listTag.add(compoundTag2);
+                }
+            }
+
+            compoundTag.set("sections", listTag);
+            NBTTagList listTag2 = new NBTTagList();
+            listTag2.addAll(list2);
+            compoundTag.set("block_entities", listTag2);
+            if (list4 != null) {
+                NBTTagList listTag3 = new NBTTagList();
+                listTag3.addAll(list4);
+                compoundTag.set("entities", listTag3);
+            }
+
+            saveTicks(l, compoundTag, ticksToSave2);
+            NBTTagCompound compoundTag5 = new NBTTagCompound();
+
+            for(Entry<HeightMap.Type, long[]> entry : map.entrySet()) {
+                compoundTag5.set(entry.getKey().getSerializationKey(), new NBTTagLongArray(entry.getValue()));
+            }
+
+            compoundTag.set("Heightmaps", compoundTag5);
+            compoundTag.set("structures", packStructureData(structurePieceSerializationContext, chunkPos, map2, map3));
+            return compoundTag;
+        };
     }
 
-    private static void saveTicks(WorldServer world, NBTTagCompound nbt, ChunkAccess$TicksToSave tickSchedulers) {
-        long l = world.getWorldData().getTime();
+    private static void saveTicks(long l, NBTTagCompound nbt, ChunkAccess$TicksToSave tickSchedulers) {
         nbt.set("block_ticks", tickSchedulers.blocks().save(l, (block) -> {
             return IRegistry.BLOCK.getKey(block).toString();
         }));
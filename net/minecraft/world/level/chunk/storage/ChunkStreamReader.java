@@ -0,0 +1,382 @@
+package net.minecraft.world.level.chunk.storage;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.mojang.datafixers.util.Pair;
+import com.mojang.serialization.DataResult;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Map.Entry;
+import javax.annotation.Nullable;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.IRegistry;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagType;
+import net.minecraft.nbt.StreamTagVisitor;
+import net.minecraft.nbt.visitors.CollectToTag;
+import net.minecraft.resources.MinecraftKey;
+import net.minecraft.world.level.biome.BiomeBase;
+import net.minecraft.world.level.biome.Biomes;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.IBlockData;
+import net.minecraft.world.level.block.state.properties.IBlockState;
+import net.minecraft.world.level.chunk.DataPaletteBlock;
+import net.minecraft.world.level.chunk.PalettedContainer$Strategy;
+
+public class ChunkStreamReader implements StreamTagVisitor {
+    private static final String SECTIONS_TAG = "sections";
+    private static final String BLOCK_STATES_TAG = "block_states";
+    private static final String BIOMES_TAG = "biomes";
+    private final CollectToTag collector = new CollectToTag();
+    private final IRegistry<BiomeBase> biomeRegistry;
+    private final BiomeBase defaultBiome;
+    private final Int2ObjectMap<DataPaletteBlock<IBlockData>> blockStates = new Int2ObjectOpenHashMap<>();
+    private final Int2ObjectMap<DataPaletteBlock<BiomeBase>> biomes = new Int2ObjectOpenHashMap<>();
+    private final Int2ObjectMap<List<String>> errors = new Int2ObjectOpenHashMap<>();
+    private final List<Runnable> pendingDecodes = Lists.newArrayList();
+    private List<Pair<String, Map<String, String>>> blockPalette = Lists.newArrayList();
+    private List<String> biomePalette = Lists.newArrayList();
+    private Map<String, String> properties = Maps.newHashMap();
+    private int depth;
+    private String lastKey = "";
+    private int dataVersion = -1;
+    private boolean failed;
+    private int sectionsDepth = -1;
+    private int sectionIndex = -1;
+    private int containerDepth = -1;
+    private boolean readingBiomes;
+    private boolean readingPalette;
+    private boolean hasPalette;
+    @Nullable
+    private long[] data;
+    @Nullable
+    private String paletteName;
+
+    public ChunkStreamReader(IRegistry<BiomeBase> biomeRegistry) {
+        this.biomeRegistry = biomeRegistry;
+        this.defaultBiome = biomeRegistry.getOrThrow(Biomes.PLAINS);
+    }
+
+    @Nullable
+    public NBTTagCompound getResult() {
+        NBTBase tag = this.collector.getResult();
+        return tag instanceof NBTTagCompound ? (NBTTagCompound)tag : null;
+    }
+
+    public boolean canLoadDirectly() {
+        return !this.failed && this.dataVersion == SharedConstants.getCurrentVersion().getWorldVersion();
+    }
+
+    public void decode() {
+        if (this.canLoadDirectly()) {
+            for(Runnable runnable : this.pendingDecodes) {
+                runnable.run();
+            }
+        }
+
+        this.pendingDecodes.clear();
+    }
+
+    @Nullable
+    public DataPaletteBlock<IBlockData> getBlockStates(int index) {
+        return this.blockStates.get(index);
+    }
+
+    @Nullable
+    public DataPaletteBlock<BiomeBase> getBiomes(int index) {
+        return this.biomes.get(index);
+    }
+
+    public List<String> getErrors(int index) {
+        List<String> list = this.errors.get(index);
+        return list == null ? Collections.emptyList() : list;
+    }
+
+    private boolean isInContainer() {
+        return this.containerDepth != -1;
+    }
+
+    private void enter() {
+        ++this.depth;
+    }
+
+    @Override
+    public StreamTagVisitor.ValueResult visitEnd() {
+        return this.collector.visitEnd();
+    }
+
+    @Override
+    public StreamTagVisitor.ValueResult visit(String value) {
+        if (this.isInContainer() && this.readingPalette) {
+            if (this.readingBiomes) {
+                if (this.depth == this.containerDepth + 1) {
+                    this.biomePalette.add(value);
+                }
+            } else if (this.depth == this.containerDepth + 2 && "Name".equals(this.lastKey)) {
+                this.paletteName = value;
+            } else if (this.depth == this.containerDepth + 3) {
+                this.properties.put(this.lastKey, value);
+            }
+        }
+
+        return this.collector.visit(value);
+    }
+
+    @Override
+    public StreamTagVisitor.ValueResult visit(byte value) {
+        return this.collector.visit(value);
+    }
+
+    @Override
+    public StreamTagVisitor.ValueResult visit(short value) {
+        return this.collector.visit(value);
+    }
+
+    @Override
+    public StreamTagVisitor.ValueResult visit(int value) {
+        if (!this.isInContainer() && this.depth == 1 && "DataVersion".equals(this.lastKey)) {
+            this.dataVersion = value;
+        }
+
+        return this.collector.visit(value);
+    }
+
+    @Override
+    public StreamTagVisitor.ValueResult visit(long value) {
+        return this.collector.visit(value);
+    }
+
+    @Override
+    public StreamTagVisitor.ValueResult visit(float value) {
+        return this.collector.visit(value);
+    }
+
+    @Override
+    public StreamTagVisitor.ValueResult visit(double value) {
+        return this.collector.visit(value);
+    }
+
+    @Override
+    public StreamTagVisitor.ValueResult visit(byte[] value) {
+        return this.collector.visit(value);
+    }
+
+    @Override
+    public StreamTagVisitor.ValueResult visit(int[] value) {
+        return this.collector.visit(value);
+    }
+
+    @Override
+    public StreamTagVisitor.ValueResult visit(long[] value) {
+        if (this.isInContainer() && this.depth == this.containerDepth && "data".equals(this.lastKey)) {
+            this.data = value;
+        }
+
+        return this.collector.visit(value);
+    }
+
+    @Override
+    public StreamTagVisitor.ValueResult visitList(NBTTagType<?> entryType, int length) {
+        return this.collector.visitList(entryType, length);
+    }
+
+    @Override
+    public StreamTagVisitor.EntryResult visitEntry(NBTTagType<?> type) {
+        return this.collector.visitEntry(type);
+    }
+
+    @Override
+    public StreamTagVisitor.EntryResult visitEntry(NBTTagType<?> type, String key) {
+        this.lastKey = key;
+        StreamTagVisitor.EntryResult entryResult = this.collector.visitEntry(type, key);
+        if (entryResult == StreamTagVisitor.EntryResult.ENTER && (type == NBTTagList.TYPE || type == NBTTagCompound.TYPE)) {
+            if (this.isInContainer()) {
+                if (this.depth == this.containerDepth && "palette".equals(key) && type == NBTTagList.TYPE) {
+                    this.hasPalette = true;
+                    this.readingPalette = true;
+                }
+
+                this.enter();
+            } else if (this.depth == this.sectionsDepth + 1 && this.sectionIndex != -1 && type == NBTTagCompound.TYPE && (BLOCK_STATES_TAG.equals(key) || BIOMES_TAG.equals(key))) {
+                this.enter();
+                this.containerDepth = this.depth;
+                this.readingBiomes = BIOMES_TAG.equals(key);
+                this.readingPalette = false;
+                this.hasPalette = false;
+                this.data = null;
+            } else {
+                this.enter();
+                if (this.depth == 2 && type == NBTTagList.TYPE && SECTIONS_TAG.equals(key)) {
+                    this.sectionsDepth = this.depth;
+                }
+            }
+        }
+
+        return entryResult;
+    }
+
+    @Override
+    public StreamTagVisitor.EntryResult visitElement(NBTTagType<?> type, int index) {
+        StreamTagVisitor.EntryResult entryResult = this.collector.visitElement(type, index);
+        if (this.isInContainer()) {
+            if (this.readingPalette && this.depth == this.containerDepth + 1 && !this.readingBiomes && type != NBTTagCompound.TYPE) {
+                this.failed = true;
+            }
+
+            if (entryResult == StreamTagVisitor.EntryResult.ENTER && (type == NBTTagList.TYPE || type == NBTTagCompound.TYPE)) {
+                this.enter();
+                if (this.depth == this.containerDepth + 2) {
+                    this.paletteName = null;
+                    this.properties = Maps.newHashMap();
+                }
+            }
+        } else if (entryResult == StreamTagVisitor.EntryResult.ENTER && (type == NBTTagList.TYPE || type == NBTTagCompound.TYPE)) {
+            this.enter();
+            if (this.depth == this.sectionsDepth + 1) {
+                this.sectionIndex = index;
+            }
+        }
+
+        return entryResult;
+    }
+
+    @Override
+    public StreamTagVisitor.ValueResult visitContainerEnd() {
+        if (this.isInContainer()) {
+            if (this.readingPalette && this.depth == this.containerDepth + 2 && !this.readingBiomes) {
+                this.blockPalette.add(Pair.of(this.paletteName, this.properties));
+            } else if (this.readingPalette && this.depth == this.containerDepth + 1) {
+                this.readingPalette = false;
+            } else if (this.depth == this.containerDepth) {
+                this.finishContainer();
+                this.containerDepth = -1;
+            }
+        } else if (this.depth == this.sectionsDepth + 1) {
+            this.sectionIndex = -1;
+        } else if (this.depth == this.sectionsDepth) {
+            this.sectionsDepth = -1;
+        }
+
+        --this.depth;
+        return this.collector.visitContainerEnd();
+    }
+
+    @Override
+    public StreamTagVisitor.ValueResult visitRootEntry(NBTTagType<?> rootType) {
+        if (rootType == NBTTagCompound.TYPE) {
+            this.enter();
+        }
+
+        return this.collector.visitRootEntry(rootType);
+    }
+
+    private void finishContainer() {
+        if (!this.hasPalette) {
+            this.failed = true;
+        } else {
+            int i = this.sectionIndex;
+            Optional<long[]> optional = Optional.ofNullable(this.data);
+            if (this.readingBiomes) {
+                List<String> list = this.biomePalette;
+                this.pendingDecodes.add(() -> {
+                    this.decodeBiomes(i, list, optional);
+                });
+            } else {
+                List<Pair<String, Map<String, String>>> list2 = this.blockPalette;
+                this.pendingDecodes.add(() -> {
+                    this.decodeBlockStates(i, list2, optional);
+                });
+            }
+        }
+
+        this.blockPalette = Lists.newArrayList();
+        this.biomePalette = Lists.newArrayList();
+        this.data = null;
+    }
+
+    private void decodeBiomes(int index, List<String> palette, Optional<long[]> data) {
+        List<BiomeBase> list = Lists.newArrayListWithCapacity(palette.size());
+
+        for(String string : palette) {
+            MinecraftKey minecraftKey = MinecraftKey.tryParse(string);
+            Optional<BiomeBase> optional = minecraftKey == null ? Optional.empty() : this.biomeRegistry.getOptional(minecraftKey);
+            if (optional.isPresent()) {
+                list.add(optional.get());
+            } else {
+                this.addError(index, "Unknown registry key: " + string);
+                list.add(this.defaultBiome);
+            }
+        }
+
+        DataResult<DataPaletteBlock<BiomeBase>> dataResult = DataPaletteBlock.read(this.biomeRegistry, PalettedContainer$Strategy.SECTION_BIOMES, list, data.map(long[]::clone));
+        dataResult.result().ifPresentOrElse((container) -> {
+            this.biomes.put(index, container);
+        }, () -> {
+            this.failed = true;
+        });
+    }
+
+    private void decodeBlockStates(int index, List<Pair<String, Map<String, String>>> palette, Optional<long[]> data) {
+        List<IBlockData> list = Lists.newArrayListWithCapacity(palette.size());
+
+        for(Pair<String, Map<String, String>> pair : palette) {
+            list.add(this.resolveBlockState(index, pair.getFirst(), pair.getSecond()));
+        }
+
+        DataResult<DataPaletteBlock<IBlockData>> dataResult = DataPaletteBlock.read(Block.BLOCK_STATE_REGISTRY, PalettedContainer$Strategy.SECTION_STATES, list, data.map(long[]::clone));
+        dataResult.result().ifPresentOrElse((container) -> {
+            this.blockStates.put(index, container);
+        }, () -> {
+            this.failed = true;
+        });
+    }
+
+    private IBlockData resolveBlockState(int index, @Nullable String name, Map<String, String> properties) {
+        MinecraftKey minecraftKey = name == null ? null : MinecraftKey.tryParse(name);
+        if (minecraftKey == null) {
+            this.failed = true;
+            return Blocks.AIR.getBlockData();
+        } else {
+            Optional<Block> optional = IRegistry.BLOCK.getOptional(minecraftKey);
+            if (!optional.isPresent()) {
+                this.failed = true;
+                return Blocks.AIR.getBlockData();
+            }
+
+            Block block = optional.get();
+            IBlockData blockState = block.getBlockData();
+
+            for(Entry<String, String> entry : properties.entrySet()) {
+                IBlockState<?> property = block.getStates().getProperty(entry.getKey());
+                if (property != null) {
+                    blockState = this.setValue(index, blockState, property, entry.getValue());
+                }
+            }
+
+            return blockState;
+        }
+    }
+
+    private <T extends Comparable<T>> IBlockData setValue(int index, IBlockData state, IBlockState<T> property, String value) {
+        Optional<T> optional = property.getValue(value);
+        if (optional.isPresent()) {
+            return state.set(property, optional.get());
+        } else {
+            this.addError(index, "Unable to read property: " + property + " with value: " + value);
+            return state;
+        }
+    }
+
+    private void addError(int index, String message) {
+        this.errors.computeIfAbsent(index, (i) -> {
+            return Lists.newArrayList();
+        }).add(message);
+    }
+}
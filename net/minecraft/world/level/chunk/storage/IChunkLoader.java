@@ -1,13 +1,17 @@
 package net.minecraft.world.level.chunk.storage;
 
+import com.google.common.collect.Maps;
 import com.mojang.datafixers.DataFixer;
 import com.mojang.serialization.Codec;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import net.minecraft.SharedConstants;
+import net.minecraft.SystemUtils;
 import net.minecraft.nbt.GameProfileSerializer;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.resources.ResourceKey;
@@ -24,6 +28,7 @@ public class IChunkLoader implements AutoCloseable {
     protected final DataFixer fixerUpper;
     @Nullable
     private PersistentStructureLegacy legacyStructureHandler;
+    private final Map<ChunkCoordIntPair, CompletableFuture<Void>> pendingSerializations = Maps.newConcurrentMap();
 
     public IChunkLoader(Path directory, DataFixer dataFixer, boolean dsync) {
         this.fixerUpper = dataFixer;
@@ -68,6 +73,7 @@ public class IChunkLoader implements AutoCloseable {
 
     @Nullable
     public NBTTagCompound read(ChunkCoordIntPair chunkPos) throws IOException {
+        this.awaitSerialization(chunkPos).join();
         return this.worker.load(chunkPos);
     }
 
@@ -79,16 +85,60 @@ public class IChunkLoader implements AutoCloseable {
 
     }
 
+    public CompletableFuture<Void> writeAsync(ChunkCoordIntPair chunkPos, Supplier<NBTTagCompound> nbtSupplier) {
+        if (this.legacyStructureHandler != null) {
+            this.legacyStructureHandler.removeIndex(chunkPos.pair());
+        }
+
+        CompletableFuture<Void> completableFuture = this.pendingSerializations.compute(chunkPos, (pos, previous) -> {
+            CompletableFuture<Void> completableFuture2 = previous == null ? CompletableFuture.completedFuture((Void)null) : previous.handle((void_, throwable) -> {
+                return null;
+            });
+            return completableFuture2.thenApplyAsync((void_) -> {
+                return nbtSupplier.get();
+            }, SystemUtils.chunkSaveExecutor()).thenAccept((nbt) -> {
+                this.worker.store(pos, nbt);
+            });
+        });
+        completableFuture.whenComplete((void_, throwable) -> {
+            this.pendingSerializations.remove(chunkPos, completableFuture);
+        });
+        return completableFuture;
+    }
+
+    public int getPendingSerializations() {
+        return this.pendingSerializations.size();
+    }
+
+    private CompletableFuture<Void> awaitSerialization(ChunkCoordIntPair chunkPos) {
+        CompletableFuture<Void> completableFuture = this.pendingSerializations.get(chunkPos);
+        return completableFuture == null ? CompletableFuture.completedFuture((Void)null) : completableFuture.handle((void_, throwable) -> {
+            return null;
+        });
+    }
+
+    private void awaitAllSerializations() {
+        CompletableFuture.allOf(this.pendingSerializations.values().toArray(new CompletableFuture[0])).handle((void_, throwable) -> {
+            return null;
+        }).join();
+    }
+
     public void flushWorker() {
+        this.awaitAllSerializations();
         this.worker.synchronize(true).join();
     }
 
     @Override
     public void close() throws IOException {
+        this.awaitAllSerializations();
         this.worker.close();
     }
 
     public ChunkScanAccess chunkScanner() {
-        return this.worker;
+        return (pos, scanner) -> {
+            return this.awaitSerialization(pos).thenCompose((void_) -> {
+                return this.worker.scanChunk(pos, scanner);
+            });
+        };
     }
 }
@@ -1,12 +1,17 @@
 package net.minecraft.world.level.chunk.storage;
 
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.mojang.datafixers.util.Either;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -25,13 +30,22 @@ import org.apache.logging.log4j.Logger;
 
 public class IOWorker implements ChunkScanAccess, AutoCloseable {
     private static final Logger LOGGER = LogManager.getLogger();
+    private static final boolean USE_BATCHED_WRITES = Boolean.getBoolean("io.batched");
+    private static final int BATCH_SIZE = 128;
     private final AtomicBoolean shutdownRequested = new AtomicBoolean();
     private final ThreadedMailbox<PairedQueue.IntRunnable> mailbox;
     private final RegionFileCache storage;
     private final Map<ChunkCoordIntPair, IOWorker.PendingStore> pendingWrites = Maps.newLinkedHashMap();
+    private final Set<CompletableFuture<NBTTagCompound>> pendingReads = Sets.newConcurrentHashSet();
+    private final boolean batched;
 
     protected IOWorker(Path directory, boolean dsync, String name) {
-        this.storage = new RegionFileCache(directory, dsync);
+        this(directory, dsync, name, RegionFileCompression.getDefault());
+    }
+
+    protected IOWorker(Path directory, boolean dsync, String name, RegionFileCompression version) {
+        this.batched = USE_BATCHED_WRITES;
+        this.storage = new RegionFileCache(directory, dsync, RegionFileCache.USE_MAPPED_FILES, USE_BATCHED_WRITES, version);
         this.mailbox = new ThreadedMailbox<>(new PairedQueue.FixedPriorityQueue(IOWorker.Priority.values().length), SystemUtils.ioPool(), "IOWorker-" + name);
     }
 
@@ -61,20 +75,43 @@ public class IOWorker implements ChunkScanAccess, AutoCloseable {
     }
 
     protected CompletableFuture<NBTTagCompound> loadAsync(ChunkCoordIntPair pos) {
-        return this.submitTask(() -> {
-            IOWorker.PendingStore pendingStore = this.pendingWrites.get(pos);
-            if (pendingStore != null) {
-                return Either.left(pendingStore.data);
-            } else {
-                try {
-                    NBTTagCompound compoundTag = this.storage.read(pos);
-                    return Either.left(compoundTag);
-                } catch (Exception var4) {
-                    LOGGER.warn("Failed to read chunk {}", pos, var4);
-                    return Either.right(var4);
+        if (this.storage.supportsConcurrentReads()) {
+            return this.<CompletableFuture<NBTTagCompound>>submitTask(() -> {
+                IOWorker.PendingStore pendingStore = this.pendingWrites.get(pos);
+                if (pendingStore != null) {
+                    return Either.left(CompletableFuture.completedFuture(pendingStore.data));
+                } else {
+                    CompletableFuture<NBTTagCompound> completableFuture = CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return this.storage.read(pos);
+                        } catch (Exception var3) {
+                            LOGGER.warn("Failed to read chunk {}", pos, var3);
+                            throw new CompletionException(var3);
+                        }
+                    }, SystemUtils.ioPool());
+                    this.pendingReads.add(completableFuture);
+                    completableFuture.whenComplete((compoundTag, throwable) -> {
+                        this.pendingReads.remove(completableFuture);
+                    });
+                    return Either.left(completableFuture);
                 }
-            }
-        });
+            }).thenCompose(Function.identity());
+        } else {
+            return this.submitTask(() -> {
+                IOWorker.PendingStore pendingStore = this.pendingWrites.get(pos);
+                if (pendingStore != null) {
+                    return Either.left(pendingStore.data);
+                } else {
+                    try {
+                        NBTTagCompound compoundTag = this.storage.read(pos);
+                        return Either.left(compoundTag);
+                    } catch (Exception var4) {
+                        LOGGER.warn("Failed to read chunk {}", pos, var4);
+                        return Either.right(var4);
+                    }
+                }
+            });
+        }
     }
 
     public CompletableFuture<Void> synchronize(boolean sync) {
@@ -136,7 +173,9 @@ public class IOWorker implements ChunkScanAccess, AutoCloseable {
     }
 
     private void storePendingChunk() {
-        if (!this.pendingWrites.isEmpty()) {
+        if (this.batched) {
+            this.storePendingBatch();
+        } else if (!this.pendingWrites.isEmpty()) {
             Iterator<Entry<ChunkCoordIntPair, IOWorker.PendingStore>> iterator = this.pendingWrites.entrySet().iterator();
             Entry<ChunkCoordIntPair, IOWorker.PendingStore> entry = iterator.next();
             iterator.remove();
@@ -145,6 +184,62 @@ public class IOWorker implements ChunkScanAccess, AutoCloseable {
         }
     }
 
+    private void storePendingBatch() {
+        if (!this.pendingWrites.isEmpty()) {
+            Map<ChunkCoordIntPair, IOWorker.PendingStore> map = Maps.newLinkedHashMap();
+            Map<ChunkCoordIntPair, CompletableFuture<ByteBuffer>> map2 = Maps.newLinkedHashMap();
+            Iterator<Entry<ChunkCoordIntPair, IOWorker.PendingStore>> iterator = this.pendingWrites.entrySet().iterator();
+
+            while(iterator.hasNext() && map.size() < 128) {
+                Entry<ChunkCoordIntPair, IOWorker.PendingStore> entry = iterator.next();
+                iterator.remove();
+                NBTTagCompound compoundTag = entry.getValue().data;
+                map.put(entry.getKey(), entry.getValue());
+                map2.put(entry.getKey(), compoundTag == null ? CompletableFuture.completedFuture((ByteBuffer)null) : CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return this.storage.encode(compoundTag);
+                    } catch (IOException var3) {
+                        throw new CompletionException(var3);
+                    }
+                }, SystemUtils.compressionExecutor()));
+            }
+
+            Long2ObjectMap<Map<ChunkCoordIntPair, ByteBuffer>> long2ObjectMap = new Long2ObjectLinkedOpenHashMap<>();
+
+            for(Entry<ChunkCoordIntPair, CompletableFuture<ByteBuffer>> entry2 : map2.entrySet()) {
+                ChunkCoordIntPair chunkCoordIntPair = entry2.getKey();
+
+                try {
+                    ByteBuffer byteBuffer = entry2.getValue().join();
+                    long2ObjectMap.computeIfAbsent(ChunkCoordIntPair.pair(chunkCoordIntPair.getRegionX(), chunkCoordIntPair.getRegionZ()), (l) -> {
+                        return Maps.newLinkedHashMap();
+                    }).put(chunkCoordIntPair, byteBuffer);
+                } catch (CompletionException var9) {
+                    LOGGER.error("Failed to store chunk {}", chunkCoordIntPair, var9.getCause());
+                    map.get(chunkCoordIntPair).result.completeExceptionally(var9.getCause());
+                }
+            }
+
+            for(Map<ChunkCoordIntPair, ByteBuffer> map3 : long2ObjectMap.values()) {
+                try {
+                    this.storage.writeBatch(map3);
+
+                    for(ChunkCoordIntPair chunkCoordIntPair2 : map3.keySet()) {
+                        map.get(chunkCoordIntPair2).result.complete((Void)null);
+                    }
+                } catch (Exception var8) {
+                    LOGGER.error("Failed to store chunks {}", map3.keySet(), var8);
+
+                    for(ChunkCoordIntPair chunkCoordIntPair3 : map3.keySet()) {
+                        map.get(chunkCoordIntPair3).result.completeExceptionally(var8);
+                    }
+                }
+            }
+
+            this.tellStorePending();
+        }
+    }
+
     private void tellStorePending() {
         this.mailbox.tell(new PairedQueue.IntRunnable(IOWorker.Priority.BACKGROUND.ordinal(), this::storePendingChunk));
     }
@@ -169,6 +264,11 @@ public class IOWorker implements ChunkScanAccess, AutoCloseable {
                 });
             }).join();
             this.mailbox.close();
+            CompletableFuture.allOf(this.pendingReads.toArray((i) -> {
+                return new CompletableFuture[i];
+            })).handle((void_, throwable) -> {
+                return null;
+            }).join();
 
             try {
                 this.storage.close();
@@ -1,12 +1,16 @@
 package net.minecraft.world.level.chunk.storage;
 
 import com.google.common.annotations.VisibleForTesting;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntList;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
 import java.nio.channels.FileChannel;
@@ -14,6 +18,10 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import javax.annotation.Nullable;
 import net.minecraft.SystemUtils;
 import net.minecraft.world.level.ChunkCoordIntPair;
@@ -32,14 +40,16 @@ public class RegionFile implements AutoCloseable {
     private static final int EXTERNAL_STREAM_FLAG = 128;
     private static final int EXTERNAL_CHUNK_THRESHOLD = 256;
     private static final int CHUNK_NOT_PRESENT = 0;
-    private final FileChannel file;
+    final FileChannel file;
     private final Path externalFileDir;
     final RegionFileCompression version;
-    private final ByteBuffer header = ByteBuffer.allocateDirect(8192);
-    private final IntBuffer offsets;
-    private final IntBuffer timestamps;
+    final ByteBuffer header = ByteBuffer.allocateDirect(8192);
+    final IntBuffer offsets;
+    final IntBuffer timestamps;
     @VisibleForTesting
     protected final RegionFileBitSet usedSectors = new RegionFileBitSet();
+    private final Object usersLock = new Object();
+    private int users;
 
     public RegionFile(Path file, Path directory, boolean dsync) throws IOException {
         this(file, directory, RegionFileCompression.VERSION_DEFLATE, dsync);
@@ -95,13 +105,18 @@ public class RegionFile implements AutoCloseable {
         }
     }
 
-    private Path getExternalChunkPath(ChunkCoordIntPair chunkPos) {
+    Path getExternalChunkPath(ChunkCoordIntPair chunkPos) {
         String string = "c." + chunkPos.x + "." + chunkPos.z + ".mcc";
         return this.externalFileDir.resolve(string);
     }
 
     @Nullable
     public synchronized DataInputStream getChunkDataInputStream(ChunkCoordIntPair pos) throws IOException {
+        return this.readChunkDataInputStream(pos);
+    }
+
+    @Nullable
+    DataInputStream readChunkDataInputStream(ChunkCoordIntPair pos) throws IOException {
         int i = this.getOffset(pos);
         if (i == 0) {
             return null;
@@ -109,9 +124,7 @@ public class RegionFile implements AutoCloseable {
             int j = getSectorNumber(i);
             int k = getNumSectors(i);
             int l = k * 4096;
-            ByteBuffer byteBuffer = ByteBuffer.allocate(l);
-            this.file.read(byteBuffer, (long)(j * 4096));
-            byteBuffer.flip();
+            ByteBuffer byteBuffer = this.readSectors(j, l);
             if (byteBuffer.remaining() < 5) {
                 LOGGER.error("Chunk {} header is truncated: expected {} but read {}", pos, l, byteBuffer.remaining());
                 return null;
@@ -143,7 +156,14 @@ public class RegionFile implements AutoCloseable {
         }
     }
 
-    private static int getTimestamp() {
+    ByteBuffer readSectors(int sector, int length) throws IOException {
+        ByteBuffer byteBuffer = ByteBuffer.allocate(length);
+        this.file.read(byteBuffer, (long)(sector * 4096));
+        byteBuffer.flip();
+        return byteBuffer;
+    }
+
+    static int getTimestamp() {
         return (int)(SystemUtils.getTimeMillis() / 1000L);
     }
 
@@ -181,19 +201,19 @@ public class RegionFile implements AutoCloseable {
         return new ByteArrayInputStream(buffer.array(), buffer.position(), length);
     }
 
-    private int packSectorOffset(int offset, int size) {
+    int packSectorOffset(int offset, int size) {
         return offset << 8 | size;
     }
 
-    private static int getNumSectors(int sectorData) {
+    static int getNumSectors(int sectorData) {
         return sectorData & 255;
     }
 
-    private static int getSectorNumber(int sectorData) {
+    static int getSectorNumber(int sectorData) {
         return sectorData >> 8 & 16777215;
     }
 
-    private static int sizeToSectors(int byteCount) {
+    static int sizeToSectors(int byteCount) {
         return (byteCount + 4096 - 1) / 4096;
     }
 
@@ -204,11 +224,8 @@ public class RegionFile implements AutoCloseable {
         } else {
             int j = getSectorNumber(i);
             int k = getNumSectors(i);
-            ByteBuffer byteBuffer = ByteBuffer.allocate(5);
-
             try {
-                this.file.read(byteBuffer, (long)(j * 4096));
-                byteBuffer.flip();
+                ByteBuffer byteBuffer = this.readSectors(j, 5);
                 if (byteBuffer.remaining() != 5) {
                     return false;
                 } else {
@@ -300,7 +317,80 @@ public class RegionFile implements AutoCloseable {
 
     }
 
-    private ByteBuffer createExternalStub() {
+    synchronized void writeBatch(Map<ChunkCoordIntPair, ByteBuffer> chunks) throws IOException {
+        List<RegionFile.CommitOp> list = new ArrayList<>(chunks.size());
+        IntList intList = new IntArrayList(chunks.size());
+        int i = getTimestamp();
+
+        for(Entry<ChunkCoordIntPair, ByteBuffer> entry : chunks.entrySet()) {
+            ChunkCoordIntPair chunkCoordIntPair = entry.getKey();
+            ByteBuffer byteBuffer = entry.getValue();
+            int j = getOffsetIndex(chunkCoordIntPair);
+            int k = this.offsets.get(j);
+            if (byteBuffer == null) {
+                if (k == 0) {
+                    continue;
+                }
+
+                this.offsets.put(j, 0);
+                list.add(() -> {
+                    Files.deleteIfExists(this.getExternalChunkPath(chunkCoordIntPair));
+                });
+            } else {
+                int l = byteBuffer.remaining();
+                int m = sizeToSectors(l);
+                int n;
+                if (m >= 256) {
+                    Path path = this.getExternalChunkPath(chunkCoordIntPair);
+                    LOGGER.warn("Saving oversized chunk {} ({} bytes} to external file {}", chunkCoordIntPair, l, path);
+                    m = 1;
+                    n = this.allocateSectors(m);
+                    list.add(this.writeToExternalFile(path, byteBuffer));
+                    this.writeSectors(n, this.createExternalStub());
+                } else {
+                    n = this.allocateSectors(m);
+                    list.add(() -> {
+                        Files.deleteIfExists(this.getExternalChunkPath(chunkCoordIntPair));
+                    });
+                    this.writeSectors(n, byteBuffer);
+                }
+
+                this.offsets.put(j, this.packSectorOffset(n, m));
+            }
+
+            this.timestamps.put(j, i);
+            if (k != 0) {
+                intList.add(k);
+            }
+        }
+
+        this.writeHeader();
+
+        for(RegionFile.CommitOp commitOp : list) {
+            commitOp.run();
+        }
+
+        IntIterator intIterator = intList.iterator();
+
+        while(intIterator.hasNext()) {
+            this.freeSectors(intIterator.nextInt());
+        }
+
+    }
+
+    int allocateSectors(int count) throws IOException {
+        return this.usedSectors.allocate(count);
+    }
+
+    void freeSectors(int sectorData) {
+        this.usedSectors.free(getSectorNumber(sectorData), getNumSectors(sectorData));
+    }
+
+    void writeSectors(int sector, ByteBuffer byteBuffer) throws IOException {
+        this.file.write(byteBuffer, (long)sector * 4096L);
+    }
+
+    ByteBuffer createExternalStub() {
         ByteBuffer byteBuffer = ByteBuffer.allocate(5);
         byteBuffer.putInt(1);
         byteBuffer.put((byte)(this.version.getId() | 128));
@@ -308,7 +398,7 @@ public class RegionFile implements AutoCloseable {
         return byteBuffer;
     }
 
-    private RegionFile.CommitOp writeToExternalFile(Path path, ByteBuffer byteBuffer) throws IOException {
+    RegionFile.CommitOp writeToExternalFile(Path path, ByteBuffer byteBuffer) throws IOException {
         Path path2 = Files.createTempFile(this.externalFileDir, "tmp", (String)null);
         FileChannel fileChannel = FileChannel.open(path2, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
 
@@ -336,7 +426,7 @@ public class RegionFile implements AutoCloseable {
         };
     }
 
-    private void writeHeader() throws IOException {
+    void writeHeader() throws IOException {
         this.header.position(0);
         this.file.write(this.header, 0L);
     }
@@ -349,10 +439,39 @@ public class RegionFile implements AutoCloseable {
         return this.getOffset(pos) != 0;
     }
 
-    private static int getOffsetIndex(ChunkCoordIntPair pos) {
+    static int getOffsetIndex(ChunkCoordIntPair pos) {
         return pos.getRegionLocalX() + pos.getRegionLocalZ() * 32;
     }
 
+    void acquire() {
+        synchronized(this.usersLock) {
+            ++this.users;
+        }
+    }
+
+    void release() {
+        synchronized(this.usersLock) {
+            if (--this.users == 0) {
+                this.usersLock.notifyAll();
+            }
+
+        }
+    }
+
+    void awaitUnused() throws IOException {
+        synchronized(this.usersLock) {
+            while(this.users > 0) {
+                try {
+                    this.usersLock.wait();
+                } catch (InterruptedException var4) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for region file readers");
+                }
+            }
+
+        }
+    }
+
     @Override
     public void close() throws IOException {
         try {
@@ -378,24 +497,34 @@ public class RegionFile implements AutoCloseable {
 
     }
 
-    class ChunkBuffer extends ByteArrayOutputStream {
+    class ChunkBuffer extends RegionFile.EncodedChunkBuffer {
         private final ChunkCoordIntPair pos;
 
         public ChunkBuffer(ChunkCoordIntPair pos) {
+            super(RegionFile.this.version);
+            this.pos = pos;
+        }
+
+        @Override
+        public void close() throws IOException {
+            RegionFile.this.write(this.pos, this.toByteBuffer());
+        }
+    }
+
+    static class EncodedChunkBuffer extends ByteArrayOutputStream {
+        public EncodedChunkBuffer(RegionFileCompression version) {
             super(8096);
             super.write(0);
             super.write(0);
             super.write(0);
             super.write(0);
-            super.write(RegionFile.this.version.getId());
-            this.pos = pos;
+            super.write(version.getId());
         }
 
-        @Override
-        public void close() throws IOException {
+        public ByteBuffer toByteBuffer() {
             ByteBuffer byteBuffer = ByteBuffer.wrap(this.buf, 0, this.count);
             byteBuffer.putInt(0, this.count - 5 + 1);
-            RegionFile.this.write(this.pos, byteBuffer);
+            return byteBuffer;
         }
     }
 
@@ -32,6 +32,10 @@ public class RegionFileBitSet {
         }
     }
 
+    public int getEnd() {
+        return this.used.length();
+    }
+
     @VisibleForTesting
     public IntSet getUsed() {
         return this.used.stream().collect(IntArraySet::new, IntCollection::add, IntCollection::addAll);
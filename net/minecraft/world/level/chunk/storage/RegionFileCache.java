@@ -1,51 +1,116 @@
 package net.minecraft.world.level.chunk.storage;
 
+import com.google.common.collect.Maps;
 import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nullable;
+import net.minecraft.SystemUtils;
 import net.minecraft.nbt.NBTCompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.StreamTagVisitor;
 import net.minecraft.util.ExceptionSuppressor;
 import net.minecraft.world.level.ChunkCoordIntPair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 public class RegionFileCache implements AutoCloseable {
+    private static final Logger LOGGER = LogManager.getLogger();
     public static final String ANVIL_EXTENSION = ".mca";
     private static final int MAX_CACHE_SIZE = 256;
+    static final boolean USE_MAPPED_FILES = Boolean.getBoolean("region.mapped");
     public final Long2ObjectLinkedOpenHashMap<RegionFile> regionCache = new Long2ObjectLinkedOpenHashMap<>();
+    private final Map<Long, CompletableFuture<Void>> closingFiles = Maps.newConcurrentMap();
     private final Path folder;
     private final boolean sync;
+    private final boolean mapped;
+    private final boolean batched;
+    private final RegionFileCompression version;
 
     RegionFileCache(Path directory, boolean dsync) {
+        this(directory, dsync, USE_MAPPED_FILES, false, RegionFileCompression.getDefault());
+    }
+
+    RegionFileCache(Path directory, boolean dsync, boolean mapped, boolean batched, RegionFileCompression version) {
         this.folder = directory;
         this.sync = dsync;
+        this.mapped = mapped;
+        this.batched = batched;
+        this.version = version;
+    }
+
+    public boolean supportsConcurrentReads() {
+        return this.mapped;
     }
 
     private RegionFile getFile(ChunkCoordIntPair pos) throws IOException {
         long l = ChunkCoordIntPair.pair(pos.getRegionX(), pos.getRegionZ());
-        RegionFile regionFile = this.regionCache.getAndMoveToFirst(l);
-        if (regionFile != null) {
-            return regionFile;
-        } else {
-            if (this.regionCache.size() >= 256) {
-                this.regionCache.removeLast().close();
+
+        while(true) {
+            CompletableFuture<Void> completableFuture;
+            synchronized(this) {
+                RegionFile regionFile = this.regionCache.getAndMoveToFirst(l);
+                if (regionFile != null) {
+                    regionFile.acquire();
+                    return regionFile;
+                }
+
+                completableFuture = this.closingFiles.get(l);
+                if (completableFuture == null) {
+                    if (this.regionCache.size() >= 256) {
+                        long m = this.regionCache.lastLongKey();
+                        this.closeAsync(m, this.regionCache.removeLast());
+                    }
+
+                    Files.createDirectories(this.folder);
+                    Path path = this.folder.resolve("r." + pos.getRegionX() + "." + pos.getRegionZ() + ".mca");
+                    boolean bl = this.sync && !this.batched;
+                    RegionFile regionFile2 = this.mapped ? new RegionFileMapped(path, this.folder, this.version, bl) : new RegionFile(path, this.folder, this.version, bl);
+                    this.regionCache.putAndMoveToFirst(l, regionFile2);
+                    regionFile2.acquire();
+                    return regionFile2;
+                }
             }
 
-            Files.createDirectories(this.folder);
-            Path path = this.folder.resolve("r." + pos.getRegionX() + "." + pos.getRegionZ() + ".mca");
-            RegionFile regionFile2 = new RegionFile(path, this.folder, this.sync);
-            this.regionCache.putAndMoveToFirst(l, regionFile2);
-            return regionFile2;
+            completableFuture.join();
         }
     }
 
+    private void closeAsync(long pos, RegionFile regionFile) {
+        CompletableFuture<Void> completableFuture = CompletableFuture.runAsync(() -> {
+            try {
+                regionFile.awaitUnused();
+                regionFile.close();
+            } catch (IOException var4) {
+                LOGGER.error("Failed to close region file {}", new ChunkCoordIntPair(pos), var4);
+            }
+
+        }, SystemUtils.ioPool());
+        this.closingFiles.put(pos, completableFuture);
+        completableFuture.thenRun(() -> {
+            this.closingFiles.remove(pos, completableFuture);
+        });
+    }
+
     @Nullable
     public NBTTagCompound read(ChunkCoordIntPair pos) throws IOException {
         RegionFile regionFile = this.getFile(pos);
+
+        try {
+            return this.read(regionFile, pos);
+        } finally {
+            regionFile.release();
+        }
+    }
+
+    @Nullable
+    private NBTTagCompound read(RegionFile regionFile, ChunkCoordIntPair pos) throws IOException {
         DataInputStream dataInputStream = regionFile.getChunkDataInputStream(pos);
 
         NBTTagCompound var8;
@@ -85,6 +150,16 @@ public class RegionFileCache implements AutoCloseable {
 
     public void scanChunk(ChunkCoordIntPair chunkPos, StreamTagVisitor streamTagVisitor) throws IOException {
         RegionFile regionFile = this.getFile(chunkPos);
+
+        try {
+            this.scanChunk(regionFile, chunkPos, streamTagVisitor);
+        } finally {
+            regionFile.release();
+        }
+
+    }
+
+    private void scanChunk(RegionFile regionFile, ChunkCoordIntPair chunkPos, StreamTagVisitor streamTagVisitor) throws IOException {
         DataInputStream dataInputStream = regionFile.getChunkDataInputStream(chunkPos);
 
         try {
@@ -111,6 +186,16 @@ public class RegionFileCache implements AutoCloseable {
 
     protected void write(ChunkCoordIntPair pos, @Nullable NBTTagCompound nbt) throws IOException {
         RegionFile regionFile = this.getFile(pos);
+
+        try {
+            this.write(regionFile, pos, nbt);
+        } finally {
+            regionFile.release();
+        }
+
+    }
+
+    private void write(RegionFile regionFile, ChunkCoordIntPair pos, @Nullable NBTTagCompound nbt) throws IOException {
         if (nbt == null) {
             regionFile.clear(pos);
         } else {
@@ -137,22 +222,63 @@ public class RegionFileCache implements AutoCloseable {
 
     }
 
+    public ByteBuffer encode(NBTTagCompound nbt) throws IOException {
+        RegionFile.EncodedChunkBuffer encodedChunkBuffer = new RegionFile.EncodedChunkBuffer(this.version);
+        DataOutputStream dataOutputStream = new DataOutputStream(this.version.wrap(encodedChunkBuffer));
+
+        try {
+            NBTCompressedStreamTools.write(nbt, dataOutputStream);
+        } catch (Throwable var6) {
+            try {
+                dataOutputStream.close();
+            } catch (Throwable var5) {
+                var6.addSuppressed(var5);
+            }
+
+            throw var6;
+        }
+
+        dataOutputStream.close();
+        return encodedChunkBuffer.toByteBuffer();
+    }
+
+    protected void writeBatch(Map<ChunkCoordIntPair, ByteBuffer> chunks) throws IOException {
+        if (!chunks.isEmpty()) {
+            RegionFile regionFile = this.getFile(chunks.keySet().iterator().next());
+
+            try {
+                regionFile.writeBatch(chunks);
+                if (this.sync) {
+                    regionFile.flush();
+                }
+            } finally {
+                regionFile.release();
+            }
+
+        }
+    }
+
     @Override
     public void close() throws IOException {
+        CompletableFuture.allOf(this.closingFiles.values().toArray((i) -> {
+            return new CompletableFuture[i];
+        })).join();
         ExceptionSuppressor<IOException> exceptionCollector = new ExceptionSuppressor<>();
-
-        for(RegionFile regionFile : this.regionCache.values()) {
-            try {
-                regionFile.close();
-            } catch (IOException var5) {
-                exceptionCollector.add(var5);
+        synchronized(this) {
+            for(RegionFile regionFile : this.regionCache.values()) {
+                try {
+                    regionFile.awaitUnused();
+                    regionFile.close();
+                } catch (IOException var7) {
+                    exceptionCollector.add(var7);
+                }
             }
         }
 
         exceptionCollector.throwIfPresent();
     }
 
-    public void flush() throws IOException {
+    public synchronized void flush() throws IOException {
         for(RegionFile regionFile : this.regionCache.values()) {
             regionFile.flush();
         }
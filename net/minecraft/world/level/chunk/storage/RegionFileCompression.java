@@ -1,50 +1,130 @@
 package net.minecraft.world.level.chunk.storage;
 
+import com.google.common.collect.Maps;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
 import java.util.zip.InflaterInputStream;
 import javax.annotation.Nullable;
 import net.minecraft.util.FastBufferedInputStream;
+import net.minecraft.util.LZ4BlockInputStream;
+import net.minecraft.util.LZ4BlockOutputStream;
+import net.minecraft.util.compression.Compression;
+import net.minecraft.util.compression.CompressorOutputStream;
+import net.minecraft.util.compression.DecompressorInputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 public class RegionFileCompression {
+    private static final Logger LOGGER = LogManager.getLogger();
     private static final Int2ObjectMap<RegionFileCompression> VERSIONS = new Int2ObjectOpenHashMap<>();
-    public static final RegionFileCompression VERSION_GZIP = register(new RegionFileCompression(1, (inputStream) -> {
+    private static final Map<String, RegionFileCompression> VERSIONS_BY_NAME = Maps.newHashMap();
+    private static final byte[] CHUNK_DICTIONARY = createChunkDictionary();
+    public static final RegionFileCompression VERSION_GZIP = register(new RegionFileCompression(1, "gzip", (inputStream) -> {
         return new FastBufferedInputStream(new GZIPInputStream(inputStream));
     }, (outputStream) -> {
         return new BufferedOutputStream(new GZIPOutputStream(outputStream));
     }));
-    public static final RegionFileCompression VERSION_DEFLATE = register(new RegionFileCompression(2, (inputStream) -> {
-        return new FastBufferedInputStream(new InflaterInputStream(inputStream));
+    public static final RegionFileCompression VERSION_DEFLATE = register(new RegionFileCompression(2, "deflate", (inputStream) -> {
+        return new FastBufferedInputStream(new DecompressorInputStream(inputStream, Compression.createDecompressor()));
     }, (outputStream) -> {
-        return new BufferedOutputStream(new DeflaterOutputStream(outputStream));
+        return new BufferedOutputStream(new CompressorOutputStream(outputStream, Compression.createStorageCompressor()));
     }));
-    public static final RegionFileCompression VERSION_NONE = register(new RegionFileCompression(3, (inputStream) -> {
+    public static final RegionFileCompression VERSION_NONE = register(new RegionFileCompression(3, "none", (inputStream) -> {
         return inputStream;
     }, (outputStream) -> {
         return outputStream;
     }));
+    public static final RegionFileCompression VERSION_LZ4 = register(new RegionFileCompression(4, "lz4", (inputStream) -> {
+        return new FastBufferedInputStream(new LZ4BlockInputStream(inputStream));
+    }, (outputStream) -> {
+        return new BufferedOutputStream(new LZ4BlockOutputStream(outputStream));
+    }));
+    public static final RegionFileCompression VERSION_DEFLATE_DICTIONARY = register(new RegionFileCompression(5, "deflate_dictionary", (inputStream) -> {
+        return new FastBufferedInputStream(new RegionFileCompression.DictionaryInflaterInputStream(inputStream, CHUNK_DICTIONARY));
+    }, (outputStream) -> {
+        return new BufferedOutputStream(new RegionFileCompression.DictionaryDeflaterOutputStream(outputStream, CHUNK_DICTIONARY, 9));
+    }));
+    private static final RegionFileCompression DEFAULT_VERSION = getConfiguredVersion();
     private final int id;
+    private final String name;
     private final RegionFileCompression.StreamWrapper<InputStream> inputWrapper;
     private final RegionFileCompression.StreamWrapper<OutputStream> outputWrapper;
 
-    private RegionFileCompression(int id, RegionFileCompression.StreamWrapper<InputStream> inputStreamWrapper, RegionFileCompression.StreamWrapper<OutputStream> outputStreamWrapper) {
+    private RegionFileCompression(int id, String name, RegionFileCompression.StreamWrapper<InputStream> inputStreamWrapper, RegionFileCompression.StreamWrapper<OutputStream> outputStreamWrapper) {
         this.id = id;
+        this.name = name;
         this.inputWrapper = inputStreamWrapper;
         this.outputWrapper = outputStreamWrapper;
     }
 
     private static RegionFileCompression register(RegionFileCompression version) {
         VERSIONS.put(version.id, version);
+        VERSIONS_BY_NAME.put(version.name, version);
         return version;
     }
 
+    private static RegionFileCompression getConfiguredVersion() {
+        String string = System.getProperty("region.compression");
+        if (string != null) {
+            RegionFileCompression regionFileCompression = fromName(string);
+            if (regionFileCompression != null) {
+                return regionFileCompression;
+            }
+
+            LOGGER.error("Unknown {} property value '{}'. Should be one of {}.", "region.compression", string, VERSIONS_BY_NAME.keySet());
+        }
+
+        return VERSION_DEFLATE;
+    }
+
+    private static byte[] createChunkDictionary() {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream);
+
+        try {
+            for(String string : new String[]{"minecraft:plains", "minecraft:forest", "minecraft:river", "minecraft:ocean", "minecraft:deep_ocean", "minecraft:desert", "minecraft:taiga", "minecraft:dripstone_caves", "minecraft:lush_caves", "minecraft:gravel", "minecraft:sand", "minecraft:andesite", "minecraft:diorite", "minecraft:granite", "minecraft:tuff", "minecraft:coal_ore", "minecraft:iron_ore", "minecraft:copper_ore", "minecraft:deepslate_iron_ore", "minecraft:grass", "minecraft:tall_grass", "minecraft:oak_leaves", "minecraft:oak_log", "minecraft:cave_air", "minecraft:lava", "minecraft:water", "minecraft:bedrock", "minecraft:dirt", "minecraft:grass_block", "minecraft:deepslate", "minecraft:stone", "minecraft:air", "full", "false", "true", "distance", "persistent", "snowy", "axis", "level", "waterlogged"}) {
+                dataOutputStream.writeUTF(string);
+            }
+
+            for(String string2 : new String[]{"References", "starts", "structures", "PostProcessing", "fluid_ticks", "block_ticks", "block_entities", "CarvingMasks", "WORLD_SURFACE_WG", "OCEAN_FLOOR_WG", "MOTION_BLOCKING_NO_LEAVES", "OCEAN_FLOOR", "WORLD_SURFACE", "MOTION_BLOCKING", "Heightmaps", "InhabitedTime", "LastUpdate", "isLightOn", "Status", "DataVersion", "xPos", "yPos", "zPos", "Y", "BlockLight", "SkyLight", "sections", "biomes", "block_states", "Properties", "Name", "data", "palette"}) {
+                dataOutputStream.writeUTF(string2);
+            }
+
+            dataOutputStream.close();
+        } catch (IOException var6) {
+            throw new IllegalStateException(var6);
+        }
+
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    public static RegionFileCompression getDefault() {
+        return DEFAULT_VERSION;
+    }
+
+    @Nullable
+    public static RegionFileCompression fromName(String name) {
+        return VERSIONS_BY_NAME.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    public static Set<String> getNames() {
+        return VERSIONS_BY_NAME.keySet();
+    }
+
     @Nullable
     public static RegionFileCompression fromId(int id) {
         return VERSIONS.get(id);
@@ -58,6 +138,10 @@ public class RegionFileCompression {
         return this.id;
     }
 
+    public String getName() {
+        return this.name;
+    }
+
     public OutputStream wrap(OutputStream outputStream) throws IOException {
         return this.outputWrapper.wrap(outputStream);
     }
@@ -66,6 +150,53 @@ public class RegionFileCompression {
         return this.inputWrapper.wrap(inputStream);
     }
 
+    static class DictionaryDeflaterOutputStream extends DeflaterOutputStream {
+        public DictionaryDeflaterOutputStream(OutputStream outputStream, byte[] dictionary, int level) {
+            super(outputStream, new Deflater(level));
+            this.def.setDictionary(dictionary);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                this.def.end();
+            }
+
+        }
+    }
+
+    static class DictionaryInflaterInputStream extends InflaterInputStream {
+        private final byte[] dictionary;
+
+        public DictionaryInflaterInputStream(InputStream inputStream, byte[] dictionary) {
+            super(inputStream, new Inflater());
+            this.dictionary = dictionary;
+        }
+
+        @Override
+        public int read(byte[] bs, int i, int j) throws IOException {
+            int k = super.read(bs, i, j);
+            if (k == -1 && this.inf.needsDictionary()) {
+                this.inf.setDictionary(this.dictionary);
+                k = super.read(bs, i, j);
+            }
+
+            return k;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                this.inf.end();
+            }
+
+        }
+    }
+
     @FunctionalInterface
     interface StreamWrapper<O> {
         O wrap(O object) throws IOException;
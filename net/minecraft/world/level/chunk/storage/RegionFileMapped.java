@@ -0,0 +1,334 @@
+package net.minecraft.world.level.chunk.storage;
+
+import com.google.common.collect.Lists;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.annotation.Nullable;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.level.ChunkCoordIntPair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class RegionFileMapped extends RegionFile {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final int LOCK_STRIPES = 64;
+    private static final int MIN_GROWTH_SECTORS = 256;
+    private static final int MAX_GROWTH_SECTORS = 8192;
+    private static final int MAX_MAPPED_SECTORS = Integer.MAX_VALUE / 4096;
+    private final ReentrantReadWriteLock sectorLock = new ReentrantReadWriteLock();
+    private final ReadWriteLock[] chunkLocks = new ReadWriteLock[64];
+    private final boolean sync;
+    private final List<MappedByteBuffer> segments = Lists.newArrayList();
+    private int[] segmentStarts = new int[0];
+    private int mappedSectors;
+
+    public RegionFileMapped(Path file, Path directory, boolean dsync) throws IOException {
+        this(file, directory, RegionFileCompression.VERSION_DEFLATE, dsync);
+    }
+
+    public RegionFileMapped(Path file, Path directory, RegionFileCompression outputChunkStreamVersion, boolean dsync) throws IOException {
+        super(file, directory, outputChunkStreamVersion, dsync);
+        this.sync = dsync;
+
+        for(int i = 0; i < 64; ++i) {
+            this.chunkLocks[i] = new ReentrantReadWriteLock();
+        }
+
+        this.mapSegment(Math.max(2, sizeToSectors((int)this.file.size())));
+    }
+
+    private ReadWriteLock getChunkLock(int index) {
+        return this.chunkLocks[index & 63];
+    }
+
+    private void mapSegment(int sectors) throws IOException {
+        if (sectors > MAX_MAPPED_SECTORS) {
+            throw new IOException("Region file exceeds mappable size: " + sectors + " sectors");
+        } else {
+            MappedByteBuffer mappedByteBuffer = this.file.map(MapMode.READ_WRITE, (long)this.mappedSectors * 4096L, (long)(sectors - this.mappedSectors) * 4096L);
+            int[] is = Arrays.copyOf(this.segmentStarts, this.segmentStarts.length + 1);
+            is[is.length - 1] = this.mappedSectors;
+            this.segments.add(mappedByteBuffer);
+            this.segmentStarts = is;
+            this.mappedSectors = sectors;
+        }
+    }
+
+    private int getSegmentIndex(int sector) {
+        int i = this.segmentStarts.length - 1;
+
+        while(i > 0 && this.segmentStarts[i] > sector) {
+            --i;
+        }
+
+        return i;
+    }
+
+    private void get(int offset, byte[] bs) {
+        int i = 0;
+
+        while(i < bs.length) {
+            int j = this.getSegmentIndex((offset + i) / 4096);
+            MappedByteBuffer mappedByteBuffer = this.segments.get(j);
+            int k = offset + i - this.segmentStarts[j] * 4096;
+            int l = Math.min(bs.length - i, mappedByteBuffer.capacity() - k);
+            mappedByteBuffer.get(k, bs, i, l);
+            i += l;
+        }
+
+    }
+
+    private void put(int offset, ByteBuffer byteBuffer) {
+        int i = byteBuffer.position();
+        int j = byteBuffer.remaining();
+        int k = 0;
+
+        while(k < j) {
+            int l = this.getSegmentIndex((offset + k) / 4096);
+            MappedByteBuffer mappedByteBuffer = this.segments.get(l);
+            int m = offset + k - this.segmentStarts[l] * 4096;
+            int n = Math.min(j - k, mappedByteBuffer.capacity() - m);
+            mappedByteBuffer.put(m, byteBuffer, i + k, n);
+            if (this.sync) {
+                mappedByteBuffer.force(m, n);
+            }
+
+            k += n;
+        }
+
+    }
+
+    private void forceSegments() {
+        for(MappedByteBuffer mappedByteBuffer : this.segments) {
+            mappedByteBuffer.force();
+        }
+
+    }
+
+    @Nullable
+    @Override
+    public DataInputStream getChunkDataInputStream(ChunkCoordIntPair pos) throws IOException {
+        Lock lock = this.getChunkLock(getOffsetIndex(pos)).readLock();
+        lock.lock();
+
+        try {
+            return this.readChunkDataInputStream(pos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean doesChunkExist(ChunkCoordIntPair pos) {
+        Lock lock = this.getChunkLock(getOffsetIndex(pos)).readLock();
+        lock.lock();
+
+        try {
+            return super.doesChunkExist(pos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    ByteBuffer readSectors(int sector, int length) {
+        this.sectorLock.readLock().lock();
+
+        try {
+            int i = sector * 4096;
+            int j = Math.max(0, Math.min(length, this.mappedSectors * 4096 - i));
+            byte[] bs = new byte[j];
+            this.get(i, bs);
+            return ByteBuffer.wrap(bs);
+        } finally {
+            this.sectorLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    void writeSectors(int sector, ByteBuffer byteBuffer) {
+        this.sectorLock.readLock().lock();
+
+        try {
+            this.put(sector * 4096, byteBuffer);
+        } finally {
+            this.sectorLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    int allocateSectors(int count) throws IOException {
+        this.sectorLock.writeLock().lock();
+
+        try {
+            int i = this.usedSectors.allocate(count);
+            int j = i + count;
+            if (j > this.mappedSectors) {
+                try {
+                    this.mapSegment(Math.max(j, this.mappedSectors + MathHelper.clamp(this.mappedSectors, 256, 8192)));
+                } catch (IOException var8) {
+                    this.usedSectors.free(i, count);
+                    throw var8;
+                }
+            }
+
+            return i;
+        } finally {
+            this.sectorLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    protected void write(ChunkCoordIntPair pos, ByteBuffer byteBuffer) throws IOException {
+        int i = getOffsetIndex(pos);
+        Lock lock = this.getChunkLock(i).writeLock();
+        lock.lock();
+
+        try {
+            int j = this.offsets.get(i);
+            int m = byteBuffer.remaining();
+            int n = sizeToSectors(m);
+            RegionFile.CommitOp commitOp;
+            ByteBuffer byteBuffer2;
+            if (n >= 256) {
+                Path path = this.getExternalChunkPath(pos);
+                LOGGER.warn("Saving oversized chunk {} ({} bytes} to external file {}", pos, m, path);
+                n = 1;
+                commitOp = this.writeToExternalFile(path, byteBuffer);
+                byteBuffer2 = this.createExternalStub();
+            } else {
+                commitOp = () -> {
+                    Files.deleteIfExists(this.getExternalChunkPath(pos));
+                };
+                byteBuffer2 = byteBuffer;
+            }
+
+            int o = this.allocateSectors(n);
+            this.writeSectors(o, byteBuffer2);
+            this.offsets.put(i, this.packSectorOffset(o, n));
+            this.timestamps.put(i, getTimestamp());
+            this.writeHeader();
+            commitOp.run();
+            if (j != 0) {
+                this.freeSectors(j);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+    }
+
+    @Override
+    void freeSectors(int sectorData) {
+        this.sectorLock.writeLock().lock();
+
+        try {
+            this.usedSectors.free(getSectorNumber(sectorData), getNumSectors(sectorData));
+        } finally {
+            this.sectorLock.writeLock().unlock();
+        }
+
+    }
+
+    @Override
+    public void clear(ChunkCoordIntPair chunkPos) throws IOException {
+        int i = getOffsetIndex(chunkPos);
+        Lock lock = this.getChunkLock(i).writeLock();
+        lock.lock();
+
+        try {
+            int j = this.offsets.get(i);
+            if (j != 0) {
+                this.offsets.put(i, 0);
+                this.timestamps.put(i, getTimestamp());
+                this.writeHeader();
+                Files.deleteIfExists(this.getExternalChunkPath(chunkPos));
+                this.freeSectors(j);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+    }
+
+    @Override
+    void writeBatch(Map<ChunkCoordIntPair, ByteBuffer> chunks) throws IOException {
+        int[] is = chunks.keySet().stream().mapToInt((pos) -> {
+            return getOffsetIndex(pos) & 63;
+        }).distinct().sorted().toArray();
+
+        for(int i : is) {
+            this.chunkLocks[i].writeLock().lock();
+        }
+
+        try {
+            super.writeBatch(chunks);
+        } finally {
+            for(int j = is.length - 1; j >= 0; --j) {
+                this.chunkLocks[is[j]].writeLock().unlock();
+            }
+
+        }
+
+    }
+
+    @Override
+    void writeHeader() {
+        this.sectorLock.writeLock().lock();
+
+        try {
+            this.put(0, this.header.duplicate().position(0).limit(8192));
+        } finally {
+            this.sectorLock.writeLock().unlock();
+        }
+
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.sectorLock.readLock().lock();
+
+        try {
+            this.forceSegments();
+        } finally {
+            this.sectorLock.readLock().unlock();
+        }
+
+        super.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.sectorLock.writeLock().lock();
+
+        int i;
+        try {
+            this.forceSegments();
+            this.segments.clear();
+            i = Math.max(2, this.usedSectors.getEnd());
+        } finally {
+            this.sectorLock.writeLock().unlock();
+        }
+
+        try {
+            if (this.file.size() > (long)i * 4096L) {
+                this.file.truncate((long)i * 4096L);
+            }
+        } catch (IOException var5) {
+            LOGGER.warn("Failed to truncate mapped region file to {} sectors", i, var5);
+        }
+
+        super.close();
+    }
+}
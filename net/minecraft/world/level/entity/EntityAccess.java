@@ -4,6 +4,7 @@ import java.util.UUID;
 import java.util.stream.Stream;
 import net.minecraft.core.BlockPosition;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityTypes;
 import net.minecraft.world.phys.AxisAlignedBB;
 
 public interface EntityAccess {
@@ -11,6 +12,8 @@ public interface EntityAccess {
 
     UUID getUniqueID();
 
+    EntityTypes<?> getEntityType();
+
     BlockPosition getChunkCoordinates();
 
     AxisAlignedBB getBoundingBox();
@@ -0,0 +1,169 @@
+package net.minecraft.world.level.entity;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import net.minecraft.world.entity.EntityTypes;
+import net.minecraft.world.phys.AxisAlignedBB;
+
+public class EntityPackedSlice<T extends EntityAccess> implements Iterable<T> {
+    private static final int BOX_SIZE = 6;
+    private final Class<T> baseClass;
+    private final Reference2IntMap<T> indices = new Reference2IntOpenHashMap<>();
+    private final Reference2IntOpenHashMap<EntityTypes<?>> typeCounts = new Reference2IntOpenHashMap<>();
+    private EntityAccess[] entities = new EntityAccess[4];
+    private EntityTypes<?>[] types = new EntityTypes[4];
+    private double[] boxes = new double[4 * BOX_SIZE];
+    private int size;
+
+    public EntityPackedSlice(Class<T> baseClass) {
+        this.baseClass = baseClass;
+        this.indices.defaultReturnValue(-1);
+    }
+
+    public boolean add(T entity) {
+        if (this.indices.containsKey(entity)) {
+            return false;
+        } else {
+            if (this.size == this.entities.length) {
+                int i = this.size * 2;
+                this.entities = Arrays.copyOf(this.entities, i);
+                this.types = Arrays.copyOf(this.types, i);
+                this.boxes = Arrays.copyOf(this.boxes, i * BOX_SIZE);
+            }
+
+            EntityTypes<?> entityType = entity.getEntityType();
+            this.entities[this.size] = entity;
+            this.types[this.size] = entityType;
+            this.setBox(this.size, entity.getBoundingBox());
+            this.indices.put(entity, this.size);
+            this.typeCounts.addTo(entityType, 1);
+            ++this.size;
+            return true;
+        }
+    }
+
+    public boolean remove(T entity) {
+        int i = this.indices.removeInt(entity);
+        if (i < 0) {
+            return false;
+        } else {
+            EntityTypes<?> entityType = this.types[i];
+            int j = this.size - i - 1;
+            if (j > 0) {
+                System.arraycopy(this.entities, i + 1, this.entities, i, j);
+                System.arraycopy(this.types, i + 1, this.types, i, j);
+                System.arraycopy(this.boxes, (i + 1) * BOX_SIZE, this.boxes, i * BOX_SIZE, j * BOX_SIZE);
+
+                for(int k = i; k < this.size - 1; ++k) {
+                    this.indices.put((T)this.entities[k], k);
+                }
+            }
+
+            --this.size;
+            this.entities[this.size] = null;
+            this.types[this.size] = null;
+            if (this.typeCounts.addTo(entityType, -1) <= 1) {
+                this.typeCounts.removeInt(entityType);
+            }
+
+            return true;
+        }
+    }
+
+    public void updateBoundingBox(T entity) {
+        int i = this.indices.getInt(entity);
+        if (i >= 0) {
+            this.setBox(i, entity.getBoundingBox());
+        }
+
+    }
+
+    private void setBox(int index, AxisAlignedBB box) {
+        int i = index * BOX_SIZE;
+        this.boxes[i] = box.minX;
+        this.boxes[i + 1] = box.minY;
+        this.boxes[i + 2] = box.minZ;
+        this.boxes[i + 3] = box.maxX;
+        this.boxes[i + 4] = box.maxY;
+        this.boxes[i + 5] = box.maxZ;
+    }
+
+    private boolean intersects(int index, AxisAlignedBB box) {
+        int i = index * BOX_SIZE;
+        double[] ds = this.boxes;
+        return ds[i] < box.maxX && ds[i + 3] > box.minX && ds[i + 1] < box.maxY && ds[i + 4] > box.minY && ds[i + 2] < box.maxZ && ds[i + 5] > box.minZ;
+    }
+
+    public void getEntities(AxisAlignedBB box, Consumer<T> action) {
+        for(int i = 0; i < this.size; ++i) {
+            if (this.intersects(i, box)) {
+                action.accept((T)this.entities[i]);
+            }
+        }
+
+    }
+
+    public <U extends T> void getEntities(EntityTypeTest<T, U> filter, AxisAlignedBB box, Consumer<? super U> action) {
+        if (!this.baseClass.isAssignableFrom(filter.getBaseClass())) {
+            throw new IllegalArgumentException("Don't know how to search for " + filter.getBaseClass());
+        } else if (filter instanceof EntityTypes) {
+            if (this.typeCounts.containsKey(filter)) {
+                for(int i = 0; i < this.size; ++i) {
+                    if (this.types[i] == filter && this.intersects(i, box)) {
+                        action.accept((U)this.entities[i]);
+                    }
+                }
+            }
+        } else {
+            for(int j = 0; j < this.size; ++j) {
+                if (this.intersects(j, box)) {
+                    U entityAccess = filter.tryCast((T)this.entities[j]);
+                    if (entityAccess != null) {
+                        action.accept(entityAccess);
+                    }
+                }
+            }
+        }
+
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public Stream<T> stream() {
+        return Arrays.stream(this.entities, 0, this.size).map((entity) -> {
+            return (T)entity;
+        });
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < EntityPackedSlice.this.size;
+            }
+
+            @Override
+            public T next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                } else {
+                    return (T)EntityPackedSlice.this.entities[this.index++];
+                }
+            }
+        };
+    }
+}
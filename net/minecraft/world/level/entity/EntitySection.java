@@ -1,9 +1,7 @@
 package net.minecraft.world.level.entity;
 
-import java.util.Collection;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
-import net.minecraft.util.EntitySlice;
 import net.minecraft.util.VisibleForDebug;
 import net.minecraft.world.phys.AxisAlignedBB;
 import org.apache.logging.log4j.LogManager;
@@ -11,42 +9,40 @@ import org.apache.logging.log4j.Logger;
 
 public class EntitySection<T extends EntityAccess> {
     protected static final Logger LOGGER = LogManager.getLogger();
-    private final EntitySlice<T> storage;
+    private final EntityPackedSlice<T> storage;
     private Visibility chunkStatus;
+    private int modificationCount;
 
     public EntitySection(Class<T> entityClass, Visibility status) {
         this.chunkStatus = status;
-        this.storage = new EntitySlice<>(entityClass);
+        this.storage = new EntityPackedSlice<>(entityClass);
     }
 
     public void add(T entity) {
+        ++this.modificationCount;
         this.storage.add(entity);
     }
 
     public boolean remove(T entity) {
+        ++this.modificationCount;
         return this.storage.remove(entity);
     }
 
-    public void getEntities(AxisAlignedBB box, Consumer<T> action) {
-        for(T entityAccess : this.storage) {
-            if (entityAccess.getBoundingBox().intersects(box)) {
-                action.accept(entityAccess);
-            }
-        }
+    public void updateBoundingBox(T entity) {
+        ++this.modificationCount;
+        this.storage.updateBoundingBox(entity);
+    }
 
+    public int getModificationCount() {
+        return this.modificationCount;
     }
 
-    public <U extends T> void getEntities(EntityTypeTest<T, U> type, AxisAlignedBB box, Consumer<? super U> action) {
-        Collection<? extends T> collection = this.storage.find(type.getBaseClass());
-        if (!collection.isEmpty()) {
-            for(T entityAccess : collection) {
-                U entityAccess2 = (U)((EntityAccess)type.tryCast(entityAccess));
-                if (entityAccess2 != null && entityAccess.getBoundingBox().intersects(box)) {
-                    action.accept((T)entityAccess2);
-                }
-            }
+    public void getEntities(AxisAlignedBB box, Consumer<T> action) {
+        this.storage.getEntities(box, action);
+    }
 
-        }
+    public <U extends T> void getEntities(EntityTypeTest<T, U> type, AxisAlignedBB box, Consumer<? super U> action) {
+        this.storage.getEntities(type, box, action);
     }
 
     public boolean isEmpty() {
@@ -64,6 +60,7 @@ public class EntitySection<T extends EntityAccess> {
     public Visibility updateChunkStatus(Visibility status) {
         Visibility visibility = this.chunkStatus;
         this.chunkStatus = status;
+        ++this.modificationCount;
         return visibility;
     }
 
@@ -403,6 +403,11 @@ public class EntitySectionManagerPersistent<T extends EntityAccess> implements A
             }
         }
 
+        @Override
+        public void onBoundingBoxChange() {
+            this.currentSection.updateBoundingBox(this.entity);
+        }
+
         @Override
         public void onRemove(Entity.RemovalReason reason) {
             if (!this.currentSection.remove(this.entity)) {
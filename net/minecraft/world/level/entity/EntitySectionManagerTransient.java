@@ -129,6 +129,11 @@ public class EntitySectionManagerTransient<T extends EntityAccess> {
 
         }
 
+        @Override
+        public void onBoundingBoxChange() {
+            this.currentSection.updateBoundingBox(this.entity);
+        }
+
         @Override
         public void onRemove(Entity.RemovalReason reason) {
             if (!this.currentSection.remove(this.entity)) {
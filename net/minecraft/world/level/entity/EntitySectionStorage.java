@@ -40,19 +40,43 @@ public class EntitySectionStorage<T extends EntityAccess> {
         int m = SectionPosition.posToSectionCoord(box.maxY + 2.0D);
         int n = SectionPosition.posToSectionCoord(box.maxZ + 2.0D);
 
-        for(int o = i; o <= l; ++o) {
-            long p = SectionPosition.asLong(o, 0, 0);
-            long q = SectionPosition.asLong(o, -1, -1);
-            LongIterator longIterator = this.sectionIds.subSet(p, q + 1L).iterator();
-
-            while(longIterator.hasNext()) {
-                long r = longIterator.nextLong();
-                int s = SectionPosition.y(r);
-                int t = SectionPosition.z(r);
-                if (s >= j && s <= m && t >= k && t <= n) {
-                    EntitySection<T> entitySection = this.sections.get(r);
-                    if (entitySection != null && !entitySection.isEmpty() && entitySection.getStatus().isAccessible()) {
-                        action.accept(entitySection);
+        long o = (long)(l - i + 1) * (long)(m - j + 1) * (long)(n - k + 1);
+        if (o <= (long)this.sections.size()) {
+            int p = Math.max(k, 0);
+            int q = Math.max(j, 0);
+            int r = n - k + 1;
+            int s = m - j + 1;
+            int t = n < 0 ? 0 : n - p + 1;
+            int u = m < 0 ? 0 : m - q + 1;
+
+            for(int v = i; v <= l; ++v) {
+                for(int w = 0; w < r; ++w) {
+                    int x = w < t ? p + w : k + w - t;
+
+                    for(int y = 0; y < s; ++y) {
+                        int z = y < u ? q + y : j + y - u;
+                        EntitySection<T> entitySection = this.sections.get(SectionPosition.asLong(v, z, x));
+                        if (entitySection != null && !entitySection.isEmpty() && entitySection.getStatus().isAccessible()) {
+                            action.accept(entitySection);
+                        }
+                    }
+                }
+            }
+        } else {
+            for(int aa = i; aa <= l; ++aa) {
+                long ab = SectionPosition.asLong(aa, 0, 0);
+                long ac = SectionPosition.asLong(aa, -1, -1);
+                LongIterator longIterator = this.sectionIds.subSet(ab, ac + 1L).iterator();
+
+                while(longIterator.hasNext()) {
+                    long ad = longIterator.nextLong();
+                    int ae = SectionPosition.y(ad);
+                    int af = SectionPosition.z(ad);
+                    if (ae >= j && ae <= m && af >= k && af <= n) {
+                        EntitySection<T> entitySection2 = this.sections.get(ad);
+                        if (entitySection2 != null && !entitySection2.isEmpty() && entitySection2.getStatus().isAccessible()) {
+                            action.accept(entitySection2);
+                        }
                     }
                 }
             }
@@ -122,6 +146,10 @@ public class EntitySectionStorage<T extends EntityAccess> {
         });
     }
 
+    public EntitySectionStorage.Snapshot snapshot(AxisAlignedBB box) {
+        return new EntitySectionStorage.Snapshot(box);
+    }
+
     public void remove(long sectionPos) {
         this.sections.remove(sectionPos);
         this.sectionIds.remove(sectionPos);
@@ -131,4 +159,59 @@ public class EntitySectionStorage<T extends EntityAccess> {
     public int count() {
         return this.sectionIds.size();
     }
+
+    public class Snapshot {
+        private final int minX;
+        private final int minY;
+        private final int minZ;
+        private final int maxX;
+        private final int maxY;
+        private final int maxZ;
+        private final EntitySection<?>[] sections;
+        private final int[] modificationCounts;
+
+        Snapshot(AxisAlignedBB box) {
+            this.minX = SectionPosition.posToSectionCoord(box.minX - 2.0D);
+            this.minY = SectionPosition.posToSectionCoord(box.minY - 2.0D);
+            this.minZ = SectionPosition.posToSectionCoord(box.minZ - 2.0D);
+            this.maxX = SectionPosition.posToSectionCoord(box.maxX + 2.0D);
+            this.maxY = SectionPosition.posToSectionCoord(box.maxY + 2.0D);
+            this.maxZ = SectionPosition.posToSectionCoord(box.maxZ + 2.0D);
+            int i = (this.maxX - this.minX + 1) * (this.maxY - this.minY + 1) * (this.maxZ - this.minZ + 1);
+            this.sections = new EntitySection[i];
+            this.modificationCounts = new int[i];
+            int j = 0;
+
+            for(int k = this.minX; k <= this.maxX; ++k) {
+                for(int l = this.minZ; l <= this.maxZ; ++l) {
+                    for(int m = this.minY; m <= this.maxY; ++m) {
+                        EntitySection<T> entitySection = EntitySectionStorage.this.sections.get(SectionPosition.asLong(k, m, l));
+                        this.sections[j] = entitySection;
+                        this.modificationCounts[j] = entitySection == null ? 0 : entitySection.getModificationCount();
+                        ++j;
+                    }
+                }
+            }
+
+        }
+
+        public boolean isValid() {
+            int i = 0;
+
+            for(int j = this.minX; j <= this.maxX; ++j) {
+                for(int k = this.minZ; k <= this.maxZ; ++k) {
+                    for(int l = this.minY; l <= this.maxY; ++l) {
+                        EntitySection<T> entitySection = EntitySectionStorage.this.sections.get(SectionPosition.asLong(j, l, k));
+                        if (entitySection != this.sections[i] || entitySection != null && entitySection.getModificationCount() != this.modificationCounts[i]) {
+                            return false;
+                        }
+
+                        ++i;
+                    }
+                }
+            }
+
+            return true;
+        }
+    }
 }
@@ -8,6 +8,10 @@ public interface IEntityCallback {
         public void onMove() {
         }
 
+        @Override
+        public void onBoundingBoxChange() {
+        }
+
         @Override
         public void onRemove(Entity.RemovalReason reason) {
         }
@@ -15,5 +19,7 @@ public interface IEntityCallback {
 
     void onMove();
 
+    void onBoundingBoxChange();
+
     void onRemove(Entity.RemovalReason reason);
 }
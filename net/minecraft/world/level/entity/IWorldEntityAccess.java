@@ -19,4 +19,9 @@ public interface IWorldEntityAccess<T extends EntityAccess> {
     void get(AxisAlignedBB box, Consumer<T> action);
 
     <U extends T> void get(EntityTypeTest<T, U> filter, AxisAlignedBB box, Consumer<U> action);
+
+    @Nullable
+    default EntitySectionStorage<T>.Snapshot snapshot(AxisAlignedBB box) {
+        return null;
+    }
 }
@@ -45,4 +45,9 @@ public class WorldEntityAccess<T extends EntityAccess> implements IWorldEntityAc
     public <U extends T> void get(EntityTypeTest<T, U> filter, AxisAlignedBB box, Consumer<U> action) {
         this.sectionStorage.getEntities(filter, box, action);
     }
+
+    @Override
+    public EntitySectionStorage<T>.Snapshot snapshot(AxisAlignedBB box) {
+        return this.sectionStorage.snapshot(box);
+    }
 }
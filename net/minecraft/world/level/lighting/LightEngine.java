@@ -12,6 +12,7 @@ import net.minecraft.world.level.chunk.NibbleArray;
 public class LightEngine implements ILightEngine {
     public static final int MAX_SOURCE_LEVEL = 15;
     public static final int LIGHT_SECTION_PADDING = 1;
+    public static final boolean FLAT_LIGHT_ENGINE = "flat".equals(System.getProperty("light.engine"));
     protected final IWorldHeightAccess levelHeightAccessor;
     @Nullable
     private final LightEngineLayer<?, ?> blockEngine;
@@ -19,9 +20,19 @@ public class LightEngine implements ILightEngine {
     private final LightEngineLayer<?, ?> skyEngine;
 
     public LightEngine(ILightAccess chunkProvider, boolean hasBlockLight, boolean hasSkyLight) {
+        this(chunkProvider, hasBlockLight, hasSkyLight, FLAT_LIGHT_ENGINE);
+    }
+
+    public LightEngine(ILightAccess chunkProvider, boolean hasBlockLight, boolean hasSkyLight, boolean flat) {
         this.levelHeightAccessor = chunkProvider.getWorld();
-        this.blockEngine = hasBlockLight ? new LightEngineBlock(chunkProvider) : null;
-        this.skyEngine = hasSkyLight ? new LightEngineSky(chunkProvider) : null;
+        if (flat) {
+            this.blockEngine = hasBlockLight ? new LightEngineFlatBlock(chunkProvider) : null;
+            this.skyEngine = hasSkyLight ? new LightEngineFlatSky(chunkProvider) : null;
+        } else {
+            this.blockEngine = hasBlockLight ? new LightEngineBlock(chunkProvider) : null;
+            this.skyEngine = hasSkyLight ? new LightEngineSky(chunkProvider) : null;
+        }
+
     }
 
     @Override
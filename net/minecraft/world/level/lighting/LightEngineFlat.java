@@ -0,0 +1,377 @@
+package net.minecraft.world.level.lighting;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import javax.annotation.Nullable;
+import net.minecraft.core.BlockPosition;
+import net.minecraft.core.EnumDirection;
+import net.minecraft.core.SectionPosition;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.level.EnumSkyBlock;
+import net.minecraft.world.level.block.state.IBlockData;
+import net.minecraft.world.level.chunk.ILightAccess;
+import net.minecraft.world.level.chunk.NibbleArray;
+import net.minecraft.world.phys.shapes.VoxelShapes;
+import org.apache.commons.lang3.mutable.MutableInt;
+
+public abstract class LightEngineFlat<M extends LightEngineStorageArray<M>, S extends LightEngineStorage<M>> extends LightEngineLayer<M, S> {
+    protected static final EnumDirection[] DIRECTIONS = EnumDirection.values();
+    private static final int SECTION_CACHE_SIZE = 256;
+    private static final int FLAG_SET = 16;
+    private static final byte SECTION_WRITABLE = 1;
+    private static final byte SECTION_MARKED = 2;
+    private final LightEngineFlat.Queue recheckQueue = new LightEngineFlat.Queue();
+    private final LightEngineFlat.Queue decreaseQueue = new LightEngineFlat.Queue();
+    private final LightEngineFlat.Queue increaseQueue = new LightEngineFlat.Queue();
+    private final long[] cachedSectionKeys = new long[256];
+    private final NibbleArray[] cachedSections = new NibbleArray[256];
+    private final byte[] cachedSectionFlags = new byte[256];
+    private final MutableInt opacity = new MutableInt();
+    private final LongConsumer markAffected;
+    private boolean runningLightUpdates;
+    private long lastClearedSection = Long.MAX_VALUE;
+
+    protected LightEngineFlat(ILightAccess chunkProvider, EnumSkyBlock type, S lightStorage) {
+        super(chunkProvider, type, lightStorage);
+        this.markAffected = lightStorage.sectionsAffectedByLightUpdates::add;
+        this.clearSectionCache();
+    }
+
+    private void clearSectionCache() {
+        Arrays.fill(this.cachedSectionKeys, Long.MAX_VALUE);
+        Arrays.fill(this.cachedSections, (Object)null);
+        Arrays.fill(this.cachedSectionFlags, (byte)0);
+    }
+
+    private static int getCacheIndex(long sectionPos) {
+        return (int)HashCommon.mix(sectionPos) & 255;
+    }
+
+    @Nullable
+    private NibbleArray getSection(long sectionPos) {
+        int i = getCacheIndex(sectionPos);
+        if (this.cachedSectionKeys[i] == sectionPos) {
+            return this.cachedSections[i];
+        } else {
+            NibbleArray dataLayer = this.storage.getDataLayer(sectionPos, true);
+            this.cachedSectionKeys[i] = sectionPos;
+            this.cachedSections[i] = dataLayer;
+            this.cachedSectionFlags[i] = 0;
+            return dataLayer;
+        }
+    }
+
+    protected boolean isStoringSection(long sectionPos) {
+        return this.getSection(sectionPos) != null;
+    }
+
+    protected boolean isStoringLight(long blockPos) {
+        return this.getSection(SectionPosition.blockToSection(blockPos)) != null;
+    }
+
+    protected int getLight(long blockPos) {
+        NibbleArray dataLayer = this.getSection(SectionPosition.blockToSection(blockPos));
+        return dataLayer == null ? 0 : dataLayer.get(SectionPosition.sectionRelative(BlockPosition.getX(blockPos)), SectionPosition.sectionRelative(BlockPosition.getY(blockPos)), SectionPosition.sectionRelative(BlockPosition.getZ(blockPos)));
+    }
+
+    private void setLight(long blockPos, int light) {
+        long l = SectionPosition.blockToSection(blockPos);
+        int i = getCacheIndex(l);
+        if (this.cachedSectionKeys[i] != l || (this.cachedSectionFlags[i] & 1) == 0) {
+            if (this.storage.changedSections.add(l)) {
+                this.storage.updatingSectionData.copyDataLayer(l);
+            }
+
+            this.cachedSectionKeys[i] = l;
+            this.cachedSections[i] = this.storage.getDataLayer(l, true);
+            this.cachedSectionFlags[i] = 1;
+        }
+
+        int j = BlockPosition.getX(blockPos);
+        int k = BlockPosition.getY(blockPos);
+        int m = BlockPosition.getZ(blockPos);
+        this.cachedSections[i].set(SectionPosition.sectionRelative(j), SectionPosition.sectionRelative(k), SectionPosition.sectionRelative(m), light);
+        if ((j + 1 & 15) >= 2 && (k + 1 & 15) >= 2 && (m + 1 & 15) >= 2) {
+            if ((this.cachedSectionFlags[i] & 2) == 0) {
+                this.cachedSectionFlags[i] = (byte)(this.cachedSectionFlags[i] | 2);
+                this.markAffected.accept(l);
+            }
+        } else {
+            SectionPosition.aroundAndAtBlockPos(j, k, m, this.markAffected);
+        }
+
+    }
+
+    protected int getPropagatedLight(long sourceId, long targetId, int light, EnumDirection direction) {
+        if (light <= 0) {
+            return 0;
+        } else {
+            IBlockData blockState = this.getStateAndOpacity(targetId, this.opacity);
+            int i = this.opacity.intValue();
+            if (i >= 15) {
+                return 0;
+            } else {
+                IBlockData blockState2 = this.getStateAndOpacity(sourceId, (MutableInt)null);
+                if ((blockState.canOcclude() || blockState2.canOcclude()) && VoxelShapes.faceShapeOccludes(this.getShape(blockState2, sourceId, direction), this.getShape(blockState, targetId, direction.opposite()))) {
+                    return 0;
+                } else {
+                    return this.isUnattenuated(direction, light, i) ? light : Math.max(0, light - Math.max(1, i));
+                }
+            }
+        }
+    }
+
+    protected boolean isUnattenuated(EnumDirection direction, int light, int opacity) {
+        return false;
+    }
+
+    protected abstract int computeLight(long id);
+
+    protected abstract int getSourceLight(long id);
+
+    protected abstract void propagate(long id, int light, boolean removal);
+
+    protected final void propagateToNeighbor(long sourceId, long targetId, int light, EnumDirection direction, boolean removal) {
+        int i = this.getLight(targetId);
+        if (removal) {
+            if (i != 0) {
+                if (i <= this.getPropagatedLight(sourceId, targetId, light, direction)) {
+                    int j = this.getSourceLight(targetId);
+                    if (j >= i) {
+                        this.increaseQueue.add(targetId, i);
+                    } else {
+                        this.setLight(targetId, j);
+                        this.decreaseQueue.add(targetId, i);
+                        if (j > 0) {
+                            this.increaseQueue.add(targetId, j);
+                        }
+                    }
+                } else {
+                    this.increaseQueue.add(targetId, i);
+                }
+            }
+        } else if (i < light) {
+            int k = this.getPropagatedLight(sourceId, targetId, light, direction);
+            if (k > i) {
+                this.setLight(targetId, k);
+                this.increaseQueue.add(targetId, k);
+            }
+        }
+
+    }
+
+    private void recheck(long id) {
+        if (this.isStoringLight(id)) {
+            int i = this.getLight(id);
+            int j = this.computeLight(id);
+            if (j > i) {
+                this.setLight(id, j);
+                this.increaseQueue.add(id, j);
+            } else if (j < i) {
+                int k = this.getSourceLight(id);
+                this.setLight(id, k);
+                this.decreaseQueue.add(id, i);
+                if (k > 0) {
+                    this.increaseQueue.add(id, k);
+                }
+            }
+
+        }
+    }
+
+    private void increase(long id, int value) {
+        if (this.isStoringLight(id)) {
+            int i = value & 15;
+            int j = this.getLight(id);
+            if ((value & 16) != 0) {
+                if (i <= j) {
+                    return;
+                }
+
+                this.setLight(id, i);
+            } else if (i != j) {
+                return;
+            }
+
+            this.propagate(id, i, false);
+        }
+    }
+
+    private int processQueues(int maxSteps) {
+        this.clearSectionCache();
+
+        while(maxSteps > 0) {
+            if (!this.recheckQueue.isEmpty()) {
+                int i = this.recheckQueue.poll();
+                this.recheck(this.recheckQueue.positions[i]);
+            } else if (!this.decreaseQueue.isEmpty()) {
+                int j = this.decreaseQueue.poll();
+                long l = this.decreaseQueue.positions[j];
+                int k = this.decreaseQueue.values[j];
+                if (this.isStoringLight(l)) {
+                    this.propagate(l, k, true);
+                }
+            } else {
+                if (this.increaseQueue.isEmpty()) {
+                    break;
+                }
+
+                int m = this.increaseQueue.poll();
+                this.increase(this.increaseQueue.positions[m], this.increaseQueue.values[m]);
+            }
+
+            --maxSteps;
+        }
+
+        this.clearSectionCache();
+        return maxSteps;
+    }
+
+    private boolean hasQueuedWork() {
+        return !this.recheckQueue.isEmpty() || !this.decreaseQueue.isEmpty() || !this.increaseQueue.isEmpty();
+    }
+
+    @Override
+    protected void checkEdge(long sourceId, long id, int level, boolean decrease) {
+        if (id != Long.MAX_VALUE) {
+            this.lastClearedSection = Long.MAX_VALUE;
+            if (decrease) {
+                this.increaseQueue.add(id, 15 - MathHelper.clamp(level, 0, 15) | 16);
+            } else {
+                this.recheckQueue.add(id, 0);
+            }
+
+        }
+    }
+
+    @Override
+    protected void checkNeighborsAfterUpdate(long id, int level, boolean decrease) {
+        this.propagate(id, 15 - level, !decrease);
+    }
+
+    @Override
+    public int getQueueSize() {
+        return this.recheckQueue.size() + this.decreaseQueue.size() + this.increaseQueue.size();
+    }
+
+    @Override
+    public void removeIf(LongPredicate predicate) {
+        this.recheckQueue.removeIf(predicate);
+        this.decreaseQueue.removeIf(predicate);
+        this.increaseQueue.removeIf(predicate);
+    }
+
+    @Override
+    protected void removeFromQueue(long id) {
+        long l = SectionPosition.blockToSection(id);
+        if (l != this.lastClearedSection) {
+            this.lastClearedSection = l;
+            this.removeIf((pos) -> {
+                return SectionPosition.blockToSection(pos) == l;
+            });
+        }
+
+    }
+
+    @Override
+    public boolean hasLightWork() {
+        return this.hasQueuedWork() || this.storage.hasWork() || this.storage.hasInconsistencies();
+    }
+
+    @Override
+    public int runUpdates(int i, boolean doSkylight, boolean skipEdgeLightPropagation) {
+        if (!this.runningLightUpdates) {
+            if (this.storage.hasWork()) {
+                i = this.storage.runUpdates(i);
+                if (i == 0) {
+                    return i;
+                }
+            }
+
+            this.storage.markNewInconsistencies(this, doSkylight, skipEdgeLightPropagation);
+        }
+
+        this.runningLightUpdates = true;
+        if (this.hasQueuedWork()) {
+            i = this.processQueues(i);
+            this.clearCache();
+            if (i == 0) {
+                return i;
+            }
+        }
+
+        this.runningLightUpdates = false;
+        this.storage.swapSectionMap();
+        return i;
+    }
+
+    static final class Queue {
+        long[] positions = new long[64];
+        int[] values = new int[64];
+        private int head;
+        private int tail;
+
+        void add(long pos, int value) {
+            if (this.tail == this.positions.length) {
+                this.grow();
+            }
+
+            this.positions[this.tail] = pos;
+            this.values[this.tail] = value;
+            ++this.tail;
+        }
+
+        private void grow() {
+            int i = this.tail - this.head;
+            if (this.head > 0 && i < this.positions.length / 2) {
+                System.arraycopy(this.positions, this.head, this.positions, 0, i);
+                System.arraycopy(this.values, this.head, this.values, 0, i);
+            } else {
+                long[] ls = new long[this.positions.length * 2];
+                int[] is = new int[this.values.length * 2];
+                System.arraycopy(this.positions, this.head, ls, 0, i);
+                System.arraycopy(this.values, this.head, is, 0, i);
+                this.positions = ls;
+                this.values = is;
+            }
+
+            this.head = 0;
+            this.tail = i;
+        }
+
+        int poll() {
+            int i = this.head++;
+            if (this.head == this.tail) {
+                this.head = 0;
+                this.tail = 0;
+            }
+
+            return i;
+        }
+
+        boolean isEmpty() {
+            return this.head == this.tail;
+        }
+
+        int size() {
+            return this.tail - this.head;
+        }
+
+        void removeIf(LongPredicate predicate) {
+            int i = 0;
+
+            for(int j = this.head; j < this.tail; ++j) {
+                if (!predicate.test(this.positions[j])) {
+                    this.positions[i] = this.positions[j];
+                    this.values[i] = this.values[j];
+                    ++i;
+                }
+            }
+
+            this.head = 0;
+            this.tail = i;
+        }
+    }
+}
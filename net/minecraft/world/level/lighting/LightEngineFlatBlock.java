@@ -0,0 +1,86 @@
+package net.minecraft.world.level.lighting;
+
+import net.minecraft.core.BlockPosition;
+import net.minecraft.core.EnumDirection;
+import net.minecraft.core.SectionPosition;
+import net.minecraft.world.level.EnumSkyBlock;
+import net.minecraft.world.level.IBlockAccess;
+import net.minecraft.world.level.chunk.ILightAccess;
+
+public final class LightEngineFlatBlock extends LightEngineFlat<LightEngineStorageBlock.BlockDataLayerStorageMap, LightEngineStorageBlock> {
+    private final BlockPosition.MutableBlockPosition pos = new BlockPosition.MutableBlockPosition();
+
+    public LightEngineFlatBlock(ILightAccess chunkProvider) {
+        super(chunkProvider, EnumSkyBlock.BLOCK, new LightEngineStorageBlock(chunkProvider));
+    }
+
+    private int getLightEmission(long blockPos) {
+        int i = BlockPosition.getX(blockPos);
+        int j = BlockPosition.getY(blockPos);
+        int k = BlockPosition.getZ(blockPos);
+        IBlockAccess blockGetter = this.chunkSource.getChunkForLighting(SectionPosition.blockToSectionCoord(i), SectionPosition.blockToSectionCoord(k));
+        return blockGetter != null ? blockGetter.getLightEmission(this.pos.set(i, j, k)) : 0;
+    }
+
+    @Override
+    protected int computeLevelFromNeighbor(long sourceId, long targetId, int level) {
+        if (targetId == Long.MAX_VALUE) {
+            return 15;
+        } else if (sourceId == Long.MAX_VALUE) {
+            return level + 15 - this.getLightEmission(targetId);
+        } else if (level >= 15) {
+            return level;
+        } else {
+            EnumDirection direction = EnumDirection.fromNormal(Integer.signum(BlockPosition.getX(targetId) - BlockPosition.getX(sourceId)), Integer.signum(BlockPosition.getY(targetId) - BlockPosition.getY(sourceId)), Integer.signum(BlockPosition.getZ(targetId) - BlockPosition.getZ(sourceId)));
+            return direction == null ? 15 : 15 - this.getPropagatedLight(sourceId, targetId, 15 - level, direction);
+        }
+    }
+
+    @Override
+    protected int computeLight(long id) {
+        int i = this.getLightEmission(id);
+
+        for(EnumDirection direction : DIRECTIONS) {
+            if (i >= 15) {
+                break;
+            }
+
+            long l = BlockPosition.offset(id, direction);
+            if (this.isStoringLight(l)) {
+                int j = this.getLight(l);
+                if (j > i + 1) {
+                    j = this.getPropagatedLight(l, id, j, direction.opposite());
+                    if (j > i) {
+                        i = j;
+                    }
+                }
+            }
+        }
+
+        return i;
+    }
+
+    @Override
+    protected int getSourceLight(long id) {
+        return this.getLightEmission(id);
+    }
+
+    @Override
+    protected void propagate(long id, int light, boolean removal) {
+        if (removal || light > 1) {
+            for(EnumDirection direction : DIRECTIONS) {
+                long l = BlockPosition.offset(id, direction);
+                if (this.isStoringLight(l)) {
+                    this.propagateToNeighbor(id, l, light, direction, removal);
+                }
+            }
+
+        }
+    }
+
+    @Override
+    public void onBlockEmissionIncrease(BlockPosition pos, int level) {
+        this.storage.runAllUpdates();
+        this.checkEdge(Long.MAX_VALUE, pos.asLong(), 15 - level, true);
+    }
+}
@@ -0,0 +1,148 @@
+package net.minecraft.world.level.lighting;
+
+import net.minecraft.core.BlockPosition;
+import net.minecraft.core.EnumDirection;
+import net.minecraft.core.SectionPosition;
+import net.minecraft.world.level.EnumSkyBlock;
+import net.minecraft.world.level.chunk.ILightAccess;
+
+public final class LightEngineFlatSky extends LightEngineFlat<LightEngineStorageSky.SkyDataLayerStorageMap, LightEngineStorageSky> {
+    private static final EnumDirection[] HORIZONTALS = new EnumDirection[]{EnumDirection.NORTH, EnumDirection.SOUTH, EnumDirection.WEST, EnumDirection.EAST};
+
+    public LightEngineFlatSky(ILightAccess chunkProvider) {
+        super(chunkProvider, EnumSkyBlock.SKY, new LightEngineStorageSky(chunkProvider));
+    }
+
+    @Override
+    protected int computeLevelFromNeighbor(long sourceId, long targetId, int level) {
+        if (targetId != Long.MAX_VALUE && sourceId != Long.MAX_VALUE) {
+            if (level >= 15) {
+                return level;
+            } else {
+                int i = Integer.signum(BlockPosition.getX(targetId) - BlockPosition.getX(sourceId));
+                int j = Integer.signum(BlockPosition.getY(targetId) - BlockPosition.getY(sourceId));
+                int k = Integer.signum(BlockPosition.getZ(targetId) - BlockPosition.getZ(sourceId));
+                EnumDirection direction = EnumDirection.fromNormal(i, j, k);
+                if (direction == null) {
+                    throw new IllegalStateException(String.format("Light was spread in illegal direction %d, %d, %d", i, j, k));
+                } else {
+                    return 15 - this.getPropagatedLight(sourceId, targetId, 15 - level, direction);
+                }
+            }
+        } else {
+            return 15;
+        }
+    }
+
+    @Override
+    protected boolean isUnattenuated(EnumDirection direction, int light, int opacity) {
+        return direction == EnumDirection.DOWN && light == 15 && opacity == 0;
+    }
+
+    private int getLightFromNeighbors(long id, boolean outsideOnly) {
+        int i = 0;
+
+        for(EnumDirection direction : DIRECTIONS) {
+            long l = BlockPosition.offset(id, direction);
+            int j;
+            if (this.isStoringLight(l)) {
+                if (outsideOnly) {
+                    continue;
+                }
+
+                j = this.getLight(l);
+            } else {
+                if (direction == EnumDirection.DOWN) {
+                    continue;
+                }
+
+                j = this.storage.getLightValue(l, true);
+            }
+
+            if (j > i) {
+                j = this.getPropagatedLight(l, id, j, direction.opposite());
+                if (j > i) {
+                    i = j;
+                    if (j >= 15) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        return i;
+    }
+
+    @Override
+    protected int computeLight(long id) {
+        return this.getLightFromNeighbors(id, false);
+    }
+
+    @Override
+    protected int getSourceLight(long id) {
+        return this.getLightFromNeighbors(id, true);
+    }
+
+    @Override
+    protected void propagate(long id, int light, boolean removal) {
+        long l = SectionPosition.blockToSection(id);
+        int i = BlockPosition.getY(id);
+        int j = 0;
+        if (SectionPosition.sectionRelative(i) == 0) {
+            int k = SectionPosition.blockToSectionCoord(i);
+
+            while(!this.isStoringSection(SectionPosition.offset(l, 0, -j - 1, 0)) && this.storage.hasSectionsBelow(k - j - 1)) {
+                ++j;
+            }
+        }
+
+        long m = BlockPosition.offset(id, 0, -1 - j * 16, 0);
+        if (this.isStoringLight(m)) {
+            this.propagateToNeighbor(id, m, light, EnumDirection.DOWN, removal);
+        }
+
+        long n = BlockPosition.offset(id, EnumDirection.UP);
+        if (this.isStoringLight(n)) {
+            this.propagateToNeighbor(id, n, light, EnumDirection.UP, removal);
+        }
+
+        for(EnumDirection direction : HORIZONTALS) {
+            for(int o = 0; o <= j * 16; ++o) {
+                long p = BlockPosition.offset(id, direction.getAdjacentX(), -o, direction.getAdjacentZ());
+                long q = SectionPosition.blockToSection(p);
+                if (l == q) {
+                    this.propagateToNeighbor(id, p, light, direction, removal);
+                    break;
+                }
+
+                if (this.isStoringSection(q)) {
+                    this.propagateToNeighbor(BlockPosition.offset(id, 0, -o, 0), p, light, direction, removal);
+                }
+            }
+        }
+
+    }
+
+    @Override
+    protected void checkNode(long id) {
+        this.storage.runAllUpdates();
+        long l = SectionPosition.blockToSection(id);
+        if (this.storage.storingLightForSection(l)) {
+            super.checkNode(id);
+        } else {
+            for(id = BlockPosition.getFlatIndex(id); !this.storage.storingLightForSection(l) && !this.storage.isAboveData(l); id = BlockPosition.offset(id, 0, 16, 0)) {
+                l = SectionPosition.offset(l, EnumDirection.UP);
+            }
+
+            if (this.storage.storingLightForSection(l)) {
+                super.checkNode(id);
+            }
+        }
+
+    }
+
+    @Override
+    public String getDebugData(long sectionPos) {
+        return super.getDebugData(sectionPos) + (this.storage.isAboveData(sectionPos) ? "*" : "");
+    }
+}
@@ -67,7 +67,7 @@ public abstract class LightEngineLayer<M extends LightEngineStorageArray<M>, S e
         return blockGetter;
     }
 
-    private void clearCache() {
+    protected void clearCache() {
         Arrays.fill(this.lastChunkPos, ChunkCoordIntPair.INVALID_CHUNK_POS);
         Arrays.fill(this.lastChunk, (Object)null);
     }
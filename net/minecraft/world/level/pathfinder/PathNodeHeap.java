@@ -0,0 +1,114 @@
+package net.minecraft.world.level.pathfinder;
+
+import java.util.Arrays;
+
+public class PathNodeHeap {
+    private int[] indices = new int[128];
+    private float[] costs = new float[128];
+    private int size;
+    private PathNodePool pool;
+
+    public void clear(PathNodePool pool) {
+        this.pool = pool;
+        this.size = 0;
+    }
+
+    public void insert(PathPoint node) {
+        if (this.size == this.indices.length) {
+            this.indices = Arrays.copyOf(this.indices, this.size << 1);
+            this.costs = Arrays.copyOf(this.costs, this.size << 1);
+        }
+
+        this.indices[this.size] = node.poolIndex;
+        this.costs[this.size] = node.f;
+        this.upHeap(this.size++);
+    }
+
+    public PathPoint pop() {
+        PathPoint node = this.pool.byIndex(this.indices[0]);
+        --this.size;
+        if (this.size > 0) {
+            this.indices[0] = this.indices[this.size];
+            this.costs[0] = this.costs[this.size];
+            this.downHeap(0);
+        }
+
+        node.heapIdx = -1;
+        return node;
+    }
+
+    public void changeCost(PathPoint node, float weight) {
+        int i = node.heapIdx;
+        float f = this.costs[i];
+        node.f = weight;
+        this.costs[i] = weight;
+        if (weight < f) {
+            this.upHeap(i);
+        } else {
+            this.downHeap(i);
+        }
+
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    private void upHeap(int index) {
+        int i = this.indices[index];
+        float f = this.costs[index];
+
+        while(index > 0) {
+            int j = index - 1 >> 1;
+            float g = this.costs[j];
+            if (!(f < g)) {
+                break;
+            }
+
+            this.indices[index] = this.indices[j];
+            this.costs[index] = g;
+            this.pool.byIndex(this.indices[index]).heapIdx = index;
+            index = j;
+        }
+
+        this.indices[index] = i;
+        this.costs[index] = f;
+        this.pool.byIndex(i).heapIdx = index;
+    }
+
+    private void downHeap(int index) {
+        int i = this.indices[index];
+        float f = this.costs[index];
+
+        while(true) {
+            int j = 1 + (index << 1);
+            if (j >= this.size) {
+                break;
+            }
+
+            int k = j + 1;
+            float g = this.costs[j];
+            if (k < this.size && !(g < this.costs[k])) {
+                j = k;
+                g = this.costs[k];
+            }
+
+            if (!(g < f)) {
+                break;
+            }
+
+            this.indices[index] = this.indices[j];
+            this.costs[index] = g;
+            this.pool.byIndex(this.indices[index]).heapIdx = index;
+            index = j;
+        }
+
+        this.indices[index] = i;
+        this.costs[index] = f;
+        this.pool.byIndex(i).heapIdx = index;
+    }
+}
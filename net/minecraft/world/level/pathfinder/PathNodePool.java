@@ -0,0 +1,42 @@
+package net.minecraft.world.level.pathfinder;
+
+import java.util.Arrays;
+
+public class PathNodePool {
+    private static final ThreadLocal<PathNodePool> POOLS = ThreadLocal.withInitial(PathNodePool::new);
+    private PathPoint[] nodes = new PathPoint[256];
+    private int size;
+
+    public static PathNodePool get() {
+        return POOLS.get();
+    }
+
+    public PathPoint acquire(int x, int y, int z) {
+        if (this.size == this.nodes.length) {
+            this.nodes = Arrays.copyOf(this.nodes, this.size << 1);
+        }
+
+        PathPoint node = this.nodes[this.size];
+        if (node == null) {
+            node = new PathPoint(x, y, z);
+            this.nodes[this.size] = node;
+        } else {
+            node.reset(x, y, z);
+        }
+
+        node.poolIndex = this.size++;
+        return node;
+    }
+
+    public PathPoint byIndex(int index) {
+        return this.nodes[index];
+    }
+
+    public void clear() {
+        this.size = 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+}
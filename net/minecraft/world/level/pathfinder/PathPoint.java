@@ -7,10 +7,11 @@ import net.minecraft.util.MathHelper;
 import net.minecraft.world.phys.Vec3D;
 
 public class PathPoint {
-    public final int x;
-    public final int y;
-    public final int z;
-    private final int hash;
+    public int x;
+    public int y;
+    public int z;
+    private int hash;
+    public int poolIndex = -1;
     public int heapIdx = -1;
     public float g;
     public float h;
@@ -29,6 +30,34 @@ public class PathPoint {
         this.hash = createHash(x, y, z);
     }
 
+    void reset(int x, int y, int z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.hash = createHash(x, y, z);
+        this.heapIdx = -1;
+        this.g = 0.0F;
+        this.h = 0.0F;
+        this.f = 0.0F;
+        this.cameFrom = null;
+        this.closed = false;
+        this.walkedDistance = 0.0F;
+        this.costMalus = 0.0F;
+        this.type = PathType.BLOCKED;
+    }
+
+    public PathPoint copy() {
+        PathPoint node = new PathPoint(this.x, this.y, this.z);
+        node.g = this.g;
+        node.h = this.h;
+        node.f = this.f;
+        node.closed = this.closed;
+        node.walkedDistance = this.walkedDistance;
+        node.costMalus = this.costMalus;
+        node.type = this.type;
+        return node;
+    }
+
     public PathPoint cloneAndMove(int x, int y, int z) {
         PathPoint node = new PathPoint(x, y, z);
         node.heapIdx = this.heapIdx;
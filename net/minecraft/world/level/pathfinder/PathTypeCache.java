@@ -0,0 +1,184 @@
+package net.minecraft.world.level.pathfinder;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.util.EnumSet;
+import java.util.function.LongFunction;
+import java.util.function.LongUnaryOperator;
+import net.minecraft.core.BlockPosition;
+import net.minecraft.world.level.ChunkCoordIntPair;
+
+public class PathTypeCache {
+    private static final int MAX_ENTRIES = 65536;
+    private static final PathType[] TYPES = PathType.values();
+    private static final long UNCACHED_TYPES = 1L << PathType.RAIL.ordinal() | 1L << PathType.UNPASSABLE_RAIL.ordinal();
+    private final Long2ObjectMap<PathType> types = new Long2ObjectOpenHashMap<>();
+    private final Int2ObjectMap<Long2LongMap> nearbyTypes = new Int2ObjectOpenHashMap<>();
+    private int hits;
+    private int misses;
+
+    public PathType getType(int x, int y, int z, LongFunction<PathType> typeFunction) {
+        long l = BlockPosition.asLong(x, y, z);
+        PathType blockPathTypes = this.types.get(l);
+        if (blockPathTypes != null) {
+            ++this.hits;
+            return blockPathTypes;
+        } else {
+            ++this.misses;
+            if (this.types.size() >= MAX_ENTRIES) {
+                this.types.clear();
+            }
+
+            blockPathTypes = typeFunction.apply(l);
+            this.types.put(l, blockPathTypes);
+            return blockPathTypes;
+        }
+    }
+
+    public long getNearbyTypes(int x, int y, int z, int sizeX, int sizeY, int sizeZ, boolean canOpenDoors, boolean canEnterOpenDoors, LongUnaryOperator typesFunction) {
+        int i = sizeKey(sizeX, sizeY, sizeZ, canOpenDoors, canEnterOpenDoors);
+        Long2LongMap long2LongMap = this.nearbyTypes.get(i);
+        if (long2LongMap == null) {
+            long2LongMap = new Long2LongOpenHashMap();
+            long2LongMap.defaultReturnValue(-1L);
+            this.nearbyTypes.put(i, long2LongMap);
+        }
+
+        long l = BlockPosition.asLong(x, y, z);
+        long m = long2LongMap.get(l);
+        if (m == -1L) {
+            if (long2LongMap.size() >= MAX_ENTRIES) {
+                long2LongMap.clear();
+            }
+
+            m = typesFunction.applyAsLong(l);
+            if ((m & UNCACHED_TYPES) == 0L) {
+                long2LongMap.put(l, m);
+            }
+        }
+
+        return m;
+    }
+
+    public void invalidate(BlockPosition pos) {
+        int i = pos.getX();
+        int j = pos.getY();
+        int k = pos.getZ();
+        if (!this.types.isEmpty()) {
+            for(int l = -1; l <= 1; ++l) {
+                for(int m = -1; m <= 1; ++m) {
+                    for(int n = -1; n <= 1; ++n) {
+                        this.types.remove(BlockPosition.asLong(i + l, j + m, k + n));
+                    }
+                }
+            }
+        }
+
+        for(Int2ObjectMap.Entry<Long2LongMap> entry : this.nearbyTypes.int2ObjectEntrySet()) {
+            Long2LongMap long2LongMap = entry.getValue();
+            if (!long2LongMap.isEmpty()) {
+                int o = entry.getIntKey();
+                int p = o & 15;
+                int q = o >> 4 & 15;
+                int r = o >> 8 & 15;
+
+                for(int s = i - p; s <= i + 1; ++s) {
+                    for(int t = j - q; t <= j + 1; ++t) {
+                        for(int u = k - r; u <= k + 1; ++u) {
+                            long2LongMap.remove(BlockPosition.asLong(s, t, u));
+                        }
+                    }
+                }
+            }
+        }
+
+    }
+
+    public void invalidateChunk(ChunkCoordIntPair chunkPos) {
+        int i = chunkPos.getMinBlockX();
+        int j = chunkPos.getMinBlockZ();
+        int k = chunkPos.getMaxBlockX();
+        int l = chunkPos.getMaxBlockZ();
+        if (!this.types.isEmpty()) {
+            removeColumns(this.types.keySet(), i - 1, j - 1, k + 1, l + 1);
+        }
+
+        for(Int2ObjectMap.Entry<Long2LongMap> entry : this.nearbyTypes.int2ObjectEntrySet()) {
+            Long2LongMap long2LongMap = entry.getValue();
+            if (!long2LongMap.isEmpty()) {
+                int m = entry.getIntKey();
+                removeColumns(long2LongMap.keySet(), i - (m & 15), j - (m >> 8 & 15), k + 1, l + 1);
+            }
+        }
+
+    }
+
+    private static void removeColumns(LongSet positions, int minX, int minZ, int maxX, int maxZ) {
+        LongIterator longIterator = positions.iterator();
+
+        while(longIterator.hasNext()) {
+            long l = longIterator.nextLong();
+            int i = BlockPosition.getX(l);
+            int j = BlockPosition.getZ(l);
+            if (i >= minX && i <= maxX && j >= minZ && j <= maxZ) {
+                longIterator.remove();
+            }
+        }
+
+    }
+
+    public void clear() {
+        this.types.clear();
+        this.nearbyTypes.clear();
+    }
+
+    public int getSize() {
+        return this.types.size();
+    }
+
+    public double getHitRate() {
+        int i = this.hits + this.misses;
+        return i == 0 ? 0.0D : (double)this.hits / (double)i;
+    }
+
+    public void resetStats() {
+        this.hits = 0;
+        this.misses = 0;
+    }
+
+    private static int sizeKey(int sizeX, int sizeY, int sizeZ, boolean canOpenDoors, boolean canEnterOpenDoors) {
+        return Math.min(sizeX, 15) | Math.min(sizeY, 15) << 4 | Math.min(sizeZ, 15) << 8 | (canOpenDoors ? 1 << 12 : 0) | (canEnterOpenDoors ? 1 << 13 : 0);
+    }
+
+    public static long packNearbyTypes(PathType type, EnumSet<PathType> nearbyTypes) {
+        long l = 0L;
+
+        for(PathType blockPathTypes : nearbyTypes) {
+            l |= 1L << blockPathTypes.ordinal();
+        }
+
+        return (long)type.ordinal() << 48 | l;
+    }
+
+    public static PathType unpackType(long packed) {
+        return TYPES[(int)(packed >>> 48)];
+    }
+
+    public static EnumSet<PathType> unpackNearbyTypes(long packed) {
+        EnumSet<PathType> enumSet = EnumSet.noneOf(PathType.class);
+
+        for(PathType blockPathTypes : TYPES) {
+            if ((packed & 1L << blockPathTypes.ordinal()) != 0L) {
+                enumSet.add(blockPathTypes);
+            }
+        }
+
+        return enumSet;
+    }
+}
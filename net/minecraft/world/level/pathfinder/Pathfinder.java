@@ -3,6 +3,7 @@ package net.minecraft.world.level.pathfinder;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -23,7 +24,7 @@ public class Pathfinder {
     private final int maxVisitedNodes;
     public final PathfinderAbstract nodeEvaluator;
     private static final boolean DEBUG = false;
-    private final Path openSet = new Path();
+    private final PathNodeHeap openSet = new PathNodeHeap();
 
     public Pathfinder(PathfinderAbstract pathNodeMaker, int range) {
         this.nodeEvaluator = pathNodeMaker;
@@ -32,8 +33,13 @@ public class Pathfinder {
 
     @Nullable
     public PathEntity findPath(ChunkCache world, EntityInsentient mob, Set<BlockPosition> positions, float followRange, int distance, float rangeMultiplier) {
-        this.openSet.clear();
+        return this.findPath(world, PathfinderMobState.of(mob), positions, followRange, distance, rangeMultiplier);
+    }
+
+    @Nullable
+    public PathEntity findPath(ChunkCache world, PathfinderMobState mob, Set<BlockPosition> positions, float followRange, int distance, float rangeMultiplier) {
         this.nodeEvaluator.prepare(world, mob);
+        this.openSet.clear(this.nodeEvaluator.getNodePool());
         PathPoint node = this.nodeEvaluator.getStart();
         Map<PathDestination, BlockPosition> map = positions.stream().collect(Collectors.toMap((pos) -> {
             return this.nodeEvaluator.getGoal((double)pos.getX(), (double)pos.getY(), (double)pos.getZ());
@@ -51,7 +57,6 @@ public class Pathfinder {
         startNode.g = 0.0F;
         startNode.h = this.getBestH(startNode, set);
         startNode.f = startNode.h;
-        this.openSet.clear();
         this.openSet.insert(startNode);
         Set<PathPoint> set2 = ImmutableSet.of();
         int i = 0;
@@ -124,14 +129,12 @@ public class Pathfinder {
 
     private PathEntity reconstructPath(PathPoint endNode, BlockPosition target, boolean reachesTarget) {
         List<PathPoint> list = Lists.newArrayList();
-        PathPoint node = endNode;
-        list.add(0, endNode);
 
-        while(node.cameFrom != null) {
-            node = node.cameFrom;
-            list.add(0, node);
+        for(PathPoint node = endNode; node != null; node = node.cameFrom) {
+            list.add(node.copy());
         }
 
+        Collections.reverse(list);
         return new PathEntity(list, target, reachesTarget);
     }
 }
@@ -4,14 +4,14 @@ import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import net.minecraft.core.BlockPosition;
 import net.minecraft.util.MathHelper;
-import net.minecraft.world.entity.EntityInsentient;
 import net.minecraft.world.level.ChunkCache;
 import net.minecraft.world.level.IBlockAccess;
 
 public abstract class PathfinderAbstract {
     protected ChunkCache level;
-    protected EntityInsentient mob;
+    protected PathfinderMobState mob;
     protected final Int2ObjectMap<PathPoint> nodes = new Int2ObjectOpenHashMap<>();
+    private PathNodePool nodePool;
     protected int entityWidth;
     protected int entityHeight;
     protected int entityDepth;
@@ -19,10 +19,12 @@ public abstract class PathfinderAbstract {
     protected boolean canOpenDoors;
     protected boolean canFloat;
 
-    public void prepare(ChunkCache cachedWorld, EntityInsentient entity) {
+    public void prepare(ChunkCache cachedWorld, PathfinderMobState entity) {
         this.level = cachedWorld;
         this.mob = entity;
         this.nodes.clear();
+        this.nodePool = PathNodePool.get();
+        this.nodePool.clear();
         this.entityWidth = MathHelper.floor(entity.getWidth() + 1.0F);
         this.entityHeight = MathHelper.floor(entity.getHeight() + 1.0F);
         this.entityDepth = MathHelper.floor(entity.getWidth() + 1.0F);
@@ -31,6 +33,7 @@ public abstract class PathfinderAbstract {
     public void done() {
         this.level = null;
         this.mob = null;
+        this.nodes.clear();
     }
 
     protected PathPoint getNode(BlockPosition pos) {
@@ -38,9 +41,18 @@ public abstract class PathfinderAbstract {
     }
 
     protected PathPoint getNode(int x, int y, int z) {
-        return this.nodes.computeIfAbsent(PathPoint.createHash(x, y, z), (l) -> {
-            return new PathPoint(x, y, z);
-        });
+        int i = PathPoint.createHash(x, y, z);
+        PathPoint node = this.nodes.get(i);
+        if (node == null) {
+            node = this.nodePool.acquire(x, y, z);
+            this.nodes.put(i, node);
+        }
+
+        return node;
+    }
+
+    public PathNodePool getNodePool() {
+        return this.nodePool;
     }
 
     public abstract PathPoint getStart();
@@ -49,7 +61,7 @@ public abstract class PathfinderAbstract {
 
     public abstract int getNeighbors(PathPoint[] successors, PathPoint node);
 
-    public abstract PathType getBlockPathType(IBlockAccess world, int x, int y, int z, EntityInsentient mob, int sizeX, int sizeY, int sizeZ, boolean canOpenDoors, boolean canEnterOpenDoors);
+    public abstract PathType getBlockPathType(IBlockAccess world, int x, int y, int z, PathfinderMobState mob, int sizeX, int sizeY, int sizeZ, boolean canOpenDoors, boolean canEnterOpenDoors);
 
     public abstract PathType getBlockPathType(IBlockAccess world, int x, int y, int z);
 
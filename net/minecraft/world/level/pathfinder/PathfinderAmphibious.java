@@ -3,7 +3,6 @@ package net.minecraft.world.level.pathfinder;
 import net.minecraft.core.BlockPosition;
 import net.minecraft.core.EnumDirection;
 import net.minecraft.util.MathHelper;
-import net.minecraft.world.entity.EntityInsentient;
 import net.minecraft.world.level.ChunkCache;
 import net.minecraft.world.level.IBlockAccess;
 
@@ -17,7 +16,7 @@ public class PathfinderAmphibious extends PathfinderNormal {
     }
 
     @Override
-    public void prepare(ChunkCache cachedWorld, EntityInsentient entity) {
+    public void prepare(ChunkCache cachedWorld, PathfinderMobState entity) {
         super.prepare(cachedWorld, entity);
         entity.setPathfindingMalus(PathType.WATER, 0.0F);
         this.oldWalkableCost = entity.getPathfindingMalus(PathType.WALKABLE);
@@ -50,7 +49,7 @@ public class PathfinderAmphibious extends PathfinderNormal {
         PathType blockPathTypes2 = this.getCachedBlockType(this.mob, node.x, node.y, node.z);
         int j;
         if (this.mob.getPathfindingMalus(blockPathTypes) >= 0.0F && blockPathTypes2 != PathType.STICKY_HONEY) {
-            j = MathHelper.floor(Math.max(1.0F, this.mob.maxUpStep));
+            j = MathHelper.floor(Math.max(1.0F, this.mob.getMaxUpStep()));
         } else {
             j = 0;
         }
@@ -68,7 +67,7 @@ public class PathfinderAmphibious extends PathfinderNormal {
 
         for(int l = 0; l < i; ++l) {
             PathPoint node4 = successors[l];
-            if (node4.type == PathType.WATER && this.prefersShallowSwimming && node4.y < this.mob.level.getSeaLevel() - 10) {
+            if (node4.type == PathType.WATER && this.prefersShallowSwimming && node4.y < this.mob.getSeaLevel() - 10) {
                 ++node4.costMalus;
             }
         }
@@ -7,7 +7,6 @@ import java.util.EnumSet;
 import javax.annotation.Nullable;
 import net.minecraft.core.BlockPosition;
 import net.minecraft.util.MathHelper;
-import net.minecraft.world.entity.EntityInsentient;
 import net.minecraft.world.level.ChunkCache;
 import net.minecraft.world.level.IBlockAccess;
 import net.minecraft.world.level.block.Blocks;
@@ -17,7 +16,7 @@ public class PathfinderFlying extends PathfinderNormal {
     private final Long2ObjectMap<PathType> pathTypeByPosCache = new Long2ObjectOpenHashMap<>();
 
     @Override
-    public void prepare(ChunkCache cachedWorld, EntityInsentient entity) {
+    public void prepare(ChunkCache cachedWorld, PathfinderMobState entity) {
         super.prepare(cachedWorld, entity);
         this.pathTypeByPosCache.clear();
         this.oldWaterCost = entity.getPathfindingMalus(PathType.WATER);
@@ -233,7 +232,7 @@ public class PathfinderFlying extends PathfinderNormal {
     }
 
     @Override
-    public PathType getBlockPathType(IBlockAccess world, int x, int y, int z, EntityInsentient mob, int sizeX, int sizeY, int sizeZ, boolean canOpenDoors, boolean canEnterOpenDoors) {
+    public PathType getBlockPathType(IBlockAccess world, int x, int y, int z, PathfinderMobState mob, int sizeX, int sizeY, int sizeZ, boolean canOpenDoors, boolean canEnterOpenDoors) {
         EnumSet<PathType> enumSet = EnumSet.noneOf(PathType.class);
         PathType blockPathTypes = PathType.BLOCKED;
         BlockPosition blockPos = mob.getChunkCoordinates();
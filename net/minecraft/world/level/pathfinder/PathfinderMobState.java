@@ -0,0 +1,292 @@
+package net.minecraft.world.level.pathfinder;
+
+import com.google.common.collect.Sets;
+import java.util.Set;
+import javax.annotation.Nullable;
+import net.minecraft.core.BlockPosition;
+import net.minecraft.core.IRegistry;
+import net.minecraft.world.entity.EntityInsentient;
+import net.minecraft.world.level.material.FluidType;
+import net.minecraft.world.phys.AxisAlignedBB;
+
+public abstract class PathfinderMobState {
+    public static PathfinderMobState of(EntityInsentient mob) {
+        return new PathfinderMobState.Live(mob);
+    }
+
+    public static PathfinderMobState snapshot(EntityInsentient mob) {
+        return new PathfinderMobState.Snapshot(mob);
+    }
+
+    @Nullable
+    public abstract EntityInsentient getEntity();
+
+    public abstract double locX();
+
+    public abstract double locY();
+
+    public abstract double locZ();
+
+    public abstract int getBlockY();
+
+    public abstract BlockPosition getChunkCoordinates();
+
+    public abstract AxisAlignedBB getBoundingBox();
+
+    public abstract float getWidth();
+
+    public abstract float getHeight();
+
+    public abstract float getMaxUpStep();
+
+    public abstract int getMaxFallDistance();
+
+    public abstract boolean isOnGround();
+
+    public abstract boolean isInWater();
+
+    public abstract int getSeaLevel();
+
+    public abstract int getMinBuildHeight();
+
+    public abstract boolean canStandOnFluid(FluidType fluid);
+
+    public abstract float getPathfindingMalus(PathType nodeType);
+
+    public abstract void setPathfindingMalus(PathType nodeType, float penalty);
+
+    static class Live extends PathfinderMobState {
+        private final EntityInsentient mob;
+
+        Live(EntityInsentient mob) {
+            this.mob = mob;
+        }
+
+        @Override
+        public EntityInsentient getEntity() {
+            return this.mob;
+        }
+
+        @Override
+        public double locX() {
+            return this.mob.locX();
+        }
+
+        @Override
+        public double locY() {
+            return this.mob.locY();
+        }
+
+        @Override
+        public double locZ() {
+            return this.mob.locZ();
+        }
+
+        @Override
+        public int getBlockY() {
+            return this.mob.getBlockY();
+        }
+
+        @Override
+        public BlockPosition getChunkCoordinates() {
+            return this.mob.getChunkCoordinates();
+        }
+
+        @Override
+        public AxisAlignedBB getBoundingBox() {
+            return this.mob.getBoundingBox();
+        }
+
+        @Override
+        public float getWidth() {
+            return this.mob.getWidth();
+        }
+
+        @Override
+        public float getHeight() {
+            return this.mob.getHeight();
+        }
+
+        @Override
+        public float getMaxUpStep() {
+            return this.mob.maxUpStep;
+        }
+
+        @Override
+        public int getMaxFallDistance() {
+            return this.mob.getMaxFallDistance();
+        }
+
+        @Override
+        public boolean isOnGround() {
+            return this.mob.isOnGround();
+        }
+
+        @Override
+        public boolean isInWater() {
+            return this.mob.isInWater();
+        }
+
+        @Override
+        public int getSeaLevel() {
+            return this.mob.level.getSeaLevel();
+        }
+
+        @Override
+        public int getMinBuildHeight() {
+            return this.mob.level.getMinBuildHeight();
+        }
+
+        @Override
+        public boolean canStandOnFluid(FluidType fluid) {
+            return this.mob.canStandOnFluid(fluid);
+        }
+
+        @Override
+        public float getPathfindingMalus(PathType nodeType) {
+            return this.mob.getPathfindingMalus(nodeType);
+        }
+
+        @Override
+        public void setPathfindingMalus(PathType nodeType, float penalty) {
+            this.mob.setPathfindingMalus(nodeType, penalty);
+        }
+    }
+
+    static class Snapshot extends PathfinderMobState {
+        private static final PathType[] PATH_TYPES = PathType.values();
+        private final double x;
+        private final double y;
+        private final double z;
+        private final BlockPosition blockPosition;
+        private final AxisAlignedBB boundingBox;
+        private final float width;
+        private final float height;
+        private final float maxUpStep;
+        private final int maxFallDistance;
+        private final boolean onGround;
+        private final boolean inWater;
+        private final int seaLevel;
+        private final int minBuildHeight;
+        private final Set<FluidType> standableFluids = Sets.newIdentityHashSet();
+        private final float[] pathfindingMalus = new float[PATH_TYPES.length];
+
+        Snapshot(EntityInsentient mob) {
+            this.x = mob.locX();
+            this.y = mob.locY();
+            this.z = mob.locZ();
+            this.blockPosition = mob.getChunkCoordinates();
+            this.boundingBox = mob.getBoundingBox();
+            this.width = mob.getWidth();
+            this.height = mob.getHeight();
+            this.maxUpStep = mob.maxUpStep;
+            this.maxFallDistance = mob.getMaxFallDistance();
+            this.onGround = mob.isOnGround();
+            this.inWater = mob.isInWater();
+            this.seaLevel = mob.level.getSeaLevel();
+            this.minBuildHeight = mob.level.getMinBuildHeight();
+
+            for(FluidType fluid : IRegistry.FLUID) {
+                if (mob.canStandOnFluid(fluid)) {
+                    this.standableFluids.add(fluid);
+                }
+            }
+
+            for(PathType blockPathTypes : PATH_TYPES) {
+                this.pathfindingMalus[blockPathTypes.ordinal()] = mob.getPathfindingMalus(blockPathTypes);
+            }
+
+        }
+
+        @Nullable
+        @Override
+        public EntityInsentient getEntity() {
+            return null;
+        }
+
+        @Override
+        public double locX() {
+            return this.x;
+        }
+
+        @Override
+        public double locY() {
+            return this.y;
+        }
+
+        @Override
+        public double locZ() {
+            return this.z;
+        }
+
+        @Override
+        public int getBlockY() {
+            return this.blockPosition.getY();
+        }
+
+        @Override
+        public BlockPosition getChunkCoordinates() {
+            return this.blockPosition;
+        }
+
+        @Override
+        public AxisAlignedBB getBoundingBox() {
+            return this.boundingBox;
+        }
+
+        @Override
+        public float getWidth() {
+            return this.width;
+        }
+
+        @Override
+        public float getHeight() {
+            return this.height;
+        }
+
+        @Override
+        public float getMaxUpStep() {
+            return this.maxUpStep;
+        }
+
+        @Override
+        public int getMaxFallDistance() {
+            return this.maxFallDistance;
+        }
+
+        @Override
+        public boolean isOnGround() {
+            return this.onGround;
+        }
+
+        @Override
+        public boolean isInWater() {
+            return this.inWater;
+        }
+
+        @Override
+        public int getSeaLevel() {
+            return this.seaLevel;
+        }
+
+        @Override
+        public int getMinBuildHeight() {
+            return this.minBuildHeight;
+        }
+
+        @Override
+        public boolean canStandOnFluid(FluidType fluid) {
+            return this.standableFluids.contains(fluid);
+        }
+
+        @Override
+        public float getPathfindingMalus(PathType nodeType) {
+            return this.pathfindingMalus[nodeType.ordinal()];
+        }
+
+        @Override
+        public void setPathfindingMalus(PathType nodeType, float penalty) {
+            this.pathfindingMalus[nodeType.ordinal()] = penalty;
+        }
+    }
+}
@@ -11,8 +11,8 @@ import net.minecraft.core.EnumDirection;
 import net.minecraft.tags.TagsBlock;
 import net.minecraft.tags.TagsFluid;
 import net.minecraft.util.MathHelper;
-import net.minecraft.world.entity.EntityInsentient;
 import net.minecraft.world.level.ChunkCache;
+import net.minecraft.world.level.ChunkCacheSnapshot;
 import net.minecraft.world.level.IBlockAccess;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.BlockCampfire;
@@ -34,11 +34,14 @@ public class PathfinderNormal extends PathfinderAbstract {
     protected float oldWaterCost;
     private final Long2ObjectMap<PathType> pathTypesByPosCache = new Long2ObjectOpenHashMap<>();
     private final Object2BooleanMap<AxisAlignedBB> collisionCache = new Object2BooleanOpenHashMap<>();
+    @Nullable
+    private PathTypeCache pathTypeCache;
 
     @Override
-    public void prepare(ChunkCache cachedWorld, EntityInsentient entity) {
+    public void prepare(ChunkCache cachedWorld, PathfinderMobState entity) {
         super.prepare(cachedWorld, entity);
         this.oldWaterCost = entity.getPathfindingMalus(PathType.WATER);
+        this.pathTypeCache = this.getClass() == PathfinderNormal.class ? cachedWorld.getPathTypeCache() : null;
     }
 
     @Override
@@ -46,6 +49,7 @@ public class PathfinderNormal extends PathfinderAbstract {
         this.mob.setPathfindingMalus(PathType.WATER, this.oldWaterCost);
         this.pathTypesByPosCache.clear();
         this.collisionCache.clear();
+        this.pathTypeCache = null;
         super.done();
     }
 
@@ -69,7 +73,7 @@ public class PathfinderNormal extends PathfinderAbstract {
                 i = MathHelper.floor(this.mob.locY() + 0.5D);
             } else {
                 BlockPosition blockPos;
-                for(blockPos = this.mob.getChunkCoordinates(); (this.level.getType(blockPos).isAir() || this.level.getType(blockPos).isPathfindable(this.level, blockPos, PathMode.LAND)) && blockPos.getY() > this.mob.level.getMinBuildHeight(); blockPos = blockPos.below()) {
+                for(blockPos = this.mob.getChunkCoordinates(); (this.level.getType(blockPos).isAir() || this.level.getType(blockPos).isPathfindable(this.level, blockPos, PathMode.LAND)) && blockPos.getY() > this.mob.getMinBuildHeight(); blockPos = blockPos.below()) {
                 }
 
                 i = blockPos.above().getY();
@@ -118,7 +122,7 @@ public class PathfinderNormal extends PathfinderAbstract {
         PathType blockPathTypes = this.getCachedBlockType(this.mob, node.x, node.y + 1, node.z);
         PathType blockPathTypes2 = this.getCachedBlockType(this.mob, node.x, node.y, node.z);
         if (this.mob.getPathfindingMalus(blockPathTypes) >= 0.0F && blockPathTypes2 != PathType.STICKY_HONEY) {
-            j = MathHelper.floor(Math.max(1.0F, this.mob.maxUpStep));
+            j = MathHelper.floor(Math.max(1.0F, this.mob.getMaxUpStep()));
         }
 
         double d = this.getFloorLevel(new BlockPosition(node.x, node.y, node.z));
@@ -257,7 +261,7 @@ public class PathfinderNormal extends PathfinderAbstract {
                         return node;
                     }
 
-                    while(y > this.mob.level.getMinBuildHeight()) {
+                    while(y > this.mob.getMinBuildHeight()) {
                         --y;
                         blockPathTypes = this.getCachedBlockType(this.mob, x, y, z);
                         if (blockPathTypes != PathType.WATER) {
@@ -276,7 +280,7 @@ public class PathfinderNormal extends PathfinderAbstract {
 
                     while(blockPathTypes == PathType.OPEN) {
                         --y;
-                        if (y < this.mob.level.getMinBuildHeight()) {
+                        if (y < this.mob.getMinBuildHeight()) {
                             PathPoint node2 = this.getNode(x, j, z);
                             node2.type = PathType.BLOCKED;
                             node2.costMalus = -1.0F;
@@ -324,16 +328,27 @@ public class PathfinderNormal extends PathfinderAbstract {
 
     private boolean hasCollisions(AxisAlignedBB box) {
         return this.collisionCache.computeIfAbsent(box, (object) -> {
-            return !this.level.getCubes(this.mob, box);
+            return this.level instanceof ChunkCacheSnapshot ? !this.level.noCollision(box) : !this.level.getCubes(this.mob.getEntity(), box);
         });
     }
 
     @Override
-    public PathType getBlockPathType(IBlockAccess world, int x, int y, int z, EntityInsentient mob, int sizeX, int sizeY, int sizeZ, boolean canOpenDoors, boolean canEnterOpenDoors) {
+    public PathType getBlockPathType(IBlockAccess world, int x, int y, int z, PathfinderMobState mob, int sizeX, int sizeY, int sizeZ, boolean canOpenDoors, boolean canEnterOpenDoors) {
         EnumSet<PathType> enumSet = EnumSet.noneOf(PathType.class);
         PathType blockPathTypes = PathType.BLOCKED;
         BlockPosition blockPos = mob.getChunkCoordinates();
-        blockPathTypes = this.getBlockPathTypes(world, x, y, z, sizeX, sizeY, sizeZ, canOpenDoors, canEnterOpenDoors, enumSet, blockPathTypes, blockPos);
+        if (this.pathTypeCache != null && world == this.level && this.level.hasChunksAt(x - 1, z - 1, x + sizeX, z + sizeZ)) {
+            long l = this.pathTypeCache.getNearbyTypes(x, y, z, sizeX, sizeY, sizeZ, canOpenDoors, canEnterOpenDoors, (pos) -> {
+                EnumSet<PathType> enumSet2 = EnumSet.noneOf(PathType.class);
+                PathType blockPathTypes4 = this.getBlockPathTypes(world, x, y, z, sizeX, sizeY, sizeZ, canOpenDoors, canEnterOpenDoors, enumSet2, PathType.BLOCKED, blockPos);
+                return PathTypeCache.packNearbyTypes(blockPathTypes4, enumSet2);
+            });
+            blockPathTypes = PathTypeCache.unpackType(l);
+            enumSet = PathTypeCache.unpackNearbyTypes(l);
+        } else {
+            blockPathTypes = this.getBlockPathTypes(world, x, y, z, sizeX, sizeY, sizeZ, canOpenDoors, canEnterOpenDoors, enumSet, blockPathTypes, blockPos);
+        }
+
         if (enumSet.contains(PathType.FENCE)) {
             return PathType.FENCE;
         } else if (enumSet.contains(PathType.UNPASSABLE_RAIL)) {
@@ -396,11 +411,11 @@ public class PathfinderNormal extends PathfinderAbstract {
         return type;
     }
 
-    private PathType getBlockPathType(EntityInsentient entity, BlockPosition pos) {
+    private PathType getBlockPathType(PathfinderMobState entity, BlockPosition pos) {
         return this.getCachedBlockType(entity, pos.getX(), pos.getY(), pos.getZ());
     }
 
-    protected PathType getCachedBlockType(EntityInsentient entity, int x, int y, int z) {
+    protected PathType getCachedBlockType(PathfinderMobState entity, int x, int y, int z) {
         return this.pathTypesByPosCache.computeIfAbsent(BlockPosition.asLong(x, y, z), (l) -> {
             return this.getBlockPathType(this.level, x, y, z, entity, this.entityWidth, this.entityHeight, this.entityDepth, this.canOpenDoors(), this.canPassDoors());
         });
@@ -408,7 +423,9 @@ public class PathfinderNormal extends PathfinderAbstract {
 
     @Override
     public PathType getBlockPathType(IBlockAccess world, int x, int y, int z) {
-        return getBlockPathTypeStatic(world, new BlockPosition.MutableBlockPosition(x, y, z));
+        return this.pathTypeCache != null && world == this.level && this.level.hasChunksAt(x - 1, z - 1, x + 1, z + 1) ? this.pathTypeCache.getType(x, y, z, (pos) -> {
+            return getBlockPathTypeStatic(world, new BlockPosition.MutableBlockPosition(x, y, z));
+        }) : getBlockPathTypeStatic(world, new BlockPosition.MutableBlockPosition(x, y, z));
     }
 
     public static PathType getBlockPathTypeStatic(IBlockAccess world, BlockPosition.MutableBlockPosition pos) {
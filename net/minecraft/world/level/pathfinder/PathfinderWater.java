@@ -9,7 +9,6 @@ import net.minecraft.core.BlockPosition;
 import net.minecraft.core.EnumDirection;
 import net.minecraft.tags.TagsFluid;
 import net.minecraft.util.MathHelper;
-import net.minecraft.world.entity.EntityInsentient;
 import net.minecraft.world.level.ChunkCache;
 import net.minecraft.world.level.IBlockAccess;
 import net.minecraft.world.level.block.state.IBlockData;
@@ -24,7 +23,7 @@ public class PathfinderWater extends PathfinderAbstract {
     }
 
     @Override
-    public void prepare(ChunkCache cachedWorld, EntityInsentient entity) {
+    public void prepare(ChunkCache cachedWorld, PathfinderMobState entity) {
         super.prepare(cachedWorld, entity);
         this.pathTypesByPosCache.clear();
     }
@@ -109,7 +108,7 @@ public class PathfinderWater extends PathfinderAbstract {
     }
 
     @Override
-    public PathType getBlockPathType(IBlockAccess world, int x, int y, int z, EntityInsentient mob, int sizeX, int sizeY, int sizeZ, boolean canOpenDoors, boolean canEnterOpenDoors) {
+    public PathType getBlockPathType(IBlockAccess world, int x, int y, int z, PathfinderMobState mob, int sizeX, int sizeY, int sizeZ, boolean canOpenDoors, boolean canEnterOpenDoors) {
         BlockPosition.MutableBlockPosition mutableBlockPos = new BlockPosition.MutableBlockPosition();
 
         for(int i = x; i < x + sizeX; ++i) {
@@ -7,9 +7,12 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.PushbackInputStream;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import net.minecraft.SharedConstants;
 import net.minecraft.nbt.GameProfileSerializer;
@@ -35,7 +38,7 @@ public class WorldPersistentData {
         return new File(this.dataFolder, id + ".dat");
     }
 
-    public <T extends PersistentBase> T computeIfAbsent(Function<NBTTagCompound, T> readFunction, Supplier<T> supplier, String id) {
+    public synchronized <T extends PersistentBase> T computeIfAbsent(Function<NBTTagCompound, T> readFunction, Supplier<T> supplier, String id) {
         T savedData = this.get(readFunction, id);
         if (savedData != null) {
             return savedData;
@@ -47,7 +50,7 @@ public class WorldPersistentData {
     }
 
     @Nullable
-    public <T extends PersistentBase> T get(Function<NBTTagCompound, T> readFunction, String id) {
+    public synchronized <T extends PersistentBase> T get(Function<NBTTagCompound, T> readFunction, String id) {
         PersistentBase savedData = this.cache.get(id);
         if (savedData == null && !this.cache.containsKey(id)) {
             savedData = this.readSavedData(readFunction, id);
@@ -72,7 +75,7 @@ public class WorldPersistentData {
         return (T)null;
     }
 
-    public void set(String id, PersistentBase state) {
+    public synchronized void set(String id, PersistentBase state) {
         this.cache.put(id, state);
     }
 
@@ -151,7 +154,21 @@ public class WorldPersistentData {
         return bl;
     }
 
-    public void save() {
+    public synchronized List<String> getDirtyIds() {
+        return this.cache.entrySet().stream().filter((entry) -> {
+            return entry.getValue() != null && entry.getValue().isDirty();
+        }).map(Entry::getKey).collect(Collectors.toList());
+    }
+
+    public synchronized void save(String id) {
+        PersistentBase savedData = this.cache.get(id);
+        if (savedData != null) {
+            savedData.save(this.getDataFile(id));
+        }
+
+    }
+
+    public synchronized void save() {
         this.cache.forEach((id, state) -> {
             if (state != null) {
                 state.save(this.getDataFile(id));
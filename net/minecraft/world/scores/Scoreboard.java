@@ -62,7 +62,7 @@ public class Scoreboard {
         }
     }
 
-    public final void getObjectivesForCriteria(IScoreboardCriteria criterion, String player, Consumer<ScoreboardScore> action) {
+    public void getObjectivesForCriteria(IScoreboardCriteria criterion, String player, Consumer<ScoreboardScore> action) {
         this.objectivesByCriteria.getOrDefault(criterion, Collections.emptyList()).forEach((objective) -> {
             action.accept(this.getPlayerScoreForObjective(player, objective));
         });
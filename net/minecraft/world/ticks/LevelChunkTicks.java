@@ -116,6 +116,25 @@ public class LevelChunkTicks<T> implements SerializableTickContainer<T>, TickCon
         return listTag;
     }
 
+    @Override
+    public SerializableTickContainer<T> snapshot() {
+        List<SavedTick<T>> list = this.pendingTicks != null ? List.copyOf(this.pendingTicks) : List.of();
+        List<ScheduledTick<T>> list2 = List.copyOf(this.tickQueue);
+        return (l, function) -> {
+            NBTTagList listTag = new NBTTagList();
+
+            for(SavedTick<T> savedTick : list) {
+                listTag.add(savedTick.save(function));
+            }
+
+            for(ScheduledTick<T> scheduledTick : list2) {
+                listTag.add(SavedTick.saveTick(scheduledTick, function, l));
+            }
+
+            return listTag;
+        };
+    }
+
     public void unpack(long time) {
         if (this.pendingTicks != null) {
             int i = -this.pendingTicks.size();
@@ -49,6 +49,20 @@ public class ProtoChunkTicks<T> implements SerializableTickContainer<T>, TickCon
         return listTag;
     }
 
+    @Override
+    public SerializableTickContainer<T> snapshot() {
+        List<SavedTick<T>> list = List.copyOf(this.ticks);
+        return (time, typeToNameFunction) -> {
+            NBTTagList listTag = new NBTTagList();
+
+            for(SavedTick<T> savedTick : list) {
+                listTag.add(savedTick.save(typeToNameFunction));
+            }
+
+            return listTag;
+        };
+    }
+
     public List<SavedTick<T>> scheduledTicks() {
         return List.copyOf(this.ticks);
     }
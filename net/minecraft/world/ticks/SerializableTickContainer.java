@@ -5,4 +5,8 @@ import net.minecraft.nbt.NBTBase;
 
 public interface SerializableTickContainer<T> {
     NBTBase save(long time, Function<T, String> typeToNameFunction);
+
+    default SerializableTickContainer<T> snapshot() {
+        return this;
+    }
 }